@@ -0,0 +1,30 @@
+package com.acyumi.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 标记需要在构建时预生成asm访问器的类.
+ * <br>
+ * 应用场景：<br>
+ * 服务启动后的前几个请求要为上百个pojo动态生成MethodAccessor，导致每次发版后都有延迟毛刺， <br>
+ * 这时候可以在这些pojo上声明@GenerateAccessor， <br>
+ * 然后在编译完成后(如maven的process-classes阶段)执行
+ * {@link com.acyumi.reflect.reflectasm.AccessorGenerator}， <br>
+ * 把XxxMethodAccessor/XxxConstructorAccessor直接输出到classes目录中一起打进jar包，运行时就不用再生成了 <br>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see com.acyumi.reflect.reflectasm.AccessorGenerator
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GenerateAccessor {
+
+    /**
+     * 是否同时预生成ConstructorAccessor.
+     *
+     * @return 默认true
+     */
+    boolean constructor() default true;
+}
@@ -2,6 +2,7 @@ package com.acyumi.annotation;
 
 import com.acyumi.reflect.Reflector;
 import com.acyumi.reflect.reflectasm.MethodAccessor;
+import com.acyumi.reflect.reflectasm.PropertyHandle;
 import com.acyumi.util.ParameterUtils;
 
 import javax.validation.Constraint;
@@ -102,10 +103,14 @@ public @interface NotAllEmpty {
 
             for (int i = 0; i < fieldNames.length; i++) {
                 String fieldName = fieldNames[i];
+                PropertyHandle handle = methodAccessor.getPropertyHandle(fieldName);
+                if (handle == null) {
+                    continue;
+                }
                 Object fieldValue;
                 try {
                     //fieldValue = beanWrapper.getPropertyValue(fieldName);
-                    fieldValue = methodAccessor.getFieldValue(value, fieldName);
+                    fieldValue = handle.get(value);
                 } catch (Exception e) {
                     throw new RuntimeException("找不到@NotAllEmpty注解所校验类("
                             + value.getClass().getSimpleName() + ")对应属性(" + fieldName + ")的get方法");
@@ -0,0 +1,348 @@
+package com.acyumi.cast;
+
+import com.acyumi.util.ParameterUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 基本数据类型数组的转换.
+ *
+ * <pre>
+ * {@link Castor}原本把数组都当作Object[]处理，int[]、long[]、byte[]等基本数据类型数组转换时会抛出ClassCastException，
+ * 这里支持int[]、long[]、double[]等与Integer[]、List&lt;Integer&gt;等之间的互相转换：
+ * 1、基本数据类型数组之间：整数数组先按long读取、小数数组先按double读取，再逐个写入目标数组，不装箱；
+ *    扩大范围的转换按java的基本类型转换规则(int转long、float转double都是精确的)，
+ *    缩小范围时溢出或者丢失小数部分则抛出IllegalArgumentException，double转float按(float)强转；
+ * 2、基本数据类型数组转包装类型数组：逐个装箱，目标元素类型不是对应的包装类型时再按{@link Castor}逐个转换；
+ * 3、对象数组或集合转基本数据类型数组：元素是对应的包装类型时直接拆箱，否则按{@link Castor}转换，null元素转成默认值0/false
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see Castor#castClass2Class(Object, Class, Class)
+ */
+public abstract class ArrayCastor {
+
+    /**
+     * 将数组转换成目标元素类型的数组.
+     *
+     * @param srcArr           源数组，可以是基本数据类型数组
+     * @param tgtComponentType 目标数组元素类型，可以是基本数据类型
+     * @return 目标数组，源数组的元素类型可由目标元素类型指定时直接返回源数组
+     */
+    public static Object castArray(Object srcArr, Class<?> tgtComponentType) {
+        if (tgtComponentType == null) {
+            throw new IllegalArgumentException("目标数组元素类型Class不能为null");
+        }
+        if (srcArr == null) {
+            return null;
+        }
+        Class<?> srcComponentType = srcArr.getClass().getComponentType();
+        if (srcComponentType == null) {
+            throw new IllegalArgumentException(String.format("(%s)不是数组", srcArr.getClass().getName()));
+        }
+        if (tgtComponentType.isAssignableFrom(srcComponentType)) {
+            return srcArr;
+        }
+        if (srcComponentType.isPrimitive()) {
+            if (tgtComponentType.isPrimitive()) {
+                return castPrimitiveArray(srcArr, srcComponentType, tgtComponentType);
+            }
+            Object[] boxed = box(srcArr);
+            return Castor.castElement(boxed, tgtComponentType);
+        }
+        if (tgtComponentType.isPrimitive()) {
+            return unbox((Object[]) srcArr, tgtComponentType);
+        }
+        return Castor.castElement((Object[]) srcArr, tgtComponentType);
+    }
+
+    /**
+     * 将集合转换成目标元素类型的数组.
+     *
+     * @param srcItr           源集合
+     * @param tgtComponentType 目标数组元素类型，可以是基本数据类型
+     * @return 目标数组
+     */
+    public static Object castItr2Arr(Iterable<?> srcItr, Class<?> tgtComponentType) {
+        if (tgtComponentType == null) {
+            throw new IllegalArgumentException("目标数组元素类型Class不能为null");
+        }
+        if (srcItr == null) {
+            return null;
+        }
+        if (!tgtComponentType.isPrimitive()) {
+            return Castor.castItr2Arr(srcItr, tgtComponentType);
+        }
+        Object[] elements;
+        if (srcItr instanceof Collection) {
+            elements = ((Collection<?>) srcItr).toArray();
+        } else {
+            elements = new Object[ParameterUtils.getElementSize(srcItr)];
+            int i = 0;
+            for (Object e : srcItr) {
+                elements[i++] = e;
+            }
+        }
+        return unbox(elements, tgtComponentType);
+    }
+
+    /**
+     * 将基本数据类型数组装箱成包装类型数组.
+     *
+     * @param array 数组，不是基本数据类型数组时直接返回
+     * @return 包装类型数组，如int[]装箱成Integer[]
+     */
+    public static Object[] box(Object array) {
+        if (array == null) {
+            return null;
+        }
+        if (array instanceof Object[]) {
+            return (Object[]) array;
+        }
+        if (array instanceof int[]) {
+            int[] src = (int[]) array;
+            Integer[] tgt = new Integer[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        } else if (array instanceof long[]) {
+            long[] src = (long[]) array;
+            Long[] tgt = new Long[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        } else if (array instanceof double[]) {
+            double[] src = (double[]) array;
+            Double[] tgt = new Double[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        } else if (array instanceof float[]) {
+            float[] src = (float[]) array;
+            Float[] tgt = new Float[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        } else if (array instanceof short[]) {
+            short[] src = (short[]) array;
+            Short[] tgt = new Short[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        } else if (array instanceof byte[]) {
+            byte[] src = (byte[]) array;
+            Byte[] tgt = new Byte[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        } else if (array instanceof char[]) {
+            char[] src = (char[]) array;
+            Character[] tgt = new Character[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        } else if (array instanceof boolean[]) {
+            boolean[] src = (boolean[]) array;
+            Boolean[] tgt = new Boolean[src.length];
+            for (int i = 0; i < src.length; i++) {
+                tgt[i] = src[i];
+            }
+            return tgt;
+        }
+        throw new IllegalArgumentException(String.format("(%s)不是数组", array.getClass().getName()));
+    }
+
+    /**
+     * 将对象数组拆箱成基本数据类型数组.
+     */
+    private static Object unbox(Object[] src, Class<?> tgtComponentType) {
+        Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(tgtComponentType);
+        Object[] values = src;
+        for (int i = 0; i < src.length; i++) {
+            Object e = src[i];
+            if (e == null || !wrapperType.isInstance(e)) {
+                //有需要转换的元素时才复制一份
+                if (values == src) {
+                    values = Arrays.copyOf(src, src.length, Object[].class);
+                }
+                values[i] = Castor.castSrc2JdkClass(e, tgtComponentType);
+            }
+        }
+        if (tgtComponentType == int.class) {
+            int[] tgt = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (Integer) values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == long.class) {
+            long[] tgt = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (Long) values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == double.class) {
+            double[] tgt = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (Double) values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == float.class) {
+            float[] tgt = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (Float) values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == short.class) {
+            short[] tgt = new short[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (Short) values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == byte.class) {
+            byte[] tgt = new byte[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (Byte) values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == char.class) {
+            char[] tgt = new char[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (Character) values[i];
+            }
+            return tgt;
+        }
+        boolean[] tgt = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            tgt[i] = (Boolean) values[i];
+        }
+        return tgt;
+    }
+
+    private static Object castPrimitiveArray(Object srcArr, Class<?> srcComponentType, Class<?> tgtComponentType) {
+        //char和boolean不是数字，逐个装箱后按Castor转换
+        if (srcComponentType == char.class || srcComponentType == boolean.class
+                || tgtComponentType == char.class || tgtComponentType == boolean.class) {
+            return unbox(box(srcArr), tgtComponentType);
+        }
+        if (srcComponentType == float.class || srcComponentType == double.class) {
+            return fromDoubles(toDoubles(srcArr), srcArr, tgtComponentType);
+        }
+        return fromLongs(toLongs(srcArr), srcArr, tgtComponentType);
+    }
+
+    private static long[] toLongs(Object srcArr) {
+        if (srcArr instanceof long[]) {
+            return (long[]) srcArr;
+        }
+        long[] values = new long[Array.getLength(srcArr)];
+        if (srcArr instanceof int[]) {
+            int[] src = (int[]) srcArr;
+            for (int i = 0; i < src.length; i++) {
+                values[i] = src[i];
+            }
+        } else if (srcArr instanceof short[]) {
+            short[] src = (short[]) srcArr;
+            for (int i = 0; i < src.length; i++) {
+                values[i] = src[i];
+            }
+        } else {
+            byte[] src = (byte[]) srcArr;
+            for (int i = 0; i < src.length; i++) {
+                values[i] = src[i];
+            }
+        }
+        return values;
+    }
+
+    private static double[] toDoubles(Object srcArr) {
+        if (srcArr instanceof double[]) {
+            return (double[]) srcArr;
+        }
+        float[] src = (float[]) srcArr;
+        double[] values = new double[src.length];
+        for (int i = 0; i < src.length; i++) {
+            values[i] = src[i];
+        }
+        return values;
+    }
+
+    private static Object fromLongs(long[] values, Object srcArr, Class<?> tgtComponentType) {
+        if (tgtComponentType == long.class) {
+            return values;
+        } else if (tgtComponentType == double.class) {
+            double[] tgt = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == float.class) {
+            float[] tgt = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = values[i];
+            }
+            return tgt;
+        } else if (tgtComponentType == int.class) {
+            int[] tgt = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (int) checkRange(values[i], Integer.MIN_VALUE, Integer.MAX_VALUE, srcArr, i, tgtComponentType);
+            }
+            return tgt;
+        } else if (tgtComponentType == short.class) {
+            short[] tgt = new short[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (short) checkRange(values[i], Short.MIN_VALUE, Short.MAX_VALUE, srcArr, i, tgtComponentType);
+            }
+            return tgt;
+        }
+        byte[] tgt = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            tgt[i] = (byte) checkRange(values[i], Byte.MIN_VALUE, Byte.MAX_VALUE, srcArr, i, tgtComponentType);
+        }
+        return tgt;
+    }
+
+    private static Object fromDoubles(double[] values, Object srcArr, Class<?> tgtComponentType) {
+        if (tgtComponentType == double.class) {
+            return values;
+        } else if (tgtComponentType == float.class) {
+            float[] tgt = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tgt[i] = (float) values[i];
+            }
+            return tgt;
+        }
+        long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            double value = values[i];
+            long longValue = (long) value;
+            if (longValue != value || value == 0x1p63) {
+                throw cannotCast(srcArr, i, tgtComponentType);
+            }
+            longs[i] = longValue;
+        }
+        return fromLongs(longs, srcArr, tgtComponentType);
+    }
+
+    private static long checkRange(long value, long min, long max, Object srcArr, int index, Class<?> tgtComponentType) {
+        if (value < min || value > max) {
+            throw cannotCast(srcArr, index, tgtComponentType);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException cannotCast(Object srcArr, int index, Class<?> tgtComponentType) {
+        return new CastException(String.format("数组(%s)的第%d个元素(%s)无法转换成(%s)",
+                srcArr.getClass().getSimpleName(), index, Array.get(srcArr, index), tgtComponentType.getName()));
+    }
+}
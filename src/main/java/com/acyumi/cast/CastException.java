@@ -0,0 +1,27 @@
+package com.acyumi.cast;
+
+/**
+ * 类型转换包内自己抛出的转换失败异常.
+ *
+ * <pre>
+ * 异常信息已经是统一的"(类型:%s | toString值:%s)无法转化成(%s)"格式，
+ * {@link Castor}调用转换函数时遇到此异常直接抛出，
+ * 其它异常(如转换函数中URI.create等jdk方法抛出的IllegalArgumentException)都会再包装一层统一的异常信息。
+ * 对外仍然表现为IllegalArgumentException
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+final class CastException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    CastException(String message) {
+        super(message);
+    }
+
+    CastException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.util.ClassUtils;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 类型转换相关的方法.
@@ -25,6 +27,38 @@ import java.util.concurrent.ArrayBlockingQueue;
  */
 public abstract class Castor {
 
+    /*** 每个Class下缓存的转换函数的最大个数，超过后不再缓存(仍可正常编译使用). */
+    private static final int MAX_CONVERTER_CACHE_SIZE = 256;
+
+    /**
+     * 源类型是Class时的转换函数缓存. <br>
+     * 按源Class挂在Class对象上，每个源Class下再按目标Type缓存， <br>
+     * 只缓存目标Type中的类都由源Class的类加载器(或其父加载器)加载的转换函数，
+     * 避免String等jdk类上的缓存强引用应用中的类，导致应用的类加载器无法卸载
+     */
+    private static final ClassValue<Map<Object, Converter>> CLASS_CONVERTER_CACHE = new ClassValue<Map<Object, Converter>>() {
+        @Override
+        protected Map<Object, Converter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * 不能按源Class缓存时的转换函数缓存. <br>
+     * 挂在源类型或目标类型的原始Class上，key是(源Type, 目标Type)，ParameterizedType等泛型Type的equals/hashCode是按值比较的
+     *
+     * @see #getCacheAnchor(Type, Type)
+     */
+    private static final ClassValue<Map<Object, Converter>> TYPE_CONVERTER_CACHE = new ClassValue<Map<Object, Converter>>() {
+        @Override
+        protected Map<Object, Converter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /*** castSrc2JdkClass借助Json字符串转换的次数. */
+    private static final LongAdder JSON_FALLBACK_COUNTER = new LongAdder();
+
     /**
      * 尝试将源对象转换成目标类型.
      *
@@ -41,188 +75,154 @@ public abstract class Castor {
         Assert.notNull(tgtType, "目标Type不能为null");
         Assert.notNull(srcType, "源Type不能为null");
 
-        // all types are assignable to themselves and to class Object
-        if (tgtType.equals(srcType) || Object.class == tgtType) {
-            return src;
-        }
-
-        //如果tgtType是Class
-        if (tgtType instanceof Class) {
-            Class<?> tgtClass = (Class<?>) tgtType;
-
-            // 跳转到比较两个Class
-            if (srcType instanceof Class) {
-                Class<?> srcClass = (Class<?>) srcType;
-
-                return castClass2Class(src, srcClass, tgtClass);
-
-            }
-
-            //如果srcType是参数化类型，如Set<String>
-            else if (srcType instanceof ParameterizedType) {
-                Type srcRaw = ((ParameterizedType) srcType).getRawType();
-
-                // a parameterized type is always assignable to its raw class type
-                if (srcRaw instanceof Class) {
-
-                    return castClass2Class(src, (Class<?>) srcRaw, tgtClass);
-                }
-            }
+        return getConverter(srcType, tgtType).convert(src);
+    }
 
-            //如果srcType是参数化类型数组，如List<String>[]
-            else if (srcType instanceof GenericArrayType) {
-                Type srcComponent = ((GenericArrayType) srcType).getGenericComponentType();
+    public static Object castClass2Class(Object src, Class<?> srcClass, Class<?> tgtClass) {
+        return getConverter(srcClass, tgtClass).convert(src);
+    }
 
-                if (srcComponent instanceof ParameterizedType) {
-                    Type srcComponentRaw = ((ParameterizedType) srcComponent).getRawType();
+    /**
+     * 获取(源类型, 目标类型)的转换函数.
+     * <p>
+     * 同一对类型的判断分支总是一样的，第一次获取时编译成转换函数并缓存，
+     * 之后转换每个值都只是一次函数调用，集合、数组、Map值的元素转换函数也在编译时一并确定
+     * </p>
+     *
+     * @param srcType 源类型
+     * @param tgtType 目标类型
+     * @return 转换函数
+     */
+    public static Converter getConverter(Type srcType, Type tgtType) {
+        Assert.notNull(tgtType, "目标Type不能为null");
+        Assert.notNull(srcType, "源Type不能为null");
 
-                    if (srcComponentRaw instanceof Class) {
+        // all types are assignable to themselves and to class Object
+        if (tgtType == srcType || Object.class == tgtType) {
+            return Converter.IDENTITY;
+        }
+        //Class之间直接可赋值的判断比查缓存还快
+        if (tgtType instanceof Class && srcType instanceof Class
+                && ((Class<?>) tgtType).isAssignableFrom((Class<?>) srcType)) {
+            return Converter.IDENTITY;
+        }
 
-                        //Array.newInstance((Class<?>) srcComponentRaw,0).getClass()
-                        //进行了这么多判断到这里，src就是数组，直接src.getClass()得到数组的Class
-                        return castClass2Class(src, src.getClass(), tgtClass);
-                    }
-                }
+        Map<Object, Converter> converterMap = null;
+        Object key = tgtType;
+        Converter converter;
+        if (srcType instanceof Class) {
+            converter = CLASS_CONVERTER_CACHE.get((Class<?>) srcType).get(tgtType);
+            if (converter != null) {
+                return converter;
             }
         }
-
-        // parameterized types are only assignable to other parameterized types and class types
-        else if (tgtType instanceof ParameterizedType) {
-
-            if (srcType instanceof Class) {
-                return castClass2ParamType(src, (Class<?>) srcType, (ParameterizedType) tgtType);
+        Class<?> anchor = getCacheAnchor(srcType, tgtType);
+        if (anchor != null && anchor == srcType) {
+            converterMap = CLASS_CONVERTER_CACHE.get(anchor);
+        } else if (anchor != null) {
+            converterMap = TYPE_CONVERTER_CACHE.get(anchor);
+            key = Arrays.asList(srcType, tgtType);
+            converter = converterMap.get(key);
+            if (converter != null) {
+                return converter;
             }
+        }
 
-            //如果srcType是参数化类型数组，如List<String>[]
-            else if (srcType instanceof ParameterizedType) {
-                return castParamType2ParamType(src, (ParameterizedType) srcType, (ParameterizedType) tgtType);
+        //不能用computeIfAbsent，编译时可能递归获取元素类型的转换函数
+        converter = compileType2Type(srcType, tgtType);
+        if (converterMap != null && converterMap.size() < MAX_CONVERTER_CACHE_SIZE) {
+            Converter existing = converterMap.putIfAbsent(key, converter);
+            if (existing != null) {
+                converter = existing;
             }
         }
+        return converter;
+    }
 
-        //如果tgtType是泛型数组类型
-        else if (tgtType instanceof GenericArrayType) {
-            Type tgtComponent = ((GenericArrayType) tgtType).getGenericComponentType();
-
-            if (srcType instanceof GenericArrayType) {
-                Type srcComponent = ((GenericArrayType) srcType).getGenericComponentType();
-
-                if (Reflector.isAssignable(tgtComponent, srcComponent)) {
-                    return src;
+    /**
+     * 获取缓存(源类型, 目标类型)的转换函数时挂靠的Class.
+     * <p>
+     * 转换函数会引用两个类型中的类，只能挂在能"看见"所有这些类的Class上：
+     * 所有类都由该Class的类加载器或其父加载器加载，这样缓存不会比这些类活得更久。
+     * 依次尝试源类型和目标类型的原始Class，都不满足时返回null(不缓存)
+     * </p>
+     *
+     * @param srcType 源类型
+     * @param tgtType 目标类型
+     * @return 挂靠的Class，不能缓存时返回null
+     */
+    private static Class<?> getCacheAnchor(Type srcType, Type tgtType) {
+        for (Type type : new Type[]{srcType, tgtType}) {
+            Class<?> rawClass = type instanceof Class ? (Class<?>) type
+                    : type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class
+                    ? (Class<?>) ((ParameterizedType) type).getRawType() : null;
+            if (rawClass != null) {
+                ClassLoader classLoader = rawClass.getClassLoader();
+                if (isVisibleFrom(srcType, classLoader) && isVisibleFrom(tgtType, classLoader)) {
+                    return rawClass;
                 }
+            }
+        }
+        return null;
+    }
 
-                if (tgtComponent instanceof ParameterizedType) {
-                    Type tgtComponentRaw = ((ParameterizedType) tgtComponent).getRawType();
-
-                    if (srcComponent instanceof ParameterizedType) {
-                        Type srcComponentRaw = ((ParameterizedType) srcComponent).getRawType();
-
-                        if (tgtComponentRaw instanceof Class) {
-                            Class<?> tgtCompRawClass = (Class<?>) tgtComponentRaw;
-
-                            //接下来尝试转换数组元素类型
-
-                            Object[] temp = (Object[]) Array.newInstance(
-                                    tgtCompRawClass, ((Object[]) src).length);
-
-                            for (int i = 0; i < ((Object[]) src).length; i++) {
-                                temp[i] = castType2Type(((Object[]) src)[i],
-                                        srcComponentRaw, tgtCompRawClass);
-                            }
-                            return temp;
-                        }
-                    }
+    /**
+     * 判断type中的所有类是否都由classLoader或其父加载器加载.
+     *
+     * @param type        类型
+     * @param classLoader 类加载器，null表示启动类加载器
+     * @return 无法判断的Type实现返回false
+     */
+    static boolean isVisibleFrom(Type type, ClassLoader classLoader) {
+        if (type instanceof Class) {
+            ClassLoader typeLoader = ((Class<?>) type).getClassLoader();
+            if (typeLoader == null) {
+                return true;
+            }
+            for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+                if (cl == typeLoader) {
+                    return true;
                 }
             }
+            return false;
         }
-
-        //如果tgtType是限定性的泛型表达式，即 ? extends java.util.AbstractList 等
-
-        //WildcardType中的upperBounds和lowerBounds二者必有一个非空
-        //假设是 ? super ArrayList 表达式，
-        //则upperBounds == null或upperBounds == new Type[]{Object.class}，lowerBounds == new Type[]{ArrayList.class}
-        //假设是 ? extends List 表达式，则upperBounds == new Type[]{List.class}，lowerBounds == new Type[0]
-        //假设是 ? 表达式(只有一个问号)，则upperBounds == new Type[]{Object.class}，lowerBounds == new Type[0]
-        //getUpperBounds()和getLowerBounds()返回值都是数组（为了保留扩展），但写代码编译的时候就知道，
-        //当前java版本(1.8)及以前版本中只可能出现一个元素，不知道后续版本会如何调整
-        else if (tgtType instanceof WildcardType) {
-
-            Type[] tgtUnAssignableBounds = getTgtUnAssignableBounds(((WildcardType) tgtType), srcType);
-            if (tgtUnAssignableBounds == null) {
-                return src;
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type ownerType = parameterizedType.getOwnerType();
+            if (!isVisibleFrom(parameterizedType.getRawType(), classLoader)
+                    || ownerType != null && !isVisibleFrom(ownerType, classLoader)) {
+                return false;
             }
-
-            //如果不匹配，则尝试递归进行转换
-            return castType2Type(src, srcType, tgtUnAssignableBounds[0]);
+            return isVisibleFrom(parameterizedType.getActualTypeArguments(), classLoader);
         }
-
-        throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
-                srcType.getTypeName(), src, tgtType.getTypeName()));
-    }
-
-    public static Object castClass2Class(Object src, Class<?> srcClass, Class<?> tgtClass) {
-
-        //如果tgtClass可由srcClass的对象实例指定，则直接返回src
-        if (Reflector.isAssignable(tgtClass, srcClass)) {
-            return src;
+        if (type instanceof GenericArrayType) {
+            return isVisibleFrom(((GenericArrayType) type).getGenericComponentType(), classLoader);
         }
-
-        //如果tgtClass是Iterable类型
-        if (Reflector.isAssignable(Iterable.class, tgtClass)) {
-
-            //Iterable转成Iterable
-            if (Reflector.isAssignable(Iterable.class, srcClass)) {
-                return castIterable((Iterable<?>) src, tgtClass);
-            }
-
-            //数组转成Iterable
-            else if (srcClass.isArray()) {
-                return castArr2Itr((Object[]) src, tgtClass);
-            }
-
-            //Map的值集合转成Iterable
-            else if (Reflector.isAssignable(Map.class, srcClass)) {
-                return castIterable(((Map<?, ?>) src).values(), tgtClass);
-            }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            return isVisibleFrom(wildcardType.getUpperBounds(), classLoader)
+                    && isVisibleFrom(wildcardType.getLowerBounds(), classLoader);
         }
-
-        //如果tgtClass是数组
-        else if (tgtClass.isArray()) {
-            Class<?> componentType = tgtClass.getComponentType();
-
-            //Iterable转成数组
-            if (Reflector.isAssignable(Iterable.class, srcClass)) {
-                return castItr2Arr((Iterable<?>) src, componentType);
+        if (type instanceof TypeVariable) {
+            //边界都是声明处能看见的类，只需判断声明类型变量的类
+            GenericDeclaration declaration = ((TypeVariable<?>) type).getGenericDeclaration();
+            if (declaration instanceof Class) {
+                return isVisibleFrom((Class<?>) declaration, classLoader);
             }
-
-            //数组转成数组
-            else if (srcClass.isArray()) {
-                return castElement((Object[]) src, componentType);
+            if (declaration instanceof Member) {
+                return isVisibleFrom(((Member) declaration).getDeclaringClass(), classLoader);
             }
-
-            //Map的值集合转成数组
-            else if (Reflector.isAssignable(Map.class, srcClass)) {
-                return castItr2Arr(((Map<?, ?>) src).values(), componentType);
-            }
-        }
-
-        //如果tgtClass是Map
-        else if (Reflector.isAssignable(Map.class, tgtClass)) {
-            return TransformUtils.transformToMap(src, tgtClass, String.class, Object.class);
-        }
-
-        //如果tgtClass是jdk类型
-        String className = tgtClass.getName();
-        if (!className.contains(".") || className.startsWith("java.")) {
-            return castSrc2JdkClass(src, tgtClass);
         }
+        return false;
+    }
 
-        //如果tgtClass是pojo（且当是pojo）
-        else {
-            return TransformUtils.transform(src, tgtClass);
+    private static boolean isVisibleFrom(Type[] types, ClassLoader classLoader) {
+        for (Type type : types) {
+            if (!isVisibleFrom(type, classLoader)) {
+                return false;
+            }
         }
-
-        /*throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
-                srcClass.getName(), src, tgtClass.getName()));*/
+        return true;
     }
 
     /**
@@ -251,20 +251,56 @@ public abstract class Castor {
         else if (ClassUtils.isPrimitiveOrWrapper(jdkClass)) {
             return notNullCast2PrimitiveOrWrapper(src, jdkClass);
         }
+        //优先使用直接转换函数
+        Converter converter = ConverterRegistry.getConverter(src.getClass(), jdkClass);
+        if (converter != null) {
+            try {
+                return (T) converter.convert(src);
+            } catch (RuntimeException e) {
+                //退回Json转换等本包抛出的CastException已经包装好，其它异常(包括jdk方法抛出的IAE)统一包装
+                if (e instanceof CastException) {
+                    throw e;
+                }
+                throw new CastException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
+                        src.getClass().getName(), src, jdkClass.getName()), e);
+            }
+        }
+        return castByJson(src, jdkClass);
+    }
+
+    /**
+     * 获取{@link #castSrc2JdkClass(Object, Class)}找不到直接转换函数而借助Json字符串转换的次数.
+     *
+     * @return 借助Json字符串转换的次数
+     * @see ConverterRegistry
+     */
+    public static long getJsonFallbackCount() {
+        return JSON_FALLBACK_COUNTER.sum();
+    }
+
+    /**
+     * 借助Json字符串将源对象转化为jdk对象.
+     *
+     * @param src      待转换的源对象，非null
+     * @param jdkClass 目标类型Class
+     * @param <T>      目标类型
+     * @return 目标对象
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T castByJson(Object src, Class<?> jdkClass) {
+        JSON_FALLBACK_COUNTER.increment();
         //String是targetClass的实现或子类，返回Json字符串
-        else if (jdkClass.isAssignableFrom(String.class)) {
+        if (jdkClass.isAssignableFrom(String.class)) {
             String jsonStr = JsonUtils.toJsonStr(src);
             return (T) JsonUtils.unWrapJsonStr(jsonStr);
         }
         //其他情况
-        else {
-            try {
-                String jsonStr = JsonUtils.toJsonStr(src);
-                return (T) JsonUtils.parseObj(jsonStr, jdkClass);
-            } catch (Exception e) {
-                throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
-                        src.getClass().getName(), src, jdkClass.getName()), e);
-            }
+        try {
+            String jsonStr = JsonUtils.toJsonStr(src);
+            return (T) JsonUtils.parseObj(jsonStr, jdkClass);
+        } catch (Exception e) {
+            throw new CastException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
+                    src.getClass().getName(), src, jdkClass.getName()), e);
         }
     }
 
@@ -439,88 +475,271 @@ public abstract class Castor {
     }
 
 
-    private static Object castClass2ParamType(Object src, Class<?> srcClass, ParameterizedType tgtType) {
+    private static Converter compileType2Type(Type srcType, Type tgtType) {
 
-        Type tgtRaw = tgtType.getRawType();
+        if (tgtType.equals(srcType)) {
+            return Converter.IDENTITY;
+        }
 
-        if (tgtRaw instanceof Class) {
-            Class<?> tgtRawClass = (Class<?>) tgtRaw;
+        //如果tgtType是Class
+        if (tgtType instanceof Class) {
+            Class<?> tgtClass = (Class<?>) tgtType;
 
-            //如果tgtRawClass是Iterable类型
-            if (Reflector.isAssignable(Iterable.class, tgtRawClass)) {
+            // 跳转到比较两个Class
+            if (srcType instanceof Class) {
+                return compileClass2Class((Class<?>) srcType, tgtClass);
+            }
 
-                Iterable<?> iterable = null;
+            //如果srcType是参数化类型，如Set<String>
+            else if (srcType instanceof ParameterizedType) {
+                Type srcRaw = ((ParameterizedType) srcType).getRawType();
 
-                //Iterable转成Iterable
-                if (Reflector.isAssignable(Iterable.class, srcClass)) {
-                    iterable = castIterable((Iterable<?>) src, tgtRawClass);
+                // a parameterized type is always assignable to its raw class type
+                if (srcRaw instanceof Class) {
+                    return getConverter(srcRaw, tgtClass);
                 }
+            }
 
-                //数组转成Iterable
-                else if (srcClass.isArray()) {
-                    iterable = castArr2Itr((Object[]) src, tgtRawClass);
+            //如果srcType是参数化类型数组，如List<String>[]
+            else if (srcType instanceof GenericArrayType) {
+                Type srcComponent = ((GenericArrayType) srcType).getGenericComponentType();
+
+                if (srcComponent instanceof ParameterizedType
+                        && ((ParameterizedType) srcComponent).getRawType() instanceof Class) {
+
+                    //src就是数组，直接src.getClass()得到数组的Class
+                    return src -> castClass2Class(src, src.getClass(), tgtClass);
                 }
+            }
+        }
+
+        // parameterized types are only assignable to other parameterized types and class types
+        else if (tgtType instanceof ParameterizedType) {
+
+            if (srcType instanceof Class) {
+                return compileClass2ParamType((Class<?>) srcType, (ParameterizedType) tgtType);
+            }
+
+            //如果srcType是参数化类型数组，如List<String>[]
+            else if (srcType instanceof ParameterizedType) {
+                return compileParamType2ParamType((ParameterizedType) srcType, (ParameterizedType) tgtType);
+            }
+        }
+
+        //如果tgtType是泛型数组类型
+        else if (tgtType instanceof GenericArrayType) {
+            Type tgtComponent = ((GenericArrayType) tgtType).getGenericComponentType();
 
-                //Map的值集合转成Iterable
-                else if (Reflector.isAssignable(Map.class, srcClass)) {
-                    iterable = castIterable(((Map<?, ?>) src).values(), tgtRawClass);
+            if (srcType instanceof GenericArrayType) {
+                Type srcComponent = ((GenericArrayType) srcType).getGenericComponentType();
+
+                if (Reflector.isAssignable(tgtComponent, srcComponent)) {
+                    return Converter.IDENTITY;
                 }
 
-                if (iterable != null) {
-                    Type tgtArgType = tgtType.getActualTypeArguments()[0];
+                if (tgtComponent instanceof ParameterizedType && srcComponent instanceof ParameterizedType) {
+                    Type tgtComponentRaw = ((ParameterizedType) tgtComponent).getRawType();
+                    Type srcComponentRaw = ((ParameterizedType) srcComponent).getRawType();
+
+                    if (tgtComponentRaw instanceof Class) {
+                        Class<?> tgtCompRawClass = (Class<?>) tgtComponentRaw;
 
-                    if (tgtArgType instanceof Class) {
-                        return castElement(iterable, tgtArgType);
+                        //接下来尝试转换数组元素类型
+                        Converter elementConverter = lazyConverter(srcComponentRaw, tgtCompRawClass);
+                        return src -> {
+                            Object[] srcArr = (Object[]) src;
+                            Object[] temp = (Object[]) Array.newInstance(tgtCompRawClass, srcArr.length);
+                            for (int i = 0; i < srcArr.length; i++) {
+                                temp[i] = srcArr[i] == null ? null : elementConverter.convert(srcArr[i]);
+                            }
+                            return temp;
+                        };
                     }
+                }
+            }
+        }
 
-                    //如果tgtType的元素类型也是ParameterizedType
-                    else if (tgtArgType instanceof ParameterizedType) {
-                        Type tgtArgRaw = ((ParameterizedType) tgtArgType).getRawType();
+        //如果tgtType是限定性的泛型表达式，即 ? extends java.util.AbstractList 等
 
-                        if (tgtArgRaw instanceof Class) {
-                            return castElement(iterable, tgtArgRaw);
-                        }
-                    }
+        //WildcardType中的upperBounds和lowerBounds二者必有一个非空
+        //假设是 ? super ArrayList 表达式，
+        //则upperBounds == null或upperBounds == new Type[]{Object.class}，lowerBounds == new Type[]{ArrayList.class}
+        //假设是 ? extends List 表达式，则upperBounds == new Type[]{List.class}，lowerBounds == new Type[0]
+        //假设是 ? 表达式(只有一个问号)，则upperBounds == new Type[]{Object.class}，lowerBounds == new Type[0]
+        //getUpperBounds()和getLowerBounds()返回值都是数组（为了保留扩展），但写代码编译的时候就知道，
+        //当前java版本(1.8)及以前版本中只可能出现一个元素，不知道后续版本会如何调整
+        else if (tgtType instanceof WildcardType) {
+
+            Type[] tgtUnAssignableBounds = getTgtUnAssignableBounds(((WildcardType) tgtType), srcType);
+            if (tgtUnAssignableBounds == null) {
+                return Converter.IDENTITY;
+            }
+
+            //如果不匹配，则尝试递归进行转换
+            return lazyConverter(srcType, tgtUnAssignableBounds[0]);
+        }
+
+        return unconvertible(srcType, tgtType);
+    }
+
+    private static Converter compileClass2Class(Class<?> srcClass, Class<?> tgtClass) {
+
+        //如果tgtClass可由srcClass的对象实例指定，则直接返回src
+        if (Reflector.isAssignable(tgtClass, srcClass)) {
+            return Converter.IDENTITY;
+        }
+
+        //如果tgtClass是Iterable类型
+        if (Reflector.isAssignable(Iterable.class, tgtClass)) {
+
+            //Iterable转成Iterable
+            if (Reflector.isAssignable(Iterable.class, srcClass)) {
+                return src -> castIterable((Iterable<?>) src, tgtClass);
+            }
+
+            //数组转成Iterable，基本数据类型数组先装箱
+            else if (srcClass.isArray()) {
+                if (srcClass.getComponentType().isPrimitive()) {
+                    return src -> castArr2Itr(ArrayCastor.box(src), tgtClass);
                 }
+                return src -> castArr2Itr((Object[]) src, tgtClass);
             }
 
-            //如果tgtRawClass是Map
-            else if (Reflector.isAssignable(Map.class, tgtRawClass)) {
+            //Map的值集合转成Iterable
+            else if (Reflector.isAssignable(Map.class, srcClass)) {
+                return src -> castIterable(((Map<?, ?>) src).values(), tgtClass);
+            }
+        }
 
-                Type tgtKeyType = tgtType.getActualTypeArguments()[0];
-                Type tgtValueType = tgtType.getActualTypeArguments()[1];
-                Class<?> tgtKeyClass = Reflector.getClassFromType(tgtKeyType);
-                Class<?> tgtValueClass = Reflector.getClassFromType(tgtValueType);
+        //如果tgtClass是数组
+        else if (tgtClass.isArray()) {
+            Class<?> componentType = tgtClass.getComponentType();
 
-                if (tgtKeyClass != null && tgtValueClass != null) {
-                    return TransformUtils.transformToMap(src, tgtRawClass, tgtKeyClass, tgtValueClass);
+            //Iterable转成数组
+            if (Reflector.isAssignable(Iterable.class, srcClass)) {
+                if (componentType.isPrimitive()) {
+                    return src -> ArrayCastor.castItr2Arr((Iterable<?>) src, componentType);
                 }
+                return src -> castItr2Arr((Iterable<?>) src, componentType);
             }
 
-            //如果tgtRawClass是jdk类型
-            String className = tgtRawClass.getName();
-            if (!className.contains(".") || className.startsWith("java.")) {
-                return castSrc2JdkClass(src, tgtRawClass);
+            //数组转成数组，有一方是基本数据类型数组时交给ArrayCastor
+            else if (srcClass.isArray()) {
+                if (componentType.isPrimitive() || srcClass.getComponentType().isPrimitive()) {
+                    return src -> ArrayCastor.castArray(src, componentType);
+                }
+                return src -> castElement((Object[]) src, componentType);
             }
 
-            //如果tgtRawClass是pojo（且当是pojo）
-            else {
-                return TransformUtils.transform(src, tgtRawClass);
+            //Map的值集合转成数组
+            else if (Reflector.isAssignable(Map.class, srcClass)) {
+                if (componentType.isPrimitive()) {
+                    return src -> ArrayCastor.castItr2Arr(((Map<?, ?>) src).values(), componentType);
+                }
+                return src -> castItr2Arr(((Map<?, ?>) src).values(), componentType);
             }
         }
 
-        return castType2Type(src, srcClass, tgtRaw);
-        /*throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
-                srcClass.getName(), src, tgtType.getTypeName));*/
+        //如果tgtClass是Map
+        else if (Reflector.isAssignable(Map.class, tgtClass)) {
+            return src -> TransformUtils.transformToMap(src, tgtClass, String.class, Object.class);
+        }
+
+        return compileSrc2Class(tgtClass);
     }
 
-    private static Object castParamType2ParamType(Object src,
-                                                  ParameterizedType srcType,
-                                                  ParameterizedType tgtType) {
-        if (tgtType.equals(srcType)) {
-            return src;
+    private static Converter compileSrc2Class(Class<?> tgtClass) {
+
+        //如果tgtClass是jdk类型或者枚举
+        String className = tgtClass.getName();
+        if (!className.contains(".") || className.startsWith("java.") || tgtClass.isEnum()) {
+            return src -> castSrc2JdkClass(src, tgtClass);
         }
 
+        //如果tgtClass是pojo（且当是pojo）
+        return src -> TransformUtils.transform(src, tgtClass);
+    }
+
+    private static Converter compileClass2ParamType(Class<?> srcClass, ParameterizedType tgtType) {
+
+        Type tgtRaw = tgtType.getRawType();
+
+        if (!(tgtRaw instanceof Class)) {
+            return lazyConverter(srcClass, tgtRaw);
+        }
+
+        Class<?> tgtRawClass = (Class<?>) tgtRaw;
+        Converter fallback = compileSrc2Class(tgtRawClass);
+
+        //如果tgtRawClass是Iterable类型
+        if (Reflector.isAssignable(Iterable.class, tgtRawClass)) {
+
+            Converter iterableConverter = null;
+
+            //Iterable转成Iterable
+            if (Reflector.isAssignable(Iterable.class, srcClass)) {
+                iterableConverter = src -> castIterable((Iterable<?>) src, tgtRawClass);
+            }
+
+            //数组转成Iterable，基本数据类型数组先装箱
+            else if (srcClass.isArray()) {
+                if (srcClass.getComponentType().isPrimitive()) {
+                    iterableConverter = src -> castArr2Itr(ArrayCastor.box(src), tgtRawClass);
+                } else {
+                    iterableConverter = src -> castArr2Itr((Object[]) src, tgtRawClass);
+                }
+            }
+
+            //Map的值集合转成Iterable
+            else if (Reflector.isAssignable(Map.class, srcClass)) {
+                iterableConverter = src -> castIterable(((Map<?, ?>) src).values(), tgtRawClass);
+            }
+
+            if (iterableConverter != null) {
+                Type tgtArgType = tgtType.getActualTypeArguments()[0];
+                Type tgtElemType = null;
+
+                if (tgtArgType instanceof Class) {
+                    tgtElemType = tgtArgType;
+                }
+
+                //如果tgtType的元素类型也是ParameterizedType
+                else if (tgtArgType instanceof ParameterizedType) {
+                    Type tgtArgRaw = ((ParameterizedType) tgtArgType).getRawType();
+
+                    if (tgtArgRaw instanceof Class) {
+                        tgtElemType = tgtArgRaw;
+                    }
+                }
+
+                Converter toIterable = iterableConverter;
+                Type elemType = tgtElemType;
+                return src -> {
+                    Iterable<?> iterable = (Iterable<?>) toIterable.convert(src);
+                    if (iterable != null && elemType != null) {
+                        return castElement(iterable, elemType);
+                    }
+                    return fallback.convert(src);
+                };
+            }
+        }
+
+        //如果tgtRawClass是Map
+        else if (Reflector.isAssignable(Map.class, tgtRawClass)) {
+
+            Class<?> tgtKeyClass = Reflector.getClassFromType(tgtType.getActualTypeArguments()[0]);
+            Class<?> tgtValueClass = Reflector.getClassFromType(tgtType.getActualTypeArguments()[1]);
+
+            if (tgtKeyClass != null && tgtValueClass != null) {
+                return src -> TransformUtils.transformToMap(src, tgtRawClass, tgtKeyClass, tgtValueClass);
+            }
+        }
+
+        return fallback;
+    }
+
+    private static Converter compileParamType2ParamType(ParameterizedType srcType, ParameterizedType tgtType) {
+
         Type tgtRaw = tgtType.getRawType();
         Type srcRaw = srcType.getRawType();
         Type[] tgtTypeArgs = tgtType.getActualTypeArguments();
@@ -534,15 +753,15 @@ public abstract class Castor {
                 if (srcRaw instanceof Class) {
 
                     Class<?> srcRawClass = (Class<?>) srcRaw;
-                    Iterable<?> temp = (Iterable<?>) src;
                     Type tgtArg = tgtTypeArgs[0];
                     Type srcArg = null;
+                    Converter iterableConverter = null;
 
                     //都是Iterable
                     if (Reflector.isAssignable(Iterable.class, srcRawClass)) {
                         srcArg = srcTypeArgs[0];
                         if (!Reflector.isAssignable(tgtRawClass, srcRawClass)) {
-                            temp = castIterable((Iterable<?>) src, tgtRawClass);
+                            iterableConverter = src -> castIterable((Iterable<?>) src, tgtRawClass);
                         }
                     }
 
@@ -550,34 +769,54 @@ public abstract class Castor {
                     else if (Reflector.isAssignable(Map.class, srcRawClass)) {
                         srcArg = srcTypeArgs[1];
                         if (!Reflector.isAssignable(tgtRawClass, Collection.class)) {
-                            temp = castIterable(((Map<?, ?>) src).values(), tgtRawClass);
+                            iterableConverter = src -> castIterable(((Map<?, ?>) src).values(), tgtRawClass);
                         }
                     }
 
                     //srcType非Iterable或非Map时，直接返回给外层处理，不尝试转换
                     //tgtArg是srcArg的接口或父类时(包括tgtArg是Object.class和?和? extends Object)，
                     //说明是匹配的，也直接返回
+                    boolean keepElements = false;
+                    Type tgtElemType = null;
                     if (srcArg == null || Reflector.isAssignable(tgtArg, srcArg)) {
-                        return temp;
+                        keepElements = true;
                     }
 
                     //只有srcType是Iterable或是Map时才会走到这里，然后尝试转换
                     else if (tgtArg instanceof Class) {
-                        return castElement(temp, tgtArg);
+                        tgtElemType = tgtArg;
                     } else if (tgtArg instanceof ParameterizedType) {
                         Type tgtArgRaw = ((ParameterizedType) tgtArg).getRawType();
                         if (tgtArgRaw instanceof Class) {
-                            return castElement(temp, tgtArgRaw);
+                            tgtElemType = tgtArgRaw;
                         }
                     } else if (tgtArg instanceof WildcardType) {
 
                         Type[] tgtUnAssignableBounds = getTgtUnAssignableBounds(((WildcardType) tgtArg), srcType);
                         if (tgtUnAssignableBounds == null) {
-                            return temp;
+                            keepElements = true;
+                        } else {
+                            tgtElemType = tgtUnAssignableBounds[0];
                         }
-
-                        return castElement(temp, tgtUnAssignableBounds[0]);
                     }
+
+                    Converter toIterable = iterableConverter;
+                    boolean keep = keepElements;
+                    Type elemType = tgtElemType;
+                    Converter unconvertible = unconvertible(srcType, tgtType);
+                    return src -> {
+                        Iterable<?> temp = (Iterable<?>) src;
+                        if (toIterable != null) {
+                            temp = (Iterable<?>) toIterable.convert(src);
+                        }
+                        if (keep) {
+                            return temp;
+                        }
+                        if (elemType != null) {
+                            return castElement(temp, elemType);
+                        }
+                        return unconvertible.convert(src);
+                    };
                 }
             }
 
@@ -587,34 +826,58 @@ public abstract class Castor {
 
                     Class<?> srcRawClass = (Class<?>) srcRaw;
 
-                    //都是Map
-                    if (Reflector.isAssignable(Map.class, srcRawClass)) {
-
-                        //tgtType的key类型是srcType的key类型的接口或父类时
-                        if (Reflector.isAssignable(tgtTypeArgs[0], srcTypeArgs[0])) {
-                            Type tgtMapValType = tgtTypeArgs[1];
-                            Type srcMapValType = srcTypeArgs[1];
-
-                            if (Reflector.isAssignable(tgtMapValType, srcMapValType)) {
-                                return src;
-                            } else {
-
-                                Map<Object, Object> temp = Reflector.newTarget(tgtRawClass);
-                                for (Map.Entry<?, ?> entry : ((Map<?, ?>) src).entrySet()) {
-                                    Object value = entry.getValue();
-                                    value = castType2Type(value, srcMapValType, tgtMapValType);
-                                    temp.put(entry.getKey(), value);
-                                }
-                                return temp;
-                            }
+                    //都是Map，且tgtType的key类型是srcType的key类型的接口或父类时
+                    if (Reflector.isAssignable(Map.class, srcRawClass)
+                            && Reflector.isAssignable(tgtTypeArgs[0], srcTypeArgs[0])) {
+                        Type tgtMapValType = tgtTypeArgs[1];
+                        Type srcMapValType = srcTypeArgs[1];
+
+                        if (Reflector.isAssignable(tgtMapValType, srcMapValType)) {
+                            return Converter.IDENTITY;
                         }
+
+                        Converter valueConverter = lazyConverter(srcMapValType, tgtMapValType);
+                        return src -> {
+                            Map<Object, Object> temp = Reflector.newTarget(tgtRawClass);
+                            for (Map.Entry<?, ?> entry : ((Map<?, ?>) src).entrySet()) {
+                                Object value = entry.getValue();
+                                temp.put(entry.getKey(), value == null ? null : valueConverter.convert(value));
+                            }
+                            return temp;
+                        };
                     }
                 }
             }
         }
 
-        throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
-                srcType.getTypeName(), src, tgtType.getTypeName()));
+        return unconvertible(srcType, tgtType);
+    }
+
+    /**
+     * 第一次转换时才编译的转换函数，用于元素类型等嵌套的转换，
+     * 避免编译外层转换函数时就因为元素类型无法处理而提前抛出异常.
+     */
+    private static Converter lazyConverter(Type srcType, Type tgtType) {
+        return new Converter() {
+
+            private volatile Converter delegate;
+
+            @Override
+            public Object convert(Object src) {
+                Converter converter = delegate;
+                if (converter == null) {
+                    delegate = converter = getConverter(srcType, tgtType);
+                }
+                return converter.convert(src);
+            }
+        };
+    }
+
+    private static Converter unconvertible(Type srcType, Type tgtType) {
+        return src -> {
+            throw new CastException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
+                    srcType.getTypeName(), src, tgtType.getTypeName()));
+        };
     }
 
     private static Type[] getTgtUnAssignableBounds(WildcardType tgtType, Type srcType) {
@@ -678,67 +941,71 @@ public abstract class Castor {
         } else if (tgtClass == char.class) {
             return (T) Character.valueOf(' ');
         }
-        throw new IllegalArgumentException("(null)无法转换成(" + tgtClass.getName() + ")");
+        throw new CastException("(null)无法转换成(" + tgtClass.getName() + ")");
     }
 
     @SuppressWarnings("unchecked")
     private static <T> T notNullCast2PrimitiveOrWrapper(Object src, Class<?> tgtClass) {
-        String srcStr = src.toString();
+        //数字之间直接转换，不再toString()后解析；转成整数时溢出或丢失小数部分则失败，转成小数时溢出为无穷大
+        if (src instanceof Number && NumberCastor.isCastable(src.getClass(), tgtClass)) {
+            boolean toDecimal = tgtClass == Double.TYPE || tgtClass == Double.class
+                    || tgtClass == Float.TYPE || tgtClass == Float.class;
+            return NumberCastor.cast((Number) src, tgtClass,
+                    toDecimal ? NumberCastor.Policy.TRUNCATE : NumberCastor.Policy.FAIL);
+        }
+        //PrimitiveParser会跳过引号和空白字符，解析成功时不抛异常，也不需要先用正则替换
+        CharSequence srcStr = src instanceof CharSequence ? (CharSequence) src : src.toString();
         try {
             if (tgtClass == Integer.TYPE || tgtClass == Integer.class) {
-                try {
-                    return (T) Integer.valueOf(srcStr);
-                } catch (Exception e) {
-                    return (T) Integer.valueOf(replaceUnused4Primitive(srcStr));
-                }
+                return (T) Integer.valueOf(PrimitiveParser.parseInt(srcStr));
             } else if (tgtClass == Long.TYPE || tgtClass == Long.class) {
-                try {
-                    return (T) Long.valueOf(srcStr);
-                } catch (Exception e) {
-                    return (T) Long.valueOf(replaceUnused4Primitive(srcStr));
-                }
+                return (T) Long.valueOf(PrimitiveParser.parseLong(srcStr));
             } else if (tgtClass == Boolean.TYPE || tgtClass == Boolean.class) {
-                try {
-                    return (T) Boolean.valueOf(srcStr);
-                } catch (Exception e) {
-                    return (T) Boolean.valueOf(replaceUnused4Primitive(srcStr));
-                }
+                return (T) Boolean.valueOf(srcStr.toString());
             } else if (tgtClass == Double.TYPE || tgtClass == Double.class) {
-                try {
-                    return (T) Double.valueOf(srcStr);
-                } catch (Exception e) {
-                    return (T) Double.valueOf(replaceUnused4Primitive(srcStr));
-                }
+                return (T) Double.valueOf(PrimitiveParser.parseDouble(srcStr));
             } else if (tgtClass == Float.TYPE || tgtClass == Float.class) {
-                try {
-                    return (T) Float.valueOf(srcStr);
-                } catch (Exception e) {
-                    return (T) Float.valueOf(replaceUnused4Primitive(srcStr));
-                }
+                return (T) Float.valueOf(PrimitiveParser.parseFloat(srcStr));
             } else if (tgtClass == Short.TYPE || tgtClass == Short.class) {
-                try {
-                    return (T) Short.valueOf(srcStr);
-                } catch (Exception e) {
-                    return (T) Short.valueOf(replaceUnused4Primitive(srcStr));
-                }
+                return (T) Short.valueOf(PrimitiveParser.parseShort(srcStr));
             } else if (tgtClass == Byte.TYPE || tgtClass == Byte.class) {
-                try {
-                    return (T) Byte.valueOf(srcStr);
-                } catch (Exception e) {
-                    return (T) Byte.valueOf(replaceUnused4Primitive(srcStr));
-                }
+                return (T) Byte.valueOf(PrimitiveParser.parseByte(srcStr));
             } else if (tgtClass == Character.TYPE || tgtClass == Character.class) {
-                srcStr = srcStr.trim().replaceAll("[\\s]+", "");
-                if (srcStr.length() == 1) {
-                    return (T) Character.valueOf(srcStr.charAt(0));
+                Character character = getSingleChar(srcStr);
+                if (character != null) {
+                    return (T) character;
                 }
             }
         } catch (Exception e) {/*ignore*/}
-        throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转换成(%s)",
+        throw new CastException(String.format("(类型:%s | toString值:%s)无法转换成(%s)",
                 src.getClass().getName(), src, tgtClass.getName()));
     }
 
-    private static String replaceUnused4Primitive(String str) {
-        return str.trim().replaceAll("[\"'\\s]+", "");
+    /**
+     * 去掉两端的控制字符和中间的空白字符后，只剩一个字符时返回这个字符.
+     *
+     * @param cs 字符序列
+     * @return Character，不是单个字符时返回null
+     */
+    private static Character getSingleChar(CharSequence cs) {
+        int start = 0;
+        int end = cs.length();
+        while (start < end && cs.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && cs.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        Character single = null;
+        for (int i = start; i < end; i++) {
+            char c = cs.charAt(i);
+            if (c == '"' || c == '\'' || !PrimitiveParser.isIgnorable(c)) {
+                if (single != null) {
+                    return null;
+                }
+                single = c;
+            }
+        }
+        return single;
     }
 }
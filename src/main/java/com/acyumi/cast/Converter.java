@@ -0,0 +1,31 @@
+package com.acyumi.cast;
+
+/**
+ * 预编译好的类型转换函数.
+ *
+ * <pre>
+ * 由{@link Castor#getConverter(java.lang.reflect.Type, java.lang.reflect.Type)}针对一对(源类型, 目标类型)编译生成，
+ * 编译时已经走完了Class/ParameterizedType/GenericArrayType/WildcardType的判断分支，
+ * 转换每个值时只剩下真正的转换逻辑。
+ *
+ * 转换函数是无状态的，可以缓存起来在多线程中重复利用
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see Castor#castType2Type(Object, java.lang.reflect.Type, java.lang.reflect.Type)
+ */
+@FunctionalInterface
+public interface Converter {
+
+    /*** 直接返回源对象的转换函数. */
+    Converter IDENTITY = src -> src;
+
+    /**
+     * 转换源对象.
+     *
+     * @param src 源对象
+     * @return 转换后的对象
+     */
+    Object convert(Object src);
+}
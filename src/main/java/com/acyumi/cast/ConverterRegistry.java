@@ -0,0 +1,491 @@
+package com.acyumi.cast;
+
+import com.acyumi.util.DateTimeUtils;
+import com.acyumi.util.JsonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 按(源Class, 目标Class)索引的直接转换函数注册表.
+ *
+ * <pre>
+ * {@link Castor#castSrc2JdkClass(Object, Class)}在目标是非基本数据类型的jdk类型时，
+ * 原本统一借助Json字符串(先序列化再反序列化)来转换，如String转BigDecimal、Long转Date、String转LocalDateTime。
+ * 这里为常用的jdk类型注册直接转换函数，找不到转换函数时才退回到Json转换，
+ * 退回的次数可以通过{@link Castor#getJsonFallbackCount()}查看。
+ *
+ * 内置的转换函数与{@link JsonUtils}默认的ObjectMapper配置的转换结果保持一致，
+ * 如字符串先trim、空字符串转成null、日期时间使用{@link DateTimeUtils}中的默认格式，
+ * 无法确定结果一致的输入(如非默认格式的日期字符串)仍交给Json转换。
+ * ObjectMapper被Spring注入的objectMapper替换后(见{@link JsonUtils#isDefaultObjectMapper()})，
+ * 其日期格式、时区、枚举特性和自定义反序列化器都可能不同，此时不再使用内置的转换函数(包括枚举)，
+ * 只使用通过{@link #register(Class, Class, Converter)}注册的转换函数，其他都交给Json转换。
+ *
+ * 转换函数按源Class精确匹配(不查找父类和接口)，
+ * 枚举额外支持：借助{@link EnumTable}与String之间按name(或@JsonValue的值)转换，从整数按ordinal转换。
+ * 可以通过{@link #register(Class, Class, Converter)}注册或覆盖转换函数
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see Castor#castSrc2JdkClass(Object, Class)
+ */
+public abstract class ConverterRegistry {
+
+    /*** 通过register注册的转换函数，目标Class -> (源Class -> 转换函数). */
+    private static final Map<Class<?>, Map<Class<?>, Converter>> CONVERTERS = new ConcurrentHashMap<>();
+
+    /*** 内置的转换函数，只在使用默认的ObjectMapper时生效，目标Class -> (源Class -> 转换函数). */
+    private static final Map<Class<?>, Map<Class<?>, Converter>> BUILT_IN_CONVERTERS = new ConcurrentHashMap<>();
+
+    /*** 查找结果中表示没有转换函数的占位. */
+    private static final Converter NO_CONVERTER = src -> {
+        throw new UnsupportedOperationException();
+    };
+
+    /*** 字符串不是json值，Json转换时按原字符串处理. */
+    private static final int JSON_PLAIN = 0;
+    /*** 字符串是json整数. */
+    private static final int JSON_INTEGER = 1;
+    /*** 字符串是json小数. */
+    private static final int JSON_FLOAT = 2;
+    /*** 字符串可能是json的true/false/null/对象/数组/带引号的字符串. */
+    private static final int JSON_OTHER = 3;
+
+    /*** 注册表的版本，每次注册后递增，使之前缓存的查找结果失效. */
+    private static volatile int version;
+
+    /**
+     * 使用默认的ObjectMapper时查找结果的缓存. <br>
+     * 按源Class挂在Class对象上，每个源Class下再按目标Class缓存，
+     * 每个查找结果记录查找前的注册表版本，版本不一致时重新查找 <br>
+     * 只缓存目标Class由源Class的类加载器(或其父加载器)加载的查找结果，
+     * 避免String等jdk类上的缓存强引用应用中的枚举类及其EnumTable
+     */
+    private static final ClassValue<Map<Class<?>, Resolved>> RESOLVED_CONVERTERS = new ClassValue<Map<Class<?>, Resolved>>() {
+        @Override
+        protected Map<Class<?>, Resolved> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * 目标Class对源Class的类加载器不可见时查找结果的缓存. <br>
+     * 按目标Class挂在Class对象上，每个目标Class下再按源Class缓存，
+     * 只缓存源Class由目标Class的类加载器(或其父加载器)加载的查找结果
+     */
+    private static final ClassValue<Map<Class<?>, Resolved>> RESOLVED_CONVERTERS_BY_TARGET = new ClassValue<Map<Class<?>, Resolved>>() {
+        @Override
+        protected Map<Class<?>, Resolved> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    static {
+        registerDefaults();
+    }
+
+    /**
+     * 注册转换函数，已存在时覆盖.
+     *
+     * @param srcClass  源Class，精确匹配
+     * @param tgtClass  目标Class，精确匹配
+     * @param converter 转换函数，转换失败时抛出异常即可，
+     *                  {@link Castor#castSrc2JdkClass(Object, Class)}会包装成IllegalArgumentException
+     */
+    public static synchronized void register(Class<?> srcClass, Class<?> tgtClass, Converter converter) {
+        if (srcClass == null || tgtClass == null || converter == null) {
+            throw new IllegalArgumentException("源Class、目标Class和转换函数都不能为null");
+        }
+        CONVERTERS.computeIfAbsent(tgtClass, k -> new ConcurrentHashMap<>()).put(srcClass, converter);
+        version++;
+    }
+
+    private static void registerBuiltIn(Class<?> srcClass, Class<?> tgtClass, Converter converter) {
+        BUILT_IN_CONVERTERS.computeIfAbsent(tgtClass, k -> new ConcurrentHashMap<>()).put(srcClass, converter);
+    }
+
+    /**
+     * 获取(源Class, 目标Class)的直接转换函数.
+     * <p>
+     * ObjectMapper已被替换时只查找通过register注册的转换函数
+     * </p>
+     *
+     * @param srcClass 源Class
+     * @param tgtClass 目标Class
+     * @return 没有对应的转换函数时返回null
+     */
+    public static Converter getConverter(Class<?> srcClass, Class<?> tgtClass) {
+        if (!JsonUtils.isDefaultObjectMapper()) {
+            return getConverter(CONVERTERS, srcClass, tgtClass);
+        }
+        Map<Class<?>, Resolved> resolvedMap;
+        Class<?> key;
+        if (Castor.isVisibleFrom(tgtClass, srcClass.getClassLoader())) {
+            resolvedMap = RESOLVED_CONVERTERS.get(srcClass);
+            key = tgtClass;
+        } else if (Castor.isVisibleFrom(srcClass, tgtClass.getClassLoader())) {
+            resolvedMap = RESOLVED_CONVERTERS_BY_TARGET.get(tgtClass);
+            key = srcClass;
+        } else {
+            //两个Class互相不可见时不缓存
+            return resolve(srcClass, tgtClass);
+        }
+        //先读版本再查找，查找期间有新注册时这次的结果会因版本不一致而在下次被重新查找
+        int currentVersion = version;
+        Resolved resolved = resolvedMap.get(key);
+        if (resolved == null || resolved.version != currentVersion) {
+            Converter converter = resolve(srcClass, tgtClass);
+            resolved = new Resolved(converter == null ? NO_CONVERTER : converter, currentVersion);
+            resolvedMap.put(key, resolved);
+        }
+        return resolved.converter == NO_CONVERTER ? null : resolved.converter;
+    }
+
+    private static Converter getConverter(Map<Class<?>, Map<Class<?>, Converter>> converters,
+                                          Class<?> srcClass, Class<?> tgtClass) {
+        Map<Class<?>, Converter> converterMap = converters.get(tgtClass);
+        return converterMap == null ? null : converterMap.get(srcClass);
+    }
+
+    private static Converter resolve(Class<?> srcClass, Class<?> tgtClass) {
+        Converter converter = getConverter(CONVERTERS, srcClass, tgtClass);
+        if (converter == null) {
+            converter = getConverter(BUILT_IN_CONVERTERS, srcClass, tgtClass);
+        }
+        if (converter != null) {
+            return converter;
+        }
+
+        //枚举常量带方法体时getClass()是匿名子类，EnumTable按声明的枚举类处理
+        if (tgtClass == String.class && Enum.class.isAssignableFrom(srcClass) && srcClass != Enum.class) {
+            EnumTable<?> table = getEnumTable(srcClass);
+            return table != null && table.isJacksonCompatible() ? src -> enumToString(src, table) : null;
+        }
+        if (tgtClass.isEnum()) {
+            EnumTable<?> table = getEnumTable(tgtClass);
+            if (table == null || !table.isJacksonCompatible()) {
+                return null;
+            }
+            if (srcClass == String.class) {
+                return src -> enumByName(src, table);
+            }
+            if (srcClass == Integer.class || srcClass == Long.class
+                    || srcClass == Short.class || srcClass == Byte.class) {
+                return src -> enumByOrdinal(src, table);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取枚举类的查找表.
+     *
+     * @param enumClass 枚举类
+     * @return 构建查找表失败(如读取枚举的值失败)时返回null，交给Json转换
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static EnumTable<?> getEnumTable(Class<?> enumClass) {
+        try {
+            return EnumTable.of((Class) enumClass);
+        } catch (RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Object enumToString(Object src, EnumTable<?> table) {
+        String str = table.toJacksonString((Enum<?>) src);
+        return str != null ? str : Castor.castByJson(src, String.class);
+    }
+
+    private static Object enumByName(Object src, EnumTable<?> table) {
+        String name = (String) src;
+        if (getJsonKind(name, null) != JSON_PLAIN) {
+            return Castor.castByJson(src, table.getEnumClass());
+        }
+        Object constant = table.byJacksonKey(name);
+        //jackson匹配不到会失败，没有@JsonValue的枚举再忽略大小写按name匹配一次
+        if (constant == null && !table.hasJsonValue()) {
+            constant = table.byNameIgnoreCase(name);
+        }
+        return constant != null ? constant : Castor.castByJson(src, table.getEnumClass());
+    }
+
+    private static Object enumByOrdinal(Object src, EnumTable<?> table) {
+        long ordinal = ((Number) src).longValue();
+        Object constant = ordinal >= 0 && ordinal <= Integer.MAX_VALUE ? table.byOrdinal((int) ordinal) : null;
+        return constant != null ? constant : Castor.castByJson(src, table.getEnumClass());
+    }
+
+    private static void registerDefaults() {
+
+        Class<?>[] numberClasses = {Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+                BigInteger.class, BigDecimal.class, AtomicInteger.class, AtomicLong.class};
+        Class<?>[] integerClasses = {Integer.class, Long.class, Short.class, Byte.class};
+
+        //---------------------------------------------------------
+        //数字 start
+        //jackson把数字序列化成toString()的字面值再按目标类型解析，小数转BigInteger时直接舍去小数部分
+        for (Class<?> numberClass : numberClasses) {
+            registerBuiltIn(numberClass, String.class, Object::toString);
+            registerBuiltIn(numberClass, BigDecimal.class,
+                    src -> NumberCastor.cast((Number) src, BigDecimal.class, NumberCastor.Policy.FAIL));
+            registerBuiltIn(numberClass, BigInteger.class,
+                    src -> NumberCastor.cast((Number) src, BigInteger.class, NumberCastor.Policy.TRUNCATE));
+        }
+        //jackson按字符串解析BigDecimal/BigInteger时先trim，空字符串和"null"转成null
+        registerFromString(BigDecimal.class, str -> {
+            str = str.trim();
+            return isEmptyOrTextualNull(str) ? null : new BigDecimal(str);
+        }, number -> new BigDecimal(number));
+        registerFromString(BigInteger.class, str -> {
+            str = str.trim();
+            return isEmptyOrTextualNull(str) ? null : new BigInteger(str);
+        }, number -> new BigDecimal(number).toBigInteger());
+        registerBuiltIn(Boolean.class, String.class, Object::toString);
+        //数字 end
+        //---------------------------------------------------------
+
+        //---------------------------------------------------------
+        //日期时间 start
+        for (Class<?> integerClass : integerClasses) {
+            registerBuiltIn(integerClass, Date.class, src -> new Date(((Number) src).longValue()));
+        }
+        registerFromString(Date.class, str -> {
+            String trimmed = str.trim();
+            if (trimmed.isEmpty() || "-".equals(trimmed)) {
+                return null;
+            }
+            //与com.acyumi.configuration.converter.MsgDateDeserializer一致，动态格式解析不了的交给jackson
+            Date date = DateTimeUtils.dynamicParseToDate(trimmed);
+            return date != null ? date : Castor.castByJson(str, Date.class);
+        }, null);
+        for (Class<?> dateClass : new Class<?>[]{Date.class, Timestamp.class}) {
+            registerBuiltIn(dateClass, String.class, src -> DateTimeUtils.defaultDateTimeFormat((Date) src));
+            registerBuiltIn(dateClass, LocalDateTime.class, src -> DateTimeUtils.toLocalDateTime((Date) src).withNano(0));
+        }
+
+        registerFromString(LocalDateTime.class, str -> {
+            str = str.trim();
+            return str.isEmpty() ? null : LocalDateTime.parse(str, DateTimeUtils.DEFAULT_DATE_TIME_FORMATTER);
+        }, null);
+        registerFromString(LocalDate.class, str -> {
+            str = str.trim();
+            return str.isEmpty() ? null : LocalDate.parse(str, DateTimeUtils.DEFAULT_DATE_FORMATTER);
+        }, null);
+        registerFromString(LocalTime.class, str -> {
+            str = str.trim();
+            return str.isEmpty() ? null : LocalTime.parse(str, DateTimeUtils.DEFAULT_TIME_FORMATTER);
+        }, null);
+        registerBuiltIn(LocalDateTime.class, String.class,
+                src -> DateTimeUtils.DEFAULT_DATE_TIME_FORMATTER.format((LocalDateTime) src));
+        registerBuiltIn(LocalDate.class, String.class, src -> DateTimeUtils.DEFAULT_DATE_FORMATTER.format((LocalDate) src));
+        registerBuiltIn(LocalTime.class, String.class, src -> DateTimeUtils.DEFAULT_TIME_FORMATTER.format((LocalTime) src));
+        //序列化时只保留到秒
+        registerBuiltIn(LocalDateTime.class, Date.class, src -> DateTimeUtils.toDate(((LocalDateTime) src).withNano(0)));
+        registerBuiltIn(LocalDate.class, Date.class, src -> DateTimeUtils.toDate((LocalDate) src));
+
+        registerFromString(Instant.class, str -> {
+            String trimmed = str.trim();
+            if (trimmed.isEmpty()) {
+                return null;
+            }
+            //带偏移量的格式交给jackson
+            return trimmed.indexOf('T') > 0 && trimmed.charAt(trimmed.length() - 1) == 'Z' ?
+                    Instant.parse(trimmed) : Castor.castByJson(str, Instant.class);
+        }, null);
+        registerFromString(Duration.class, str -> {
+            str = str.trim();
+            return str.isEmpty() ? null : Duration.parse(str);
+        }, null);
+        //日期时间 end
+        //---------------------------------------------------------
+
+        //---------------------------------------------------------
+        //其他 start
+        registerFromString(UUID.class, str -> {
+            String trimmed = str.trim();
+            if (trimmed.isEmpty()) {
+                return null;
+            }
+            //jackson只接受标准的36位格式(和base64格式)，UUID.fromString则宽松得多
+            return isStandardUuid(trimmed) ? UUID.fromString(trimmed) : Castor.castByJson(str, UUID.class);
+        }, null);
+        registerBuiltIn(UUID.class, String.class, Object::toString);
+        registerFromString(URI.class, str -> URI.create(str.trim()), null);
+        registerBuiltIn(URI.class, String.class, Object::toString);
+        registerFromString(Charset.class, str -> {
+            str = str.trim();
+            return str.isEmpty() ? null : Charset.forName(str);
+        }, null);
+        //其他 end
+        //---------------------------------------------------------
+    }
+
+    /**
+     * 注册从String转换的函数.
+     * <p>
+     * Json转换时{@link com.acyumi.util.JsonUtils#toJsonStr(Object)}会先把字符串当成json解析一次，
+     * 如"12"、"1.50"会先变成数字、"true"会先变成布尔值，解析不了的字符串才原样当成字符串。
+     * 所以这里先按jackson的规则判断字符串是否json值，是json数字时交给fromNumber，其他json值交给Json转换
+     * </p>
+     *
+     * @param tgtClass   目标Class
+     * @param fromString 从原样字符串转换的函数
+     * @param fromNumber 从json数字(整数或double的标准字面值)转换的函数，为null时交给Json转换
+     */
+    private static void registerFromString(Class<?> tgtClass, Function<String, Object> fromString,
+                                           Function<String, Object> fromNumber) {
+        registerBuiltIn(String.class, tgtClass, src -> {
+            String str = (String) src;
+            int[] numberEnd = new int[1];
+            int jsonKind = getJsonKind(str, numberEnd);
+            if (jsonKind == JSON_PLAIN) {
+                return fromString.apply(str);
+            }
+            if (fromNumber != null && jsonKind != JSON_OTHER) {
+                //jackson把整数解析成Integer/Long/BigInteger，小数解析成Double，再按toString()的字面值序列化
+                int start = skipJsonWhitespace(str, 0);
+                String number = str.substring(start, numberEnd[0]);
+                return fromNumber.apply(jsonKind == JSON_INTEGER ?
+                        new BigInteger(number).toString() : Double.toString(Double.parseDouble(number)));
+            }
+            return Castor.castByJson(src, tgtClass);
+        });
+    }
+
+    /**
+     * 按jackson(默认配置)解析根json值的规则判断字符串的类型.
+     * <p>
+     * 数字后面只能是结尾或空白字符(之后的内容会被忽略)，前导0、小数点或指数后没有数字等都会解析失败；
+     * 以t/f/n开头(可能是true/false/null)和以{、[、"开头的字符串不细分，统一当成JSON_OTHER
+     * </p>
+     *
+     * @param str       字符串
+     * @param numberEnd 是json数字时写入数字结束的位置
+     * @return JSON_PLAIN、JSON_INTEGER、JSON_FLOAT或JSON_OTHER
+     */
+    private static int getJsonKind(String str, int[] numberEnd) {
+        int length = str.length();
+        int i = skipJsonWhitespace(str, 0);
+        if (i == length) {
+            return JSON_PLAIN;
+        }
+        char c = str.charAt(i);
+        if (c == 't' || c == 'f' || c == 'n' || c == '{' || c == '[' || c == '"') {
+            return JSON_OTHER;
+        }
+        if (c == '-') {
+            i++;
+        }
+        int intStart = i;
+        while (i < length && isDigit(str.charAt(i))) {
+            i++;
+        }
+        int intLength = i - intStart;
+        if (intLength == 0 || (intLength > 1 && str.charAt(intStart) == '0')) {
+            return JSON_PLAIN;
+        }
+        int kind = JSON_INTEGER;
+        if (i < length && str.charAt(i) == '.') {
+            int fractionStart = ++i;
+            while (i < length && isDigit(str.charAt(i))) {
+                i++;
+            }
+            if (i == fractionStart) {
+                return JSON_PLAIN;
+            }
+            kind = JSON_FLOAT;
+        }
+        if (i < length && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && isDigit(str.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return JSON_PLAIN;
+            }
+            kind = JSON_FLOAT;
+        }
+        if (i < length && !isJsonWhitespace(str.charAt(i))) {
+            return JSON_PLAIN;
+        }
+        if (numberEnd != null) {
+            numberEnd[0] = i;
+        }
+        return kind;
+    }
+
+    private static int skipJsonWhitespace(String str, int index) {
+        while (index < str.length() && isJsonWhitespace(str.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isJsonWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isEmptyOrTextualNull(String str) {
+        return str.isEmpty() || "null".equals(str);
+    }
+
+    private static boolean isStandardUuid(String str) {
+        if (str.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = str.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (Character.digit(c, 16) < 0 || c > 'f') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 一次查找的结果.
+     */
+    private static final class Resolved {
+
+        /*** 转换函数，没有时为NO_CONVERTER. */
+        private final Converter converter;
+
+        /*** 查找前读到的注册表版本. */
+        private final int version;
+
+        private Resolved(Converter converter, int version) {
+            this.converter = converter;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.acyumi.cast;
+
+import com.acyumi.reflect.Reflector;
+import com.acyumi.util.ParameterUtils;
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 枚举常量的查找表.
+ *
+ * <pre>
+ * 每个枚举类只构建一次(挂在Class对象上缓存)，之后按以下方式查找常量都只是一次数组或HashMap的访问：
+ * 1、按name                        {@link #byName(String)}
+ * 2、按name忽略大小写               {@link #byNameIgnoreCase(String)}
+ * 3、按ordinal                     {@link #byOrdinal(int)}
+ * 4、按@JsonValue标注的方法或字段的值 {@link #byJsonValue(Object)}
+ * 5、按自定义的编码属性(如code)的值   {@link #byProperty(String, Object)}
+ *
+ * {@link Castor}转换枚举时使用这里的查找表，与jackson的结果保持一致：
+ * 字符串按name(有@JsonValue时按其值的toString())匹配，整数按ordinal匹配，
+ * 没有jackson注解的枚举在匹配不到时再忽略大小写按name匹配一次；
+ * 带有@JsonCreator、@JsonProperty等其他jackson注解的枚举仍交给Json转换
+ * </pre>
+ *
+ * @param <E> 枚举类型
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see ConverterRegistry#getConverter(Class, Class)
+ */
+public final class EnumTable<E extends Enum<E>> {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final ClassValue<EnumTable<?>> TABLES = new ClassValue<EnumTable<?>>() {
+        @Override
+        protected EnumTable<?> computeValue(Class<?> type) {
+            return new EnumTable(type);
+        }
+    };
+
+    /*** 枚举类. */
+    private final Class<E> enumClass;
+    /*** 按ordinal排列的常量. */
+    private final E[] constants;
+    /*** name -> 常量. */
+    private final Map<String, E> byName;
+    /*** 大写的name -> 常量. */
+    private final Map<String, E> byUpperCaseName;
+    /*** 按ordinal排列的@JsonValue值，没有@JsonValue时为null. */
+    private final Object[] jsonValues;
+    /*** @JsonValue值及其toString() -> 常量. */
+    private final Map<Object, E> byJsonValue;
+    /*** jackson反序列化字符串时使用的key -> 常量. */
+    private final Map<String, E> byJacksonKey;
+    /*** 没有jackson注解，或者只有@JsonValue注解. */
+    private final boolean jacksonCompatible;
+    /*** 属性名 -> (属性值及其toString() -> 常量). */
+    private final Map<String, Map<Object, E>> byProperty = new ConcurrentHashMap<>();
+
+    private EnumTable(Class<E> enumClass) {
+        this.enumClass = enumClass;
+        this.constants = enumClass.getEnumConstants();
+        this.byName = new HashMap<>(ParameterUtils.calcMapCapacity(constants.length));
+        this.byUpperCaseName = new HashMap<>(ParameterUtils.calcMapCapacity(constants.length));
+        for (E constant : constants) {
+            byName.put(constant.name(), constant);
+            byUpperCaseName.putIfAbsent(constant.name().toUpperCase(Locale.ROOT), constant);
+        }
+
+        AccessibleObject jsonValueMember = null;
+        boolean otherJacksonAnnotation = hasJacksonAnnotation(enumClass.getDeclaredAnnotations(), false);
+        for (AccessibleObject[] members : new AccessibleObject[][]{
+                enumClass.getDeclaredMethods(), enumClass.getDeclaredFields()}) {
+            for (AccessibleObject member : members) {
+                Annotation[] annotations = member.getDeclaredAnnotations();
+                otherJacksonAnnotation |= hasJacksonAnnotation(annotations, true);
+                JsonValue jsonValue = member.getDeclaredAnnotation(JsonValue.class);
+                if (jsonValue != null) {
+                    //多个@JsonValue、@JsonValue(false)或者带参数的方法都不按@JsonValue处理
+                    boolean usable = jsonValue.value() && jsonValueMember == null
+                            && (!(member instanceof Method) || ((Method) member).getParameterCount() == 0);
+                    otherJacksonAnnotation |= !usable;
+                    jsonValueMember = member;
+                }
+            }
+        }
+
+        //有其他jackson注解(包括不按@JsonValue处理的@JsonValue)时不会用到@JsonValue的值，不去读取
+        Object[] values = null;
+        if (jsonValueMember != null && !otherJacksonAnnotation) {
+            values = readJsonValues(jsonValueMember, constants);
+            //读取失败(如jdk16+命名模块中的枚举无法setAccessible)时交给Json转换
+            otherJacksonAnnotation = values == null;
+        }
+        this.jacksonCompatible = !otherJacksonAnnotation;
+
+        if (values == null) {
+            this.jsonValues = null;
+            this.byJsonValue = null;
+            this.byJacksonKey = byName;
+            return;
+        }
+        this.jsonValues = values;
+        this.byJsonValue = new HashMap<>(ParameterUtils.calcMapCapacity(constants.length * 2));
+        this.byJacksonKey = new HashMap<>(ParameterUtils.calcMapCapacity(constants.length));
+        for (E constant : constants) {
+            Object value = values[constant.ordinal()];
+            if (value != null) {
+                byJsonValue.putIfAbsent(value, constant);
+                byJsonValue.putIfAbsent(value.toString(), constant);
+                byJacksonKey.putIfAbsent(value.toString(), constant);
+            }
+        }
+    }
+
+    /**
+     * 获取枚举类的查找表.
+     *
+     * @param enumClass 枚举类，也可以是带方法体的枚举常量的匿名子类
+     * @param <E>       枚举类型
+     * @return EnumTable
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumTable<E> of(Class<E> enumClass) {
+        if (enumClass == null || !Enum.class.isAssignableFrom(enumClass) || (Class<?>) enumClass == Enum.class) {
+            throw new IllegalArgumentException(String.format("(%s)不是枚举类", enumClass));
+        }
+        Class<?> declaringClass = enumClass.isEnum() ? enumClass : enumClass.getSuperclass();
+        return (EnumTable<E>) TABLES.get(declaringClass);
+    }
+
+    public Class<E> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * 按name查找.
+     *
+     * @param name 常量的name
+     * @return 找不到时返回null
+     */
+    public E byName(String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    /**
+     * 按name忽略大小写查找，多个常量的name只有大小写不同时返回ordinal最小的.
+     *
+     * @param name 常量的name
+     * @return 找不到时返回null
+     */
+    public E byNameIgnoreCase(String name) {
+        if (name == null) {
+            return null;
+        }
+        E constant = byName.get(name);
+        return constant != null ? constant : byUpperCaseName.get(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * 按ordinal查找.
+     *
+     * @param ordinal 常量的ordinal
+     * @return 越界时返回null
+     */
+    public E byOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < constants.length ? constants[ordinal] : null;
+    }
+
+    public boolean hasJsonValue() {
+        return jsonValues != null;
+    }
+
+    /**
+     * 获取常量@JsonValue的值.
+     *
+     * @param constant 枚举常量
+     * @return 没有@JsonValue时返回null
+     */
+    public Object getJsonValue(E constant) {
+        return jsonValues == null || constant == null ? null : jsonValues[constant.ordinal()];
+    }
+
+    /**
+     * 按@JsonValue的值查找，值相等或者toString()相等都算匹配.
+     *
+     * @param value @JsonValue的值
+     * @return 没有@JsonValue或找不到时返回null
+     */
+    public E byJsonValue(Object value) {
+        if (byJsonValue == null || value == null) {
+            return null;
+        }
+        E constant = byJsonValue.get(value);
+        return constant != null ? constant : byJsonValue.get(value.toString());
+    }
+
+    /**
+     * 按属性值查找，如按code属性找到编码为"01"的常量. <br>
+     * 每个属性名第一次查找时读取所有常量的属性值建表，值相等或者toString()相等都算匹配
+     *
+     * @param propertyName 属性名(有getter或者是成员变量)
+     * @param value        属性值
+     * @return 找不到时返回null
+     */
+    public E byProperty(String propertyName, Object value) {
+        if (propertyName == null || value == null) {
+            return null;
+        }
+        Map<Object, E> table = byProperty.get(propertyName);
+        if (table == null) {
+            table = new HashMap<>(ParameterUtils.calcMapCapacity(constants.length * 2));
+            for (E constant : constants) {
+                Object propertyValue = Reflector.getFieldValue(constant, propertyName);
+                if (propertyValue != null) {
+                    table.putIfAbsent(propertyValue, constant);
+                    table.putIfAbsent(propertyValue.toString(), constant);
+                }
+            }
+            Map<Object, E> existing = byProperty.putIfAbsent(propertyName, table);
+            if (existing != null) {
+                table = existing;
+            }
+        }
+        E constant = table.get(value);
+        return constant != null ? constant : table.get(value.toString());
+    }
+
+    /**
+     * 是否与jackson的转换规则一致(没有jackson注解，或者只有@JsonValue注解).
+     */
+    boolean isJacksonCompatible() {
+        return jacksonCompatible;
+    }
+
+    /**
+     * 按jackson反序列化字符串的规则查找：有@JsonValue时按其值的toString()，否则按name.
+     */
+    E byJacksonKey(String key) {
+        return byJacksonKey.get(key);
+    }
+
+    /**
+     * 按jackson序列化的规则转成字符串.
+     *
+     * @return 结果与Json转换不一定一致(如@JsonValue的值需要转义或者是对象)时返回null
+     */
+    String toJacksonString(Enum<?> constant) {
+        if (jsonValues == null) {
+            return constant.name();
+        }
+        Object value = jsonValues[constant.ordinal()];
+        if (value instanceof String) {
+            String str = (String) value;
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                if (c < ' ' || c == '"' || c == '\\') {
+                    return null;
+                }
+            }
+            return str;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof Boolean) {
+            return value.toString();
+        }
+        return null;
+    }
+
+    /**
+     * 读取所有常量@JsonValue的值.
+     *
+     * @param member    @JsonValue标注的无参方法或字段
+     * @param constants 按ordinal排列的常量
+     * @return 按ordinal排列的值，读取失败时返回null
+     */
+    private static Object[] readJsonValues(AccessibleObject member, Enum<?>[] constants) {
+        Object[] values = new Object[constants.length];
+        try {
+            Member javaMember = (Member) member;
+            if (!Modifier.isPublic(javaMember.getModifiers())
+                    || !Modifier.isPublic(javaMember.getDeclaringClass().getModifiers())) {
+                member.setAccessible(true);
+            }
+            for (Enum<?> constant : constants) {
+                values[constant.ordinal()] = member instanceof Method ?
+                        ((Method) member).invoke(constant) : ((Field) member).get(constant);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return values;
+    }
+
+    /**
+     * 是否有jackson注解.
+     *
+     * @param annotations   注解
+     * @param skipJsonValue 是否不算@JsonValue
+     * @return boolean
+     */
+    static boolean hasJacksonAnnotation(Annotation[] annotations, boolean skipJsonValue) {
+        for (Annotation annotation : annotations) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (skipJsonValue && annotationType == JsonValue.class) {
+                continue;
+            }
+            if (annotationType.isAnnotationPresent(JacksonAnnotation.class)
+                    || annotationType.getName().startsWith("com.fasterxml.jackson.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,272 @@
+package com.acyumi.cast;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 数字之间的直接转换.
+ *
+ * <pre>
+ * 直接读取Number的值做转换，不再先toString()再解析，
+ * 如从JDBC/Redis读出来的Long转Integer、Integer转BigDecimal、Double转Long。
+ *
+ * 支持的源类型：Integer、Long、Short、Byte、Double、Float、BigInteger、BigDecimal，
+ * 以及AtomicInteger、AtomicLong、LongAdder、LongAccumulator、DoubleAdder、DoubleAccumulator；
+ * 支持的目标类型：int、long、short、byte、double、float及其包装类型，BigInteger、BigDecimal。
+ *
+ * 目标类型放不下源值时按{@link Policy}处理，
+ * Float转Double/BigDecimal时按Float.toString()的十进制值转换(0.1f转成0.1而不是0.10000000149011612)
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see Castor#castSrc2JdkClass(Object, Class)
+ */
+public abstract class NumberCastor {
+
+    /**
+     * 目标类型放不下源值(溢出或者丢失小数部分)时的处理策略.
+     */
+    public enum Policy {
+
+        /*** 抛出IllegalArgumentException，转成double/float时只在有限值溢出成无穷大时失败，不检查精度. */
+        FAIL,
+
+        /*** 截断小数部分，超出范围时取目标类型的最大值或最小值，NaN转成0. */
+        SATURATE,
+
+        /*** 与Number.intValue()等方法(即java的基本类型窄化转换)一致，整数溢出时只保留低位. */
+        TRUNCATE
+    }
+
+    private static final int KIND_UNKNOWN = 0;
+    private static final int KIND_INTEGRAL = 1;
+    private static final int KIND_DOUBLE = 2;
+    private static final int KIND_FLOAT = 3;
+    private static final int KIND_BIG_INTEGER = 4;
+    private static final int KIND_BIG_DECIMAL = 5;
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /**
+     * 判断是否可以直接转换.
+     *
+     * @param srcClass 源类型Class
+     * @param tgtClass 目标类型Class
+     * @return boolean
+     */
+    public static boolean isCastable(Class<?> srcClass, Class<?> tgtClass) {
+        return getKind(srcClass) != KIND_UNKNOWN && isTargetClass(tgtClass);
+    }
+
+    /**
+     * 将数字转换成目标类型.
+     *
+     * @param src      源数字
+     * @param tgtClass 目标类型Class，可以是基本数据类型
+     * @param policy   溢出或丢失小数部分时的处理策略
+     * @param <T>      目标类型
+     * @return 目标对象，源数字为null时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T cast(Number src, Class<?> tgtClass, Policy policy) {
+        if (src == null) {
+            return null;
+        }
+        int kind = getKind(src.getClass());
+        if (kind == KIND_UNKNOWN || !isTargetClass(tgtClass)) {
+            throw new IllegalArgumentException(String.format("不支持从(%s)直接转换成(%s)",
+                    src.getClass().getName(), tgtClass.getName()));
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("数字转换策略policy不能为null");
+        }
+        Object tgt;
+        if (tgtClass == Long.class || tgtClass == long.class) {
+            tgt = policy == Policy.TRUNCATE ? src.longValue() : toLong(src, kind, tgtClass, policy);
+        } else if (tgtClass == Integer.class || tgtClass == int.class) {
+            tgt = policy == Policy.TRUNCATE ? src.intValue()
+                    : (int) narrow(src, kind, tgtClass, policy, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (tgtClass == Short.class || tgtClass == short.class) {
+            tgt = policy == Policy.TRUNCATE ? src.shortValue()
+                    : (short) narrow(src, kind, tgtClass, policy, Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (tgtClass == Byte.class || tgtClass == byte.class) {
+            tgt = policy == Policy.TRUNCATE ? src.byteValue()
+                    : (byte) narrow(src, kind, tgtClass, policy, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (tgtClass == Double.class || tgtClass == double.class) {
+            tgt = toDouble(src, kind, tgtClass, policy);
+        } else if (tgtClass == Float.class || tgtClass == float.class) {
+            tgt = toFloat(src, kind, tgtClass, policy);
+        } else if (tgtClass == BigInteger.class) {
+            tgt = toBigInteger(src, kind, tgtClass, policy);
+        } else {
+            tgt = toBigDecimal(src, kind, tgtClass);
+        }
+        return (T) tgt;
+    }
+
+    private static int getKind(Class<?> numberClass) {
+        if (numberClass == Integer.class || numberClass == Long.class || numberClass == Short.class
+                || numberClass == Byte.class || numberClass == AtomicInteger.class || numberClass == AtomicLong.class
+                || numberClass == LongAdder.class || numberClass == LongAccumulator.class) {
+            return KIND_INTEGRAL;
+        } else if (numberClass == Double.class || numberClass == DoubleAdder.class
+                || numberClass == DoubleAccumulator.class) {
+            return KIND_DOUBLE;
+        } else if (numberClass == Float.class) {
+            return KIND_FLOAT;
+        } else if (numberClass == BigInteger.class) {
+            return KIND_BIG_INTEGER;
+        } else if (numberClass == BigDecimal.class) {
+            return KIND_BIG_DECIMAL;
+        }
+        return KIND_UNKNOWN;
+    }
+
+    private static boolean isTargetClass(Class<?> tgtClass) {
+        return tgtClass == Integer.class || tgtClass == int.class || tgtClass == Long.class || tgtClass == long.class
+                || tgtClass == Short.class || tgtClass == short.class || tgtClass == Byte.class
+                || tgtClass == byte.class || tgtClass == Double.class || tgtClass == double.class
+                || tgtClass == Float.class || tgtClass == float.class || tgtClass == BigInteger.class
+                || tgtClass == BigDecimal.class;
+    }
+
+    /**
+     * 转换成long，policy为FAIL或SATURATE.
+     */
+    private static long toLong(Number src, int kind, Class<?> tgtClass, Policy policy) {
+        switch (kind) {
+            case KIND_INTEGRAL:
+                return src.longValue();
+            case KIND_BIG_INTEGER:
+                BigInteger bigInteger = (BigInteger) src;
+                if (bigInteger.bitLength() < Long.SIZE) {
+                    return bigInteger.longValue();
+                }
+                if (policy == Policy.FAIL) {
+                    throw cannotCast(src, tgtClass);
+                }
+                return bigInteger.signum() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+            case KIND_BIG_DECIMAL:
+                BigDecimal bigDecimal = (BigDecimal) src;
+                if (policy == Policy.FAIL) {
+                    try {
+                        return bigDecimal.longValueExact();
+                    } catch (ArithmeticException e) {
+                        throw cannotCast(src, tgtClass);
+                    }
+                }
+                BigInteger integer = bigDecimal.setScale(0, RoundingMode.DOWN).unscaledValue();
+                return integer.compareTo(LONG_MIN) < 0 ? Long.MIN_VALUE
+                        : (integer.compareTo(LONG_MAX) > 0 ? Long.MAX_VALUE : integer.longValue());
+            default:
+                double value = src.doubleValue();
+                //(long)强转本身就是截断小数并取最大值或最小值，NaN转成0
+                long longValue = (long) value;
+                if (policy == Policy.FAIL && (longValue != value || value == 0x1p63)) {
+                    throw cannotCast(src, tgtClass);
+                }
+                return longValue;
+        }
+    }
+
+    /**
+     * 转换成int/short/byte范围内的整数，policy为FAIL或SATURATE.
+     */
+    private static long narrow(Number src, int kind, Class<?> tgtClass, Policy policy, long min, long max) {
+        long value = toLong(src, kind, tgtClass, policy);
+        if (value < min || value > max) {
+            if (policy == Policy.FAIL) {
+                throw cannotCast(src, tgtClass);
+            }
+            return value < min ? min : max;
+        }
+        return value;
+    }
+
+    private static double toDouble(Number src, int kind, Class<?> tgtClass, Policy policy) {
+        if (kind == KIND_DOUBLE || kind == KIND_INTEGRAL) {
+            return src.doubleValue();
+        } else if (kind == KIND_FLOAT) {
+            float value = src.floatValue();
+            return Float.isFinite(value) ? Double.parseDouble(Float.toString(value)) : value;
+        }
+        double value = src.doubleValue();
+        if (Double.isInfinite(value) && policy != Policy.TRUNCATE) {
+            if (policy == Policy.FAIL) {
+                throw cannotCast(src, tgtClass);
+            }
+            return value > 0 ? Double.MAX_VALUE : -Double.MAX_VALUE;
+        }
+        return value;
+    }
+
+    private static float toFloat(Number src, int kind, Class<?> tgtClass, Policy policy) {
+        float value = src.floatValue();
+        if (Float.isInfinite(value) && policy != Policy.TRUNCATE
+                && (kind != KIND_DOUBLE && kind != KIND_FLOAT || !Double.isInfinite(src.doubleValue()))) {
+            if (policy == Policy.FAIL) {
+                throw cannotCast(src, tgtClass);
+            }
+            return value > 0 ? Float.MAX_VALUE : -Float.MAX_VALUE;
+        }
+        return value;
+    }
+
+    private static BigInteger toBigInteger(Number src, int kind, Class<?> tgtClass, Policy policy) {
+        switch (kind) {
+            case KIND_INTEGRAL:
+                return BigInteger.valueOf(src.longValue());
+            case KIND_BIG_INTEGER:
+                return (BigInteger) src;
+            default:
+                BigDecimal bigDecimal = toBigDecimal(src, kind, tgtClass);
+                if (policy == Policy.FAIL) {
+                    try {
+                        return bigDecimal.toBigIntegerExact();
+                    } catch (ArithmeticException e) {
+                        throw cannotCast(src, tgtClass);
+                    }
+                }
+                return bigDecimal.toBigInteger();
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Number src, int kind, Class<?> tgtClass) {
+        switch (kind) {
+            case KIND_INTEGRAL:
+                return BigDecimal.valueOf(src.longValue());
+            case KIND_BIG_INTEGER:
+                return new BigDecimal((BigInteger) src);
+            case KIND_BIG_DECIMAL:
+                return (BigDecimal) src;
+            default:
+                //NaN和无穷大没有对应的BigDecimal，不论哪种策略都失败
+                if (kind == KIND_FLOAT) {
+                    float value = src.floatValue();
+                    if (!Float.isFinite(value)) {
+                        throw cannotCast(src, tgtClass);
+                    }
+                    return new BigDecimal(Float.toString(value));
+                }
+                double value = src.doubleValue();
+                if (!Double.isFinite(value)) {
+                    throw cannotCast(src, tgtClass);
+                }
+                return BigDecimal.valueOf(value);
+        }
+    }
+
+    private static IllegalArgumentException cannotCast(Number src, Class<?> tgtClass) {
+        return new CastException(String.format("(类型:%s | toString值:%s)无法转换成(%s)",
+                src.getClass().getName(), src, tgtClass.getName()));
+    }
+}
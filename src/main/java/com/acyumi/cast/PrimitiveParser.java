@@ -0,0 +1,426 @@
+package com.acyumi.cast;
+
+/**
+ * 把字符序列解析成基本数据类型的方法.
+ *
+ * <pre>
+ * 与{@link Integer#parseInt(String)}等方法相比：
+ * 1、直接解析CharSequence，不需要先toString()，解析成功时不分配对象；
+ * 2、两端的控制字符(同String.trim())以及任意位置的引号(" 和 ')和空白字符(空格、\t、\n、\u000B、\f、\r)都会被跳过，
+ *    如"\"1 024\""解析成1024，只扫描一遍，不需要先用正则表达式替换掉再解析；
+ * 3、xxx(cs, defaultValue)方法解析失败时返回默认值，不抛出异常，
+ *    xxx(cs)方法只在解析失败时抛出NumberFormatException(或IllegalArgumentException)。
+ *
+ * 整数与Integer.parseInt规则相同(可带正负号，只能是十进制数字)；
+ * 小数支持十进制小数和科学计数法，以及结尾的f/F/d/D，
+ * 有效数字不超过15位(float为7位)且指数不大时直接计算(结果与Double.parseDouble完全一致)，
+ * 其他情况(如NaN、Infinity、十六进制)退回到Double.parseDouble/Float.parseFloat；
+ * 布尔值只接受true和false(忽略大小写)
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see Castor#castSrc2JdkClass(Object, Class)
+ */
+public abstract class PrimitiveParser {
+
+    /*** 整数解析失败的标记值，解析出来的值恰好是Long.MIN_VALUE时需要再确认一次. */
+    private static final long INVALID_LONG = Long.MIN_VALUE;
+
+    /*** 小数解析失败的标记值，一个不会由解析和运算产生的NaN. */
+    private static final long INVALID_DOUBLE_BITS = 0x7FF8DEAD0000BEEFL;
+    private static final double INVALID_DOUBLE = Double.longBitsToDouble(INVALID_DOUBLE_BITS);
+
+    /*** 可以精确表示的10的幂. */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /*** 快速计算小数时有效数字的最大位数，10^15 &lt; 2^53，10^7 &lt; 2^24. */
+    private static final int MAX_DOUBLE_FAST_DIGITS = 15;
+    private static final int MAX_FLOAT_FAST_DIGITS = 7;
+
+    public static int parseInt(CharSequence cs) {
+        long value = parseInteger(cs, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        if (value == INVALID_LONG) {
+            throw numberFormatException(cs);
+        }
+        return (int) value;
+    }
+
+    public static int parseInt(CharSequence cs, int defaultValue) {
+        long value = parseInteger(cs, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return value == INVALID_LONG ? defaultValue : (int) value;
+    }
+
+    public static long parseLong(CharSequence cs) {
+        long value = parseInteger(cs, Long.MIN_VALUE, Long.MAX_VALUE);
+        if (value == INVALID_LONG && !isLongMinValue(cs)) {
+            throw numberFormatException(cs);
+        }
+        return value;
+    }
+
+    public static long parseLong(CharSequence cs, long defaultValue) {
+        long value = parseInteger(cs, Long.MIN_VALUE, Long.MAX_VALUE);
+        return value == INVALID_LONG && !isLongMinValue(cs) ? defaultValue : value;
+    }
+
+    public static short parseShort(CharSequence cs) {
+        long value = parseInteger(cs, Short.MIN_VALUE, Short.MAX_VALUE);
+        if (value == INVALID_LONG) {
+            throw numberFormatException(cs);
+        }
+        return (short) value;
+    }
+
+    public static short parseShort(CharSequence cs, short defaultValue) {
+        long value = parseInteger(cs, Short.MIN_VALUE, Short.MAX_VALUE);
+        return value == INVALID_LONG ? defaultValue : (short) value;
+    }
+
+    public static byte parseByte(CharSequence cs) {
+        long value = parseInteger(cs, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        if (value == INVALID_LONG) {
+            throw numberFormatException(cs);
+        }
+        return (byte) value;
+    }
+
+    public static byte parseByte(CharSequence cs, byte defaultValue) {
+        long value = parseInteger(cs, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        return value == INVALID_LONG ? defaultValue : (byte) value;
+    }
+
+    public static double parseDouble(CharSequence cs) {
+        double value = parseDecimal(cs, false);
+        if (Double.doubleToRawLongBits(value) == INVALID_DOUBLE_BITS) {
+            throw numberFormatException(cs);
+        }
+        return value;
+    }
+
+    public static double parseDouble(CharSequence cs, double defaultValue) {
+        double value = parseDecimal(cs, false);
+        return Double.doubleToRawLongBits(value) == INVALID_DOUBLE_BITS ? defaultValue : value;
+    }
+
+    public static float parseFloat(CharSequence cs) {
+        double value = parseDecimal(cs, true);
+        if (Double.doubleToRawLongBits(value) == INVALID_DOUBLE_BITS) {
+            throw numberFormatException(cs);
+        }
+        return (float) value;
+    }
+
+    public static float parseFloat(CharSequence cs, float defaultValue) {
+        double value = parseDecimal(cs, true);
+        return Double.doubleToRawLongBits(value) == INVALID_DOUBLE_BITS ? defaultValue : (float) value;
+    }
+
+    public static boolean parseBoolean(CharSequence cs) {
+        int value = parseBoolean0(cs);
+        if (value < 0) {
+            throw new IllegalArgumentException(String.format("(%s)无法解析成boolean", cs));
+        }
+        return value == 1;
+    }
+
+    public static boolean parseBoolean(CharSequence cs, boolean defaultValue) {
+        int value = parseBoolean0(cs);
+        return value < 0 ? defaultValue : value == 1;
+    }
+
+    /**
+     * 判断是否需要跳过的引号或空白字符.
+     *
+     * @param c 字符
+     * @return boolean
+     */
+    public static boolean isIgnorable(char c) {
+        return c == '"' || c == '\'' || c == ' ' || c == '\t' || c == '\n'
+                || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 解析整数.
+     *
+     * @return 解析失败或超出[min, max]时返回INVALID_LONG
+     */
+    private static long parseInteger(CharSequence cs, long min, long max) {
+        if (cs == null) {
+            return INVALID_LONG;
+        }
+        int length = trimEnd(cs);
+        int i = trimStart(cs, length);
+        char c = 0;
+        while (i < length && isIgnorable(c = cs.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return INVALID_LONG;
+        }
+        boolean negative = false;
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        //与Long.parseLong一样用负数累加，这样Long.MIN_VALUE也不会溢出
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long result = 0;
+        boolean hasDigit = false;
+        for (; i < length; i++) {
+            c = cs.charAt(i);
+            if (isIgnorable(c)) {
+                continue;
+            }
+            int digit = c >= '0' && c <= '9' ? c - '0' : (c < 128 ? -1 : Character.digit(c, 10));
+            if (digit < 0 || result < multmin) {
+                return INVALID_LONG;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return INVALID_LONG;
+            }
+            result -= digit;
+            hasDigit = true;
+        }
+        if (!hasDigit) {
+            return INVALID_LONG;
+        }
+        return negative ? result : -result;
+    }
+
+    private static boolean isLongMinValue(CharSequence cs) {
+        try {
+            return Long.parseLong(removeIgnorable(cs)) == Long.MIN_VALUE;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析小数.
+     *
+     * @param cs      字符序列
+     * @param isFloat 是否解析成float(返回值可以无损转成float)
+     * @return 解析失败时返回INVALID_DOUBLE
+     */
+    private static double parseDecimal(CharSequence cs, boolean isFloat) {
+        if (cs == null) {
+            return INVALID_DOUBLE;
+        }
+        int length = trimEnd(cs);
+        int i = trimStart(cs, length);
+        char c = 0;
+        while (i < length && isIgnorable(c = cs.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return INVALID_DOUBLE;
+        }
+        boolean negative = false;
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        //value = mantissa * 10^exponent，尾部的0先记在pendingZeros中，遇到非0数字时再乘进mantissa
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        int pendingZeros = 0;
+        int pendingFractionZeros = 0;
+        boolean hasDigit = false;
+        boolean afterPoint = false;
+        boolean tooManyDigits = false;
+        for (; i < length; i++) {
+            c = cs.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+                if (c == '0') {
+                    if (mantissa == 0) {
+                        //前导0
+                        if (afterPoint) {
+                            exponent--;
+                        }
+                    } else {
+                        pendingZeros++;
+                        if (afterPoint) {
+                            pendingFractionZeros++;
+                        }
+                    }
+                    continue;
+                }
+                digits += pendingZeros + 1;
+                if (digits > MAX_DOUBLE_FAST_DIGITS) {
+                    tooManyDigits = true;
+                } else {
+                    for (; pendingZeros > 0; pendingZeros--) {
+                        mantissa *= 10;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                exponent -= pendingFractionZeros + (afterPoint ? 1 : 0);
+                pendingZeros = 0;
+                pendingFractionZeros = 0;
+            } else if (c == '.' && !afterPoint) {
+                afterPoint = true;
+            } else if (!isIgnorable(c)) {
+                break;
+            }
+        }
+        if (!hasDigit) {
+            return i < length ? parseDecimalFallback(cs, isFloat) : INVALID_DOUBLE;
+        }
+        //整数部分尾部的0
+        exponent += pendingZeros - pendingFractionZeros;
+
+        if (i < length && (c == 'e' || c == 'E')) {
+            i++;
+            while (i < length && isIgnorable(c = cs.charAt(i))) {
+                i++;
+            }
+            boolean negativeExponent = false;
+            if (i < length && (c == '-' || c == '+')) {
+                negativeExponent = c == '-';
+                i++;
+            }
+            int exponentValue = 0;
+            boolean hasExponentDigit = false;
+            for (; i < length; i++) {
+                c = cs.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    hasExponentDigit = true;
+                    if (exponentValue < 100000) {
+                        exponentValue = exponentValue * 10 + (c - '0');
+                    }
+                } else if (!isIgnorable(c)) {
+                    break;
+                }
+            }
+            if (!hasExponentDigit) {
+                return i < length ? parseDecimalFallback(cs, isFloat) : INVALID_DOUBLE;
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+        if (i < length && (c == 'f' || c == 'F' || c == 'd' || c == 'D')) {
+            i++;
+            while (i < length && isIgnorable(cs.charAt(i))) {
+                i++;
+            }
+        }
+        if (i < length) {
+            //NaN、Infinity、十六进制或两端带其他控制字符等情况
+            return parseDecimalFallback(cs, isFloat);
+        }
+
+        if (mantissa == 0 && !tooManyDigits) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (isFloat) {
+            if (digits <= MAX_FLOAT_FAST_DIGITS && exponent >= -10 && exponent <= 10) {
+                float value = exponent >= 0 ? (float) mantissa * FLOAT_POWERS_OF_TEN[exponent]
+                        : (float) mantissa / FLOAT_POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+        } else if (!tooManyDigits && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0 ? (double) mantissa * DOUBLE_POWERS_OF_TEN[exponent]
+                    : (double) mantissa / DOUBLE_POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        //格式正确，但不能直接精确计算
+        String cleaned = removeIgnorable(cs);
+        return isFloat ? Float.parseFloat(cleaned) : Double.parseDouble(cleaned);
+    }
+
+    /**
+     * 与Double.valueOf(str)失败后再去掉引号和空白字符重试的结果一致.
+     */
+    private static double parseDecimalFallback(CharSequence cs, boolean isFloat) {
+        String str = cs.toString();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                return isFloat ? Float.parseFloat(str) : Double.parseDouble(str);
+            } catch (NumberFormatException e) {
+                str = removeIgnorable(str);
+            }
+        }
+        return INVALID_DOUBLE;
+    }
+
+    /**
+     * 去掉两端的控制字符(同String.trim())后再去掉所有引号和空白字符.
+     */
+    private static String removeIgnorable(CharSequence cs) {
+        int end = trimEnd(cs);
+        StringBuilder sb = new StringBuilder(end);
+        for (int i = trimStart(cs, end); i < end; i++) {
+            char c = cs.charAt(i);
+            if (!isIgnorable(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 解析布尔值.
+     *
+     * @return 1为true，0为false，-1为解析失败
+     */
+    private static int parseBoolean0(CharSequence cs) {
+        if (cs == null) {
+            return -1;
+        }
+        String expected = null;
+        int matched = 0;
+        int end = trimEnd(cs);
+        for (int i = trimStart(cs, end); i < end; i++) {
+            char c = cs.charAt(i);
+            if (isIgnorable(c)) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            if (expected == null) {
+                expected = c == 't' ? "true" : (c == 'f' ? "false" : null);
+                if (expected == null) {
+                    return -1;
+                }
+            }
+            if (matched == expected.length() || expected.charAt(matched) != c) {
+                return -1;
+            }
+            matched++;
+        }
+        if (expected == null || matched != expected.length()) {
+            return -1;
+        }
+        return expected.length() == 4 ? 1 : 0;
+    }
+
+    private static int trimStart(CharSequence cs, int end) {
+        int start = 0;
+        while (start < end && cs.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(CharSequence cs) {
+        int end = cs.length();
+        while (end > 0 && cs.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static NumberFormatException numberFormatException(CharSequence cs) {
+        return new NumberFormatException("For input string: \"" + cs + "\"");
+    }
+}
@@ -189,6 +189,40 @@ public class TransMap extends LinkedHashMap<String, Object> {
         return value;
     }
 
+    /**
+     * 获取枚举类型的value，失败(或为null)时返回null.
+     * 字符串按name(有@JsonValue时按其值)匹配，整数按ordinal匹配
+     *
+     * @param key       键
+     * @param enumClass 枚举类
+     * @param <E>       枚举类型
+     * @return E
+     */
+    public <E extends Enum<E>> E getEnum(String key, Class<E> enumClass) {
+        try {
+            return Castor.castSrc2JdkClass(get(key), enumClass);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取枚举类型的value，失败(或为null)时返回defaultValue.
+     *
+     * @param key          键
+     * @param enumClass    枚举类
+     * @param defaultValue 失败(或为null)时返回此值
+     * @param <E>          枚举类型
+     * @return E
+     */
+    public <E extends Enum<E>> E getEnum(String key, Class<E> enumClass, E defaultValue) {
+        E value = getEnum(key, enumClass);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value;
+    }
+
     /**
      * 获取List类型的value，转换失败则提示异常.
      *
@@ -0,0 +1,340 @@
+package com.acyumi.reflect;
+
+import com.acyumi.cast.Castor;
+import com.acyumi.reflect.reflectasm.MethodAccessor;
+import com.acyumi.reflect.reflectasm.PropertyHandle;
+import com.acyumi.util.ParameterUtils;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 同一个Class的两个POJO对象之间的属性差异.
+ *
+ * <pre>
+ * 每个Class只解析一次属性表(挂在Class对象上缓存)：所有可读可写的属性的{@link PropertyHandle}
+ * (属性与{@link MethodAccessor#getFieldNames()}一致，即get开头的getter对应的属性)，
+ * 以及按getter返回值类型确定的比较方式，比较时按下标逐个属性执行，不再按属性名查找：
+ * 1、int/short/byte/char、long、double/float、boolean属性通过不装箱的getter直接比较，
+ *    double/float与Double.equals一致(NaN等于NaN，0.0不等于-0.0)
+ * 2、数组按元素比较(Arrays.equals/deepEquals)
+ * 3、BigDecimal按数值比较(1.0等于1.00)
+ * 4、其它类型按equals比较
+ *
+ * 只记录有变化的属性的下标(在属性表中的下标)、旧值和新值，
+ * 可以用来记录审计日志，或者通过{@link #applyTo(Object)}只把变化的属性同步给另一个对象(如缓存中的副本)。
+ * 记录的旧值和新值是原对象属性值的引用，需要隔离时请先用
+ * {@link com.acyumi.util.TransformUtils#deepCopy(Object)}拷贝
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see com.acyumi.util.TransformUtils#diff(Object, Object)
+ * @see com.acyumi.util.TransformUtils#patch(Object, PojoDiff)
+ */
+public final class PojoDiff {
+
+    /*** 按Object.equals比较. */
+    private static final int KIND_OBJECT = 0;
+    /*** int/short/byte/char. */
+    private static final int KIND_INT = 1;
+    /*** long. */
+    private static final int KIND_LONG = 2;
+    /*** double/float. */
+    private static final int KIND_DOUBLE = 3;
+    /*** boolean. */
+    private static final int KIND_BOOLEAN = 4;
+
+    private static final ClassValue<PropertyTable> TABLES = new ClassValue<PropertyTable>() {
+        @Override
+        protected PropertyTable computeValue(Class<?> type) {
+            return new PropertyTable(type);
+        }
+    };
+
+    /*** 属性表. */
+    private final PropertyTable table;
+    /*** 有变化的属性在属性表中的下标. */
+    private final int[] indices;
+    /*** 与{@link #indices}一一对应的旧值. */
+    private final Object[] oldValues;
+    /*** 与{@link #indices}一一对应的新值. */
+    private final Object[] newValues;
+
+    private PojoDiff(PropertyTable table, int[] indices, Object[] oldValues, Object[] newValues) {
+        this.table = table;
+        this.indices = indices;
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+    }
+
+    /**
+     * 比较两个对象的属性.
+     *
+     * @param oldPojo 旧对象，非null!!
+     * @param newPojo 新对象，非null!!，必须与旧对象是同一个Class
+     * @return 属性差异
+     */
+    public static PojoDiff compute(Object oldPojo, Object newPojo) {
+        if (oldPojo == null || newPojo == null) {
+            throw new IllegalArgumentException("比较的新旧对象都不能为null");
+        }
+        Class<?> pojoClass = oldPojo.getClass();
+        if (pojoClass != newPojo.getClass()) {
+            throw new IllegalArgumentException(String.format("(%s)与(%s)不是同一个Class，无法比较",
+                    pojoClass.getName(), newPojo.getClass().getName()));
+        }
+        PropertyTable table = TABLES.get(pojoClass);
+        PropertyHandle[] handles = table.handles;
+        int[] kinds = table.kinds;
+        int[] indices = null;
+        Object[] oldValues = null;
+        Object[] newValues = null;
+        int size = 0;
+        for (int i = 0; i < handles.length; i++) {
+            PropertyHandle handle = handles[i];
+            Object oldValue;
+            Object newValue;
+            switch (kinds[i]) {
+                case KIND_INT:
+                    int oldInt = handle.getInt(oldPojo);
+                    int newInt = handle.getInt(newPojo);
+                    if (oldInt == newInt) {
+                        continue;
+                    }
+                    oldValue = handle.get(oldPojo);
+                    newValue = handle.get(newPojo);
+                    break;
+                case KIND_LONG:
+                    long oldLong = handle.getLong(oldPojo);
+                    long newLong = handle.getLong(newPojo);
+                    if (oldLong == newLong) {
+                        continue;
+                    }
+                    oldValue = oldLong;
+                    newValue = newLong;
+                    break;
+                case KIND_DOUBLE:
+                    double oldDouble = handle.getDouble(oldPojo);
+                    double newDouble = handle.getDouble(newPojo);
+                    if (Double.doubleToLongBits(oldDouble) == Double.doubleToLongBits(newDouble)) {
+                        continue;
+                    }
+                    //float属性需要保留Float类型，patch时才能直接set回去
+                    oldValue = handle.get(oldPojo);
+                    newValue = handle.get(newPojo);
+                    break;
+                case KIND_BOOLEAN:
+                    boolean oldBoolean = handle.getBoolean(oldPojo);
+                    boolean newBoolean = handle.getBoolean(newPojo);
+                    if (oldBoolean == newBoolean) {
+                        continue;
+                    }
+                    oldValue = oldBoolean;
+                    newValue = newBoolean;
+                    break;
+                default:
+                    oldValue = handle.get(oldPojo);
+                    newValue = handle.get(newPojo);
+                    if (isEqual(oldValue, newValue)) {
+                        continue;
+                    }
+            }
+            if (indices == null) {
+                //有变化的属性通常只有几个，按需扩容
+                int capacity = Math.min(handles.length, 4);
+                indices = new int[capacity];
+                oldValues = new Object[capacity];
+                newValues = new Object[capacity];
+            } else if (size == indices.length) {
+                int capacity = Math.min(handles.length, size * 2);
+                indices = Arrays.copyOf(indices, capacity);
+                oldValues = Arrays.copyOf(oldValues, capacity);
+                newValues = Arrays.copyOf(newValues, capacity);
+            }
+            indices[size] = i;
+            oldValues[size] = oldValue;
+            newValues[size] = newValue;
+            size++;
+        }
+        if (size == 0) {
+            return new PojoDiff(table, new int[0], new Object[0], new Object[0]);
+        }
+        return new PojoDiff(table, Arrays.copyOf(indices, size),
+                Arrays.copyOf(oldValues, size), Arrays.copyOf(newValues, size));
+    }
+
+    /**
+     * 将有变化的属性的新值赋给target. <br>
+     * target与比较的对象是同一个Class时按下标直接赋值；
+     * 否则按属性名查找target的setter，类型不匹配时通过{@link Castor}转换，target中没有的属性会被跳过
+     *
+     * @param target 目标对象，非null!!
+     */
+    public void applyTo(Object target) {
+        if (target == null) {
+            throw new IllegalArgumentException("目标对象不能为null");
+        }
+        PropertyHandle[] handles = table.handles;
+        if (target.getClass() == table.pojoClass) {
+            for (int i = 0; i < indices.length; i++) {
+                handles[indices[i]].set(target, newValues[i]);
+            }
+            return;
+        }
+        MethodAccessor targetAccessor = Reflector.getMethodAccessor(target.getClass());
+        for (int i = 0; i < indices.length; i++) {
+            PropertyHandle handle = handles[indices[i]];
+            PropertyHandle targetHandle = targetAccessor.getPropertyHandle(handle.getName());
+            if (targetHandle == null || !targetHandle.isWritable()) {
+                continue;
+            }
+            Object value = newValues[i];
+            if (value != null && !Reflector.isInstance(targetHandle.getSetterParameterType(), value)) {
+                Type sourceType = handle.getGetterGenericReturnType();
+                value = Castor.castType2Type(value, sourceType == null ? value.getClass() : sourceType,
+                        targetHandle.getSetterGenericParameterType());
+            }
+            targetHandle.set(target, value);
+        }
+    }
+
+    public Class<?> getPojoClass() {
+        return table.pojoClass;
+    }
+
+    /**
+     * 有变化的属性个数.
+     *
+     * @return int
+     */
+    public int size() {
+        return indices.length;
+    }
+
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    /**
+     * 获取第i个有变化的属性在属性表(该Class所有可读可写的属性)中的下标.
+     *
+     * @param i 第几个有变化的属性
+     * @return 属性表中的下标
+     */
+    public int getIndex(int i) {
+        return indices[i];
+    }
+
+    public String getName(int i) {
+        return table.handles[indices[i]].getName();
+    }
+
+    public Object getOldValue(int i) {
+        return oldValues[i];
+    }
+
+    public Object getNewValue(int i) {
+        return newValues[i];
+    }
+
+    /**
+     * 将有变化的属性转成Map.
+     *
+     * @return 属性名 -&gt; 新值
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>(ParameterUtils.calcMapCapacity(indices.length));
+        for (int i = 0; i < indices.length; i++) {
+            map.put(getName(i), newValues[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(table.pojoClass.getSimpleName()).append('{');
+        for (int i = 0; i < indices.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getName(i)).append(": ").append(valueToString(oldValues[i]))
+                    .append(" -> ").append(valueToString(newValues[i]));
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String valueToString(Object value) {
+        if (value != null && value.getClass().isArray()) {
+            //包一层Object[]交给deepToString按数组的元素类型输出，再去掉外层的[]
+            String str = Arrays.deepToString(new Object[]{value});
+            return str.substring(1, str.length() - 1);
+        }
+        return String.valueOf(value);
+    }
+
+    private static boolean isEqual(Object oldValue, Object newValue) {
+        if (oldValue == newValue) {
+            return true;
+        }
+        if (oldValue == null || newValue == null) {
+            return false;
+        }
+        Class<?> valueClass = oldValue.getClass();
+        if (valueClass.isArray()) {
+            if (valueClass != newValue.getClass()) {
+                return false;
+            }
+            //deepEquals会按数组的元素类型选用对应的Arrays.equals
+            return Arrays.deepEquals(new Object[]{oldValue}, new Object[]{newValue});
+        }
+        if (oldValue instanceof BigDecimal && newValue instanceof BigDecimal) {
+            return ((BigDecimal) oldValue).compareTo((BigDecimal) newValue) == 0;
+        }
+        return oldValue.equals(newValue);
+    }
+
+    /**
+     * 一个Class的属性表.
+     */
+    private static final class PropertyTable {
+
+        /*** POJO的Class. */
+        private final Class<?> pojoClass;
+        /*** 所有可读可写的属性句柄. */
+        private final PropertyHandle[] handles;
+        /*** 与{@link #handles}一一对应的比较方式. */
+        private final int[] kinds;
+
+        private PropertyTable(Class<?> pojoClass) {
+            this.pojoClass = pojoClass;
+            List<PropertyHandle> handleList = new ArrayList<>();
+            for (PropertyHandle handle : Reflector.getMethodAccessor(pojoClass).getPropertyHandles()) {
+                if (handle.isReadable() && handle.isWritable()) {
+                    handleList.add(handle);
+                }
+            }
+            this.handles = handleList.toArray(new PropertyHandle[0]);
+            this.kinds = new int[handles.length];
+            for (int i = 0; i < handles.length; i++) {
+                Type type = handles[i].getGetterGenericReturnType();
+                if (type == int.class || type == short.class || type == byte.class || type == char.class) {
+                    kinds[i] = KIND_INT;
+                } else if (type == long.class) {
+                    kinds[i] = KIND_LONG;
+                } else if (type == double.class || type == float.class) {
+                    kinds[i] = KIND_DOUBLE;
+                } else if (type == boolean.class) {
+                    kinds[i] = KIND_BOOLEAN;
+                } else {
+                    kinds[i] = KIND_OBJECT;
+                }
+            }
+        }
+    }
+}
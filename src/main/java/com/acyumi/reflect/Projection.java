@@ -0,0 +1,144 @@
+package com.acyumi.reflect;
+
+import com.acyumi.cast.Castor;
+import com.acyumi.reflect.reflectasm.MethodAccessor;
+import com.acyumi.reflect.reflectasm.PropertyHandle;
+import com.acyumi.util.ParameterUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译好的属性子集(投影).
+ *
+ * <pre>
+ * 按(Class, 属性名列表)解析一次：去掉空的属性名，不指定属性名时取Class的所有属性，
+ * 并预解析好每个属性的{@link PropertyHandle}(即MethodAccessor中getter/setter的索引)，
+ * 之后按下标直接取值/赋值，不再每次调用都校验属性名、按属性名查找方法索引。
+ * 作为Map的key时需要转换类型的属性名，按key类型转换一次后缓存起来。
+ *
+ * 编译结果不可变(key的缓存是线程安全的)，可以缓存起来在多线程中重复利用，
+ * {@link Reflector#getProjection(Class, String...)}有现成的缓存，
+ * {@link com.acyumi.util.TransformUtils}的transformPart等指定属性名的方法也是通过这个缓存获取的
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see com.acyumi.util.TransformUtils#transformPartToMap(Object, Class, Class, Class, boolean, String...)
+ */
+public final class Projection {
+
+    /*** 编译时的Class. */
+    private final Class<?> sourceClass;
+    /*** 非空的属性名. */
+    private final String[] names;
+    /*** 与{@link #names}一一对应的属性句柄，Class没有该属性时元素为null. */
+    private final PropertyHandle[] handles;
+    /*** key的Class -> 与{@link #names}一一对应的转换后的key. */
+    private final Map<Class<?>, Object[]> keysCache = new ConcurrentHashMap<>();
+
+    private Projection(Class<?> sourceClass, String[] names, PropertyHandle[] handles) {
+        this.sourceClass = sourceClass;
+        this.names = names;
+        this.handles = handles;
+    }
+
+    /**
+     * 编译属性子集.
+     *
+     * @param sourceClass 对象的Class
+     * @param fieldNames  属性名列表，为null或空数组时表示所有属性，其中的null和空白字符串会被忽略
+     * @return 预编译的属性子集
+     */
+    public static Projection compile(Class<?> sourceClass, String... fieldNames) {
+        if (sourceClass == null) {
+            throw new IllegalArgumentException("对象的Class不能为null");
+        }
+        MethodAccessor accessor = Reflector.getMethodAccessor(sourceClass);
+        if (fieldNames == null || fieldNames.length == 0) {
+            return new Projection(sourceClass, accessor.getFieldNames(), accessor.getPropertyHandles());
+        }
+        List<String> nameList = new ArrayList<>(fieldNames.length);
+        for (String fieldName : fieldNames) {
+            if (!ParameterUtils.isEmpty(fieldName)) {
+                nameList.add(fieldName);
+            }
+        }
+        String[] names = nameList.toArray(new String[0]);
+        PropertyHandle[] handles = new PropertyHandle[names.length];
+        for (int i = 0; i < names.length; i++) {
+            handles[i] = accessor.getPropertyHandle(names[i]);
+        }
+        return new Projection(sourceClass, names, handles);
+    }
+
+    public Class<?> getSourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * 属性个数.
+     *
+     * @return int
+     */
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * 获取属性句柄.
+     *
+     * @param index 属性下标
+     * @return Class没有该属性时返回null
+     */
+    public PropertyHandle getHandle(int index) {
+        return handles[index];
+    }
+
+    /**
+     * 从对象中取属性值.
+     *
+     * @param source 对象，非null!!
+     * @param index  属性下标
+     * @return 属性值，Class没有该属性时返回null
+     */
+    public Object get(Object source, int index) {
+        PropertyHandle handle = handles[index];
+        return handle == null ? null : handle.get(source);
+    }
+
+    /**
+     * 获取作为Map的key的属性名.
+     *
+     * @param index    属性下标
+     * @param keyClass key的Class，属性名不是keyClass的实例时通过{@link Castor}转换(每个keyClass只转换一次)
+     * @return key
+     */
+    public Object getKey(int index, Class<?> keyClass) {
+        String name = names[index];
+        if (Reflector.isInstance(keyClass, name)) {
+            return name;
+        }
+        Object[] keys = keysCache.get(keyClass);
+        if (keys == null) {
+            keys = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                keys[i] = Castor.castClass2Class(names[i], String.class, keyClass);
+            }
+            keysCache.putIfAbsent(keyClass, keys);
+        }
+        return keys[index];
+    }
+
+    @Override
+    public String toString() {
+        return sourceClass.getName() + Arrays.toString(names);
+    }
+}
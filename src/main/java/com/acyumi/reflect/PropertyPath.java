@@ -0,0 +1,395 @@
+package com.acyumi.reflect;
+
+import com.acyumi.reflect.reflectasm.PropertyHandle;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * 预编译好的嵌套属性路径.
+ *
+ * <pre>
+ * 把"order.customer.address.city"、"order.items[0].name"、"attrs['key'].value"这样的属性路径解析一次，
+ * 并按源Class逐级预解析好每一级属性的{@link PropertyHandle}(即MethodAccessor中getter/setter的索引)，
+ * 之后取值和赋值时直接按索引逐级执行，不再每一级都按变量名查找MethodAccessor和方法索引。
+ *
+ * 路径语法：
+ * 1、a.b.c         逐级取属性，对象是Map时按key取值
+ * 2、list[0]       List或数组的索引(对象是Map时按key "0"取值)
+ * 3、map[key]      Map的key，也可以写成map['key']或map["key"]，对象不是Map时当作属性名
+ *
+ * 取值是null安全的：中间任何一级为null、索引越界或找不到属性时返回null；
+ * 赋值时中间某一级为null，可以选择自动实例化(按属性声明的类型，Map/List等接口使用LinkedHashMap/ArrayList)，
+ * 否则抛出IllegalArgumentException。
+ *
+ * 运行时对象是声明类型的子类时照样使用预解析的句柄，完全不同的类型才按运行时类型重新解析并缓存最近一次的结果。
+ * 编译结果可以缓存起来在多线程中重复利用，{@link Reflector#getPropertyPath(Class, String)}有现成的缓存
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see Reflector#getPathValue(Object, String)
+ * @see Reflector#setPathValue(Object, String, Object, boolean)
+ */
+public final class PropertyPath {
+
+    /*** 按属性名取值(对象是Map时按key取值). */
+    private static final int PROPERTY = 0;
+    /*** 按List或数组的索引取值. */
+    private static final int INDEX = 1;
+    /*** 按Map的key取值. */
+    private static final int KEY = 2;
+
+    /*** 编译时的根Class. */
+    private final Class<?> rootClass;
+    /*** 属性路径. */
+    private final String path;
+    /*** 逐级的路径片段. */
+    private final Segment[] segments;
+
+    private PropertyPath(Class<?> rootClass, String path, Segment[] segments) {
+        this.rootClass = rootClass;
+        this.path = path;
+        this.segments = segments;
+    }
+
+    /**
+     * 编译属性路径.
+     *
+     * @param rootClass 根对象的Class
+     * @param path      属性路径，如order.items[0].name
+     * @return 预编译的属性路径
+     */
+    public static PropertyPath compile(Class<?> rootClass, String path) {
+        if (rootClass == null) {
+            throw new IllegalArgumentException("根对象的Class不能为null");
+        }
+        if (path == null || path.trim().isEmpty()) {
+            throw new IllegalArgumentException("属性路径不能为空");
+        }
+        Segment[] segments = parse(path.trim());
+        //按声明类型逐级预解析属性句柄
+        Type type = rootClass;
+        for (Segment segment : segments) {
+            type = segment.resolve(type);
+        }
+        return new PropertyPath(rootClass, path, segments);
+    }
+
+    /**
+     * 从根对象按属性路径取值.
+     *
+     * @param root 根对象
+     * @return 属性值，根对象或中间任何一级为null、索引越界或找不到属性时返回null
+     */
+    public Object get(Object root) {
+        Object current = root;
+        for (Segment segment : segments) {
+            if (current == null) {
+                return null;
+            }
+            current = segment.get(current);
+        }
+        return current;
+    }
+
+    /**
+     * 按属性路径给根对象赋值，中间某一级为null时抛出IllegalArgumentException.
+     *
+     * @param root  根对象，非null!!
+     * @param value 属性值
+     */
+    public void set(Object root, Object value) {
+        set(root, value, false);
+    }
+
+    /**
+     * 按属性路径给根对象赋值.
+     *
+     * @param root       根对象，非null!!
+     * @param value      属性值
+     * @param autoCreate 中间某一级为null时是否自动实例化(List的索引越界时是否用null补齐)
+     */
+    public void set(Object root, Object value, boolean autoCreate) {
+        if (root == null) {
+            throw new IllegalArgumentException(String.format("属性路径(%s)的根对象不能为null", path));
+        }
+        Object current = root;
+        int last = segments.length - 1;
+        for (int i = 0; i < last; i++) {
+            Segment segment = segments[i];
+            Object next = segment.get(current);
+            if (next == null) {
+                if (!autoCreate) {
+                    throw new IllegalArgumentException(String.format("属性路径(%s)中的(%s)为null", path, segment));
+                }
+                next = segment.instantiate(current, segments[i + 1]);
+                segment.set(current, next, true);
+            }
+            current = next;
+        }
+        segments[last].set(current, value, autoCreate);
+    }
+
+    public Class<?> getRootClass() {
+        return rootClass;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getSegmentsLength() {
+        return segments.length;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyPath(" + rootClass.getName() + ", " + path + ")";
+    }
+
+    /**
+     * 解析属性路径片段.
+     *
+     * @param path 属性路径
+     * @return 路径片段数组
+     */
+    private static Segment[] parse(String path) {
+        List<Segment> segments = new ArrayList<>();
+        int i = 0;
+        int n = path.length();
+        while (i < n) {
+            if (path.charAt(i) == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException(String.format("属性路径(%s)中的'['没有对应的']'", path));
+                }
+                String token = path.substring(i + 1, end).trim();
+                if (token.length() > 1 && (token.charAt(0) == '\'' || token.charAt(0) == '"')
+                        && token.charAt(token.length() - 1) == token.charAt(0)) {
+                    segments.add(new Segment(KEY, token.substring(1, token.length() - 1), -1));
+                } else if (!token.isEmpty() && isDigits(token)) {
+                    segments.add(new Segment(INDEX, token, Integer.parseInt(token)));
+                } else if (!token.isEmpty()) {
+                    segments.add(new Segment(KEY, token, -1));
+                } else {
+                    throw new IllegalArgumentException(String.format("属性路径(%s)中有空的[]", path));
+                }
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < n && path.charAt(end) != '.' && path.charAt(end) != '[' && path.charAt(end) != ']') {
+                    end++;
+                }
+                String name = path.substring(i, end).trim();
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException(String.format("属性路径(%s)中有空的属性名", path));
+                }
+                segments.add(new Segment(PROPERTY, name, -1));
+                i = end;
+            }
+            if (i < n && path.charAt(i) == '.') {
+                if (++i == n) {
+                    throw new IllegalArgumentException(String.format("属性路径(%s)不能以'.'结尾", path));
+                }
+            } else if (i < n && path.charAt(i) != '[') {
+                throw new IllegalArgumentException(String.format("属性路径(%s)的第%s个字符不正确", path, i + 1));
+            }
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    private static boolean isDigits(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return token.length() < 10;
+    }
+
+    /**
+     * 属性路径中的一级.
+     */
+    private static final class Segment {
+
+        private final int kind;
+        /*** 属性名或Map的key(索引片段为索引的字符串形式). */
+        private final String name;
+        /*** List或数组的索引. */
+        private final int index;
+        /*** 编译时按声明类型推断出的本级的值类型，推断不出时为null. */
+        private Type valueType;
+        /*** 最近一次解析的属性句柄，编译时按声明类型预解析. */
+        private volatile ResolvedHandle resolvedHandle;
+
+        private Segment(int kind, String name, int index) {
+            this.kind = kind;
+            this.name = name;
+            this.index = index;
+        }
+
+        /**
+         * 按上一级的声明类型预解析本级的属性句柄.
+         *
+         * @param ownerType 上一级的声明类型
+         * @return 本级的值类型，推断不出时返回null
+         */
+        private Type resolve(Type ownerType) {
+            Class<?> ownerClass = Reflector.getClassFromType(ownerType);
+            if (ownerClass == null) {
+                return null;
+            }
+            if (Map.class.isAssignableFrom(ownerClass) || List.class.isAssignableFrom(ownerClass)
+                    || ownerClass.isArray()) {
+                valueType = Reflector.getElementType(ownerType);
+            } else if (kind != INDEX && isBeanClass(ownerClass)) {
+                PropertyHandle handle = Reflector.getPropertyHandle(ownerClass, name);
+                if (handle != null) {
+                    resolvedHandle = new ResolvedHandle(ownerClass, handle);
+                    valueType = handle.isReadable() ? handle.getGetterGenericReturnType()
+                            : handle.getSetterGenericParameterType();
+                }
+            }
+            return valueType;
+        }
+
+        @SuppressWarnings("rawtypes")
+        private Object get(Object obj) {
+            //最常见的情况：运行时类型与预解析的类型相同
+            ResolvedHandle resolved = resolvedHandle;
+            if (resolved != null && resolved.type == obj.getClass() && resolved.handle != null) {
+                return resolved.handle.get(obj);
+            }
+            if (obj instanceof Map) {
+                return ((Map) obj).get(name);
+            }
+            if (kind == INDEX) {
+                if (obj instanceof List) {
+                    List list = (List) obj;
+                    return index < list.size() ? list.get(index) : null;
+                }
+                if (obj.getClass().isArray()) {
+                    return index < Array.getLength(obj) ? Array.get(obj, index) : null;
+                }
+                throw new IllegalArgumentException(String.format("(%s)不是List、数组或Map，不能使用索引[%s]",
+                        obj.getClass().getName(), index));
+            }
+            PropertyHandle handle = getHandle(obj.getClass());
+            return handle == null ? null : handle.get(obj);
+        }
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private void set(Object obj, Object value, boolean autoCreate) {
+            if (obj instanceof Map) {
+                ((Map) obj).put(name, value);
+                return;
+            }
+            if (kind == INDEX) {
+                if (obj instanceof List) {
+                    List list = (List) obj;
+                    if (index < list.size()) {
+                        list.set(index, value);
+                        return;
+                    }
+                    if (index > list.size() && !autoCreate) {
+                        throw new IllegalArgumentException(String.format("索引[%s]超出了List的大小(%s)",
+                                index, list.size()));
+                    }
+                    while (list.size() < index) {
+                        list.add(null);
+                    }
+                    list.add(value);
+                    return;
+                }
+                if (obj.getClass().isArray()) {
+                    if (index >= Array.getLength(obj)) {
+                        throw new IllegalArgumentException(String.format("索引[%s]超出了数组的长度(%s)",
+                                index, Array.getLength(obj)));
+                    }
+                    Array.set(obj, index, value);
+                    return;
+                }
+                throw new IllegalArgumentException(String.format("(%s)不是List、数组或Map，不能使用索引[%s]",
+                        obj.getClass().getName(), index));
+            }
+            PropertyHandle handle = getHandle(obj.getClass());
+            if (handle == null || !handle.isWritable()) {
+                throw new IllegalArgumentException(String.format("找不到(%s)可赋值的属性(%s)",
+                        obj.getClass().getName(), name));
+            }
+            handle.set(obj, value);
+        }
+
+        /**
+         * 为值为null的本级实例化一个对象.
+         *
+         * @param obj  上一级对象
+         * @param next 下一级路径片段，用于推断不出类型时决定使用List还是Map
+         * @return 新实例
+         */
+        private Object instantiate(Object obj, Segment next) {
+            Type type = valueType;
+            if (!(obj instanceof Map) && kind != INDEX) {
+                PropertyHandle handle = getHandle(obj.getClass());
+                if (handle != null && handle.isWritable()) {
+                    type = handle.getSetterGenericParameterType();
+                }
+            }
+            Class<?> clazz = Reflector.getClassFromType(type);
+            if (clazz == null || clazz == Object.class) {
+                return next.kind == INDEX ? new ArrayList<>() : new LinkedHashMap<>();
+            }
+            if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+                if (clazz.isAssignableFrom(ArrayList.class)) {
+                    return new ArrayList<>();
+                }
+                if (clazz.isAssignableFrom(LinkedHashMap.class)) {
+                    return new LinkedHashMap<>();
+                }
+                if (clazz.isAssignableFrom(TreeMap.class)) {
+                    return new TreeMap<>();
+                }
+            }
+            return Reflector.newTarget(clazz);
+        }
+
+        private PropertyHandle getHandle(Class<?> type) {
+            ResolvedHandle resolved = resolvedHandle;
+            //运行时类型是预解析类型的子类时，预解析的句柄照样可以用
+            if (resolved != null && (resolved.type == type
+                    || resolved.handle != null && resolved.type.isAssignableFrom(type))) {
+                return resolved.handle;
+            }
+            PropertyHandle handle = isBeanClass(type) ? Reflector.getPropertyHandle(type, name) : null;
+            resolvedHandle = new ResolvedHandle(type, handle);
+            return handle;
+        }
+
+        private static boolean isBeanClass(Class<?> clazz) {
+            return clazz != Object.class && !clazz.isPrimitive() && !clazz.isArray()
+                    && (clazz.isInterface() || clazz.getSuperclass() != null);
+        }
+
+        @Override
+        public String toString() {
+            return kind == PROPERTY ? name : "[" + name + "]";
+        }
+    }
+
+    /**
+     * 运行时类型与其属性句柄.
+     */
+    private static final class ResolvedHandle {
+
+        private final Class<?> type;
+        private final PropertyHandle handle;
+
+        private ResolvedHandle(Class<?> type, PropertyHandle handle) {
+            this.type = type;
+            this.handle = handle;
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package com.acyumi.reflect;
 
+import com.acyumi.reflect.reflectasm.BeanCopier;
+import com.acyumi.reflect.reflectasm.CompiledInvocation;
+import com.acyumi.reflect.reflectasm.ConstructorAccessor;
 import com.acyumi.reflect.reflectasm.MethodAccessor;
+import com.acyumi.reflect.reflectasm.PropertyHandle;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.TypeUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.*;
-import java.util.Arrays;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * 抽出来的反射相关的方法.
@@ -33,20 +44,77 @@ public abstract class Reflector {
     public static final String GET_CLASS_METHOD_NAME = "getClass";
     public static final byte[] EMPTY_BYTES = {};
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Reflector.class);
+
     /**
      * asm方法操作器的缓存. <br>
-     * 储存pojo源对象和目标对象的getter和setter方法
+     * 储存pojo源对象和目标对象的getter和setter方法 <br>
+     * 使用ClassValue把MethodAccessor直接挂在Class对象上：读取无锁、没有个数上限， <br>
+     * 并且随Class(及其类加载器)一起被GC回收，不会导致类加载器泄漏
      */
     //private static final Map<Class<?>, MethodAccessor> METHOD_ACCESSOR_CACHE = new ConcurrentHashMap<>();
-    private static final Cache<Class<?>, MethodAccessor> METHOD_ACCESSOR_CACHE = Caffeine.newBuilder()
-            //设置cache的初始大小为64，要合理设置该值
-            .initialCapacity(64)
-            //设置cache的最大缓存个数为256
-            .maximumSize(256)
-            //缓存项在创建后，在给定时间内没有被读/写访问，则清除
-            .expireAfterAccess(30, TimeUnit.MINUTES)
-            //构建Caffeine的纯java内存cache实例
-            .build();
+    private static final ClassValue<MethodAccessor> METHOD_ACCESSOR_CACHE = new ClassValue<MethodAccessor>() {
+        @Override
+        protected MethodAccessor computeValue(Class<?> type) {
+            return MethodAccessor.get(type);
+        }
+    };
+
+    /**
+     * asm构造方法访问器的缓存. <br>
+     * 与METHOD_ACCESSOR_CACHE使用相同的策略，用于pojo目标对象的实例化
+     */
+    private static final ClassValue<ConstructorAccessor> CONSTRUCTOR_ACCESSOR_CACHE = new ClassValue<ConstructorAccessor>() {
+        @Override
+        protected ConstructorAccessor computeValue(Class<?> type) {
+            return ConstructorAccessor.get(type);
+        }
+    };
+
+    /*** 每个根Class缓存的属性路径的最大个数，超过后不再缓存(仍可正常编译使用). */
+    private static final int MAX_PROPERTY_PATH_CACHE_SIZE = 256;
+
+    /**
+     * 预编译属性路径的缓存. <br>
+     * 按根Class挂在Class对象上，每个根Class下再按属性路径字符串缓存
+     */
+    private static final ClassValue<Map<String, PropertyPath>> PROPERTY_PATH_CACHE = new ClassValue<Map<String, PropertyPath>>() {
+        @Override
+        protected Map<String, PropertyPath> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /*** 每个Class缓存的属性子集的最大个数，超过后每次重新编译. */
+    private static final int MAX_PROJECTION_CACHE_SIZE = 64;
+
+    /**
+     * 属性子集的缓存. <br>
+     * 按Class挂在Class对象上，每个Class下再按属性名列表缓存，所有属性用空列表作为key
+     */
+    private static final ClassValue<Map<List<String>, Projection>> PROJECTION_CACHE = new ClassValue<Map<List<String>, Projection>>() {
+        @Override
+        protected Map<List<String>, Projection> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /*** 每个Class下缓存的bean复制器的最大个数，超过后退回到不生成字节码的复制器. */
+    private static final int MAX_BEAN_COPIER_CACHE_SIZE = 64;
+
+    /**
+     * bean复制器的缓存. <br>
+     * 复制器同时强引用源Class和目标Class，所以挂在类加载器能看到另一方的Class对象上
+     * (优先源Class，如同一应用中的pojo或者目标Class是jdk/公共库的类)，
+     * 再按(源Class, 目标Class, onlyNotNull, 指定的属性名)缓存，
+     * 避免长生命周期的Class通过缓存强引用短生命周期类加载器(如web容器中已卸载的应用)中的Class
+     */
+    private static final ClassValue<Map<List<Object>, BeanCopier>> BEAN_COPIER_CACHE = new ClassValue<Map<List<Object>, BeanCopier>>() {
+        @Override
+        protected Map<List<Object>, BeanCopier> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     /**
      * 参数名缓存. <br>
@@ -70,8 +138,8 @@ public abstract class Reflector {
             throw new IllegalArgumentException("目标类型Class不能为null");
         }
         try {
-            return (T) targetClass.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
+            return (T) getConstructorAccessor(targetClass).newInstance();
+        } catch (Exception e) {
             throw new IllegalArgumentException(
                     String.format("反射实例化目标Class失败，请检查(%s)的无参构造方法是否可用。" +
                             "另外：interface和abstract class无法通过反射自动实例化", targetClass.getName()),
@@ -89,15 +157,22 @@ public abstract class Reflector {
      */
     @SuppressWarnings("unchecked")
     public static <T> T newTarget(Class<?> targetClass, Object... initArgs) {
-        Constructor<?> constructor = getConstructor(targetClass, initArgs);
-        if (constructor == null) {
+        if (targetClass == null) {
+            throw new IllegalArgumentException("目标类型Class不能为null");
+        }
+        if (initArgs == null) {
+            throw new IllegalArgumentException("有参构造入参不能为null(提示：无参构造入参为空数组{})");
+        }
+        ConstructorAccessor constructorAccessor = getConstructorAccessor(targetClass);
+        int ctorIndex = constructorAccessor.getConstructorIndex(initArgs);
+        if (ctorIndex == ConstructorAccessor.NO_INDEX) {
             throw new IllegalArgumentException(
                     String.format("反射实例化目标Class失败，请检查(%s)是否有匹配入参(%s)且可用的的构造方法。" +
                                     "另外：interface和abstract class无法通过反射自动实例化",
                             targetClass.getName(), getMethodArgsStr(initArgs)));
         }
         try {
-            return (T) constructor.newInstance(initArgs);
+            return (T) constructorAccessor.newInstance(ctorIndex, initArgs);
         } catch (Exception e) {
             throw new IllegalArgumentException(
                     String.format("反射实例化目标Class失败，请检查(%s)是否有匹配入参(%s)且可用的的构造方法。" +
@@ -313,7 +388,7 @@ public abstract class Reflector {
 
     /**
      * 通过MethodAccess执行对象的方法
-     * 此方法请尽量在非循环中使用
+     * 方法字符串只在第一次执行时解析，之后按缓存的方法索引直接执行
      *
      * @param obj       对象实例
      * @param methodStr method.toString().replaceFirst(".+ ", "")对应的字符串
@@ -326,12 +401,26 @@ public abstract class Reflector {
         if (obj == null) {
             return null;
         }
-        MethodAccessor methodAccessor = getMethodAccessor(obj.getClass());
-        Integer methodIndex = methodAccessor.getMethodIndex(methodStr);
-        if (methodIndex == null) {
+        CompiledInvocation invocation = compileInvocation(obj.getClass(), methodStr);
+        if (invocation == null) {
             return null;
         }
-        return methodAccessor.invoke(obj, methodIndex, args);
+        return invocation.invoke(obj, args);
+    }
+
+    /**
+     * 把方法字符串编译成可以直接按索引执行的方法调用
+     * 编译结果按方法字符串缓存在clazz的MethodAccessor中，
+     * 需要反复执行同一个方法字符串时(如配置好的回调)，建议持有返回的CompiledInvocation直接调用
+     *
+     * @param clazz     对象Class
+     * @param methodStr method.toString().replaceFirst(".+ ", "")对应的字符串
+     *                  也就是className + '.' + methodName + "(参数列表，多个以','分隔)"
+     * @return 预编译的方法调用，找不到方法时返回null
+     * @see MethodAccessor#compile(String)
+     */
+    public static CompiledInvocation compileInvocation(Class<?> clazz, String methodStr) {
+        return getMethodAccessor(clazz).compile(methodStr);
     }
 
     /**
@@ -360,6 +449,7 @@ public abstract class Reflector {
 
     /**
      * 通过getter方法获取对象的变量值
+     * 没有getter方法时，如果成员变量是public的(或与生成的MethodAccessor子类同一运行时包)，则直接通过GETFIELD取值
      *
      * @param obj       对象实例，非null!!
      * @param fieldName 对象的成员变量名
@@ -376,6 +466,7 @@ public abstract class Reflector {
 
     /**
      * 通过setter方法给对象的变量赋值
+     * 没有setter方法时，如果成员变量是非final且public的(或与生成的MethodAccessor子类同一运行时包)，则直接通过PUTFIELD赋值
      *
      * @param obj       对象实例，非null!!
      * @param fieldName 对象的成员变量名
@@ -390,6 +481,171 @@ public abstract class Reflector {
         methodAccessor.setFieldValue(obj, fieldName, arg);
     }
 
+    /**
+     * 获取clazz类变量fieldName预解析好的属性句柄.
+     * 在循环中反复取值/赋值时，先获取句柄再使用，可以省去每次按变量名查找方法索引的开销
+     *
+     * @param clazz     对象Class
+     * @param fieldName 对象的成员变量名
+     * @return 属性句柄，既无getter/setter方法也无可直接访问的成员变量时返回null
+     * @see PropertyHandle
+     */
+    public static PropertyHandle getPropertyHandle(Class<?> clazz, String fieldName) {
+        return getMethodAccessor(clazz).getPropertyHandle(fieldName);
+    }
+
+    /**
+     * 按属性路径从对象取值，如order.customer.address.city、order.items[0].name、attrs['key']
+     * 中间任何一级为null、索引越界或找不到属性时返回null
+     *
+     * @param obj  根对象
+     * @param path 属性路径
+     * @return 属性值
+     * @see PropertyPath
+     */
+    public static Object getPathValue(Object obj, String path) {
+        if (obj == null) {
+            return null;
+        }
+        return getPropertyPath(obj.getClass(), path).get(obj);
+    }
+
+    /**
+     * 按属性路径给对象赋值
+     *
+     * @param obj        根对象，非null!!
+     * @param path       属性路径
+     * @param value      属性值
+     * @param autoCreate 中间某一级为null时是否自动实例化，为false时抛出IllegalArgumentException
+     * @see PropertyPath
+     */
+    public static void setPathValue(Object obj, String path, Object value, boolean autoCreate) {
+        if (obj == null) {
+            throw new IllegalArgumentException(String.format("属性路径(%s)的根对象不能为null", path));
+        }
+        getPropertyPath(obj.getClass(), path).set(obj, value, autoCreate);
+    }
+
+    /**
+     * 从内存中获取预编译的属性路径
+     * 在模板、规则等需要反复按同一路径取值/赋值的场景，可以持有返回的PropertyPath直接使用
+     *
+     * @param rootClass 根对象Class
+     * @param path      属性路径
+     * @return 预编译的属性路径
+     * @see PropertyPath
+     */
+    public static PropertyPath getPropertyPath(Class<?> rootClass, String path) {
+        if (rootClass == null || path == null) {
+            throw new IllegalArgumentException("根对象Class和属性路径都不能为null");
+        }
+        Map<String, PropertyPath> pathMap = PROPERTY_PATH_CACHE.get(rootClass);
+        PropertyPath propertyPath = pathMap.get(path);
+        if (propertyPath == null) {
+            propertyPath = PropertyPath.compile(rootClass, path);
+            if (pathMap.size() < MAX_PROPERTY_PATH_CACHE_SIZE) {
+                pathMap.putIfAbsent(path, propertyPath);
+            }
+        }
+        return propertyPath;
+    }
+
+    /**
+     * 从内存中获取预编译的属性子集
+     * 固定按同一组属性名取值(如接口按需返回部分字段)的场景，可以持有返回的Projection直接使用
+     *
+     * @param sourceClass 对象Class
+     * @param fieldNames  属性名列表，为null或空数组时表示所有属性
+     * @return 预编译的属性子集
+     * @see Projection
+     */
+    public static Projection getProjection(Class<?> sourceClass, String... fieldNames) {
+        if (sourceClass == null) {
+            throw new IllegalArgumentException("对象Class不能为null");
+        }
+        boolean noFieldNames = fieldNames == null || fieldNames.length == 0;
+        List<String> key = noFieldNames ? Collections.emptyList() : Arrays.asList(fieldNames);
+        Map<List<String>, Projection> projectionMap = PROJECTION_CACHE.get(sourceClass);
+        Projection projection = projectionMap.get(key);
+        if (projection == null) {
+            projection = Projection.compile(sourceClass, fieldNames);
+            if (projectionMap.size() < MAX_PROJECTION_CACHE_SIZE) {
+                //作为缓存key的属性名数组需要拷贝一份，防止调用方之后修改数组
+                key = noFieldNames ? key : Arrays.asList(fieldNames.clone());
+                Projection existing = projectionMap.putIfAbsent(key, projection);
+                if (existing != null) {
+                    projection = existing;
+                }
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * 从内存中获取bean复制器
+     * 同一组(源Class, 目标Class, onlyNotNull, fieldNames)只生成一次复制器子类，
+     * 源getter与目标setter类型匹配的属性在子类中直接调用getter/setter复制，其余属性经过Castor转换
+     *
+     * @param sourceClass 源Class
+     * @param targetClass 目标Class
+     * @param onlyNotNull 是否只复制非null的值
+     * @param fieldNames  要复制的属性名，为空时复制源Class的所有可读属性
+     * @return bean复制器
+     * @see BeanCopier
+     */
+    public static BeanCopier getBeanCopier(Class<?> sourceClass, Class<?> targetClass,
+                                           boolean onlyNotNull, String... fieldNames) {
+        if (sourceClass == null || targetClass == null) {
+            throw new IllegalArgumentException("源Class和目标Class都不能为null");
+        }
+        Class<?> anchor = isLoadedBy(targetClass, sourceClass.getClassLoader()) ? sourceClass
+                : isLoadedBy(sourceClass, targetClass.getClassLoader()) ? targetClass : null;
+        if (anchor == null) {
+            //互相看不到对方的Class(如两个不相关的类加载器)时不缓存，也不生成子类，避免不停地定义新类
+            return BeanCopier.get(sourceClass, targetClass, onlyNotNull, false, fieldNames);
+        }
+        boolean noFieldNames = fieldNames == null || fieldNames.length == 0;
+        List<Object> key = Arrays.asList(sourceClass, targetClass, onlyNotNull,
+                noFieldNames ? null : Arrays.asList(fieldNames));
+        Map<List<Object>, BeanCopier> copierMap = BEAN_COPIER_CACHE.get(anchor);
+        BeanCopier beanCopier = copierMap.get(key);
+        if (beanCopier == null) {
+            if (copierMap.size() >= MAX_BEAN_COPIER_CACHE_SIZE) {
+                //属性组合过多时不再生成子类，避免不停地定义新类
+                return BeanCopier.get(sourceClass, targetClass, onlyNotNull, false, fieldNames);
+            }
+            beanCopier = BeanCopier.get(sourceClass, targetClass, onlyNotNull, fieldNames);
+            //作为缓存key的属性名数组需要拷贝一份，防止调用方之后修改数组
+            key = Arrays.asList(sourceClass, targetClass, onlyNotNull,
+                    noFieldNames ? null : Arrays.asList(fieldNames.clone()));
+            BeanCopier existing = copierMap.putIfAbsent(key, beanCopier);
+            if (existing != null) {
+                beanCopier = existing;
+            }
+        }
+        return beanCopier;
+    }
+
+    /**
+     * 判断type是否由classLoader或其父加载器加载.
+     *
+     * @param type        Class
+     * @param classLoader 类加载器，null表示启动类加载器
+     * @return boolean
+     */
+    private static boolean isLoadedBy(Class<?> type, ClassLoader classLoader) {
+        ClassLoader typeLoader = type.getClassLoader();
+        if (typeLoader == null) {
+            return true;
+        }
+        for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+            if (cl == typeLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 从内存中获取MethodAccessor
      *
@@ -398,7 +654,165 @@ public abstract class Reflector {
      */
     public static MethodAccessor getMethodAccessor(Class<?> clazz) {
         //return METHOD_ACCESSOR_MAP.computeIfAbsent(clazz, MethodAccessor::new);
-        return METHOD_ACCESSOR_CACHE.get(clazz, c -> MethodAccessor.get(clazz));
+        return METHOD_ACCESSOR_CACHE.get(clazz);
+    }
+
+    /**
+     * 从内存中获取ConstructorAccessor
+     *
+     * @param clazz Class对象
+     * @return ConstructorAccessor实例
+     */
+    public static ConstructorAccessor getConstructorAccessor(Class<?> clazz) {
+        return CONSTRUCTOR_ACCESSOR_CACHE.get(clazz);
+    }
+
+    /**
+     * 预热packagePrefixes包(包括子包)下所有pojo的asm访问器.
+     * <p>
+     * 可以挂在服务的启动阶段或就绪探针之前，避免发版后第一批请求在请求线程上生成访问器造成的延迟毛刺
+     * </p>
+     *
+     * @param packagePrefixes 包名，如com.company.project.model
+     * @return 预热成功的类的个数
+     * @see #findPojoClasses(String...)
+     * @see #prewarm(Collection, ForkJoinPool)
+     */
+    public static int prewarm(String... packagePrefixes) {
+        return prewarm(findPojoClasses(packagePrefixes));
+    }
+
+    /**
+     * 在{@link ForkJoinPool#commonPool()}中并行预热classes的asm访问器.
+     *
+     * @param classes 需要预热的类
+     * @return 预热成功的类的个数
+     */
+    public static int prewarm(Collection<Class<?>> classes) {
+        return prewarm(classes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在pool中并行生成并缓存classes的MethodAccessor和ConstructorAccessor.
+     * <p>
+     * 生成访问器类时只按类名加锁，同一个类加载器下的不同类可以并行生成；
+     * 无法生成访问器的类(如依赖缺失)会被跳过并记录warn日志，不影响其它类
+     * </p>
+     *
+     * @param classes 需要预热的类
+     * @param pool    执行预热的ForkJoinPool
+     * @return 预热成功的类的个数
+     */
+    public static int prewarm(Collection<Class<?>> classes, ForkJoinPool pool) {
+        if (classes == null || classes.isEmpty()) {
+            return 0;
+        }
+        //每个类一个任务显式提交到pool，不依赖parallelStream在ForkJoinPool中执行时的任务分派行为
+        List<Callable<Boolean>> tasks = new ArrayList<>(classes.size());
+        for (Class<?> clazz : classes) {
+            tasks.add(() -> prewarm(clazz));
+        }
+        int warmed = 0;
+        try {
+            for (Future<Boolean> future : pool.invokeAll(tasks)) {
+                if (future.get()) {
+                    warmed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("预热asm访问器被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("预热asm访问器失败", e.getCause());
+        }
+        return warmed;
+    }
+
+    /**
+     * 查找packagePrefixes包(包括子包)下的pojo类.
+     * <p>
+     * 只加载类而不初始化类(不会执行static块)，
+     * 没有通过asm读取class文件的元数据，因为spring自带的asm版本可能不支持较新的class文件版本；
+     * pojo指public且可实例化(非interface、abstract、enum、非静态内部类)、
+     * 有public无参构造方法、并且声明了public的getter或setter方法的类
+     * </p>
+     *
+     * @param packagePrefixes 包名
+     * @return pojo类列表
+     */
+    public static List<Class<?>> findPojoClasses(String... packagePrefixes) {
+        List<Class<?>> classes = new ArrayList<>();
+        if (packagePrefixes == null) {
+            return classes;
+        }
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        String classSuffix = ".class";
+        for (String packagePrefix : packagePrefixes) {
+            String packagePath = ClassUtils.convertClassNameToResourcePath(packagePrefix) + "/";
+            Resource[] resources;
+            try {
+                resources = resolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                        + packagePath + "**/*" + classSuffix);
+            } catch (IOException e) {
+                throw new UncheckedIOException("扫描包(" + packagePrefix + ")失败", e);
+            }
+            for (Resource resource : resources) {
+                try {
+                    //从资源路径中截取出类名，如.../classes/com/company/Xxx.class -> com.company.Xxx
+                    String path = resource.getURL().toString();
+                    int start = path.lastIndexOf(packagePath);
+                    if (start < 0) {
+                        continue;
+                    }
+                    String className = ClassUtils.convertResourcePathToClassName(
+                            path.substring(start, path.length() - classSuffix.length()));
+                    Class<?> clazz = ClassUtils.forName(className, classLoader);
+                    if (isPojoClass(clazz)) {
+                        classes.add(clazz);
+                    }
+                } catch (IOException | ClassNotFoundException | LinkageError ignored) {
+                    //读取不了或依赖不全的类直接跳过
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static boolean isPojoClass(Class<?> clazz) {
+        int modifiers = clazz.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || clazz.isInterface()
+                || clazz.isEnum() || clazz.isAnonymousClass() || clazz.isLocalClass() || clazz.isSynthetic()
+                || clazz.isMemberClass() && !Modifier.isStatic(modifiers)) {
+            return false;
+        }
+        try {
+            clazz.getConstructor();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        for (Method method : clazz.getMethods()) {
+            if (method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String methodName = method.getName();
+            if (methodName.length() > 3 && (methodName.startsWith(GETTER_PREFIX) && method.getParameterCount() == 0
+                    || methodName.startsWith(SETTER_PREFIX) && method.getParameterCount() == 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean prewarm(Class<?> clazz) {
+        try {
+            getMethodAccessor(clazz);
+            getConstructorAccessor(clazz);
+            return true;
+        } catch (RuntimeException | LinkageError e) {
+            LOGGER.warn("预热类({})的asm访问器失败，已跳过", clazz.getName(), e);
+            return false;
+        }
     }
 
     /**
@@ -0,0 +1,251 @@
+package com.acyumi.reflect.reflectasm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 运行时生成的访问器字节码的磁盘缓存.
+ *
+ * <pre>
+ * 对于无法在构建时预生成(见{@link AccessorGenerator})的类(如第三方jar包中的dto)，
+ * 可以把运行时生成的字节码写到磁盘上，JVM重启后直接读取字节码定义类，省去反射收集方法和asm生成的开销。
+ *
+ * 缓存文件名为"访问器类名-结构签名.class"，源类的结构变更后结构签名随之变化，旧文件自然不再命中，
+ * 写入新文件时会一并删除同一访问器类名的旧文件。
+ *
+ * 默认不开启，通过系统属性-Dacyumi.reflectasm.cache-dir=/path/to/dir
+ * 或{@link #setDirectory(Path)}指定缓存目录后开启，读写失败时静默回退到正常的运行时生成
+ *
+ * 安全前提：缓存文件中的字节码会被直接定义成类并在应用的类加载器中执行，
+ * 所以缓存目录必须只有运行应用的用户可以写入。
+ * 1、文件开头记录了(结构签名 + 字节码)的SHA-256摘要，摘要不匹配(损坏或被替换了字节码)的文件会被删除
+ * 2、在支持POSIX权限的文件系统上，自动创建的缓存目录权限为rwx------，
+ *    读取时缓存目录或缓存文件不属于当前用户、或者组/其他用户可写时不使用缓存(只记录一次warn日志)，
+ *    当前用户以当前进程刚创建的临时文件的所有者为准，而不是可以被-Duser.name随意指定的系统属性
+ * 摘要只能发现损坏和未同步修改摘要的替换，不能防御有写权限的攻击者，
+ * 不支持POSIX权限的文件系统(如Windows)需要自行保证缓存目录的访问控制
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see MethodAccessor#get(Class)
+ * @see ConstructorAccessor#get(Class)
+ */
+public abstract class AccessorBytecodeCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessorBytecodeCache.class);
+
+    /*** 指定缓存目录的系统属性名. */
+    public static final String CACHE_DIR_PROPERTY = "acyumi.reflectasm.cache-dir";
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    /*** 缓存文件开头的SHA-256摘要长度. */
+    private static final int DIGEST_LENGTH = 32;
+
+    private static volatile Path directory = initDirectory();
+    /*** 当前进程的用户，第一次检查缓存目录时通过创建临时文件获取. */
+    private static volatile UserPrincipal processOwner;
+    /*** 是否已经记录过缓存不可信的日志. */
+    private static final AtomicBoolean UNTRUSTED_LOGGED = new AtomicBoolean();
+
+    /**
+     * 设置缓存目录.
+     *
+     * @param directory 缓存目录，为null时关闭磁盘缓存
+     */
+    public static void setDirectory(Path directory) {
+        AccessorBytecodeCache.directory = directory;
+    }
+
+    public static Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 读取缓存的字节码.
+     *
+     * @param accessorClassName  访问器类名
+     * @param structureSignature 源Class的结构签名
+     * @return 未开启缓存、未命中或文件已损坏时返回null
+     */
+    static byte[] load(String accessorClassName, String structureSignature) {
+        Path dir = directory;
+        if (dir == null) {
+            return null;
+        }
+        Path file = dir.resolve(getFileName(accessorClassName, structureSignature));
+        try {
+            if (!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS) || !isTrusted(dir) || !isTrusted(file)) {
+                return null;
+            }
+            byte[] content = Files.readAllBytes(file);
+            if (content.length <= DIGEST_LENGTH) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            byte[] bytecode = Arrays.copyOfRange(content, DIGEST_LENGTH, content.length);
+            byte[] digest = Arrays.copyOf(content, DIGEST_LENGTH);
+            if (!isClassFile(bytecode) || !MessageDigest.isEqual(digest, digest(structureSignature, bytecode))) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            return bytecode;
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 写入字节码，并删除同一访问器类名的过期缓存文件.
+     *
+     * @param accessorClassName  访问器类名
+     * @param structureSignature 源Class的结构签名
+     * @param bytecode           字节码
+     */
+    static void store(String accessorClassName, String structureSignature, byte[] bytecode) {
+        Path dir = directory;
+        if (dir == null) {
+            return;
+        }
+        String fileName = getFileName(accessorClassName, structureSignature);
+        try {
+            createDirectories(dir);
+            try (DirectoryStream<Path> staleFiles = Files.newDirectoryStream(dir, accessorClassName + "-*" + CLASS_FILE_SUFFIX)) {
+                for (Path staleFile : staleFiles) {
+                    if (!staleFile.getFileName().toString().equals(fileName)) {
+                        Files.deleteIfExists(staleFile);
+                    }
+                }
+            }
+            byte[] digest = digest(structureSignature, bytecode);
+            byte[] content = Arrays.copyOf(digest, DIGEST_LENGTH + bytecode.length);
+            System.arraycopy(bytecode, 0, content, DIGEST_LENGTH, bytecode.length);
+            //先写临时文件再重命名，避免多个JVM同时启动时读到写了一半的文件
+            //createTempFile在POSIX文件系统上创建的文件权限为rw-------
+            Path tempFile = Files.createTempFile(dir, accessorClassName, ".tmp");
+            try {
+                Files.write(tempFile, content);
+                Files.move(tempFile, dir.resolve(fileName),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                //写入或重命名失败时删除临时文件，重命名成功后这里什么都不做
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException | UnsupportedOperationException | SecurityException ignored) {
+            //缓存只是锦上添花，写失败不影响访问器的正常使用
+        }
+    }
+
+    private static String getFileName(String accessorClassName, String structureSignature) {
+        return accessorClassName + "-" + structureSignature + CLASS_FILE_SUFFIX;
+    }
+
+    private static void createDirectories(Path dir) throws IOException {
+        if (Files.isDirectory(dir)) {
+            return;
+        }
+        Path parent = dir.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (Files.getFileStore(parent == null ? dir.toAbsolutePath().getRoot() : parent)
+                .supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.createDirectory(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectory(dir);
+        }
+    }
+
+    /**
+     * 判断缓存目录或缓存文件是否可信：属于当前用户，并且组和其他用户不可写. <br>
+     * 不支持POSIX权限的文件系统上不做检查
+     */
+    private static boolean isTrusted(Path path) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(path, PosixFileAttributeView.class,
+                LinkOption.NOFOLLOW_LINKS);
+        if (view == null) {
+            return true;
+        }
+        PosixFileAttributes attributes = view.readAttributes();
+        Set<PosixFilePermission> permissions = attributes.permissions();
+        UserPrincipal owner = getProcessOwner();
+        boolean trusted = owner != null && owner.equals(attributes.owner())
+                && !permissions.contains(PosixFilePermission.GROUP_WRITE)
+                && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+        if (!trusted && UNTRUSTED_LOGGED.compareAndSet(false, true)) {
+            LOGGER.warn("访问器字节码磁盘缓存({})不可信，不使用缓存：所有者为{}(当前进程用户为{})，权限为{}",
+                    path, attributes.owner().getName(), owner == null ? null : owner.getName(),
+                    PosixFilePermissions.toString(permissions));
+        }
+        return trusted;
+    }
+
+    /**
+     * 获取当前进程的用户：创建一个临时文件并读取它的所有者.
+     *
+     * @return 获取失败时返回null(即不信任任何缓存)
+     */
+    private static UserPrincipal getProcessOwner() {
+        UserPrincipal owner = processOwner;
+        if (owner == null) {
+            try {
+                Path probe = Files.createTempFile("acyumi-reflectasm", ".owner");
+                try {
+                    owner = Files.getOwner(probe, LinkOption.NOFOLLOW_LINKS);
+                } finally {
+                    Files.deleteIfExists(probe);
+                }
+                processOwner = owner;
+            } catch (IOException | UnsupportedOperationException | SecurityException ignored) {
+                return null;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * 计算(结构签名 + 字节码)的SHA-256摘要.
+     */
+    private static byte[] digest(String structureSignature, byte[] bytecode) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(structureSignature.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update(bytecode);
+            return messageDigest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            //SHA-256是每个JVM都必须支持的算法
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isClassFile(byte[] bytecode) {
+        return bytecode.length > 4
+                && ((bytecode[0] & 0xFF) << 24 | (bytecode[1] & 0xFF) << 16
+                | (bytecode[2] & 0xFF) << 8 | (bytecode[3] & 0xFF)) == CLASS_FILE_MAGIC;
+    }
+
+    private static Path initDirectory() {
+        String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        return dir == null || dir.trim().isEmpty() ? null : Paths.get(dir.trim());
+    }
+}
@@ -22,12 +22,16 @@
  */
 package com.acyumi.reflect.reflectasm;
 
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 访问器/操作器的类加载器
@@ -37,6 +41,14 @@ import java.util.WeakHashMap;
  */
 class AccessorClassLoader extends ClassLoader {
 
+    static {
+        //使getClassLoadingLock按类名加锁，不同访问器类的定义互不阻塞，必须在下面创建任何实例之前注册
+        registerAsParallelCapable();
+    }
+
+    /*** 生成的访问器类中记录源Class结构签名的常量名. */
+    static final String STRUCTURE_SIGNATURE_FIELD = "STRUCTURE_SIGNATURE";
+
     /**
      * Weak-references to class loaders, to avoid perm gen memory leaks,
      * for example in app servers/web containters
@@ -44,17 +56,34 @@ class AccessorClassLoader extends ClassLoader {
      * using ReflectASM/Kryo (exts, user classpath, etc).
      * The key is the parent class loader and the value is the AccessorClassLoader,
      * both are weak-referenced in the hash table.
+     * 用ConcurrentHashMap代替synchronized的WeakHashMap，不同类加载器的查找互不阻塞，
+     * 被回收的类加载器对应的键通过{@link #STALE_PARENT_KEYS}清理
      */
-    private static final WeakHashMap<ClassLoader, WeakReference<AccessorClassLoader>> ACCESS_CLASS_LOADERS = new WeakHashMap<>();
+    private static final ConcurrentHashMap<ParentKey, WeakReference<AccessorClassLoader>> ACCESS_CLASS_LOADERS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ClassLoader> STALE_PARENT_KEYS = new ReferenceQueue<>();
+    /*** 初始化defineClass相关反射方法时的锁，只在第一次定义类时用到. */
+    private static final Object INIT_LOCK = new Object();
     /**
      * Fast-path for classes loaded in the same ClassLoader as this class.
      */
     private static final ClassLoader SELF_CONTEXT_PARENT_CLASS_LOADER = getParentClassLoader(AccessorClassLoader.class);
 
-    private static volatile AccessorClassLoader selfContextAccessorClassLoader = new AccessorClassLoader(SELF_CONTEXT_PARENT_CLASS_LOADER);
+    private static final AccessorClassLoader SELF_CONTEXT_ACCESSOR_CLASS_LOADER = new AccessorClassLoader(SELF_CONTEXT_PARENT_CLASS_LOADER);
     private static volatile Method defineClassMethod;
+    private static volatile Method[] lookupDefineClassMethods;
+
+    /**
+     * 源Class到AccessorClassLoader的无锁缓存，只有每个Class第一次获取时才会查找ACCESS_CLASS_LOADERS.
+     * ClassValue的值挂在Class对象上，随Class及其类加载器一起被回收
+     */
+    private static final ClassValue<AccessorClassLoader> TYPE_ACCESS_CLASS_LOADERS = new ClassValue<AccessorClassLoader>() {
+        @Override
+        protected AccessorClassLoader computeValue(Class<?> type) {
+            return lookup(type);
+        }
+    };
 
-    private final Set<String> localClassNames = new HashSet<>();
+    private final Set<String> localClassNames = ConcurrentHashMap.newKeySet();
 
     private AccessorClassLoader(ClassLoader parent) {
         super(parent);
@@ -76,9 +105,23 @@ class AccessorClassLoader extends ClassLoader {
         return null;
     }
 
-    Class<?> defineAccessorClass(String name, byte[] bytes) throws ClassFormatError {
-        localClassNames.add(name);
-        return defineClass(name, bytes);
+    /**
+     * 定义访问器类，多个线程同时定义同名的类时只有第一个生效，其余的直接返回已定义的类.
+     *
+     * @param type  访问器对应的源Class
+     * @param name  访问器类名
+     * @param bytes 访问器字节码
+     * @return 访问器类
+     */
+    Class<?> defineAccessorClass(Class<?> type, String name, byte[] bytes) throws ClassFormatError {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> accessorClass = loadAccessorClass(name);
+            if (accessorClass == null) {
+                accessorClass = defineClass(type, name, bytes);
+                localClassNames.add(name);
+            }
+            return accessorClass;
+        }
     }
 
     @Override
@@ -87,39 +130,92 @@ class AccessorClassLoader extends ClassLoader {
         if (name.equals(MethodAccessor.class.getName())) {
             return MethodAccessor.class;
         }
+        if (name.equals(ConstructorAccessor.class.getName())) {
+            return ConstructorAccessor.class;
+        }
+        if (name.equals(BeanCopier.class.getName())) {
+            return BeanCopier.class;
+        }
+        if (name.equals(PropertyHandle.class.getName())) {
+            return PropertyHandle.class;
+        }
         // All other classes come from the classloader that loaded the type we are accessing.
         return super.loadClass(name, resolve);
     }
 
     static AccessorClassLoader get(Class<?> type) {
+        return TYPE_ACCESS_CLASS_LOADERS.get(type);
+    }
+
+    private static AccessorClassLoader lookup(Class<?> type) {
         ClassLoader parent = getParentClassLoader(type);
         // 1. fast-path:
         if (SELF_CONTEXT_PARENT_CLASS_LOADER.equals(parent)) {
-            if (selfContextAccessorClassLoader == null) {
-                // DCL with volatile semantics
-                synchronized (ACCESS_CLASS_LOADERS) {
-                    if (selfContextAccessorClassLoader == null) {
-                        selfContextAccessorClassLoader = new AccessorClassLoader(SELF_CONTEXT_PARENT_CLASS_LOADER);
-                    }
-                }
-            }
-            return selfContextAccessorClassLoader;
+            return SELF_CONTEXT_ACCESSOR_CLASS_LOADER;
         }
         // 2. normal search:
-        synchronized (ACCESS_CLASS_LOADERS) {
-            WeakReference<AccessorClassLoader> ref = ACCESS_CLASS_LOADERS.get(parent);
-            if (ref != null) {
-                AccessorClassLoader accessorClassLoader = ref.get();
-                if (accessorClassLoader != null) {
-                    return accessorClassLoader;
-                } else {
-                    // the value has been GC-reclaimed, but still not the key (defensive sanity)
-                    ACCESS_CLASS_LOADERS.remove(parent);
-                }
+        expungeStaleParentKeys();
+        ParentKey lookupKey = new ParentKey(parent, null);
+        while (true) {
+            WeakReference<AccessorClassLoader> ref = ACCESS_CLASS_LOADERS.get(lookupKey);
+            AccessorClassLoader accessorClassLoader = ref == null ? null : ref.get();
+            if (accessorClassLoader != null) {
+                return accessorClassLoader;
+            }
+            // the value may have been GC-reclaimed, but still not the key (defensive sanity), replace it.
+            // 多个线程同时创建时只有一个能放进去，其余的重新读取
+            accessorClassLoader = new AccessorClassLoader(parent);
+            WeakReference<AccessorClassLoader> newRef = new WeakReference<>(accessorClassLoader);
+            boolean stored = ref == null
+                    ? ACCESS_CLASS_LOADERS.putIfAbsent(new ParentKey(parent, STALE_PARENT_KEYS), newRef) == null
+                    : ACCESS_CLASS_LOADERS.replace(lookupKey, ref, newRef);
+            if (stored) {
+                return accessorClassLoader;
             }
-            AccessorClassLoader accessorClassLoader = new AccessorClassLoader(parent);
-            ACCESS_CLASS_LOADERS.put(parent, new WeakReference<>(accessorClassLoader));
-            return accessorClassLoader;
+        }
+    }
+
+    private static void expungeStaleParentKeys() {
+        Reference<? extends ClassLoader> staleKey;
+        while ((staleKey = STALE_PARENT_KEYS.poll()) != null) {
+            ACCESS_CLASS_LOADERS.remove(staleKey);
+        }
+    }
+
+    /**
+     * 从type的类加载器(即类路径)上查找已存在的访问器类，如构建时预生成的类.
+     *
+     * @param type              源Class
+     * @param accessorClassName 访问器类名
+     * @return 找不到时返回null
+     */
+    static Class<?> findPrebuiltAccessorClass(Class<?> type, String accessorClassName) {
+        try {
+            return Class.forName(accessorClassName, false, getParentClassLoader(type));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 判断查找到的访问器类能否用于源Class.
+     * 要求访问器类记录的结构签名与源Class当前的结构签名一致，
+     * 并且访问器类引用的就是type(访问器类可能是委派给父类加载器找到的，
+     * 如子优先的类加载器重新加载了源Class时，它引用的是父类加载器中的同名类)
+     *
+     * @param accessorClass      访问器类
+     * @param type               源Class
+     * @param structureSignature 源Class当前的结构签名
+     * @return boolean
+     */
+    static boolean isReusable(Class<?> accessorClass, Class<?> type, String structureSignature) {
+        if (!ClassUtils.isVisible(type, accessorClass.getClassLoader())) {
+            return false;
+        }
+        try {
+            return structureSignature.equals(accessorClass.getField(STRUCTURE_SIGNATURE_FIELD).get(null));
+        } catch (Exception e) {
+            return false;
         }
     }
 
@@ -134,19 +230,87 @@ class AccessorClassLoader extends ClassLoader {
     private static Method getDefineClassMethod() throws Exception {
         // DCL on volatile
         if (defineClassMethod == null) {
-            synchronized (ACCESS_CLASS_LOADERS) {
-                defineClassMethod = ClassLoader.class.getDeclaredMethod("defineClass",
-                        String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
-                try {
-                    defineClassMethod.setAccessible(true);
-                } catch (Exception ignored) {
+            synchronized (INIT_LOCK) {
+                if (defineClassMethod == null) {
+                    Method method = ClassLoader.class.getDeclaredMethod("defineClass",
+                            String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+                    try {
+                        method.setAccessible(true);
+                    } catch (Exception ignored) {
+                    }
+                    defineClassMethod = method;
                 }
             }
         }
         return defineClassMethod;
     }
 
-    private Class<?> defineClass(String name, byte[] bytes) throws ClassFormatError {
+    /**
+     * jdk9+的MethodHandles.privateLookupIn(Class, Lookup)和Lookup.defineClass(byte[])，jdk8时为null.
+     * 源码级别是1.8，所以通过反射获取
+     */
+    private static Method[] getLookupDefineClassMethods() {
+        if (lookupDefineClassMethods == null) {
+            synchronized (INIT_LOCK) {
+                if (lookupDefineClassMethods == null) {
+                    try {
+                        lookupDefineClassMethods = new Method[]{
+                                MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class),
+                                MethodHandles.Lookup.class.getMethod("defineClass", byte[].class)
+                        };
+                    } catch (NoSuchMethodException e) {
+                        lookupDefineClassMethods = new Method[0];
+                    }
+                }
+            }
+        }
+        return lookupDefineClassMethods.length == 0 ? null : lookupDefineClassMethods;
+    }
+
+    /**
+     * ACCESS_CLASS_LOADERS的键：弱引用父类加载器，按对象标识比较.
+     */
+    private static final class ParentKey extends WeakReference<ClassLoader> {
+
+        private final int hash;
+
+        ParentKey(ClassLoader parent, ReferenceQueue<ClassLoader> queue) {
+            super(parent, queue);
+            this.hash = System.identityHashCode(parent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ParentKey)) {
+                return false;
+            }
+            ClassLoader parent = get();
+            return parent != null && parent == ((ParentKey) obj).get();
+        }
+    }
+
+    private Class<?> defineClass(Class<?> type, String name, byte[] bytes) throws ClassFormatError {
+        // jdk9+: Lookup.defineClass defines the accessor class in the loader and runtime package of the type
+        // without setAccessible, so it keeps working under the strong encapsulation of jdk16+.
+        // It only accepts classes in the same package as the lookup class (not the "reflectasm.java." ones).
+        Method[] lookupMethods = getLookupDefineClassMethods();
+        if (lookupMethods != null && type.getClassLoader() != null
+                && ClassUtils.getPackageName(type).equals(ClassUtils.getPackageName(name))) {
+            try {
+                Object lookup = lookupMethods[0].invoke(null, type, MethodHandles.lookup());
+                return (Class<?>) lookupMethods[1].invoke(lookup, (Object) bytes);
+            } catch (Exception ignored) {
+                // e.g. the type is in a named module that is not opened to us, continue with the old ways
+            }
+        }
         ProtectionDomain protectionDomain = getClass().getProtectionDomain();
         try {
             // Attempt to load the accessor class in the same loader,
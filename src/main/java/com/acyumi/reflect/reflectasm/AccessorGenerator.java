@@ -0,0 +1,186 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.annotation.GenerateAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 构建时预生成asm访问器的工具.
+ *
+ * <pre>
+ * 扫描编译输出目录中声明了{@link GenerateAccessor}或位于指定包下的类，
+ * 生成它们的XxxMethodAccessor和XxxConstructorAccessor类文件并写回编译输出目录，
+ * 这些类随jar包发布后，{@link MethodAccessor#get(Class)}和{@link ConstructorAccessor#get(Class)}
+ * 会直接从类路径上加载它们，跳过运行时的字节码生成。
+ * 预生成的类记录了源类的结构签名，源类结构变更而没有重新预生成时会被自动忽略并回退到运行时生成。
+ *
+ * 本工具类只提供生成逻辑，acyumi-core自身的pom没有配置执行它(本项目没有需要预生成的pojo)，
+ * 需要预生成的项目在自己的pom中配置exec-maven-plugin，在process-classes阶段执行：
+ * &lt;plugin&gt;
+ * &nbsp;&nbsp;&lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ * &nbsp;&nbsp;&lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ * &nbsp;&nbsp;&lt;executions&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&lt;execution&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;phase&gt;process-classes&lt;/phase&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;configuration&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;mainClass&gt;com.acyumi.reflect.reflectasm.AccessorGenerator&lt;/mainClass&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;arguments&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;argument&gt;${project.build.outputDirectory}&lt;/argument&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;argument&gt;com.company.project.model&lt;/argument&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;/arguments&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&lt;/configuration&gt;
+ * &nbsp;&nbsp;&nbsp;&nbsp;&lt;/execution&gt;
+ * &nbsp;&nbsp;&lt;/executions&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see GenerateAccessor
+ */
+public abstract class AccessorGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessorGenerator.class);
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    /**
+     * 命令行入口.
+     *
+     * @param args 第一个参数为编译输出目录，其余参数为需要预生成的包名(不指定时只处理声明了@GenerateAccessor的类)
+     */
+    public static void main(String[] args) {
+        if (args == null || args.length == 0) {
+            throw new IllegalArgumentException("请指定编译输出目录，如：${project.build.outputDirectory}");
+        }
+        String[] packageNames = new String[args.length - 1];
+        System.arraycopy(args, 1, packageNames, 0, packageNames.length);
+        List<String> generated = generateAll(Paths.get(args[0]), packageNames);
+        LOGGER.info("预生成了{}个访问器类到{}", generated.size(), args[0]);
+    }
+
+    /**
+     * 扫描编译输出目录并预生成访问器类.
+     *
+     * @param classesDir   编译输出目录
+     * @param packageNames 需要预生成的包名(包括子包)，为空时只处理声明了@GenerateAccessor的类
+     * @return 已生成的访问器类名
+     */
+    public static List<String> generateAll(Path classesDir, String... packageNames) {
+        List<String> classNames;
+        try (Stream<Path> paths = Files.walk(classesDir)) {
+            classNames = paths.filter(path -> path.toString().endsWith(CLASS_FILE_SUFFIX))
+                    .map(path -> toClassName(classesDir.relativize(path)))
+                    .filter(AccessorGenerator::isSourceClassName)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<String> generated = new ArrayList<>();
+        try (URLClassLoader classLoader = newClassLoader(classesDir)) {
+            for (String className : classNames) {
+                Class<?> type;
+                try {
+                    type = Class.forName(className, false, classLoader);
+                } catch (Throwable ignored) {
+                    //依赖不全(如optional的依赖)的类直接跳过，运行时会照常动态生成
+                    continue;
+                }
+                if (type.isAnonymousClass() || type.isLocalClass() || type.isSynthetic() || type.isAnnotation()) {
+                    continue;
+                }
+                GenerateAccessor generateAccessor = type.getAnnotation(GenerateAccessor.class);
+                if (generateAccessor == null && !isInPackages(className, packageNames)) {
+                    continue;
+                }
+                boolean constructor = generateAccessor == null || generateAccessor.constructor();
+                generated.addAll(generate(type, classesDir, constructor));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return generated;
+    }
+
+    /**
+     * 预生成type的访问器类并写入到输出目录.
+     *
+     * @param type        源Class
+     * @param outputDir   输出目录
+     * @param constructor 是否同时预生成ConstructorAccessor
+     * @return 已生成的访问器类名
+     */
+    public static List<String> generate(Class<?> type, Path outputDir, boolean constructor) {
+        List<String> generated = new ArrayList<>(2);
+        if (type.isInterface() || type.getSuperclass() != null) {
+            String accessorClassName = MethodAccessor.getAccessorClassName(type);
+            write(outputDir, accessorClassName, MethodAccessor.generateBytecode(type));
+            generated.add(accessorClassName);
+        }
+        if (constructor && !type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            String accessorClassName = ConstructorAccessor.getAccessorClassName(type);
+            write(outputDir, accessorClassName, ConstructorAccessor.generateBytecode(type));
+            generated.add(accessorClassName);
+        }
+        return generated;
+    }
+
+    private static void write(Path outputDir, String accessorClassName, byte[] bytecode) {
+        Path classFile = outputDir.resolve(accessorClassName.replace('.', '/') + CLASS_FILE_SUFFIX);
+        try {
+            Files.createDirectories(classFile.getParent());
+            Files.write(classFile, bytecode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toClassName(Path relativePath) {
+        String path = relativePath.toString().replace('\\', '/');
+        return path.substring(0, path.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.');
+    }
+
+    private static boolean isSourceClassName(String className) {
+        return !className.endsWith(MethodAccessor.class.getSimpleName())
+                && !className.endsWith(ConstructorAccessor.class.getSimpleName())
+                && !className.endsWith("package-info")
+                && !className.endsWith("module-info");
+    }
+
+    private static boolean isInPackages(String className, String[] packageNames) {
+        for (String packageName : packageNames) {
+            if (className.startsWith(packageName + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static URLClassLoader newClassLoader(Path classesDir) {
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+        if (parent == null) {
+            parent = AccessorGenerator.class.getClassLoader();
+        }
+        try {
+            return new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, parent);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("编译输出目录不正确：" + classesDir, e);
+        }
+    }
+}
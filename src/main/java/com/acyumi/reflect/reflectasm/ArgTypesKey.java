@@ -0,0 +1,57 @@
+package com.acyumi.reflect.reflectasm;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 方法名(可以为null)加入参运行时Class元组组成的缓存key.
+ * <p>
+ * 用于缓存按入参值解析出来的方法/构造方法索引，入参为null的位置对应的Class为null
+ * </p>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see MethodAccessor#getMethodIndex(String, Object...)
+ * @see ConstructorAccessor#getConstructorIndex(Object...)
+ */
+final class ArgTypesKey {
+
+    private final String name;
+    private final Class<?>[] argTypes;
+    private final int hash;
+
+    private ArgTypesKey(String name, Class<?>[] argTypes) {
+        this.name = name;
+        this.argTypes = argTypes;
+        this.hash = 31 * Objects.hashCode(name) + Arrays.hashCode(argTypes);
+    }
+
+    static ArgTypesKey of(String name, Object[] args) {
+        Class<?>[] argTypes = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            argTypes[i] = args[i] == null ? null : args[i].getClass();
+        }
+        return new ArgTypesKey(name, argTypes);
+    }
+
+    Class<?>[] getArgTypes() {
+        return argTypes;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ArgTypesKey)) {
+            return false;
+        }
+        ArgTypesKey other = (ArgTypesKey) obj;
+        return hash == other.hash && Objects.equals(name, other.name) && Arrays.equals(argTypes, other.argTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,422 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.cast.Castor;
+import com.acyumi.reflect.Reflector;
+import com.acyumi.util.TransformUtils;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.asm.Opcodes.*;
+
+/**
+ * 使用asm框架生成子类来直接复制pojo属性的复制器.
+ *
+ * <pre>
+ * 对一组(源Class, 目标Class, 是否只复制非null值, 指定的属性名)生成一个BeanCopier子类：
+ * 源getter返回值类型与目标setter入参类型相同(或可直接赋值)的属性，
+ * 在生成的子类中直接CHECKCAST + INVOKEVIRTUAL getter/setter，不装箱、不查找方法索引、不经过{@link Castor}；
+ * 其余属性(类型不匹配、非public、只能直接读写成员变量等)退回到通过{@link PropertyHandle}取值、
+ * 经{@link TransformUtils#trans2SetterParameter}转换后赋值，与{@link TransformUtils}原来的逐个属性处理完全一致。
+ *
+ * 创建BeanCopier需要生成字节码，创建后请缓存起来重复使用，
+ * {@link Reflector#getBeanCopier(Class, Class, boolean, String...)}有现成的缓存
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see TransformUtils#transform(Object, Class)
+ */
+public abstract class BeanCopier {
+
+    /*** 生成的子类类名的序号，同一对源/目标Class可能有多个不同属性组合的复制器. */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /*** 需要复制的属性名. */
+    private final String[] names;
+    /*** 与{@link #names}一一对应的源对象属性句柄，源对象没有该属性时元素为null. */
+    private final PropertyHandle[] sourceHandles;
+    /*** 与{@link #names}一一对应的目标对象属性句柄. */
+    private final PropertyHandle[] targetHandles;
+    /*** 是否只复制非null的值. */
+    private final boolean onlyNotNull;
+    /*** 与{@link #names}一一对应的是否在生成的子类中直接复制. */
+    private final boolean[] directs;
+
+    protected BeanCopier(String[] names, PropertyHandle[] sourceHandles, PropertyHandle[] targetHandles,
+                         boolean onlyNotNull, boolean[] directs) {
+        this.names = names;
+        this.sourceHandles = sourceHandles;
+        this.targetHandles = targetHandles;
+        this.onlyNotNull = onlyNotNull;
+        this.directs = directs;
+    }
+
+    /**
+     * 把源对象的属性值复制到目标对象.
+     *
+     * @param source 源对象，类型必须与创建时的源Class相同
+     * @param target 目标对象，类型必须与创建时的目标Class相同
+     */
+    public void copy(Object source, Object target) {
+        try {
+            copy0(source, target);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(String.format("从(%s)复制属性到(%s)失败",
+                    source.getClass().getName(), target.getClass().getName()), e);
+        }
+    }
+
+    /**
+     * 由生成的子类逐个属性复制.
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     */
+    protected abstract void copy0(Object source, Object target);
+
+    /**
+     * 通过属性句柄复制第index个属性，需要时经过{@link TransformUtils#trans2SetterParameter}转换.
+     *
+     * @param index  属性索引
+     * @param source 源对象
+     * @param target 目标对象
+     */
+    protected final void copyProperty(int index, Object source, Object target) {
+        PropertyHandle sourceHandle = sourceHandles[index];
+        Object value = sourceHandle == null ? null : sourceHandle.get(source);
+        if (onlyNotNull && value == null) {
+            return;
+        }
+        PropertyHandle targetHandle = targetHandles[index];
+        if (value == null) {
+            targetHandle.set(target, null);
+            return;
+        }
+        value = TransformUtils.trans2SetterParameter(names[index], value,
+                sourceHandle.getGetterGenericReturnType(), targetHandle.getSetterGenericParameterType());
+        targetHandle.set(target, value);
+    }
+
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    public boolean isOnlyNotNull() {
+        return onlyNotNull;
+    }
+
+    /**
+     * 获取在生成的子类中直接复制(不经过属性句柄和类型转换)的属性个数.
+     *
+     * @return 直接复制的属性个数
+     */
+    public int getDirectCount() {
+        int count = 0;
+        for (boolean direct : directs) {
+            if (direct) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 生成一个BeanCopier子类并构造一个实例对象.
+     *
+     * @param sourceClass 源Class
+     * @param targetClass 目标Class
+     * @param onlyNotNull 是否只复制非null的值
+     * @param fieldNames  要复制的属性名，为空时复制源Class的所有可读属性
+     * @return BeanCopier子类实例
+     */
+    public static BeanCopier get(Class<?> sourceClass, Class<?> targetClass, boolean onlyNotNull,
+                                 String... fieldNames) {
+        return get(sourceClass, targetClass, onlyNotNull, true, fieldNames);
+    }
+
+    /**
+     * 构造一个BeanCopier实例.
+     *
+     * @param sourceClass      源Class
+     * @param targetClass      目标Class
+     * @param onlyNotNull      是否只复制非null的值
+     * @param generateBytecode 是否生成字节码，为false时所有属性都通过属性句柄复制，
+     *                         适合只用一两次、不值得生成和缓存子类的属性组合
+     * @param fieldNames       要复制的属性名，为空时复制源Class的所有可读属性
+     * @return BeanCopier实例
+     */
+    public static BeanCopier get(Class<?> sourceClass, Class<?> targetClass, boolean onlyNotNull,
+                                 boolean generateBytecode, String... fieldNames) {
+
+        if (sourceClass == null || targetClass == null) {
+            throw new IllegalArgumentException("源Class和目标Class都不能为null");
+        }
+
+        MethodAccessor sourceAccessor = Reflector.getMethodAccessor(sourceClass);
+        MethodAccessor targetAccessor = Reflector.getMethodAccessor(targetClass);
+
+        //收集需要复制的属性，目标对象没有可赋值的属性时直接跳过
+        List<String> nameList = new ArrayList<>();
+        List<PropertyHandle> sourceHandleList = new ArrayList<>();
+        List<PropertyHandle> targetHandleList = new ArrayList<>();
+        if (fieldNames == null || fieldNames.length == 0) {
+            for (PropertyHandle sourceHandle : sourceAccessor.getPropertyHandles()) {
+                PropertyHandle targetHandle = targetAccessor.getPropertyHandle(sourceHandle.getName());
+                if (targetHandle != null && targetHandle.isWritable()) {
+                    nameList.add(sourceHandle.getName());
+                    sourceHandleList.add(sourceHandle);
+                    targetHandleList.add(targetHandle);
+                }
+            }
+        } else {
+            for (String fieldName : fieldNames) {
+                if (fieldName == null || fieldName.isEmpty()) {
+                    continue;
+                }
+                PropertyHandle targetHandle = targetAccessor.getPropertyHandle(fieldName);
+                if (targetHandle != null && targetHandle.isWritable()) {
+                    nameList.add(fieldName);
+                    sourceHandleList.add(sourceAccessor.getPropertyHandle(fieldName));
+                    targetHandleList.add(targetHandle);
+                }
+            }
+        }
+
+        int size = nameList.size();
+        String[] names = nameList.toArray(new String[0]);
+        PropertyHandle[] sourceHandles = sourceHandleList.toArray(new PropertyHandle[0]);
+        PropertyHandle[] targetHandles = targetHandleList.toArray(new PropertyHandle[0]);
+        Method[] getters = new Method[size];
+        Method[] setters = new Method[size];
+        boolean[] directs = new boolean[size];
+        if (!generateBytecode) {
+            return new HandleBeanCopier(names, sourceHandles, targetHandles, onlyNotNull, directs);
+        }
+
+        //生成的子类与目标Class同包，只有源Class和目标Class都是public且源Class对目标Class的类加载器可见时，
+        //生成的子类中才能直接引用它们
+        boolean referable = Modifier.isPublic(sourceClass.getModifiers())
+                && Modifier.isPublic(targetClass.getModifiers())
+                && ClassUtils.isVisible(sourceClass, targetClass.getClassLoader());
+        if (referable) {
+            Class[] sourceDeclaringClasses = sourceAccessor.getDeclaringClasses();
+            Class[] targetDeclaringClasses = targetAccessor.getDeclaringClasses();
+            for (int i = 0; i < size; i++) {
+                PropertyHandle sourceHandle = sourceHandles[i];
+                PropertyHandle targetHandle = targetHandles[i];
+                if (sourceHandle == null || sourceHandle.getGetterIndex() == PropertyHandle.NO_INDEX
+                        || targetHandle.getSetterIndex() == PropertyHandle.NO_INDEX
+                        || !isDirectlyAssignable(sourceHandle.getGetterGenericReturnType(),
+                        targetHandle.getSetterGenericParameterType())) {
+                    continue;
+                }
+                getters[i] = findPublicMethod(sourceAccessor, sourceHandle.getGetterIndex(), sourceDeclaringClasses);
+                setters[i] = findPublicMethod(targetAccessor, targetHandle.getSetterIndex(), targetDeclaringClasses);
+                directs[i] = getters[i] != null && setters[i] != null;
+            }
+        }
+
+        String copierClassName = getCopierClassName(targetClass);
+        byte[] data = generateBytecode(copierClassName, sourceClass, targetClass, onlyNotNull, getters, setters, directs);
+        Class<?> copierClass = AccessorClassLoader.get(targetClass).defineAccessorClass(targetClass, copierClassName, data);
+
+        try {
+            return (BeanCopier) copierClass.getConstructor(String[].class, PropertyHandle[].class,
+                    PropertyHandle[].class, boolean.class, boolean[].class)
+                    .newInstance(names, sourceHandles, targetHandles, onlyNotNull, directs);
+        } catch (Throwable t) {
+            throw new RuntimeException("Error constructing bean copier class: " + copierClass.getName(), t);
+        }
+    }
+
+    /**
+     * 判断getter的返回值是否可以不经过转换直接传给setter，与{@link Castor#castType2Type}直接返回源对象的条件一致.
+     *
+     * @param getterType getter的返回值泛型Type
+     * @param setterType setter的入参泛型Type
+     * @return boolean
+     */
+    private static boolean isDirectlyAssignable(java.lang.reflect.Type getterType, java.lang.reflect.Type setterType) {
+        if (getterType == null || setterType == null) {
+            return false;
+        }
+        if (getterType.equals(setterType)) {
+            return true;
+        }
+        //基本数据类型与包装类型之间需要装拆箱，交给Castor处理
+        return getterType instanceof Class && setterType instanceof Class
+                && !((Class<?>) getterType).isPrimitive() && !((Class<?>) setterType).isPrimitive()
+                && ((Class<?>) setterType).isAssignableFrom((Class<?>) getterType);
+    }
+
+    /**
+     * 查找accessor中第methodIndex个方法对应的public非static方法.
+     *
+     * @return 不是public非static方法时返回null
+     */
+    private static Method findPublicMethod(MethodAccessor accessor, int methodIndex, Class[] declaringClasses) {
+        String methodName = accessor.getMethodName(methodIndex);
+        Class<?> returnType = accessor.getReturnTypes(methodIndex);
+        Class[] parameterTypes = accessor.getParameterTypes(methodIndex);
+        for (Method method : declaringClasses[methodIndex].getDeclaredMethods()) {
+            if (method.getName().equals(methodName) && method.getReturnType() == returnType
+                    && java.util.Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                int modifiers = method.getModifiers();
+                return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) ? method : null;
+            }
+        }
+        return null;
+    }
+
+    private static String getCopierClassName(Class<?> targetClass) {
+        String copierClassName = targetClass.getName() + BeanCopier.class.getSimpleName() + SEQUENCE.incrementAndGet();
+        if (copierClassName.startsWith("java.")) {
+            copierClassName = "reflectasm." + copierClassName;
+        }
+        return copierClassName;
+    }
+
+    /**
+     * 生成BeanCopier子类的字节码.
+     *
+     * @param copierClassName BeanCopier子类的类名
+     * @param sourceClass     源Class
+     * @param targetClass     目标Class
+     * @param onlyNotNull     是否只复制非null的值
+     * @param getters         直接复制的属性的源getter方法
+     * @param setters         直接复制的属性的目标setter方法
+     * @param directs         是否直接复制
+     * @return 字节码
+     */
+    private static byte[] generateBytecode(String copierClassName, Class<?> sourceClass, Class<?> targetClass,
+                                           boolean onlyNotNull, Method[] getters, Method[] setters,
+                                           boolean[] directs) {
+
+        String copierClassNameInternal = copierClassName.replace('.', '/');
+        String superName = Type.getInternalName(BeanCopier.class);
+        String sourceClassInternal = Type.getInternalName(sourceClass);
+        String targetClassInternal = Type.getInternalName(targetClass);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, copierClassNameInternal, null, superName, null);
+
+        //写有参构造函数，直接调用父类的有参构造
+        String descriptor = "([Ljava/lang/String;[L" + Type.getInternalName(PropertyHandle.class) + ";[L"
+                + Type.getInternalName(PropertyHandle.class) + ";Z[Z)V";
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", descriptor, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitVarInsn(ALOAD, 3);
+        mv.visitVarInsn(ILOAD, 4);
+        mv.visitVarInsn(ALOAD, 5);
+        mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", descriptor, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(6, 6);
+        mv.visitEnd();
+
+        //写copy0(Object source, Object target)
+        mv = cw.visitMethod(ACC_PROTECTED, "copy0", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        for (int i = 0; i < directs.length; i++) {
+            if (!directs[i]) {
+                //this.copyProperty(i, source, target)
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitLdcInsn(i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, superName, "copyProperty",
+                        "(ILjava/lang/Object;Ljava/lang/Object;)V", false);
+                continue;
+            }
+            Method getter = getters[i];
+            Method setter = setters[i];
+            Type setterReturnType = Type.getReturnType(setter);
+            if (!onlyNotNull || getter.getReturnType().isPrimitive()) {
+                //((Target) target).setXxx(((Source) source).getXxx())
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitTypeInsn(CHECKCAST, targetClassInternal);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, sourceClassInternal);
+                mv.visitMethodInsn(INVOKEVIRTUAL, sourceClassInternal, getter.getName(),
+                        Type.getMethodDescriptor(getter), false);
+                mv.visitMethodInsn(INVOKEVIRTUAL, targetClassInternal, setter.getName(),
+                        Type.getMethodDescriptor(setter), false);
+                popReturnValue(mv, setterReturnType);
+                continue;
+            }
+            //Object value = ((Source) source).getXxx(); if (value != null) ((Target) target).setXxx(value)
+            Label nullLabel = new Label();
+            Label nextLabel = new Label();
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, sourceClassInternal);
+            mv.visitMethodInsn(INVOKEVIRTUAL, sourceClassInternal, getter.getName(),
+                    Type.getMethodDescriptor(getter), false);
+            mv.visitInsn(DUP);
+            mv.visitJumpInsn(IFNULL, nullLabel);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitTypeInsn(CHECKCAST, targetClassInternal);
+            mv.visitInsn(SWAP);
+            mv.visitMethodInsn(INVOKEVIRTUAL, targetClassInternal, setter.getName(),
+                    Type.getMethodDescriptor(setter), false);
+            popReturnValue(mv, setterReturnType);
+            mv.visitJumpInsn(GOTO, nextLabel);
+            mv.visitLabel(nullLabel);
+            mv.visitFrame(F_SAME1, 0, null, 1, new Object[]{Type.getInternalName(getter.getReturnType())});
+            mv.visitInsn(POP);
+            mv.visitLabel(nextLabel);
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * 不生成字节码、所有属性都通过属性句柄复制的BeanCopier.
+     */
+    private static final class HandleBeanCopier extends BeanCopier {
+
+        private final int size;
+
+        HandleBeanCopier(String[] names, PropertyHandle[] sourceHandles, PropertyHandle[] targetHandles,
+                         boolean onlyNotNull, boolean[] directs) {
+            super(names, sourceHandles, targetHandles, onlyNotNull, directs);
+            this.size = names.length;
+        }
+
+        @Override
+        protected void copy0(Object source, Object target) {
+            for (int i = 0; i < size; i++) {
+                copyProperty(i, source, target);
+            }
+        }
+    }
+
+    /**
+     * 丢弃setter的返回值(如链式调用的setter返回this).
+     */
+    private static void popReturnValue(MethodVisitor mv, Type returnType) {
+        int sort = returnType.getSort();
+        if (sort == Type.LONG || sort == Type.DOUBLE) {
+            mv.visitInsn(POP2);
+        } else if (sort != Type.VOID) {
+            mv.visitInsn(POP);
+        }
+    }
+}
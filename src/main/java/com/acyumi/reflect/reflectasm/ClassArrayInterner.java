@@ -0,0 +1,72 @@
+package com.acyumi.reflect.reflectasm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 参数类型数组的共享池.
+ *
+ * <pre>
+ * 成千上万个pojo的方法参数类型大多是()、(java.lang.String)、(java.lang.Long)这类相同的组合，
+ * 每个MethodAccessor/ConstructorAccessor各存一份内容完全相同的Class[]很浪费，这里把它们合并成同一个数组实例。
+ *
+ * 只合并元素全部由启动类加载器加载(即jdk自带的类型)的数组，
+ * 避免静态的共享池强引用应用中的类，导致应用的类加载器无法卸载。
+ * 共享出去的数组不能再被修改，对外暴露时需要先clone
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+abstract class ClassArrayInterner {
+
+    /*** 共享池的最大个数，超过后不再合并(仍返回原数组). */
+    private static final int MAX_POOL_SIZE = 4096;
+
+    private static final Map<List<Class>, Class[]> POOL = new ConcurrentHashMap<>();
+
+    /**
+     * 获取与types内容相同的共享数组.
+     *
+     * @param types 参数类型数组，之后不能再修改
+     * @return 共享的数组，不能合并时返回types本身
+     */
+    static Class[] intern(Class[] types) {
+        if (!isInternable(types)) {
+            return types;
+        }
+        List<Class> key = Arrays.asList(types);
+        Class[] interned = POOL.get(key);
+        if (interned == null) {
+            if (POOL.size() >= MAX_POOL_SIZE) {
+                return types;
+            }
+            interned = POOL.putIfAbsent(key, types);
+            if (interned == null) {
+                interned = types;
+            }
+        }
+        return interned;
+    }
+
+    /**
+     * 判断types是否共享池中的数组实例.
+     *
+     * @param types 参数类型数组
+     * @return 是否共享的数组
+     */
+    static boolean isInterned(Class[] types) {
+        return isInternable(types) && POOL.get(Arrays.asList(types)) == types;
+    }
+
+    private static boolean isInternable(Class[] types) {
+        for (Class type : types) {
+            if (type.getClassLoader() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
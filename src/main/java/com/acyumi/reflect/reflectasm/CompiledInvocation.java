@@ -0,0 +1,74 @@
+package com.acyumi.reflect.reflectasm;
+
+/**
+ * 由方法字符串预编译好的方法调用.
+ *
+ * <pre>
+ * 方法字符串(如"com.company.project.model.Contact.setContactId(java.lang.String)")只在编译时解析一次，
+ * 解析出方法在{@link MethodAccessor}中的索引后，之后每次调用都是直接按索引执行，
+ * 不再对长长的方法字符串计算hash和查找Map。
+ *
+ * 编译结果是不可变的，可以缓存起来在多线程中重复利用，
+ * 也可以通过{@link com.acyumi.reflect.Reflector#compileInvocation(Class, String)}获取带缓存的实例
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see MethodAccessor#compile(String)
+ * @see com.acyumi.reflect.Reflector#invokeByMethodStr(Object, String, Object...)
+ */
+public final class CompiledInvocation {
+
+    /*** 所属的asm方法操作器. */
+    private final MethodAccessor accessor;
+    /*** 方法索引. */
+    private final int methodIndex;
+    /*** 编译时的方法字符串. */
+    private final String methodStr;
+
+    CompiledInvocation(MethodAccessor accessor, int methodIndex, String methodStr) {
+        this.accessor = accessor;
+        this.methodIndex = methodIndex;
+        this.methodStr = methodStr;
+    }
+
+    /**
+     * 执行方法.
+     *
+     * @param obj  方法的源对象，static方法可以为null
+     * @param args 方法入参
+     * @return 方法返回值，void方法返回null
+     */
+    public Object invoke(Object obj, Object... args) {
+        return accessor.invoke(obj, methodIndex, args);
+    }
+
+    public MethodAccessor getAccessor() {
+        return accessor;
+    }
+
+    public int getMethodIndex() {
+        return methodIndex;
+    }
+
+    public String getMethodStr() {
+        return methodStr;
+    }
+
+    public String getMethodName() {
+        return accessor.getMethodName(methodIndex);
+    }
+
+    public Class[] getParameterTypes() {
+        return accessor.getParameterTypes(methodIndex);
+    }
+
+    public Class<?> getReturnType() {
+        return accessor.getReturnTypes(methodIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledInvocation(" + methodStr + ", index=" + methodIndex + ")";
+    }
+}
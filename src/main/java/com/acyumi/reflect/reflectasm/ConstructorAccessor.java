@@ -0,0 +1,430 @@
+package com.acyumi.reflect.reflectasm;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.asm.Opcodes.*;
+
+/**
+ * 使用asm框架生成子类来直接new对象的构造方法访问器.
+ *
+ * <pre>
+ * 与{@link MethodAccessor}一样，对构造Class的每个public构造方法分配一个int索引，
+ * 生成的子类中通过tableswitch直接执行NEW + INVOKESPECIAL，
+ * 免去{@link Class#newInstance()}和{@link Constructor#newInstance(Object...)}的反射访问检查和参数复制。
+ *
+ * 按入参查找构造方法时，会以入参的Class元组为key缓存匹配到的构造方法索引，
+ * 相同类型的入参再次实例化时不用再逐个构造方法、逐个参数地进行isAssignable判断
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see MethodAccessor
+ * @see com.acyumi.reflect.Reflector#newTarget(Class)
+ */
+public abstract class ConstructorAccessor {
+
+    /*** 表示没有对应构造方法的索引值. */
+    public static final int NO_INDEX = -1;
+    /*** 生成字节码的结构版本，生成逻辑有不兼容的变更时递增，使之前预生成的类全部失效. */
+    private static final int STRUCTURE_VERSION = 1;
+    /*** 入参类型元组缓存的最大个数，超过后不再缓存(仍可正常查找). */
+    private static final int MAX_ARG_TYPES_CACHE_SIZE = 64;
+
+    /*** 构造时的Class的类名. */
+    private final String className;
+    /*** 构造方法的参数类型二维数组，一维index即构造方法索引. */
+    private final Class[][] parameterTypes;
+    /*** 无参构造方法的索引. */
+    private final int noArgsIndex;
+    /*** 入参类型元组与构造方法索引的缓存. */
+    private final Map<ArgTypesKey, Integer> argTypesIndexCache = new ConcurrentHashMap<>();
+
+    protected ConstructorAccessor(String className, Class[][] parameterTypes) {
+        this.className = className;
+        this.parameterTypes = parameterTypes;
+        int noArgsIndex = NO_INDEX;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].length == 0) {
+                noArgsIndex = i;
+                break;
+            }
+        }
+        this.noArgsIndex = noArgsIndex;
+    }
+
+    /**
+     * 通过无参构造方法实例化对象.
+     *
+     * @return Object 新实例
+     */
+    public Object newInstance() {
+        if (noArgsIndex == NO_INDEX) {
+            throw new IllegalArgumentException(String.format("找不到(%s)可用的无参构造方法", className));
+        }
+        return newInstance0();
+    }
+
+    /**
+     * 由生成的子类直接NEW + INVOKESPECIAL无参构造方法.
+     *
+     * @return Object 新实例
+     */
+    protected abstract Object newInstance0();
+
+    /**
+     * 通过指定索引的构造方法实例化对象.
+     *
+     * @param ctorIndex 构造方法索引，见{@link #getConstructorIndex(Object...)}
+     * @param args      构造方法入参，基本数据类型的参数需要传入对应的包装类型
+     * @return Object 新实例
+     */
+    public abstract Object newInstance(int ctorIndex, Object... args);
+
+    /**
+     * 查找入参能匹配的第一个构造方法的索引.
+     * <p>
+     * 匹配规则与{@link com.acyumi.reflect.Reflector#getConstructor(Class, Object...)}一致，
+     * 结果按入参的Class元组缓存
+     * </p>
+     *
+     * @param args 构造方法入参
+     * @return 构造方法索引，没有匹配的构造方法时返回{@link #NO_INDEX}
+     */
+    public int getConstructorIndex(Object... args) {
+        if (args == null || args.length == 0) {
+            return noArgsIndex;
+        }
+        ArgTypesKey key = ArgTypesKey.of(null, args);
+        Integer ctorIndex = argTypesIndexCache.get(key);
+        if (ctorIndex == null) {
+            ctorIndex = resolveConstructorIndex(key.getArgTypes());
+            if (argTypesIndexCache.size() < MAX_ARG_TYPES_CACHE_SIZE) {
+                argTypesIndexCache.putIfAbsent(key, ctorIndex);
+            }
+        }
+        return ctorIndex;
+    }
+
+    /**
+     * 通过入参匹配的构造方法实例化对象.
+     *
+     * @param args 构造方法入参
+     * @return Object 新实例
+     */
+    public Object newInstanceByArgs(Object... args) {
+        if (args == null || args.length == 0) {
+            return newInstance();
+        }
+        int ctorIndex = getConstructorIndex(args);
+        if (ctorIndex == NO_INDEX) {
+            throw new IllegalArgumentException(String.format("找不到(%s)匹配入参的构造方法", className));
+        }
+        return newInstance(ctorIndex, args);
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public int getNoArgsIndex() {
+        return noArgsIndex;
+    }
+
+    public int getConstructorsLength() {
+        return parameterTypes.length;
+    }
+
+    public Class[] getParameterTypes(int ctorIndex) {
+        return parameterTypes[ctorIndex].clone();
+    }
+
+    private int resolveConstructorIndex(Class<?>[] argTypes) {
+        c:
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class[] paramTypes = parameterTypes[i];
+            if (paramTypes.length != argTypes.length) {
+                continue;
+            }
+            for (int j = 0; j < paramTypes.length; j++) {
+                Class<?> argType = argTypes[j];
+                //与ClassUtils.isAssignableValue一致：null不能赋值给基本数据类型
+                if (argType == null ? paramTypes[j].isPrimitive() : !ClassUtils.isAssignable(paramTypes[j], argType)) {
+                    continue c;//不匹配，则跳到下一个外层循环
+                }
+            }
+            return i;
+        }
+        return NO_INDEX;
+    }
+
+    /**
+     * 通过type生成一个ConstructorAccessor子类并构造一个实例对象.
+     * <p>
+     * 数组、基本数据类型、interface和abstract class不能实例化，直接抛出IllegalArgumentException；
+     * 生成的子类无法访问的非public类，生成的ConstructorAccessor没有任何构造方法，实例化时会抛出IllegalArgumentException
+     * </p>
+     *
+     * @param type 需要被生成ConstructorAccessor子类的源Class
+     * @return ConstructorAccessor子类实例
+     */
+    public static ConstructorAccessor get(Class<?> type) {
+
+        checkType(type);
+
+        Constructor<?>[] constructors = collectConstructors(type);
+        String className = type.getName();
+        String accessorClassName = getAccessorClassName(type);
+        String structureSignature = getStructureSignature(className, constructors);
+
+        //优先使用构建时预生成在类路径上的ConstructorAccessor子类(见AccessorGenerator)
+        Class<?> accessorClass = AccessorClassLoader.findPrebuiltAccessorClass(type, accessorClassName);
+        if (accessorClass != null && !AccessorClassLoader.isReusable(accessorClass, type, structureSignature)) {
+            //预生成的类已过期(源类的结构已变更)或者引用的是其他类加载器中的同名源类，
+            //换个类名在运行时重新生成，避免与类路径上的类冲突
+            //(Class.forName已经让type的类加载器记录了原类名，再用原类名定义会重复定义)
+            accessorClass = null;
+            accessorClassName = accessorClassName + "$" + structureSignature.substring(0, 8);
+        }
+
+        if (accessorClass == null) {
+            AccessorClassLoader loader = AccessorClassLoader.get(type);
+            accessorClass = loader.loadAccessorClass(accessorClassName);
+            if (accessorClass == null) {
+                //开启了磁盘缓存时，优先使用上次JVM运行时生成的字节码
+                byte[] data = AccessorBytecodeCache.load(accessorClassName, structureSignature);
+                if (data == null) {
+                    data = generateBytecode(accessorClassName, structureSignature, constructors, className);
+                    AccessorBytecodeCache.store(accessorClassName, structureSignature, data);
+                }
+                accessorClass = loader.defineAccessorClass(type, accessorClassName, data);
+            }
+        }
+
+        //生成的子类没能定义在目标类的类加载器中时，非public的目标类无法在子类中访问
+        if (accessorClass.getClassLoader() != type.getClassLoader() && !Modifier.isPublic(type.getModifiers())) {
+            constructors = new Constructor<?>[0];
+        }
+        Class[][] parameterTypes = new Class[constructors.length][];
+        for (int i = 0; i < constructors.length; i++) {
+            parameterTypes[i] = ClassArrayInterner.intern(constructors[i].getParameterTypes());
+        }
+
+        try {
+            Constructor<?> parametricConstructor = accessorClass.getConstructor(String.class, Class[][].class);
+            return (ConstructorAccessor) parametricConstructor.newInstance(className, parameterTypes);
+        } catch (Throwable t) {
+            throw new RuntimeException("Error constructing constructor accessor class: " + accessorClass.getName(), t);
+        }
+    }
+
+    /**
+     * 生成type对应的ConstructorAccessor子类的字节码，供构建时预生成使用.
+     *
+     * @param type 源Class
+     * @return 字节码，类名见{@link #getAccessorClassName(Class)}
+     * @see AccessorGenerator
+     */
+    static byte[] generateBytecode(Class<?> type) {
+        checkType(type);
+        Constructor<?>[] constructors = collectConstructors(type);
+        String className = type.getName();
+        return generateBytecode(getAccessorClassName(type), getStructureSignature(className, constructors),
+                constructors, className);
+    }
+
+    /**
+     * 获取type对应的ConstructorAccessor子类的类名.
+     *
+     * @param type 源Class
+     * @return ConstructorAccessor子类的类名
+     */
+    static String getAccessorClassName(Class<?> type) {
+        String accessorClassName = type.getName() + ConstructorAccessor.class.getSimpleName();
+        if (accessorClassName.startsWith("java.")) {
+            accessorClassName = "reflectasm." + accessorClassName;
+        }
+        return accessorClassName;
+    }
+
+    /**
+     * 检查type能否生成ConstructorAccessor子类.
+     * <p>
+     * 数组的类名(如[Ljava.lang.String;)拼接出来的子类名是非法的，定义子类时会抛出NoClassDefFoundError，
+     * 所以在生成字节码之前就排除不能实例化的类型
+     * </p>
+     *
+     * @param type 源Class
+     */
+    private static void checkType(Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("The type must not null");
+        }
+        if (type.isArray() || type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("The type must not be an array, a primitive type, " +
+                    "an interface or an abstract class: " + type.getName());
+        }
+    }
+
+    /**
+     * 收集type可以直接NEW的public构造方法，数组的index即构造方法索引.
+     *
+     * @param type 源Class
+     * @return interface、abstract class等不能实例化的类型返回空数组
+     */
+    private static Constructor<?>[] collectConstructors(Class<?> type) {
+        boolean instantiable = !type.isInterface() && !type.isPrimitive() && !type.isArray()
+                && !Modifier.isAbstract(type.getModifiers());
+        return instantiable ? type.getConstructors() : new Constructor<?>[0];
+    }
+
+    /**
+     * 计算源Class构造方法的结构签名，用于识别过期的预生成类.
+     *
+     * @param className    源Class的类名
+     * @param constructors 构造方法数组
+     * @return 结构签名(md5的16进制字符串)
+     */
+    private static String getStructureSignature(String className, Constructor<?>[] constructors) {
+        StringBuilder buffer = new StringBuilder(64 * (constructors.length + 1));
+        buffer.append(STRUCTURE_VERSION).append(';').append(className).append(';');
+        for (Constructor<?> constructor : constructors) {
+            buffer.append(Type.getConstructorDescriptor(constructor)).append(';');
+        }
+        return DigestUtils.md5DigestAsHex(buffer.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 生成ConstructorAccessor子类的字节码.
+     *
+     * @param accessorClassName  ConstructorAccessor子类的类名
+     * @param structureSignature 源Class的结构签名
+     * @param constructors       public构造方法数组
+     * @param className          源Class的类名
+     * @return 字节码
+     */
+    private static byte[] generateBytecode(String accessorClassName, String structureSignature,
+                                           Constructor<?>[] constructors, String className) {
+
+        String accessorClassNameInternal = accessorClassName.replace('.', '/');
+        String classNameInternal = className.replace('.', '/');
+        String superName = ConstructorAccessor.class.getName().replace('.', '/');
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, accessorClassNameInternal, null, superName, null);
+
+        //写入结构签名常量，加载预生成的类时用于判断它是否过期
+        cw.visitField(ACC_PUBLIC + ACC_STATIC + ACC_FINAL, AccessorClassLoader.STRUCTURE_SIGNATURE_FIELD,
+                "Ljava/lang/String;", null, structureSignature).visitEnd();
+
+        insertParametricConstructor(superName, cw);
+        overrideNewInstanceMethods(constructors, classNameInternal, cw);
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * 插入有参构造方法，直接调用父类的有参构造.
+     *
+     * @param superName 父类字节码类名
+     * @param cw        类编辑器
+     */
+    private static void insertParametricConstructor(String superName, ClassWriter cw) {
+        String descriptor = "(Ljava/lang/String;[[Ljava/lang/Class;)V";
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", descriptor, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", descriptor, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(3, 3);
+        mv.visitEnd();
+    }
+
+    /**
+     * 重写上面的抽象方法newInstance0()和newInstance(int, Object...).
+     *
+     * @param constructors      public构造方法数组
+     * @param classNameInternal 字节码类名
+     * @param cw                类编辑器
+     */
+    private static void overrideNewInstanceMethods(Constructor<?>[] constructors, String classNameInternal,
+                                                   ClassWriter cw) {
+
+        int n = constructors.length;
+
+        //写newInstance0()，没有无参构造方法时不会被调用到(见newInstance())
+        MethodVisitor mv = cw.visitMethod(ACC_PROTECTED, "newInstance0", "()Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        boolean hasNoArgs = false;
+        for (int i = 0; i < n; i++) {
+            if (constructors[i].getParameterCount() == 0) {
+                hasNoArgs = true;
+                break;
+            }
+        }
+        if (hasNoArgs) {
+            mv.visitTypeInsn(NEW, classNameInternal);
+            mv.visitInsn(DUP);
+            mv.visitMethodInsn(INVOKESPECIAL, classNameInternal, "<init>", "()V", false);
+            mv.visitInsn(ARETURN);
+        } else {
+            String illExType = "java/lang/IllegalArgumentException";
+            mv.visitTypeInsn(NEW, illExType);
+            mv.visitInsn(DUP);
+            mv.visitLdcInsn("No-args constructor not found: " + classNameInternal.replace('/', '.'));
+            mv.visitMethodInsn(INVOKESPECIAL, illExType, "<init>", "(Ljava/lang/String;)V", false);
+            mv.visitInsn(ATHROW);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        //写newInstance(int ctorIndex, Object... args)
+        mv = cw.visitMethod(ACC_PUBLIC + ACC_VARARGS, "newInstance",
+                "(I[Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        if (n > 0) {
+            Label[] labels = new Label[n];
+            for (int i = 0; i < n; i++) {
+                labels[i] = new Label();
+            }
+            Label defaultLabel = new Label();
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitTableSwitchInsn(0, n - 1, defaultLabel, labels);
+            for (int i = 0; i < n; i++) {
+                Constructor<?> constructor = constructors[i];
+                mv.visitLabel(labels[i]);
+                mv.visitFrame(F_SAME, 0, null, 0, null);
+                mv.visitTypeInsn(NEW, classNameInternal);
+                mv.visitInsn(DUP);
+                Class<?>[] paramTypes = constructor.getParameterTypes();
+                for (int j = 0; j < paramTypes.length; j++) {
+                    mv.visitVarInsn(ALOAD, 2);
+                    mv.visitIntInsn(BIPUSH, j);
+                    mv.visitInsn(AALOAD);
+                    MethodAccessor.visitUnboxOrCast(mv, Type.getType(paramTypes[j]));
+                }
+                mv.visitMethodInsn(INVOKESPECIAL, classNameInternal, "<init>",
+                        Type.getConstructorDescriptor(constructor), false);
+                mv.visitInsn(ARETURN);
+            }
+            mv.visitLabel(defaultLabel);
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+        }
+        MethodAccessor.visitThrowIndexNotFound(mv, "Constructor not found: ", 1);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+}
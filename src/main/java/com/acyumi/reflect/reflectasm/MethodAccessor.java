@@ -6,12 +6,17 @@ import org.springframework.asm.ClassWriter;
 import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.springframework.asm.Opcodes.*;
 
@@ -52,15 +57,34 @@ import static org.springframework.asm.Opcodes.*;
  */
 public abstract class MethodAccessor {
 
+    /*** 生成字节码的结构版本，生成逻辑有不兼容的变更时递增，使之前预生成的类全部失效. */
+    private static final int STRUCTURE_VERSION = 2;
+    /*** 表示没有对应方法的索引值. */
+    private static final int NO_INDEX = -1;
+    /*** {@link #overloadIndexCache}的最大个数. */
+    private static final int MAX_OVERLOAD_CACHE_SIZE = 256;
+    /*** {@link #compiledInvocationCache}的最大个数. */
+    private static final int MAX_COMPILED_INVOCATION_CACHE_SIZE = 256;
+    /*** 方法字符串无法解析到方法时缓存的占位值. */
+    private static final CompiledInvocation UNRESOLVED_INVOCATION = new CompiledInvocation(null, NO_INDEX, null);
+    private static final Object[] EMPTY_ARGS = {};
+    private static final java.lang.reflect.Type[] EMPTY_TYPES = {};
+    private static final int[] EMPTY_INDEXES = {};
+
     //private final Class<?> clazz;
     private final String className;
     private final String[] methodNames;
     private final Class[][] parameterTypes;
     private final Class[] returnTypes;
-    /*** 构造时的Class所持有的非private方法的入参泛型Type列表. */
-    private final java.lang.reflect.Type[][] genericParameterTypes;
-    /*** 构造时的Class所持有的非private方法的返回值泛型Type列表. */
-    private final java.lang.reflect.Type[] genericReturnTypes;
+    /*** 声明方法的Class数组，用于按需解析泛型Type和方法字符串key. */
+    private final Class[] declaringClasses;
+    /**
+     * 构造时的Class所持有的非private方法的入参/返回值泛型Type列表.
+     * <p>
+     * 大多数MethodAccessor从来不会用到泛型Type，所以第一次使用时才通过{@link #declaringClasses}解析
+     * </p>
+     */
+    private volatile GenericTypes genericTypes;
     /**
      * MethodAccessor使用索引调用方法执行比直接通过方法名调用方法执行更快.
      *
@@ -75,10 +99,10 @@ public abstract class MethodAccessor {
      * {@link #methodNames}
      * {@link #parameterTypes}
      * {@link #returnTypes}
-     * {@link #returnTypes}
-     * {@link #genericParameterTypes}
-     * {@link #genericReturnTypes}
+     * {@link #declaringClasses}
      *
+     * 这些key不会真的存起来(每个方法一两个长字符串，类多了很占内存)，
+     * 而是在查找时解析key再到{@link #methodNameCandidatesMap}中比较，见{@link MethodKeyMap}
      * </pre>
      */
     private final Map<String, Integer> methodNameIndexMap;
@@ -89,23 +113,70 @@ public abstract class MethodAccessor {
      * </p>
      */
     private final String[] fieldNames;
+    /**
+     * 变量名与预解析属性句柄的映射.
+     * <p>
+     * 构造时一次性解析好，之后按变量名取值和赋值时不再拼接方法名字符串
+     * </p>
+     */
+    private final Map<String, PropertyHandle> propertyHandleMap;
+    /*** 与{@link #fieldNames}一一对应的属性句柄数组. */
+    private final PropertyHandle[] propertyHandles;
+    /**
+     * 构造时的Class(包括父类)所持有的可直接通过GETFIELD/PUTFIELD访问的非static成员变量.
+     * <p>
+     * 包括public成员变量，以及与生成的MethodAccessor子类处于同一运行时包中的非private成员变量，
+     * 数组的index即{@link #getDirectField(Object, int)}的fieldIndex，
+     * 无法访问的成员变量(生成的子类没能定义在目标类的类加载器中时)对应的元素为null
+     * </p>
+     */
+    private final Field[] directFields;
+    /*** 成员变量名与{@link #directFields}索引的映射，同名时子类的成员变量优先. */
+    private final Map<String, Integer> directFieldIndexMap;
+    /*** 方法名与同名方法(重载方法)索引数组的映射，索引按{@link #methodNames}中的顺序排列. */
+    private final Map<String, int[]> methodNameCandidatesMap;
+    /**
+     * 按方法名和入参运行时Class元组缓存的方法索引.
+     * <p>
+     * 找不到匹配方法的结果也会以{@link #NO_INDEX}缓存，超过{@link #MAX_OVERLOAD_CACHE_SIZE}个后不再缓存
+     * </p>
+     */
+    private final Map<ArgTypesKey, Integer> overloadIndexCache = new ConcurrentHashMap<>();
+    /**
+     * 按方法字符串缓存的预编译方法调用.
+     * <p>
+     * 无法解析的方法字符串以{@link #UNRESOLVED_INVOCATION}缓存，超过{@link #MAX_COMPILED_INVOCATION_CACHE_SIZE}个后不再缓存
+     * </p>
+     */
+    private final Map<String, CompiledInvocation> compiledInvocationCache = new ConcurrentHashMap<>();
 
     protected MethodAccessor(String className,
                              String[] methodNames,
                              Class[][] parameterTypes,
                              Class[] returnTypes,
-                             java.lang.reflect.Type[][] genericParameterTypes,
-                             java.lang.reflect.Type[] genericReturnTypes,
-                             Map<String, Integer> methodNameIndexMap,
-                             String[] fieldNames) {
+                             Class[] declaringClasses,
+                             String[] fieldNames,
+                             Field[] directFields) {
         this.className = className;
         this.methodNames = methodNames;
         this.parameterTypes = parameterTypes;
         this.returnTypes = returnTypes;
-        this.genericParameterTypes = genericParameterTypes;
-        this.genericReturnTypes = genericReturnTypes;
-        this.methodNameIndexMap = methodNameIndexMap;
+        this.declaringClasses = declaringClasses;
+        this.methodNameIndexMap = new MethodKeyMap();
+        this.methodNameCandidatesMap = indexMethodNames(methodNames);
         this.fieldNames = fieldNames;
+        this.directFields = directFields;
+        this.directFieldIndexMap = new HashMap<>(ParameterUtils.calcMapCapacity(directFields.length));
+        for (int i = 0; i < directFields.length; i++) {
+            if (directFields[i] != null) {
+                this.directFieldIndexMap.putIfAbsent(directFields[i].getName(), i);
+            }
+        }
+        this.propertyHandleMap = resolvePropertyHandles();
+        this.propertyHandles = new PropertyHandle[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            this.propertyHandles[i] = propertyHandleMap.get(fieldNames[i]);
+        }
     }
 
     /**
@@ -118,6 +189,121 @@ public abstract class MethodAccessor {
      */
     public abstract Object invoke(Object obj, int methodIndex, Object... args);
 
+    /**
+     * 执行对象相应的无参方法获取返回值.
+     * <p>
+     * 与{@link #invoke(Object, int, Object...)}相比不需要分配可变长度参数数组
+     * </p>
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引，对应的方法必须是无参方法
+     * @return Object 具体返回类型因具体被执行的方法而异
+     */
+    public abstract Object invoke0(Object obj, int methodIndex);
+
+    /**
+     * 执行对象相应的单参方法获取返回值.
+     * <p>
+     * 与{@link #invoke(Object, int, Object...)}相比不需要分配可变长度参数数组
+     * </p>
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引，对应的方法必须只有一个入参
+     * @param arg         方法参数
+     * @return Object 具体返回类型因具体被执行的方法而异
+     */
+    public abstract Object invoke1(Object obj, int methodIndex, Object arg);
+
+    /**
+     * 执行对象相应的返回int(或byte/short/char)的无参方法，返回值不装箱.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @return int
+     */
+    public abstract int invokeInt(Object obj, int methodIndex);
+
+    /**
+     * 执行对象相应的返回long(或int/byte/short/char)的无参方法，返回值不装箱.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @return long
+     */
+    public abstract long invokeLong(Object obj, int methodIndex);
+
+    /**
+     * 执行对象相应的返回double(或float)的无参方法，返回值不装箱.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @return double
+     */
+    public abstract double invokeDouble(Object obj, int methodIndex);
+
+    /**
+     * 执行对象相应的返回boolean的无参方法，返回值不装箱.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @return boolean
+     */
+    public abstract boolean invokeBoolean(Object obj, int methodIndex);
+
+    /**
+     * 执行对象相应的入参为int的单参方法(一般是setter)，入参不装箱，方法的返回值被忽略.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @param arg         方法参数
+     */
+    public abstract void invokeInt(Object obj, int methodIndex, int arg);
+
+    /**
+     * 执行对象相应的入参为long的单参方法(一般是setter)，入参不装箱，方法的返回值被忽略.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @param arg         方法参数
+     */
+    public abstract void invokeLong(Object obj, int methodIndex, long arg);
+
+    /**
+     * 执行对象相应的入参为double的单参方法(一般是setter)，入参不装箱，方法的返回值被忽略.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @param arg         方法参数
+     */
+    public abstract void invokeDouble(Object obj, int methodIndex, double arg);
+
+    /**
+     * 执行对象相应的入参为boolean的单参方法(一般是setter)，入参不装箱，方法的返回值被忽略.
+     *
+     * @param obj         对象
+     * @param methodIndex 方法索引
+     * @param arg         方法参数
+     */
+    public abstract void invokeBoolean(Object obj, int methodIndex, boolean arg);
+
+    /**
+     * 通过GETFIELD字节码直接获取对象成员变量的值.
+     *
+     * @param obj        对象
+     * @param fieldIndex 成员变量索引，见{@link #getDirectFieldIndex(String)}
+     * @return Object 成员变量值，基本数据类型会被装箱
+     */
+    public abstract Object getDirectField(Object obj, int fieldIndex);
+
+    /**
+     * 通过PUTFIELD字节码直接给对象成员变量赋值.
+     *
+     * @param obj        对象
+     * @param fieldIndex 成员变量索引，见{@link #getDirectFieldIndex(String)}，final成员变量不能赋值
+     * @param value      成员变量值，基本数据类型的成员变量需要传入对应的包装类型
+     */
+    public abstract void setDirectField(Object obj, int fieldIndex, Object value);
+
     /**
      * 创建指定类的MethodAccessor.
      *
@@ -132,6 +318,139 @@ public abstract class MethodAccessor {
      */
     public static MethodAccessor get(Class<?> type) {
 
+        boolean isInterface = checkType(type);
+        List<Method> methods = collectMethods(type);
+        String className = type.getName();
+        String accessorClassName = getAccessorClassName(type);
+        List<Field> fields = collectFields(type);
+
+        int size = methods.size();
+        String[] methodNames = new String[size];
+        Class[][] parameterTypes = new Class[size][];
+        Class[] returnTypes = new Class[size];
+        Class[] declaringClasses = new Class[size];
+        List<String> fieldNameList = new ArrayList<>(size >> 1);
+
+        assignValues(methods, methodNames, parameterTypes, returnTypes, declaringClasses, fieldNameList);
+
+        //转成构造函数需要的字符串数组
+        String[] fieldNames = fieldNameList.toArray(new String[0]);
+
+        String structureSignature = getStructureSignature(className, methods, fields);
+
+        //优先使用构建时预生成在类路径上的MethodAccessor子类(见AccessorGenerator)
+        Class<?> accessorClass = AccessorClassLoader.findPrebuiltAccessorClass(type, accessorClassName);
+        if (accessorClass != null && !AccessorClassLoader.isReusable(accessorClass, type, structureSignature)) {
+            //预生成的类已过期(源类的结构已变更)或者引用的是其他类加载器中的同名源类，
+            //换个类名在运行时重新生成，避免与类路径上的类冲突
+            //(Class.forName已经让type的类加载器记录了原类名，再用原类名定义会重复定义)
+            accessorClass = null;
+            accessorClassName = accessorClassName + "$" + structureSignature.substring(0, 8);
+        }
+
+        if (accessorClass == null) {
+            AccessorClassLoader loader = AccessorClassLoader.get(type);
+
+            //如果已经加载过，则直接构造新实例返回
+            //如果加载不到，则动态生成字节码加载再构造新实现返回
+            accessorClass = loader.loadAccessorClass(accessorClassName);
+            if (accessorClass == null) {
+
+                //开启了磁盘缓存时，优先使用上次JVM运行时生成的字节码
+                //生成字节码不需要加锁，不同类的MethodAccessor可以在多个线程中并行生成
+                byte[] data = AccessorBytecodeCache.load(accessorClassName, structureSignature);
+                if (data == null) {
+                    data = generateBytecode(accessorClassName, structureSignature, isInterface,
+                            methods, methodNames, parameterTypes, returnTypes, fields, className);
+                    AccessorBytecodeCache.store(accessorClassName, structureSignature, data);
+                }
+
+                //try {
+                //
+                //    //把字节码输出到class文件，然后丢进idea里面就可以看到生成的代码是什么样子的了
+                //    //String directory = "D:\\";
+                //    String directory = "C:\\Users\\Ryzen5\\Desktop\\";
+                //    FileCopyUtils.copy(data, new File(directory + type.getSimpleName() + "MethodAccessor.class"));
+                //
+                //} catch (IOException e) {
+                //    e.printStackTrace();
+                //}
+
+                //通过刚生成的字节码数组加载类MethodAccessor子类
+                accessorClass = loader.defineAccessorClass(type, accessorClassName, data);
+            }
+        }
+
+        //如果MethodAccessor子类没能定义在目标类的类加载器中(如目标类在未开放的命名模块中)，
+        //那么它与目标类不在同一个运行时包中，非public的成员变量就不能访问了
+        Field[] directFields = fields.toArray(new Field[0]);
+        if (accessorClass.getClassLoader() != type.getClassLoader()) {
+            for (int i = 0; i < directFields.length; i++) {
+                if (!Modifier.isPublic(directFields[i].getModifiers())) {
+                    directFields[i] = null;
+                }
+            }
+        }
+
+        return newInstance(accessorClass, className, methodNames, parameterTypes, returnTypes,
+                declaringClasses, fieldNames, directFields);
+    }
+
+    /**
+     * 生成type对应的MethodAccessor子类的字节码，供构建时预生成使用.
+     *
+     * @param type 不能是Object.class、基本数据类型及void.class
+     * @return 字节码，类名见{@link #getAccessorClassName(Class)}
+     * @see AccessorGenerator
+     */
+    static byte[] generateBytecode(Class<?> type) {
+
+        boolean isInterface = checkType(type);
+        List<Method> methods = collectMethods(type);
+        List<Field> fields = collectFields(type);
+
+        int size = methods.size();
+        String[] methodNames = new String[size];
+        Class[][] parameterTypes = new Class[size][];
+        Class[] returnTypes = new Class[size];
+        for (int i = 0; i < size; i++) {
+            Method method = methods.get(i);
+            methodNames[i] = method.getName();
+            parameterTypes[i] = method.getParameterTypes();
+            returnTypes[i] = method.getReturnType();
+        }
+
+        String className = type.getName();
+        return generateBytecode(getAccessorClassName(type), getStructureSignature(className, methods, fields),
+                isInterface, methods, methodNames, parameterTypes, returnTypes, fields, className);
+    }
+
+    /**
+     * 获取type对应的MethodAccessor子类的类名.
+     * <p>
+     * 与type同包，jdk的类(java.开头)因为不能在java包下定义新类，所以加上"reflectasm."前缀
+     * </p>
+     *
+     * @param type 源Class
+     * @return MethodAccessor子类的类名
+     */
+    static String getAccessorClassName(Class<?> type) {
+        String accessorClassName = type.getName() + MethodAccessor.class.getSimpleName();
+        String jdkPackagePrefix = "java.";
+        if (accessorClassName.startsWith(jdkPackagePrefix)) {
+            accessorClassName = "reflectasm." + accessorClassName;
+        }
+        return accessorClassName;
+    }
+
+    /**
+     * 校验type能否生成MethodAccessor子类.
+     *
+     * @param type 源Class
+     * @return type是否interface
+     */
+    private static boolean checkType(Class<?> type) {
+
         if (type == null) {
             throw new IllegalArgumentException("The type must not null");
         }
@@ -141,9 +460,18 @@ public abstract class MethodAccessor {
             throw new IllegalArgumentException("The type must not be the Object class, " +
                     "an interface, a primitive type, or void.");
         }
+        return isInterface;
+    }
 
+    /**
+     * 收集type(包括父类或父接口)中所有的非private方法，集合的index即方法索引.
+     *
+     * @param type 源Class
+     * @return 方法集合
+     */
+    private static List<Method> collectMethods(Class<?> type) {
         List<Method> methods = new ArrayList<>();
-        if (!isInterface) {
+        if (!type.isInterface()) {
             Class<?> nextClass = type;
             while (nextClass != Object.class) {
                 addNonPrivateMethodsToList(nextClass, methods);
@@ -152,85 +480,110 @@ public abstract class MethodAccessor {
         } else {
             recursiveAddInterfaceMethodsToList(type, methods);
         }
+        return methods;
+    }
 
-        String className = type.getName();
-        int size = methods.size();
-        int halfPlusOne = size >> 1;
-        String[] methodNames = new String[size];
-        Class[][] parameterTypes = new Class[size][];
-        Class[] returnTypes = new Class[size];
-        java.lang.reflect.Type[][] genericParameterTypes = new java.lang.reflect.Type[size][];
-        java.lang.reflect.Type[] genericReturnTypes = new java.lang.reflect.Type[size];
-        Map<String, Integer> methodNameIndexMap = new HashMap<>(ParameterUtils.calcMapCapacity(size + halfPlusOne));
-        List<String> fieldNameList = new ArrayList<>(halfPlusOne);
-
-        assignValues(methods, className, methodNames, parameterTypes, returnTypes, genericParameterTypes,
-                genericReturnTypes, methodNameIndexMap, fieldNameList);
-
-        //转成构造函数需要的字符串数组
-        String[] fieldNames = fieldNameList.toArray(new String[0]);
-        //转成不可变Map
-        methodNameIndexMap = Collections.unmodifiableMap(methodNameIndexMap);
-
-        String superSimpleName = MethodAccessor.class.getSimpleName();
-        String accessorClassName = className + superSimpleName;
+    /**
+     * 收集type(包括父类)中可被生成的MethodAccessor子类直接访问的非static成员变量，集合的index即成员变量索引.
+     *
+     * @param type 源Class
+     * @return 成员变量集合，interface返回空集合
+     */
+    private static List<Field> collectFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        if (!type.isInterface()) {
+            boolean samePackageable = !type.getName().startsWith("java.");
+            Class<?> nextClass = type;
+            while (nextClass != Object.class) {
+                addAccessibleFieldsToList(type, nextClass, samePackageable, fields);
+                nextClass = nextClass.getSuperclass();
+            }
+        }
+        return fields;
+    }
 
-        String jdkPackagePrefix = "java.";
-        if (accessorClassName.startsWith(jdkPackagePrefix)) {
-            accessorClassName = "reflectasm." + accessorClassName;
+    /**
+     * 计算源Class的结构签名.
+     * <p>
+     * 方法和成员变量的索引与生成的字节码一一对应，所以它们的顺序、名称和描述符有任何变化，
+     * 之前生成的MethodAccessor子类都不能再用，结构签名用于识别这种情况
+     * </p>
+     *
+     * @param className 源Class的类名
+     * @param methods   方法集合
+     * @param fields    成员变量集合
+     * @return 结构签名(md5的16进制字符串)
+     */
+    private static String getStructureSignature(String className, List<Method> methods, List<Field> fields) {
+        StringBuilder buffer = new StringBuilder(64 * (methods.size() + fields.size() + 1));
+        buffer.append(STRUCTURE_VERSION).append(';').append(className).append(';');
+        for (Method method : methods) {
+            buffer.append(method.getDeclaringClass().getName()).append('.').append(method.getName())
+                    .append(Type.getMethodDescriptor(method))
+                    .append(Modifier.isStatic(method.getModifiers()) ? "S;" : ";");
         }
+        for (Field field : fields) {
+            buffer.append(field.getDeclaringClass().getName()).append('#').append(field.getName())
+                    .append(Type.getDescriptor(field.getType()))
+                    .append(Modifier.isFinal(field.getModifiers()) ? "F;" : ";");
+        }
+        return DigestUtils.md5DigestAsHex(buffer.toString().getBytes(StandardCharsets.UTF_8));
+    }
 
-        Class<?> accessorClass;
-        AccessorClassLoader loader = AccessorClassLoader.get(type);
-        synchronized (loader) {
+    /**
+     * 生成MethodAccessor子类的字节码.
+     *
+     * @param accessorClassName  MethodAccessor子类的类名
+     * @param structureSignature 源Class的结构签名
+     * @param isInterface        源Class是否interface
+     * @param methods            方法集合
+     * @param methodNames        方法名数组
+     * @param parameterTypes     方法的参数类型二维数组
+     * @param returnTypes        方法的返回值类型数组
+     * @param fields             可直接访问的成员变量集合
+     * @param className          源Class的类名
+     * @return 字节码
+     */
+    private static byte[] generateBytecode(String accessorClassName, String structureSignature, boolean isInterface,
+                                           List<Method> methods, String[] methodNames, Class[][] parameterTypes,
+                                           Class[] returnTypes, List<Field> fields, String className) {
 
-            //如果从类路径上加载成功，则直接构造新实例返回
-            //如果从类路径上加载不到，则动态生成字节码加载再构造新实现返回
-            accessorClass = loader.loadAccessorClass(accessorClassName);
-            if (accessorClass == null) {
+        String accessorClassNameInternal = accessorClassName.replace('.', '/');
+        String classNameInternal = className.replace('.', '/');
+        String superName = MethodAccessor.class.getName().replace('.', '/');
 
-                String accessorClassNameInternal = accessorClassName.replace('.', '/');
-                String classNameInternal = className.replace('.', '/');
-                String superName = MethodAccessor.class.getName().replace('.', '/');
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
 
-                ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        //声明一个类，使用JDK1.8版本，public的类，父类是java.lang.Object，没有实现任何接口
+        cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, accessorClassNameInternal, null, superName, null);
 
-                //声明一个类，使用JDK1.8版本，public的类，父类是java.lang.Object，没有实现任何接口
-                cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, accessorClassNameInternal, null, superName, null);
+        //写入结构签名常量，加载预生成的类时用于判断它是否过期
+        cw.visitField(ACC_PUBLIC + ACC_STATIC + ACC_FINAL, AccessorClassLoader.STRUCTURE_SIGNATURE_FIELD,
+                "Ljava/lang/String;", null, structureSignature).visitEnd();
 
-                insertParametricConstructor(superName, cw);
+        insertParametricConstructor(superName, cw);
 
-                //==============================================================================================
+        //==============================================================================================
 
-                overrideInvokeMethod(isInterface, methods, methodNames, parameterTypes, returnTypes,
-                        classNameInternal, cw);
+        overrideInvokeMethod(isInterface, methods, methodNames, parameterTypes, returnTypes,
+                classNameInternal, cw);
 
-                //==============================================================================================
+        //==============================================================================================
 
-                cw.visitEnd();
+        for (SpecializedInvoke specializedInvoke : SpecializedInvoke.values()) {
+            overrideSpecializedInvokeMethod(specializedInvoke, isInterface, methods, methodNames,
+                    parameterTypes, returnTypes, classNameInternal, cw);
+        }
 
-                //==============================================================================================
+        //==============================================================================================
 
-                byte[] data = cw.toByteArray();
+        overrideDirectFieldMethods(fields, classNameInternal, cw);
 
-                //try {
-                //
-                //    //把字节码输出到class文件，然后丢进idea里面就可以看到生成的代码是什么样子的了
-                //    //String directory = "D:\\";
-                //    String directory = "C:\\Users\\Ryzen5\\Desktop\\";
-                //    FileCopyUtils.copy(data, new File(directory + type.getSimpleName() + superSimpleName + ".class"));
-                //
-                //} catch (IOException e) {
-                //    e.printStackTrace();
-                //}
+        //==============================================================================================
 
-                //通过刚生成的字节码数组加载类MethodAccessor子类
-                accessorClass = loader.defineAccessorClass(accessorClassName, data);
-            }
-        }
+        cw.visitEnd();
 
-        return newInstance(accessorClass, className, methodNames, parameterTypes, returnTypes,
-                genericParameterTypes, genericReturnTypes, methodNameIndexMap, fieldNames);
+        return cw.toByteArray();
     }
 
     /**
@@ -265,10 +618,9 @@ public abstract class MethodAccessor {
      * @return int {@link #fieldNames}中的方法所对应的索引
      */
     public int getIndex(String methodName) {
-        for (int i = 0; i < methodNames.length; i++) {
-            if (methodNames[i].equals(methodName)) {
-                return i;
-            }
+        int[] candidates = methodNameCandidatesMap.get(methodName);
+        if (candidates != null) {
+            return candidates[0];
         }
         throw new IllegalArgumentException("Unable to find non-private method: " + methodName);
     }
@@ -281,8 +633,8 @@ public abstract class MethodAccessor {
      * @return int {@link #fieldNames}中的方法所对应的索引
      */
     public int getIndex(String methodName, Class... paramTypes) {
-        for (int i = 0; i < methodNames.length; i++) {
-            if (methodNames[i].equals(methodName) && Arrays.equals(paramTypes, parameterTypes[i])) {
+        for (int i : getCandidates(methodName)) {
+            if (Arrays.equals(paramTypes, parameterTypes[i])) {
                 return i;
             }
         }
@@ -298,8 +650,8 @@ public abstract class MethodAccessor {
      * @return int {@link #fieldNames}中的方法所对应的索引
      */
     public int getIndex(String methodName, int paramsCount) {
-        for (int i = 0; i < methodNames.length; i++) {
-            if (methodNames[i].equals(methodName) && parameterTypes[i].length == paramsCount) {
+        for (int i : getCandidates(methodName)) {
+            if (parameterTypes[i].length == paramsCount) {
                 return i;
             }
         }
@@ -356,7 +708,7 @@ public abstract class MethodAccessor {
      * @return 方法泛型参数类型
      */
     public java.lang.reflect.Type getGenericParameterType(int pIndex, int sIndex) {
-        return genericParameterTypes[pIndex][sIndex];
+        return getGenericTypes().parameterTypes[pIndex][sIndex];
     }
 
     /**
@@ -366,7 +718,7 @@ public abstract class MethodAccessor {
      * @return 方法泛型参数类型数组
      */
     public java.lang.reflect.Type[] getGenericParameterTypes(int pIndex) {
-        return genericParameterTypes[pIndex].clone();
+        return getGenericTypes().parameterTypes[pIndex].clone();
     }
 
     /**
@@ -376,7 +728,11 @@ public abstract class MethodAccessor {
      * @return 方法泛型返回值类型
      */
     public java.lang.reflect.Type getGenericReturnType(int index) {
-        return genericReturnTypes[index];
+        return getGenericTypes().returnTypes[index];
+    }
+
+    public String getClassName() {
+        return className;
     }
 
     public String[] getMethodNames() {
@@ -388,8 +744,20 @@ public abstract class MethodAccessor {
         //return Arrays.copyOf(methodNames, methodNames.length);
     }
 
+    /**
+     * 获取所有方法的入参类型.
+     * <p>
+     * 内层数组在多个MethodAccessor之间共享(见{@link ClassArrayInterner})，所以这里内外层都拷贝一份
+     * </p>
+     *
+     * @return 与方法索引一一对应的入参类型数组
+     */
     public Class[][] getParameterTypes() {
-        return parameterTypes.clone();
+        Class[][] copy = new Class[parameterTypes.length][];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            copy[i] = parameterTypes[i].clone();
+        }
+        return copy;
     }
 
     public Class[] getReturnTypes() {
@@ -397,11 +765,20 @@ public abstract class MethodAccessor {
     }
 
     public java.lang.reflect.Type[][] getGenericParameterTypes() {
-        return genericParameterTypes.clone();
+        java.lang.reflect.Type[][] genericParameterTypes = getGenericTypes().parameterTypes;
+        java.lang.reflect.Type[][] copy = new java.lang.reflect.Type[genericParameterTypes.length][];
+        for (int i = 0; i < genericParameterTypes.length; i++) {
+            copy[i] = genericParameterTypes[i].clone();
+        }
+        return copy;
     }
 
     public java.lang.reflect.Type[] getGenericReturnTypes() {
-        return genericReturnTypes.clone();
+        return getGenericTypes().returnTypes.clone();
+    }
+
+    public Class[] getDeclaringClasses() {
+        return declaringClasses.clone();
     }
 
     public Map<String, Integer> getMethodNameIndexMap() {
@@ -417,51 +794,119 @@ public abstract class MethodAccessor {
     }
 
     /**
-     * 从对象obj的变量fieldName取值
+     * 获取可直接访问的成员变量的索引.
+     * <p>
+     * 返回null表示fieldName无匹配的可直接访问的成员变量
+     * </p>
      *
-     * @param obj       变量的源对象
-     * @param fieldName 变量名
-     * @return 变量值
+     * @param fieldName 成员变量名
+     * @return 成员变量索引
      */
-    public Object getFieldValue(Object obj, String fieldName) {
-        Integer getterIndex = getterIndex(fieldName);
-        if (getterIndex == null) {
-            return null;
-        }
-        try {
-            return invoke(obj, getterIndex);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(
-                    String.format("通过方法(%s.%s())获取值失败",
-                            obj.getClass().getName(),
-                            methodNames[getterIndex]),
-                    e);
-        }
+    public Integer getDirectFieldIndex(String fieldName) {
+        return directFieldIndexMap.get(fieldName);
     }
 
     /**
-     * 给对象obj的变量fieldName赋值.
+     * 获取可直接访问的成员变量的名称.
      *
-     * @param obj       变量的目标对象
+     * @param fieldIndex 成员变量索引
+     * @return 成员变量名，无法访问时返回null
+     */
+    public String getDirectFieldName(int fieldIndex) {
+        Field field = directFields[fieldIndex];
+        return field == null ? null : field.getName();
+    }
+
+    /**
+     * 获取可直接访问的成员变量的类型.
+     *
+     * @param fieldIndex 成员变量索引
+     * @return 成员变量类型，无法访问时返回null
+     */
+    public Class<?> getDirectFieldType(int fieldIndex) {
+        Field field = directFields[fieldIndex];
+        return field == null ? null : field.getType();
+    }
+
+    /**
+     * 获取可直接访问的成员变量的泛型类型.
+     *
+     * @param fieldIndex 成员变量索引
+     * @return 成员变量泛型类型，无法访问时返回null
+     */
+    public java.lang.reflect.Type getDirectFieldGenericType(int fieldIndex) {
+        Field field = directFields[fieldIndex];
+        return field == null ? null : field.getGenericType();
+    }
+
+    /**
+     * 判断可直接访问的成员变量能否通过{@link #setDirectField(Object, int, Object)}赋值.
+     *
+     * @param fieldIndex 成员变量索引
+     * @return 非final且可访问时返回true
+     */
+    public boolean isDirectFieldWritable(int fieldIndex) {
+        Field field = directFields[fieldIndex];
+        return field != null && !Modifier.isFinal(field.getModifiers());
+    }
+
+    public int getDirectFieldsLength() {
+        return directFields.length;
+    }
+
+    /**
+     * 从对象obj的变量fieldName取值
+     *
+     * @param obj       变量的源对象
+     * @param fieldName 变量名
+     * @return 变量值
+     */
+    public Object getFieldValue(Object obj, String fieldName) {
+        PropertyHandle handle = getPropertyHandle(fieldName);
+        if (handle == null) {
+            return null;
+        }
+        return handle.get(obj);
+    }
+
+    /**
+     * 给对象obj的变量fieldName赋值.
+     *
+     * @param obj       变量的目标对象
      * @param fieldName 变量名
      * @param arg       变量setter方法的入参
      */
     public void setFieldValue(Object obj, String fieldName, Object arg) {
-        Integer setterIndex = setterIndex(fieldName);
-        if (setterIndex == null) {
+        PropertyHandle handle = getPropertyHandle(fieldName);
+        if (handle == null) {
             return;
         }
-        try {
-            invoke(obj, setterIndex, arg);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(
-                    String.format("方法(%s.%s(%s))的入参(%s)不匹配",
-                            obj.getClass().getName(),
-                            methodNames[setterIndex],
-                            StringUtils.arrayToDelimitedString(parameterTypes[setterIndex], ","),
-                            arg.getClass().getName()),
-                    e);
+        handle.set(obj, arg);
+    }
+
+    /**
+     * 获取变量fieldName预解析好的属性句柄.
+     * <p>
+     * 返回null表示fieldName既无匹配的getter/setter方法也无可直接访问的成员变量
+     * </p>
+     *
+     * @param fieldName 变量名
+     * @return 属性句柄
+     */
+    public PropertyHandle getPropertyHandle(String fieldName) {
+        if (fieldName == null) {
+            return null;
         }
+        return propertyHandleMap.get(fieldName);
+    }
+
+    /**
+     * 获取与{@link #getFieldNames()}一一对应的属性句柄数组.
+     *
+     * @return 属性句柄数组
+     */
+    public PropertyHandle[] getPropertyHandles() {
+        return propertyHandles.clone();
     }
 
     /**
@@ -474,7 +919,12 @@ public abstract class MethodAccessor {
      * @return getter方法的索引
      */
     public Integer getterIndex(String fieldName) {
-        return getPojoMethodIndex(fieldName, true);
+        PropertyHandle handle = getPropertyHandle(fieldName);
+        //只有成员变量可直接访问而没有getter方法时也返回null
+        if (handle == null || handle.getGetterIndex() == PropertyHandle.NO_INDEX) {
+            return null;
+        }
+        return handle.getGetterIndex();
     }
 
     /**
@@ -487,7 +937,12 @@ public abstract class MethodAccessor {
      * @return setter方法的索引
      */
     public Integer setterIndex(String fieldName) {
-        return getPojoMethodIndex(fieldName, false);
+        PropertyHandle handle = getPropertyHandle(fieldName);
+        //只有成员变量可直接赋值而没有setter方法时也返回null
+        if (handle == null || handle.getSetterIndex() == PropertyHandle.NO_INDEX) {
+            return null;
+        }
+        return handle.getSetterIndex();
     }
 
     /**
@@ -505,30 +960,186 @@ public abstract class MethodAccessor {
         return methodNameIndexMap.get(methodStr);
     }
 
+    /**
+     * 把方法字符串编译成可以直接按索引执行的方法调用.
+     * <p>
+     * 先按{@link #getMethodIndex(String)}的规则精确匹配，匹配不到时再解析出方法名和参数类型名逐个比较，
+     * 所以参数类型也可以写成简单类名，如"Contact.setContactId(String)"，
+     * 声明了throws的方法也可以去掉throws部分后匹配。
+     * 方法名前面的类名(可以省略)必须是当前类或方法声明类的全类名或简单类名；
+     * 简单类名同时匹配到多个重载方法时视为无匹配。
+     * 编译结果按方法字符串缓存，同一个方法字符串只解析一次
+     * </p>
+     *
+     * @param methodStr 方法字符串，见{@link #getMethodIndex(String)}
+     * @return 预编译的方法调用，null表示无匹配的方法
+     */
+    public CompiledInvocation compile(String methodStr) {
+        if (methodStr == null) {
+            return null;
+        }
+        CompiledInvocation invocation = compiledInvocationCache.get(methodStr);
+        if (invocation == null) {
+            int methodIndex = resolveMethodStr(methodStr);
+            invocation = methodIndex == NO_INDEX ? UNRESOLVED_INVOCATION
+                    : new CompiledInvocation(this, methodIndex, methodStr);
+            if (compiledInvocationCache.size() < MAX_COMPILED_INVOCATION_CACHE_SIZE) {
+                compiledInvocationCache.putIfAbsent(methodStr, invocation);
+            }
+        }
+        return invocation == UNRESOLVED_INVOCATION ? null : invocation;
+    }
+
+    /**
+     * 解析方法字符串对应的方法索引.
+     *
+     * @param methodStr 方法字符串
+     * @return 方法对应的索引，无匹配时返回{@link #NO_INDEX}
+     */
+    private int resolveMethodStr(String methodStr) {
+        Integer methodIndex = methodNameIndexMap.get(methodStr);
+        if (methodIndex != null) {
+            return methodIndex;
+        }
+        int leftParen = methodStr.indexOf('(');
+        int rightParen = methodStr.indexOf(')', leftParen + 1);
+        if (leftParen < 0 || rightParen < 0) {
+            return NO_INDEX;
+        }
+        //去掉修饰符和返回值类型，留下(类名.)方法名
+        String qualifiedName = methodStr.substring(0, leftParen).trim();
+        qualifiedName = qualifiedName.substring(qualifiedName.lastIndexOf(' ') + 1);
+        int dot = qualifiedName.lastIndexOf('.');
+        String methodName = qualifiedName.substring(dot + 1);
+        String classPrefix = dot < 0 ? null : qualifiedName.substring(0, dot);
+        String params = methodStr.substring(leftParen + 1, rightParen).trim();
+        String[] paramTypeNames = params.isEmpty() ? new String[0] : params.split(",");
+        int index = NO_INDEX;
+        c:
+        for (int i : getCandidates(methodName)) {
+            Class[] paramTypes = parameterTypes[i];
+            if (paramTypes.length != paramTypeNames.length) {
+                continue;
+            }
+            if (classPrefix != null && !isClassPrefix(classPrefix, declaringClasses[i])) {
+                continue;
+            }
+            for (int j = 0; j < paramTypes.length; j++) {
+                String paramTypeName = paramTypeNames[j].trim();
+                if (!paramTypeName.equals(paramTypes[j].getTypeName())
+                        && !paramTypeName.equals(paramTypes[j].getSimpleName())) {
+                    continue c;//不匹配，则跳到下一个外层循环
+                }
+            }
+            if (index != NO_INDEX && !Arrays.equals(parameterTypes[index], paramTypes)) {
+                //简单类名同时匹配了多个重载方法(如foo(java.util.Date)和foo(java.sql.Date))，无法确定是哪一个
+                return NO_INDEX;
+            }
+            //参数类型完全相同的(如协变返回值的桥接方法)与精确匹配一致，取最后一个
+            index = i;
+        }
+        return index;
+    }
+
+    /**
+     * 判断方法字符串中的类名是否指向当前类或者方法的声明类.
+     *
+     * @param classPrefix    方法字符串中方法名前面的类名(全类名或简单类名)
+     * @param declaringClass 方法的声明类
+     * @return boolean
+     */
+    private boolean isClassPrefix(String classPrefix, Class<?> declaringClass) {
+        if (classPrefix.equals(className) || classPrefix.equals(className.replace('$', '.'))
+                || classPrefix.equals(className.substring(Math.max(className.lastIndexOf('.'),
+                className.lastIndexOf('$')) + 1))) {
+            return true;
+        }
+        return classPrefix.equals(declaringClass.getName()) || classPrefix.equals(declaringClass.getTypeName())
+                || classPrefix.equals(declaringClass.getSimpleName());
+    }
+
     /**
      * 通过方法名和入参列表获取方法对应的索引.
+     * <p>
+     * 只在同名方法中查找入参能匹配的第一个方法，结果按方法名和入参的运行时Class元组缓存，
+     * 同一类型的入参再次查找时不用再逐个参数地进行isInstance判断
+     * </p>
      *
      * @param methodName 方法名
      * @param args       方法参数列表
      * @return 方法对应的索引，null表示无匹配的方法
      */
     public Integer getMethodIndex(String methodName, Object... args) {
+        int[] candidates = methodNameCandidatesMap.get(methodName);
+        if (candidates == null) {
+            return null;
+        }
+        if (args == null) {
+            args = EMPTY_ARGS;
+        }
+        ArgTypesKey key = ArgTypesKey.of(methodName, args);
+        Integer methodIndex = overloadIndexCache.get(key);
+        if (methodIndex == null) {
+            methodIndex = resolveMethodIndex(candidates, key.getArgTypes());
+            if (overloadIndexCache.size() < MAX_OVERLOAD_CACHE_SIZE) {
+                overloadIndexCache.putIfAbsent(key, methodIndex);
+            }
+        }
+        return methodIndex == NO_INDEX ? null : methodIndex;
+    }
+
+    /**
+     * 在同名方法中查找入参类型能匹配的第一个方法.
+     * <p>
+     * 匹配规则与{@link Reflector#isInstance(Class, Object)}一致：null可以匹配任何非基本数据类型
+     * </p>
+     *
+     * @param candidates 同名方法的索引数组
+     * @param argTypes   入参的运行时Class元组，null入参对应null
+     * @return 方法对应的索引，无匹配时返回{@link #NO_INDEX}
+     */
+    private int resolveMethodIndex(int[] candidates, Class<?>[] argTypes) {
         c:
-        for (int i = 0; i < methodNames.length; i++) {
-            if (methodNames[i].equals(methodName)) {
-                Class[] paramTypes = parameterTypes[i];
-                if (paramTypes.length != args.length) {
-                    continue;
-                }
-                for (int j = 0; j < paramTypes.length; j++) {
-                    if (!Reflector.isInstance(paramTypes[j], args[j])) {
-                        continue c;//不匹配，则跳到下一个外层循环
-                    }
+        for (int i : candidates) {
+            Class[] paramTypes = parameterTypes[i];
+            if (paramTypes.length != argTypes.length) {
+                continue;
+            }
+            for (int j = 0; j < paramTypes.length; j++) {
+                Class<?> argType = argTypes[j];
+                if (argType == null ? paramTypes[j].isPrimitive() : !ClassUtils.isAssignable(paramTypes[j], argType)) {
+                    continue c;//不匹配，则跳到下一个外层循环
                 }
-                return i;
             }
+            return i;
+        }
+        return NO_INDEX;
+    }
+
+    private int[] getCandidates(String methodName) {
+        int[] candidates = methodNameCandidatesMap.get(methodName);
+        return candidates == null ? EMPTY_INDEXES : candidates;
+    }
+
+    /**
+     * 建立方法名与同名方法索引数组的映射.
+     *
+     * @param methodNames 方法名数组
+     * @return 方法名与同名方法索引数组的映射
+     */
+    private static Map<String, int[]> indexMethodNames(String[] methodNames) {
+        Map<String, int[]> candidatesMap = new HashMap<>(ParameterUtils.calcMapCapacity(methodNames.length));
+        for (int i = 0; i < methodNames.length; i++) {
+            int[] candidates = candidatesMap.get(methodNames[i]);
+            if (candidates == null) {
+                candidates = new int[]{i};
+            } else {
+                candidates = Arrays.copyOf(candidates, candidates.length + 1);
+                candidates[candidates.length - 1] = i;
+            }
+            candidatesMap.put(methodNames[i], candidates);
         }
-        return null;
+        return candidatesMap;
     }
 
     /**
@@ -556,61 +1167,68 @@ public abstract class MethodAccessor {
         }
     }
 
+    /**
+     * 添加clazz中声明的可被生成的MethodAccessor子类直接访问的非static成员变量到fields.
+     *
+     * <pre>
+     * public成员变量总是可以访问；
+     * protected和默认访问级别的成员变量只有在声明它的类与type处于同一个包且由同一个类加载器加载时才可以访问，
+     * 因为生成的MethodAccessor子类与type同包，并尽量定义在type的类加载器中
+     * </pre>
+     *
+     * @param type            生成MethodAccessor子类的源Class
+     * @param clazz           type本身或其父类
+     * @param samePackageable 生成的MethodAccessor子类能否与type同包(jdk的类不能)
+     * @param fields          待添加的成员变量集合
+     */
+    private static void addAccessibleFieldsToList(Class<?> type, Class<?> clazz, boolean samePackageable,
+                                                  List<Field> fields) {
+        Field[] declaredFields = clazz.getDeclaredFields();
+        for (int i = 0, n = declaredFields.length; i < n; i++) {
+            Field field = declaredFields[i];
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || field.isSynthetic()) {
+                continue;
+            }
+            if (Modifier.isPublic(modifiers) && Modifier.isPublic(clazz.getModifiers())) {
+                fields.add(field);
+            } else if (samePackageable
+                    && clazz.getClassLoader() == type.getClassLoader()
+                    && ClassUtils.getPackageName(clazz).equals(ClassUtils.getPackageName(type))) {
+                fields.add(field);
+            }
+        }
+    }
+
     /**
      * 给各数组/集合赋值.
      *
-     * @param methods               获取到的方法对象集合
-     * @param className             类名
-     * @param methodNames           待赋值的方法名数组
-     * @param parameterTypes        待赋值的方法对象的参数类型二维数组
-     * @param returnTypes           待赋值的方法对象的返回值类型数组
-     * @param genericParameterTypes 待赋值的方法对象的参数化参数类型二维数组
-     * @param genericReturnTypes    待赋值的方法对象的参数化返回值类型数组
-     * @param methodNameIndexMap    待赋值的方法名索引Map
-     * @param fieldNameList         待赋值的成员变量名List
-     */
-    private static void assignValues(List<Method> methods, String className, String[] methodNames,
-                                     Class[][] parameterTypes, Class[] returnTypes,
-                                     java.lang.reflect.Type[][] genericParameterTypes,
-                                     java.lang.reflect.Type[] genericReturnTypes,
-                                     Map<String, Integer> methodNameIndexMap,
+     * @param methods          获取到的方法对象集合
+     * @param methodNames      待赋值的方法名数组
+     * @param parameterTypes   待赋值的方法对象的参数类型二维数组
+     * @param returnTypes      待赋值的方法对象的返回值类型数组
+     * @param declaringClasses 待赋值的声明方法的Class数组
+     * @param fieldNameList    待赋值的成员变量名List
+     */
+    private static void assignValues(List<Method> methods, String[] methodNames,
+                                     Class[][] parameterTypes, Class[] returnTypes, Class[] declaringClasses,
                                      List<String> fieldNameList) {
 
         for (int i = 0; i < methods.size(); i++) {
             Method method = methods.get(i);
             methodNames[i] = method.getName();
-            parameterTypes[i] = method.getParameterTypes();
+            //大量方法的参数类型都是相同的jdk类型组合，合并成同一个数组实例
+            parameterTypes[i] = ClassArrayInterner.intern(method.getParameterTypes());
             returnTypes[i] = method.getReturnType();
-            genericParameterTypes[i] = method.getGenericParameterTypes();
-            genericReturnTypes[i] = method.getGenericReturnType();
-
-            String methodName = method.getName();
+            declaringClasses[i] = method.getDeclaringClass();
 
-            //-----------------------------------------------------------------
-            //特殊处理getter和setter方法的key，然后存入methodNameIndexMap中
-            //-----------------------------------------------------------------
             //methodNames中没有Object.class中的final方法(如getClass)，所以这里get开头的不会有getClass
-            if (methodName.length() > 3) {
-                if (methodName.startsWith(Reflector.GETTER_PREFIX)
-                        && method.getParameterCount() == 0) {
-                    fieldNameList.add(StringUtils.uncapitalize(methodName.substring(3)));
-                    methodNameIndexMap.put(className + Reflector.SEPARATOR + methodName, i);
-                } else if (methodName.startsWith(Reflector.SETTER_PREFIX)
-                        && method.getParameterCount() == 1) {
-                    //如public void com.company.project.business.model.po.Contact.setContactId(java.lang.String)
-                    //去掉(String contactId)存入com.company.project.business.model.po.Contact.setContactId为key
-                    //且如果有多个匹配com.company.project.business.model.po.Contact.setContactId时只存第一个
-                    methodNameIndexMap.putIfAbsent(className + Reflector.SEPARATOR + methodName, i);
-                }
+            String methodName = method.getName();
+            if (methodName.length() > 3
+                    && methodName.startsWith(Reflector.GETTER_PREFIX)
+                    && method.getParameterCount() == 0) {
+                fieldNameList.add(StringUtils.uncapitalize(methodName.substring(3)));
             }
-
-            //-----------------------------------------------------------------
-            //储存取到的所有Method的key
-            //(去除方法toString后的修饰符和返回值部分) = className + methodName + "(参数列表，多个以','分隔)"
-            //如HashMap的put方法的toString是"public java.lang.Object java.util.HashMap.put(java.lang.Object,java.lang.Object)"
-            //那么key就是"java.util.HashMap.put(java.lang.Object,java.lang.Object)"
-            //-----------------------------------------------------------------
-            methodNameIndexMap.put(method.toString().replaceFirst(".+ ", ""), i);
         }
     }
 
@@ -648,10 +1266,9 @@ public abstract class MethodAccessor {
                 "[Ljava/lang/String;" +
                 "[[Ljava/lang/Class;" +
                 "[Ljava/lang/Class;" +
-                "[[Ljava/lang/reflect/Type;" +
-                "[Ljava/lang/reflect/Type;" +
-                "Ljava/util/Map;" +
+                "[Ljava/lang/Class;" +
                 "[Ljava/lang/String;" +
+                "[Ljava/lang/reflect/Field;" +
                 ")V";
         MethodVisitor pcmv = cw.visitMethod(ACC_PUBLIC, "<init>", parametricConstructorDescriptor, null, null);
         pcmv.visitCode();
@@ -663,12 +1280,11 @@ public abstract class MethodAccessor {
         pcmv.visitVarInsn(ALOAD, 5);
         pcmv.visitVarInsn(ALOAD, 6);
         pcmv.visitVarInsn(ALOAD, 7);
-        pcmv.visitVarInsn(ALOAD, 8);
         //添加调用父类的init初始化，即有参构造函数
         pcmv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", parametricConstructorDescriptor, false);
         //从当前方法返回void
         pcmv.visitInsn(RETURN);
-        pcmv.visitMaxs(9, 9);
+        pcmv.visitMaxs(8, 8);
         pcmv.visitEnd();
     }
 
@@ -710,15 +1326,6 @@ public abstract class MethodAccessor {
             Label defaultLabel = new Label();
             invokeMV.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
 
-            String booleanType = "java/lang/Boolean";
-            String byteType = "java/lang/Byte";
-            String charType = "java/lang/Character";
-            String shortType = "java/lang/Short";
-            String intType = "java/lang/Integer";
-            String floatType = "java/lang/Float";
-            String longType = "java/lang/Long";
-            String doubleType = "java/lang/Double";
-            String valueOf = "valueOf";
             StringBuilder buffer = new StringBuilder(128);
 
             //写case部分
@@ -742,48 +1349,7 @@ public abstract class MethodAccessor {
                     invokeMV.visitIntInsn(BIPUSH, paramIndex);
                     invokeMV.visitInsn(AALOAD);
                     Type paramType = Type.getType(paramTypes[paramIndex]);
-                    switch (paramType.getSort()) {
-                        case Type.BOOLEAN:
-                            invokeMV.visitTypeInsn(CHECKCAST, booleanType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, booleanType, "booleanValue", "()Z", false);
-                            break;
-                        case Type.CHAR:
-                            invokeMV.visitTypeInsn(CHECKCAST, charType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, charType, "charValue", "()C", false);
-                            break;
-                        case Type.BYTE:
-                            invokeMV.visitTypeInsn(CHECKCAST, byteType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, byteType, "byteValue", "()B", false);
-                            break;
-                        case Type.SHORT:
-                            invokeMV.visitTypeInsn(CHECKCAST, shortType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, shortType, "shortValue", "()S", false);
-                            break;
-                        case Type.INT:
-                            invokeMV.visitTypeInsn(CHECKCAST, intType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, intType, "intValue", "()I", false);
-                            break;
-                        case Type.FLOAT:
-                            invokeMV.visitTypeInsn(CHECKCAST, floatType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, floatType, "floatValue", "()F", false);
-                            break;
-                        case Type.LONG:
-                            invokeMV.visitTypeInsn(CHECKCAST, longType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, longType, "longValue", "()J", false);
-                            break;
-                        case Type.DOUBLE:
-                            invokeMV.visitTypeInsn(CHECKCAST, doubleType);
-                            invokeMV.visitMethodInsn(INVOKEVIRTUAL, doubleType, "doubleValue", "()D", false);
-                            break;
-                        case Type.ARRAY:
-                            invokeMV.visitTypeInsn(CHECKCAST, paramType.getDescriptor());
-                            break;
-                        case Type.OBJECT:
-                            invokeMV.visitTypeInsn(CHECKCAST, paramType.getInternalName());
-                            break;
-                        default:
-                            break;
-                    }
+                    visitUnboxOrCast(invokeMV, paramType);
                     buffer.append(paramType.getDescriptor());
                 }
 
@@ -800,39 +1366,9 @@ public abstract class MethodAccessor {
                         invoke = INVOKEVIRTUAL;
                     }
                 }
-                invokeMV.visitMethodInsn(invoke, classNameInternal, methodNames[i], buffer.toString(), false);
-
-                switch (Type.getType(returnType).getSort()) {
-                    case Type.VOID:
-                        invokeMV.visitInsn(ACONST_NULL);
-                        break;
-                    case Type.BOOLEAN:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, booleanType, valueOf, "(Z)Ljava/lang/Boolean;", false);
-                        break;
-                    case Type.CHAR:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, charType, valueOf, "(C)Ljava/lang/Character;", false);
-                        break;
-                    case Type.BYTE:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, byteType, valueOf, "(B)Ljava/lang/Byte;", false);
-                        break;
-                    case Type.SHORT:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, shortType, valueOf, "(S)Ljava/lang/Short;", false);
-                        break;
-                    case Type.INT:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, intType, valueOf, "(I)Ljava/lang/Integer;", false);
-                        break;
-                    case Type.FLOAT:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, floatType, valueOf, "(F)Ljava/lang/Float;", false);
-                        break;
-                    case Type.LONG:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, longType, valueOf, "(J)Ljava/lang/Long;", false);
-                        break;
-                    case Type.DOUBLE:
-                        invokeMV.visitMethodInsn(INVOKESTATIC, doubleType, valueOf, "(D)Ljava/lang/Double;", false);
-                        break;
-                    default:
-                        break;
-                }
+                invokeMV.visitMethodInsn(invoke, classNameInternal, methodNames[i], buffer.toString(), isInterface);
+
+                visitBox(invokeMV, Type.getType(returnType));
 
                 invokeMV.visitInsn(ARETURN);
             }
@@ -842,22 +1378,309 @@ public abstract class MethodAccessor {
             invokeMV.visitFrame(F_SAME, 0, null, 0, null);
         }
 
+        visitThrowMethodNotFound(invokeMV, "Method not found: ");
+        invokeMV.visitMaxs(0, 0);
+        invokeMV.visitEnd();
+    }
+
+    /**
+     * 重写上面的抽象方法invoke0/invoke1/invokeInt/invokeLong/invokeDouble/invokeBoolean.
+     *
+     * <pre>
+     * 与invoke(Object obj, int methodIndex, Object... args)一样使用tableswitch按方法索引跳转，
+     * 只是不适用于当前特化方法的索引直接跳到default部分抛出异常
+     * </pre>
+     *
+     * @param specializedInvoke 特化方法的描述
+     * @param isInterface       是否接口
+     * @param methods           方法对象的集合
+     * @param methodNames       方法名数组
+     * @param parameterTypes    方法的参数类型二维数组
+     * @param returnTypes       方法的返回值数组
+     * @param classNameInternal 字节码类名
+     * @param cw                类编辑器
+     */
+    private static void overrideSpecializedInvokeMethod(SpecializedInvoke specializedInvoke,
+                                                        boolean isInterface, List<Method> methods,
+                                                        String[] methodNames, Class[][] parameterTypes,
+                                                        Class[] returnTypes, String classNameInternal,
+                                                        ClassWriter cw) {
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, specializedInvoke.methodName,
+                specializedInvoke.descriptor, null, null);
+        mv.visitCode();
+
+        int size = methods.size();
+        Label[] labels = new Label[size];
+        Label defaultLabel = new Label();
+        boolean hasCase = false;
+        for (int i = 0; i < size; i++) {
+            if (specializedInvoke.isApplicable(parameterTypes[i], returnTypes[i])) {
+                labels[i] = new Label();
+                hasCase = true;
+            } else {
+                labels[i] = defaultLabel;
+            }
+        }
+
+        if (hasCase) {
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitTableSwitchInsn(0, size - 1, defaultLabel, labels);
+
+            for (int i = 0; i < size; i++) {
+                if (labels[i] == defaultLabel) {
+                    continue;
+                }
+                mv.visitLabel(labels[i]);
+                mv.visitFrame(F_SAME, 0, null, 0, null);
+
+                Method method = methods.get(i);
+                boolean isStatic = !isInterface && Modifier.isStatic(method.getModifiers());
+                if (!isStatic) {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitTypeInsn(CHECKCAST, classNameInternal);
+                }
+                Type returnType = Type.getType(returnTypes[i]);
+                if (parameterTypes[i].length == 1) {
+                    Type paramType = Type.getType(parameterTypes[i][0]);
+                    if (specializedInvoke.boxed) {
+                        mv.visitVarInsn(ALOAD, 3);
+                        visitUnboxOrCast(mv, paramType);
+                    } else {
+                        mv.visitVarInsn(paramType.getOpcode(ILOAD), 3);
+                    }
+                }
+
+                int invoke;
+                if (isInterface) {
+                    invoke = INVOKEINTERFACE;
+                } else if (isStatic) {
+                    invoke = INVOKESTATIC;
+                } else {
+                    invoke = INVOKEVIRTUAL;
+                }
+                mv.visitMethodInsn(invoke, classNameInternal, methodNames[i],
+                        Type.getMethodDescriptor(method), isInterface);
+
+                specializedInvoke.visitReturn(mv, returnType);
+            }
+
+            mv.visitLabel(defaultLabel);
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+        }
+
+        visitThrowMethodNotFound(mv, "Method not found or not applicable to "
+                + specializedInvoke.methodName + ": ");
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * 重写上面的抽象方法getDirectField和setDirectField.
+     *
+     * @param fields            可直接访问的成员变量集合
+     * @param classNameInternal 字节码类名
+     * @param cw                类编辑器
+     */
+    private static void overrideDirectFieldMethods(List<Field> fields, String classNameInternal, ClassWriter cw) {
+
+        int size = fields.size();
+
+        //写getDirectField(Object obj, int fieldIndex)
+        MethodVisitor getMV = cw.visitMethod(ACC_PUBLIC, "getDirectField",
+                "(Ljava/lang/Object;I)Ljava/lang/Object;", null, null);
+        getMV.visitCode();
+        if (size > 0) {
+            Label[] labels = new Label[size];
+            for (int i = 0; i < size; i++) {
+                labels[i] = new Label();
+            }
+            Label defaultLabel = new Label();
+            getMV.visitVarInsn(ILOAD, 2);
+            getMV.visitTableSwitchInsn(0, size - 1, defaultLabel, labels);
+            for (int i = 0; i < size; i++) {
+                Field field = fields.get(i);
+                Type fieldType = Type.getType(field.getType());
+                getMV.visitLabel(labels[i]);
+                getMV.visitFrame(F_SAME, 0, null, 0, null);
+                getMV.visitVarInsn(ALOAD, 1);
+                getMV.visitTypeInsn(CHECKCAST, classNameInternal);
+                getMV.visitFieldInsn(GETFIELD, classNameInternal, field.getName(), fieldType.getDescriptor());
+                visitBox(getMV, fieldType);
+                getMV.visitInsn(ARETURN);
+            }
+            getMV.visitLabel(defaultLabel);
+            getMV.visitFrame(F_SAME, 0, null, 0, null);
+        }
+        visitThrowMethodNotFound(getMV, "Field not found: ");
+        getMV.visitMaxs(0, 0);
+        getMV.visitEnd();
+
+        //写setDirectField(Object obj, int fieldIndex, Object value)，final成员变量直接跳到default部分
+        MethodVisitor setMV = cw.visitMethod(ACC_PUBLIC, "setDirectField",
+                "(Ljava/lang/Object;ILjava/lang/Object;)V", null, null);
+        setMV.visitCode();
+        Label[] labels = new Label[size];
+        Label defaultLabel = new Label();
+        boolean hasCase = false;
+        for (int i = 0; i < size; i++) {
+            if (Modifier.isFinal(fields.get(i).getModifiers())) {
+                labels[i] = defaultLabel;
+            } else {
+                labels[i] = new Label();
+                hasCase = true;
+            }
+        }
+        if (hasCase) {
+            setMV.visitVarInsn(ILOAD, 2);
+            setMV.visitTableSwitchInsn(0, size - 1, defaultLabel, labels);
+            for (int i = 0; i < size; i++) {
+                if (labels[i] == defaultLabel) {
+                    continue;
+                }
+                Field field = fields.get(i);
+                Type fieldType = Type.getType(field.getType());
+                setMV.visitLabel(labels[i]);
+                setMV.visitFrame(F_SAME, 0, null, 0, null);
+                setMV.visitVarInsn(ALOAD, 1);
+                setMV.visitTypeInsn(CHECKCAST, classNameInternal);
+                setMV.visitVarInsn(ALOAD, 3);
+                visitUnboxOrCast(setMV, fieldType);
+                setMV.visitFieldInsn(PUTFIELD, classNameInternal, field.getName(), fieldType.getDescriptor());
+                setMV.visitInsn(RETURN);
+            }
+            setMV.visitLabel(defaultLabel);
+            setMV.visitFrame(F_SAME, 0, null, 0, null);
+        }
+        visitThrowMethodNotFound(setMV, "Field not found or not writable: ");
+        setMV.visitMaxs(0, 0);
+        setMV.visitEnd();
+    }
+
+    /**
+     * 写从Object拆箱或强转为参数类型的字节码.
+     *
+     * @param mv        方法编辑器
+     * @param paramType 参数类型
+     */
+    static void visitUnboxOrCast(MethodVisitor mv, Type paramType) {
+        switch (paramType.getSort()) {
+            case Type.BOOLEAN:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+                break;
+            case Type.CHAR:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Character");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Character", "charValue", "()C", false);
+                break;
+            case Type.BYTE:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Byte");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Byte", "byteValue", "()B", false);
+                break;
+            case Type.SHORT:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Short");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Short", "shortValue", "()S", false);
+                break;
+            case Type.INT:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Integer");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Integer", "intValue", "()I", false);
+                break;
+            case Type.FLOAT:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Float");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Float", "floatValue", "()F", false);
+                break;
+            case Type.LONG:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Long");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Long", "longValue", "()J", false);
+                break;
+            case Type.DOUBLE:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Double");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Double", "doubleValue", "()D", false);
+                break;
+            case Type.ARRAY:
+                mv.visitTypeInsn(CHECKCAST, paramType.getDescriptor());
+                break;
+            case Type.OBJECT:
+                mv.visitTypeInsn(CHECKCAST, paramType.getInternalName());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 写将返回值装箱为Object的字节码，void方法返回null.
+     *
+     * @param mv         方法编辑器
+     * @param returnType 返回值类型
+     */
+    static void visitBox(MethodVisitor mv, Type returnType) {
+        String valueOf = "valueOf";
+        switch (returnType.getSort()) {
+            case Type.VOID:
+                mv.visitInsn(ACONST_NULL);
+                break;
+            case Type.BOOLEAN:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", valueOf, "(Z)Ljava/lang/Boolean;", false);
+                break;
+            case Type.CHAR:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Character", valueOf, "(C)Ljava/lang/Character;", false);
+                break;
+            case Type.BYTE:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Byte", valueOf, "(B)Ljava/lang/Byte;", false);
+                break;
+            case Type.SHORT:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Short", valueOf, "(S)Ljava/lang/Short;", false);
+                break;
+            case Type.INT:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", valueOf, "(I)Ljava/lang/Integer;", false);
+                break;
+            case Type.FLOAT:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", valueOf, "(F)Ljava/lang/Float;", false);
+                break;
+            case Type.LONG:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Long", valueOf, "(J)Ljava/lang/Long;", false);
+                break;
+            case Type.DOUBLE:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", valueOf, "(D)Ljava/lang/Double;", false);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 写抛出IllegalArgumentException(message + methodIndex)的字节码.
+     *
+     * @param mv      方法编辑器
+     * @param message 异常信息前缀
+     */
+    private static void visitThrowMethodNotFound(MethodVisitor mv, String message) {
+        visitThrowIndexNotFound(mv, message, 2);
+    }
+
+    /**
+     * 写抛出IllegalArgumentException(message + 局部变量表indexSlot中的int索引)的字节码.
+     *
+     * @param mv        方法编辑器
+     * @param message   异常信息前缀
+     * @param indexSlot int索引在局部变量表中的位置
+     */
+    static void visitThrowIndexNotFound(MethodVisitor mv, String message, int indexSlot) {
         String illExType = "java/lang/IllegalArgumentException";
         String sbType = "java/lang/StringBuilder";
 
-        invokeMV.visitTypeInsn(NEW, illExType);
-        invokeMV.visitInsn(DUP);
-        invokeMV.visitTypeInsn(NEW, sbType);
-        invokeMV.visitInsn(DUP);
-        invokeMV.visitLdcInsn("Method not found: ");
-        invokeMV.visitMethodInsn(INVOKESPECIAL, sbType, "<init>", "(Ljava/lang/String;)V", false);
-        invokeMV.visitVarInsn(ILOAD, 2);
-        invokeMV.visitMethodInsn(INVOKEVIRTUAL, sbType, "append", "(I)Ljava/lang/StringBuilder;", false);
-        invokeMV.visitMethodInsn(INVOKEVIRTUAL, sbType, "toString", "()Ljava/lang/String;", false);
-        invokeMV.visitMethodInsn(INVOKESPECIAL, illExType, "<init>", "(Ljava/lang/String;)V", false);
-        invokeMV.visitInsn(ATHROW);
-        invokeMV.visitMaxs(0, 0);
-        invokeMV.visitEnd();
+        mv.visitTypeInsn(NEW, illExType);
+        mv.visitInsn(DUP);
+        mv.visitTypeInsn(NEW, sbType);
+        mv.visitInsn(DUP);
+        mv.visitLdcInsn(message);
+        mv.visitMethodInsn(INVOKESPECIAL, sbType, "<init>", "(Ljava/lang/String;)V", false);
+        mv.visitVarInsn(ILOAD, indexSlot);
+        mv.visitMethodInsn(INVOKEVIRTUAL, sbType, "append", "(I)Ljava/lang/StringBuilder;", false);
+        mv.visitMethodInsn(INVOKEVIRTUAL, sbType, "toString", "()Ljava/lang/String;", false);
+        mv.visitMethodInsn(INVOKESPECIAL, illExType, "<init>", "(Ljava/lang/String;)V", false);
+        mv.visitInsn(ATHROW);
     }
 
     /**
@@ -868,10 +1691,9 @@ public abstract class MethodAccessor {
      * @param methodNames           已赋值的方法名数组
      * @param parameterTypes        已赋值的方法对象的参数类型二维数组
      * @param returnTypes           已赋值的方法对象的返回值类型数组
-     * @param genericParameterTypes 已赋值的方法对象的参数化参数类型二维数组
-     * @param genericReturnTypes    已赋值的方法对象的参数化返回值类型数组
-     * @param methodNameIndexMap    已赋值的方法名索引Map
+     * @param declaringClasses      已赋值的声明方法的Class数组
      * @param fieldNames            已赋值的成员变量名数组
+     * @param directFields          可直接访问的成员变量数组
      * @return MethodAccessor子类实例
      */
     private static MethodAccessor newInstance(Class<?> accessorClass,
@@ -879,10 +1701,9 @@ public abstract class MethodAccessor {
                                               String[] methodNames,
                                               Class[][] parameterTypes,
                                               Class[] returnTypes,
-                                              java.lang.reflect.Type[][] genericParameterTypes,
-                                              java.lang.reflect.Type[] genericReturnTypes,
-                                              Map<String, Integer> methodNameIndexMap,
-                                              String[] fieldNames) {
+                                              Class[] declaringClasses,
+                                              String[] fieldNames,
+                                              Field[] directFields) {
         try {
 
             //获取有参构造
@@ -891,10 +1712,9 @@ public abstract class MethodAccessor {
                     String[].class,
                     Class[][].class,
                     Class[].class,
-                    java.lang.reflect.Type[][].class,
-                    java.lang.reflect.Type[].class,
-                    Map.class,
-                    String[].class);
+                    Class[].class,
+                    String[].class,
+                    Field[].class);
 
             //执行有参构造得到MethodAccessor子类，然后使用MethodAccessor接收
             return (MethodAccessor) parametricConstructor.newInstance(
@@ -902,15 +1722,63 @@ public abstract class MethodAccessor {
                     methodNames,
                     parameterTypes,
                     returnTypes,
-                    genericParameterTypes,
-                    genericReturnTypes,
-                    methodNameIndexMap,
-                    fieldNames);
+                    declaringClasses,
+                    fieldNames,
+                    directFields);
         } catch (Throwable t) {
             throw new RuntimeException("Error constructing method accessor class: " + accessorClass.getName(), t);
         }
     }
 
+    /**
+     * 解析所有getter和setter方法对应的属性句柄.
+     *
+     * <pre>
+     * 对每个getter/setter方法名去掉前缀后的部分S，
+     * 能通过{@link #getPojoMethodIndex(String, boolean)}匹配到它的变量名只可能是S本身或S的首字母大/小写形式，
+     * 所以在这里用这几个候选变量名各解析一次，保证与原来按字符串拼接查找的结果完全一致
+     * </pre>
+     *
+     * @return 变量名与属性句柄的映射
+     */
+    private Map<String, PropertyHandle> resolvePropertyHandles() {
+        Map<String, PropertyHandle> handleMap = new HashMap<>(ParameterUtils.calcMapCapacity(fieldNames.length << 1));
+        for (int i = 0; i < methodNames.length; i++) {
+            String methodName = methodNames[i];
+            if (methodName.length() <= 3) {
+                continue;
+            }
+            if (!methodName.startsWith(Reflector.GETTER_PREFIX) && !methodName.startsWith(Reflector.SETTER_PREFIX)) {
+                continue;
+            }
+            String suffix = methodName.substring(3);
+            resolvePropertyHandle(suffix, handleMap);
+            resolvePropertyHandle(StringUtils.uncapitalize(suffix), handleMap);
+            resolvePropertyHandle(StringUtils.capitalize(suffix), handleMap);
+        }
+        //没有getter/setter方法的成员变量，如果可以直接访问，也解析成属性句柄
+        for (String directFieldName : directFieldIndexMap.keySet()) {
+            resolvePropertyHandle(directFieldName, handleMap);
+        }
+        return handleMap;
+    }
+
+    private void resolvePropertyHandle(String fieldName, Map<String, PropertyHandle> handleMap) {
+        if (handleMap.containsKey(fieldName)) {
+            return;
+        }
+        Integer getterIndex = getPojoMethodIndex(fieldName, true);
+        Integer setterIndex = getPojoMethodIndex(fieldName, false);
+        Integer fieldIndex = directFieldIndexMap.get(fieldName);
+        if (getterIndex == null && setterIndex == null && fieldIndex == null) {
+            return;
+        }
+        handleMap.put(fieldName, new PropertyHandle(this, fieldName,
+                getterIndex == null ? PropertyHandle.NO_INDEX : getterIndex,
+                setterIndex == null ? PropertyHandle.NO_INDEX : setterIndex,
+                fieldIndex == null ? PropertyHandle.NO_INDEX : fieldIndex));
+    }
+
     /**
      * 获取对象obj的getter或setter方法的索引
      *
@@ -922,16 +1790,390 @@ public abstract class MethodAccessor {
         if (ParameterUtils.isEmpty(fieldName)) {
             return null;
         }
-        String prefix = className + Reflector.SEPARATOR
-                + (isGetter ? Reflector.GETTER_PREFIX : Reflector.SETTER_PREFIX);
-        Integer index = methodNameIndexMap.get(prefix + StringUtils.capitalize(fieldName));
+        String prefix = isGetter ? Reflector.GETTER_PREFIX : Reflector.SETTER_PREFIX;
+        int index = findPojoMethodIndex(prefix + StringUtils.capitalize(fieldName));
         //首字母小写，第二字母大写的成员变量（奇行种）
-        if (index == null && Reflector.isAlienName(fieldName)) {
-            return methodNameIndexMap.get(prefix + fieldName);
+        if (index == NO_INDEX && Reflector.isAlienName(fieldName)) {
+            index = findPojoMethodIndex(prefix + fieldName);
+        }
+        return index == NO_INDEX ? null : index;
+    }
+
+    /**
+     * 通过getter或setter方法名获取方法索引.
+     * <p>
+     * 同名的无参getter有多个时取最后一个，同名的单参setter有多个时取第一个
+     * </p>
+     *
+     * @param methodName getter或setter方法名
+     * @return 方法索引，不是getter/setter方法时返回{@link #NO_INDEX}
+     */
+    private int findPojoMethodIndex(String methodName) {
+        int index = NO_INDEX;
+        if (methodName.length() <= 3) {
+            return index;
+        }
+        if (methodName.startsWith(Reflector.GETTER_PREFIX)) {
+            for (int i : getCandidates(methodName)) {
+                if (parameterTypes[i].length == 0) {
+                    index = i;
+                }
+            }
+        } else if (methodName.startsWith(Reflector.SETTER_PREFIX)) {
+            for (int i : getCandidates(methodName)) {
+                if (parameterTypes[i].length == 1) {
+                    return i;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 解析方法字符串key对应的方法索引，key的格式见{@link #methodNameIndexMap}.
+     *
+     * @param key 方法字符串key
+     * @return 方法索引，无匹配时返回{@link #NO_INDEX}
+     */
+    private int resolveMethodKey(String key) {
+        int leftParen = key.indexOf('(');
+        if (leftParen < 0) {
+            //className + "." + getter/setter方法名
+            int nameStart = className.length() + 1;
+            if (key.length() <= nameStart || !key.startsWith(className) || key.charAt(nameStart - 1) != '.') {
+                return NO_INDEX;
+            }
+            return findPojoMethodIndex(key.substring(nameStart));
+        }
+        int dot = key.lastIndexOf('.', leftParen);
+        int rightParen = key.length() - 1;
+        if (dot < 0 || key.charAt(rightParen) != ')') {
+            return NO_INDEX;
+        }
+        int index = NO_INDEX;
+        c:
+        for (int i : getCandidates(key.substring(dot + 1, leftParen))) {
+            String declaringClassName = declaringClasses[i].getName();
+            if (declaringClassName.length() != dot || !key.startsWith(declaringClassName)) {
+                continue;
+            }
+            Class[] paramTypes = parameterTypes[i];
+            int pos = leftParen + 1;
+            for (int j = 0; j < paramTypes.length; j++) {
+                if (j > 0) {
+                    if (pos >= rightParen || key.charAt(pos) != ',') {
+                        continue c;//不匹配，则跳到下一个外层循环
+                    }
+                    pos++;
+                }
+                String typeName = paramTypes[j].getTypeName();
+                if (!key.startsWith(typeName, pos)) {
+                    continue c;
+                }
+                pos += typeName.length();
+            }
+            if (pos == rightParen) {
+                //与原来逐个put进Map一致，相同key(如协变返回值的桥接方法)取最后一个
+                index = i;
+            }
         }
         return index;
     }
 
+    /**
+     * 构建所有方法字符串key与方法索引的映射，仅在遍历{@link #methodNameIndexMap}时使用.
+     *
+     * @return 方法字符串key与方法索引的映射
+     */
+    private Map<String, Integer> buildMethodKeys() {
+        int size = methodNames.length;
+        Map<String, Integer> keyMap = new LinkedHashMap<>(ParameterUtils.calcMapCapacity(size + (size >> 1)));
+        StringBuilder buffer = new StringBuilder(128);
+        for (int i = 0; i < size; i++) {
+            String methodName = methodNames[i];
+            int pojoMethodIndex = findPojoMethodIndex(methodName);
+            if (pojoMethodIndex != NO_INDEX) {
+                keyMap.putIfAbsent(className + Reflector.SEPARATOR + methodName, pojoMethodIndex);
+            }
+            buffer.setLength(0);
+            buffer.append(declaringClasses[i].getName()).append(Reflector.SEPARATOR).append(methodName).append('(');
+            Class[] paramTypes = parameterTypes[i];
+            for (int j = 0; j < paramTypes.length; j++) {
+                if (j > 0) {
+                    buffer.append(',');
+                }
+                buffer.append(paramTypes[j].getTypeName());
+            }
+            keyMap.put(buffer.append(')').toString(), i);
+        }
+        return keyMap;
+    }
+
+    /**
+     * 获取方法的泛型Type，第一次使用时才解析.
+     *
+     * @return 方法的泛型Type
+     */
+    private GenericTypes getGenericTypes() {
+        GenericTypes types = genericTypes;
+        if (types == null) {
+            synchronized (this) {
+                types = genericTypes;
+                if (types == null) {
+                    types = resolveGenericTypes();
+                    genericTypes = types;
+                }
+            }
+        }
+        return types;
+    }
+
+    private GenericTypes resolveGenericTypes() {
+        int size = methodNames.length;
+        java.lang.reflect.Type[][] genericParameterTypes = new java.lang.reflect.Type[size][];
+        java.lang.reflect.Type[] genericReturnTypes = new java.lang.reflect.Type[size];
+        Map<Class<?>, Method[]> declaredMethodsMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Method method = null;
+            for (Method declaredMethod : declaredMethodsMap.computeIfAbsent(declaringClasses[i], Class::getDeclaredMethods)) {
+                if (declaredMethod.getName().equals(methodNames[i])
+                        && declaredMethod.getReturnType() == returnTypes[i]
+                        && Arrays.equals(declaredMethod.getParameterTypes(), parameterTypes[i])) {
+                    method = declaredMethod;
+                    break;
+                }
+            }
+            if (method == null) {
+                throw new IllegalStateException(String.format("找不到(%s)中的方法(%s)",
+                        declaringClasses[i].getName(), methodNames[i]));
+            }
+            java.lang.reflect.Type[] types = method.getGenericParameterTypes();
+            genericParameterTypes[i] = types.length == 0 ? EMPTY_TYPES : types;
+            genericReturnTypes[i] = method.getGenericReturnType();
+        }
+        return new GenericTypes(genericParameterTypes, genericReturnTypes);
+    }
+
+    /**
+     * 估算本实例独占的内存大小(字节).
+     *
+     * <pre>
+     * 按64位JVM开启压缩指针(对象头12字节、引用4字节、8字节对齐)估算，
+     * 只计算本实例独占的数组、Map、成员变量名、属性句柄等对象，
+     * 不计算Class、方法名(JVM中已intern)、Field等共享的对象以及多个MethodAccessor共享的参数类型数组，
+     * 泛型Type只在已解析时计算。
+     * 结果是近似值，用于对比大量实体类时MethodAccessor的内存占用
+     * </pre>
+     *
+     * @return 估算的字节数
+     */
+    public long estimateRetainedSize() {
+        int size = methodNames.length;
+        long bytes = objectSize(15);
+        bytes += arraySize(size) * 3 + arraySize(parameterTypes.length);
+        for (Class[] paramTypes : parameterTypes) {
+            if (!ClassArrayInterner.isInterned(paramTypes)) {
+                bytes += arraySize(paramTypes.length);
+            }
+        }
+        GenericTypes types = genericTypes;
+        if (types != null) {
+            bytes += objectSize(2) + arraySize(size) * 2;
+            for (java.lang.reflect.Type[] paramTypes : types.parameterTypes) {
+                bytes += paramTypes == EMPTY_TYPES ? 0 : arraySize(paramTypes.length);
+            }
+        }
+        bytes += objectSize(1) + hashMapSize(methodNameCandidatesMap.size());
+        for (int[] candidates : methodNameCandidatesMap.values()) {
+            bytes += align(16 + 4L * candidates.length);
+        }
+        bytes += arraySize(fieldNames.length);
+        for (String fieldName : fieldNames) {
+            bytes += stringSize(fieldName);
+        }
+        bytes += hashMapSize(propertyHandleMap.size()) + arraySize(propertyHandles.length)
+                + propertyHandleMap.size() * objectSize(6);
+        bytes += arraySize(directFields.length) + hashMapSize(directFieldIndexMap.size());
+        bytes += hashMapSize(overloadIndexCache.size()) + overloadIndexCache.size() * (objectSize(3) + arraySize(2));
+        bytes += hashMapSize(compiledInvocationCache.size()) + compiledInvocationCache.size() * objectSize(3);
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long objectSize(int referenceFields) {
+        return align(12 + 4L * referenceFields);
+    }
+
+    private static long arraySize(int length) {
+        return align(16 + 4L * length);
+    }
+
+    private static long stringSize(String str) {
+        return objectSize(3) + align(16 + str.length());
+    }
+
+    private static long hashMapSize(int size) {
+        //Map对象本身 + table数组 + 每个Node(hash、key、value、next)
+        return objectSize(6) + arraySize(ParameterUtils.calcMapCapacity(size)) + size * objectSize(4);
+    }
+
+    /**
+     * 按需解析的方法泛型Type.
+     */
+    private static final class GenericTypes {
+
+        private final java.lang.reflect.Type[][] parameterTypes;
+        private final java.lang.reflect.Type[] returnTypes;
+
+        private GenericTypes(java.lang.reflect.Type[][] parameterTypes, java.lang.reflect.Type[] returnTypes) {
+            this.parameterTypes = parameterTypes;
+            this.returnTypes = returnTypes;
+        }
+    }
+
+    /**
+     * 不存储key的方法字符串索引Map.
+     * <p>
+     * get时解析key，再按方法名、声明类名和参数类型名比较，结果与原来把每个key都存进HashMap时一致；
+     * 只有遍历时才临时构建完整的映射
+     * </p>
+     */
+    private final class MethodKeyMap extends AbstractMap<String, Integer> {
+
+        /*** 遍历时才构建的所有方法字符串key，构建一次后重复使用. */
+        private volatile Set<Entry<String, Integer>> entrySet;
+
+        @Override
+        public Integer get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            int index = resolveMethodKey((String) key);
+            return index == NO_INDEX ? null : index;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, Integer>> entrySet() {
+            Set<Entry<String, Integer>> entries = entrySet;
+            if (entries == null) {
+                //并发时可能重复构建，结果都一样
+                entries = Collections.unmodifiableMap(buildMethodKeys()).entrySet();
+                entrySet = entries;
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * 生成的MethodAccessor子类中除invoke(Object obj, int methodIndex, Object... args)之外的特化方法.
+     */
+    private enum SpecializedInvoke {
+
+        INVOKE0("invoke0", "(Ljava/lang/Object;I)Ljava/lang/Object;", 0, true),
+        INVOKE1("invoke1", "(Ljava/lang/Object;ILjava/lang/Object;)Ljava/lang/Object;", 1, true),
+        GET_INT("invokeInt", "(Ljava/lang/Object;I)I", 0, false),
+        GET_LONG("invokeLong", "(Ljava/lang/Object;I)J", 0, false),
+        GET_DOUBLE("invokeDouble", "(Ljava/lang/Object;I)D", 0, false),
+        GET_BOOLEAN("invokeBoolean", "(Ljava/lang/Object;I)Z", 0, false),
+        SET_INT("invokeInt", "(Ljava/lang/Object;II)V", 1, false),
+        SET_LONG("invokeLong", "(Ljava/lang/Object;IJ)V", 1, false),
+        SET_DOUBLE("invokeDouble", "(Ljava/lang/Object;ID)V", 1, false),
+        SET_BOOLEAN("invokeBoolean", "(Ljava/lang/Object;IZ)V", 1, false);
+
+        private final String methodName;
+        private final String descriptor;
+        private final int paramsCount;
+        /*** 入参和返回值是否都是装箱后的Object. */
+        private final boolean boxed;
+
+        SpecializedInvoke(String methodName, String descriptor, int paramsCount, boolean boxed) {
+            this.methodName = methodName;
+            this.descriptor = descriptor;
+            this.paramsCount = paramsCount;
+            this.boxed = boxed;
+        }
+
+        /**
+         * 判断方法索引对应的方法能否通过当前特化方法执行.
+         */
+        private boolean isApplicable(Class[] paramTypes, Class<?> returnType) {
+            if (paramTypes.length != paramsCount) {
+                return false;
+            }
+            switch (this) {
+                case GET_INT:
+                    return isIntLike(returnType);
+                case GET_LONG:
+                    return returnType == long.class || isIntLike(returnType);
+                case GET_DOUBLE:
+                    return returnType == double.class || returnType == float.class;
+                case GET_BOOLEAN:
+                    return returnType == boolean.class;
+                case SET_INT:
+                    return paramTypes[0] == int.class;
+                case SET_LONG:
+                    return paramTypes[0] == long.class;
+                case SET_DOUBLE:
+                    return paramTypes[0] == double.class;
+                case SET_BOOLEAN:
+                    return paramTypes[0] == boolean.class;
+                default:
+                    return true;
+            }
+        }
+
+        /**
+         * 写被执行方法返回之后的字节码.
+         */
+        private void visitReturn(MethodVisitor mv, Type returnType) {
+            int sort = returnType.getSort();
+            switch (this) {
+                case INVOKE0:
+                case INVOKE1:
+                    visitBox(mv, returnType);
+                    mv.visitInsn(ARETURN);
+                    break;
+                case GET_INT:
+                case GET_BOOLEAN:
+                    mv.visitInsn(IRETURN);
+                    break;
+                case GET_LONG:
+                    if (sort != Type.LONG) {
+                        mv.visitInsn(I2L);
+                    }
+                    mv.visitInsn(LRETURN);
+                    break;
+                case GET_DOUBLE:
+                    if (sort == Type.FLOAT) {
+                        mv.visitInsn(F2D);
+                    }
+                    mv.visitInsn(DRETURN);
+                    break;
+                default:
+                    //setter的返回值(如链式setter返回this)直接丢弃
+                    if (sort == Type.LONG || sort == Type.DOUBLE) {
+                        mv.visitInsn(POP2);
+                    } else if (sort != Type.VOID) {
+                        mv.visitInsn(POP);
+                    }
+                    mv.visitInsn(RETURN);
+                    break;
+            }
+        }
+
+        private static boolean isIntLike(Class<?> type) {
+            return type == int.class || type == short.class || type == byte.class || type == char.class;
+        }
+    }
+
     @Override
     public String toString() {
         return "This is a class generated by " + MethodAccessor.class.getName() + ": " + this.getClass().getName();
@@ -0,0 +1,347 @@
+package com.acyumi.reflect.reflectasm;
+
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Type;
+
+/**
+ * 预解析好的pojo属性句柄.
+ *
+ * <pre>
+ * 通过{@link MethodAccessor#getPropertyHandle(String)}按变量名解析一次，
+ * 之后直接持有getter和setter方法的int索引进行取值和赋值，
+ * 避免每次调用{@link MethodAccessor#getFieldValue(Object, String)}时
+ * 都要拼接"类名.get/set变量名"字符串再查找Map并装箱索引。
+ *
+ * 没有getter/setter方法时，如果成员变量可以直接访问(public或与MethodAccessor子类同一运行时包)，
+ * 则退而通过{@link MethodAccessor#getDirectField(Object, int)}和
+ * {@link MethodAccessor#setDirectField(Object, int, Object)}直接读写成员变量。
+ * getInt/setLong等不装箱的方法直接读写成员变量时，与调用getter/setter方法的适用规则一致：
+ * getInt适用int/short/byte/char，getLong另外适用long，getDouble适用double/float，getBoolean适用boolean，
+ * setXxx只适用类型完全相同的基本数据类型，不适用时抛出IllegalArgumentException
+ *
+ * 句柄是不可变的，可以缓存起来在多线程中重复利用
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see MethodAccessor
+ */
+public final class PropertyHandle {
+
+    /*** 表示没有对应方法的索引值. */
+    public static final int NO_INDEX = -1;
+
+    /*** 句柄所属的asm方法操作器. */
+    private final MethodAccessor accessor;
+    /*** 变量名. */
+    private final String name;
+    /*** getter方法的索引，没有getter方法时为{@link #NO_INDEX}. */
+    private final int getterIndex;
+    /*** setter方法的索引，没有setter方法时为{@link #NO_INDEX}. */
+    private final int setterIndex;
+    /*** 可直接访问的成员变量的索引，没有时为{@link #NO_INDEX}. */
+    private final int fieldIndex;
+    /*** 成员变量是否可以直接赋值(非final). */
+    private final boolean fieldWritable;
+
+    PropertyHandle(MethodAccessor accessor, String name, int getterIndex, int setterIndex, int fieldIndex) {
+        this.accessor = accessor;
+        this.name = name;
+        this.getterIndex = getterIndex;
+        this.setterIndex = setterIndex;
+        this.fieldIndex = fieldIndex;
+        this.fieldWritable = fieldIndex != NO_INDEX && accessor.isDirectFieldWritable(fieldIndex);
+    }
+
+    /**
+     * 通过getter方法(没有时直接读成员变量)从对象obj取值.
+     *
+     * @param obj 变量的源对象
+     * @return 变量值，没有getter方法且成员变量不可直接访问时返回null
+     */
+    public Object get(Object obj) {
+        if (getterIndex == NO_INDEX) {
+            return fieldIndex == NO_INDEX ? null : getField(obj);
+        }
+        try {
+            return accessor.invoke0(obj, getterIndex);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    String.format("通过方法(%s.%s())获取值失败",
+                            obj.getClass().getName(),
+                            accessor.getMethodName(getterIndex)),
+                    e);
+        }
+    }
+
+    /**
+     * 通过setter方法(没有时直接写成员变量)给对象obj赋值.
+     *
+     * @param obj   变量的目标对象
+     * @param value 变量setter方法的入参，没有setter方法且成员变量不可直接赋值时不做任何操作
+     */
+    public void set(Object obj, Object value) {
+        if (setterIndex == NO_INDEX) {
+            if (fieldWritable) {
+                setField(obj, value);
+            }
+            return;
+        }
+        try {
+            accessor.invoke1(obj, setterIndex, value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    String.format("方法(%s.%s(%s))的入参(%s)不匹配",
+                            obj.getClass().getName(),
+                            accessor.getMethodName(setterIndex),
+                            StringUtils.arrayToDelimitedString(accessor.getParameterTypes(setterIndex), ","),
+                            value == null ? null : value.getClass().getName()),
+                    e);
+        }
+    }
+
+    /**
+     * 通过返回int(或byte/short/char)的getter方法从对象obj取值，返回值不装箱.
+     *
+     * @param obj 变量的源对象
+     * @return int
+     */
+    public int getInt(Object obj) {
+        if (getterIndex == NO_INDEX && fieldIndex != NO_INDEX) {
+            checkFieldType(isIntLike(getFieldType()), "getInt");
+            return getIntField(obj);
+        }
+        return accessor.invokeInt(obj, checkGetterIndex());
+    }
+
+    /**
+     * 通过返回long(或int/byte/short/char)的getter方法从对象obj取值，返回值不装箱.
+     *
+     * @param obj 变量的源对象
+     * @return long
+     */
+    public long getLong(Object obj) {
+        if (getterIndex == NO_INDEX && fieldIndex != NO_INDEX) {
+            Class<?> fieldType = getFieldType();
+            checkFieldType(fieldType == long.class || isIntLike(fieldType), "getLong");
+            return fieldType == long.class ? (Long) getField(obj) : getIntField(obj);
+        }
+        return accessor.invokeLong(obj, checkGetterIndex());
+    }
+
+    /**
+     * 通过返回double(或float)的getter方法从对象obj取值，返回值不装箱.
+     *
+     * @param obj 变量的源对象
+     * @return double
+     */
+    public double getDouble(Object obj) {
+        if (getterIndex == NO_INDEX && fieldIndex != NO_INDEX) {
+            Class<?> fieldType = getFieldType();
+            checkFieldType(fieldType == double.class || fieldType == float.class, "getDouble");
+            return ((Number) getField(obj)).doubleValue();
+        }
+        return accessor.invokeDouble(obj, checkGetterIndex());
+    }
+
+    /**
+     * 通过返回boolean的getter方法从对象obj取值，返回值不装箱.
+     *
+     * @param obj 变量的源对象
+     * @return boolean
+     */
+    public boolean getBoolean(Object obj) {
+        if (getterIndex == NO_INDEX && fieldIndex != NO_INDEX) {
+            checkFieldType(getFieldType() == boolean.class, "getBoolean");
+            return (Boolean) getField(obj);
+        }
+        return accessor.invokeBoolean(obj, checkGetterIndex());
+    }
+
+    /**
+     * 通过入参为int的setter方法给对象obj赋值，入参不装箱.
+     *
+     * @param obj   变量的目标对象
+     * @param value 变量值
+     */
+    public void setInt(Object obj, int value) {
+        if (setterIndex == NO_INDEX && fieldWritable) {
+            checkFieldType(getFieldType() == int.class, "setInt");
+            setField(obj, value);
+            return;
+        }
+        accessor.invokeInt(obj, checkSetterIndex(), value);
+    }
+
+    /**
+     * 通过入参为long的setter方法给对象obj赋值，入参不装箱.
+     *
+     * @param obj   变量的目标对象
+     * @param value 变量值
+     */
+    public void setLong(Object obj, long value) {
+        if (setterIndex == NO_INDEX && fieldWritable) {
+            checkFieldType(getFieldType() == long.class, "setLong");
+            setField(obj, value);
+            return;
+        }
+        accessor.invokeLong(obj, checkSetterIndex(), value);
+    }
+
+    /**
+     * 通过入参为double的setter方法给对象obj赋值，入参不装箱.
+     *
+     * @param obj   变量的目标对象
+     * @param value 变量值
+     */
+    public void setDouble(Object obj, double value) {
+        if (setterIndex == NO_INDEX && fieldWritable) {
+            checkFieldType(getFieldType() == double.class, "setDouble");
+            setField(obj, value);
+            return;
+        }
+        accessor.invokeDouble(obj, checkSetterIndex(), value);
+    }
+
+    /**
+     * 通过入参为boolean的setter方法给对象obj赋值，入参不装箱.
+     *
+     * @param obj   变量的目标对象
+     * @param value 变量值
+     */
+    public void setBoolean(Object obj, boolean value) {
+        if (setterIndex == NO_INDEX && fieldWritable) {
+            checkFieldType(getFieldType() == boolean.class, "setBoolean");
+            setField(obj, value);
+            return;
+        }
+        accessor.invokeBoolean(obj, checkSetterIndex(), value);
+    }
+
+    public boolean isReadable() {
+        return getterIndex != NO_INDEX || fieldIndex != NO_INDEX;
+    }
+
+    public boolean isWritable() {
+        return setterIndex != NO_INDEX || fieldWritable;
+    }
+
+    public MethodAccessor getAccessor() {
+        return accessor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getGetterIndex() {
+        return getterIndex;
+    }
+
+    public int getSetterIndex() {
+        return setterIndex;
+    }
+
+    public int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    /**
+     * 获取getter方法的返回值泛型Type.
+     *
+     * @return 没有getter方法时返回成员变量的泛型Type，都没有时返回null
+     */
+    public Type getGetterGenericReturnType() {
+        if (getterIndex == NO_INDEX) {
+            return fieldIndex == NO_INDEX ? null : accessor.getDirectFieldGenericType(fieldIndex);
+        }
+        return accessor.getGenericReturnType(getterIndex);
+    }
+
+    /**
+     * 获取setter方法的入参类型.
+     *
+     * @return 没有setter方法时返回可赋值的成员变量类型，都没有时返回null
+     */
+    public Class<?> getSetterParameterType() {
+        if (setterIndex == NO_INDEX) {
+            return fieldWritable ? accessor.getDirectFieldType(fieldIndex) : null;
+        }
+        return accessor.getParameterType(setterIndex, 0);
+    }
+
+    /**
+     * 获取setter方法的入参泛型Type.
+     *
+     * @return 没有setter方法时返回可赋值的成员变量泛型Type，都没有时返回null
+     */
+    public Type getSetterGenericParameterType() {
+        if (setterIndex == NO_INDEX) {
+            return fieldWritable ? accessor.getDirectFieldGenericType(fieldIndex) : null;
+        }
+        return accessor.getGenericParameterType(setterIndex, 0);
+    }
+
+    private Object getField(Object obj) {
+        try {
+            return accessor.getDirectField(obj, fieldIndex);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    String.format("获取成员变量(%s.%s)的值失败", obj.getClass().getName(), name), e);
+        }
+    }
+
+    private void setField(Object obj, Object value) {
+        try {
+            accessor.setDirectField(obj, fieldIndex, value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    String.format("成员变量(%s.%s)的类型(%s)与值(%s)不匹配",
+                            obj.getClass().getName(), name,
+                            accessor.getDirectFieldType(fieldIndex).getName(),
+                            value == null ? null : value.getClass().getName()),
+                    e);
+        }
+    }
+
+    private int getIntField(Object obj) {
+        Object value = getField(obj);
+        return value instanceof Character ? (Character) value : ((Number) value).intValue();
+    }
+
+    private Class<?> getFieldType() {
+        return accessor.getDirectFieldType(fieldIndex);
+    }
+
+    private void checkFieldType(boolean applicable, String methodName) {
+        if (!applicable) {
+            throw new IllegalArgumentException(String.format("成员变量(%s.%s)的类型(%s)不适用于%s",
+                    accessor.getClassName(), name, getFieldType().getName(), methodName));
+        }
+    }
+
+    private static boolean isIntLike(Class<?> type) {
+        return type == int.class || type == short.class || type == byte.class || type == char.class;
+    }
+
+    private int checkGetterIndex() {
+        if (getterIndex == NO_INDEX) {
+            throw new IllegalArgumentException("找不到(" + accessor.getClassName() + ")对应属性(" + name + ")的get方法");
+        }
+        return getterIndex;
+    }
+
+    private int checkSetterIndex() {
+        if (setterIndex == NO_INDEX) {
+            throw new IllegalArgumentException("找不到(" + accessor.getClassName() + ")对应属性(" + name + ")的set方法");
+        }
+        return setterIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyHandle(" + name + ", getter=" + getterIndex + ", setter=" + setterIndex
+                + ", field=" + fieldIndex + ")";
+    }
+}
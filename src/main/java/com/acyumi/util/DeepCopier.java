@@ -0,0 +1,498 @@
+package com.acyumi.util;
+
+import com.acyumi.reflect.Reflector;
+import com.acyumi.reflect.reflectasm.ConstructorAccessor;
+import com.acyumi.reflect.reflectasm.PropertyHandle;
+import org.springframework.util.ClassUtils;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 对象图的深拷贝.
+ *
+ * <pre>
+ * 每个Class只分析一次拷贝方式(挂在Class对象上缓存)：
+ * 1、白名单中的JDK不可变类型直接共享引用：String、包装类型、BigDecimal/BigInteger、java.time包下的类型、
+ *    UUID、Class、Locale、Currency、Pattern、URI/URL、File、Path、Charset、InetAddress、OptionalInt等，
+ *    以及枚举、lambda
+ * 2、数组按元素逐个拷贝，基本类型数组直接复制
+ * 3、Collection/Map按原类型的public无参构造方法实例化后逐个拷贝元素(Map的key和value都拷贝)，
+ *    SortedSet/SortedMap/PriorityQueue沿用原来的Comparator，EnumSet/EnumMap按原枚举类型复制；
+ *    没有可用构造方法的(如Collections.unmodifiableList、Arrays.asList、List.of)
+ *    按接口退回到ArrayList、LinkedHashSet、TreeSet、LinkedList、LinkedHashMap、TreeMap
+ * 4、已知的JDK可变类型逐个处理：Atomic*、LongAdder/DoubleAdder、StringBuilder/StringBuffer按当前值新建，
+ *    AtomicReference、Optional、Map.Entry拷贝其中引用的对象
+ *    (AbstractMap.SimpleEntry仍拷贝成SimpleEntry，其它Map.Entry拷贝成SimpleImmutableEntry)
+ * 5、其它JDK类型有public的clone()方法(如Date、Calendar)时调用clone()，
+ *    否则无法确定是否可变，抛出IllegalArgumentException
+ * 6、POJO通过asm生成的ConstructorAccessor实例化，再通过PropertyHandle逐个拷贝可读可写的属性，
+ *    没有getter/setter的成员变量不会被拷贝，与{@link TransformUtils#transform(Object, Class)}一致
+ *
+ * 同一个对象在图中被多次引用(包括循环引用)时只拷贝一次，拷贝结果保持相同的引用关系，
+ * 但Optional、SimpleImmutableEntry需要先拷贝其中引用的对象才能实例化，不支持从其中引用的对象循环引用回自身
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see TransformUtils#deepCopy(Object)
+ */
+final class DeepCopier {
+
+    /*** 共享引用. */
+    private static final int SHARED = 0;
+    /*** 基本类型数组. */
+    private static final int PRIMITIVE_ARRAY = 1;
+    /*** 对象数组. */
+    private static final int OBJECT_ARRAY = 2;
+    /*** Collection. */
+    private static final int COLLECTION = 3;
+    /*** Map. */
+    private static final int MAP = 4;
+    /*** 调用clone()的JDK类型. */
+    private static final int CLONE = 5;
+    /*** POJO. */
+    private static final int POJO = 6;
+    /*** 逐个处理的JDK可变类型. */
+    private static final int MUTABLE_JDK = 7;
+
+    /*** 直接共享引用的JDK不可变类型. */
+    private static final Set<Class<?>> IMMUTABLE_JDK_TYPES = new HashSet<>(Arrays.asList(
+            Object.class, String.class, BigDecimal.class, BigInteger.class, UUID.class, Class.class,
+            Locale.class, Currency.class, Pattern.class, URI.class, URL.class, File.class,
+            OptionalInt.class, OptionalLong.class, OptionalDouble.class));
+    /*** 实现类都不可变的JDK类型(实现类不是public的，只能按父类型判断). */
+    private static final Class<?>[] IMMUTABLE_JDK_SUPER_TYPES = {
+            Path.class, Charset.class, InetAddress.class, ZoneId.class};
+    /*** 逐个处理的JDK可变类型. */
+    private static final Set<Class<?>> MUTABLE_JDK_TYPES = new HashSet<>(Arrays.asList(
+            AtomicInteger.class, AtomicLong.class, AtomicBoolean.class, AtomicReference.class,
+            AtomicIntegerArray.class, AtomicLongArray.class, AtomicReferenceArray.class,
+            LongAdder.class, DoubleAdder.class, StringBuilder.class, StringBuffer.class, Optional.class));
+
+    private static final ClassValue<CopyPlan> PLANS = new ClassValue<CopyPlan>() {
+        @Override
+        protected CopyPlan computeValue(Class<?> type) {
+            return CopyPlan.of(type);
+        }
+    };
+
+    /*** 源对象 -> 拷贝出来的对象，只记录非共享引用的对象. */
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    private DeepCopier() {
+    }
+
+    /**
+     * 深拷贝对象.
+     *
+     * @param source 源对象
+     * @param <T>    对象类型
+     * @return 拷贝出来的对象，source为null时返回null
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T source) {
+        if (source == null) {
+            return null;
+        }
+        CopyPlan plan = PLANS.get(source.getClass());
+        if (plan.kind == SHARED) {
+            return source;
+        }
+        return (T) new DeepCopier().copy(source, plan);
+    }
+
+    private Object copyValue(Object source) {
+        if (source == null) {
+            return null;
+        }
+        CopyPlan plan = PLANS.get(source.getClass());
+        if (plan.kind == SHARED) {
+            return source;
+        }
+        Object copied = copies.get(source);
+        return copied != null ? copied : copy(source, plan);
+    }
+
+    private Object copy(Object source, CopyPlan plan) {
+        switch (plan.kind) {
+            case PRIMITIVE_ARRAY:
+                int length = Array.getLength(source);
+                Object primitiveArray = Array.newInstance(plan.type.getComponentType(), length);
+                System.arraycopy(source, 0, primitiveArray, 0, length);
+                copies.put(source, primitiveArray);
+                return primitiveArray;
+            case OBJECT_ARRAY:
+                return copyArray((Object[]) source, plan);
+            case COLLECTION:
+                return copyCollection((Collection<?>) source, plan);
+            case MAP:
+                return copyMap((Map<?, ?>) source, plan);
+            case CLONE:
+                Object cloned = plan.invokeClone(source);
+                copies.put(source, cloned);
+                return cloned;
+            case MUTABLE_JDK:
+                return copyMutableJdk(source);
+            default:
+                return copyPojo(source, plan);
+        }
+    }
+
+    private Object[] copyArray(Object[] source, CopyPlan plan) {
+        Object[] array = (Object[]) Array.newInstance(plan.type.getComponentType(), source.length);
+        copies.put(source, array);
+        for (int i = 0; i < source.length; i++) {
+            array[i] = copyValue(source[i]);
+        }
+        return array;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Collection<Object> copyCollection(Collection<?> source, CopyPlan plan) {
+        if (source instanceof EnumSet) {
+            //枚举共享引用，复制EnumSet即可
+            Collection<Object> enumSet = (Collection<Object>) ((EnumSet) source).clone();
+            copies.put(source, enumSet);
+            return enumSet;
+        }
+        Comparator<?> comparator = null;
+        if (source instanceof SortedSet) {
+            comparator = ((SortedSet<?>) source).comparator();
+        } else if (source instanceof PriorityQueue) {
+            comparator = ((PriorityQueue<?>) source).comparator();
+        }
+        Collection<Object> collection = (Collection<Object>) plan.newContainer(comparator);
+        if (collection == null) {
+            if (source instanceof List) {
+                collection = new ArrayList<>(source.size());
+            } else if (source instanceof SortedSet) {
+                collection = new TreeSet<>((Comparator<Object>) comparator);
+            } else if (source instanceof Set) {
+                collection = new LinkedHashSet<>(ParameterUtils.calcMapCapacity(source.size()));
+            } else if (source instanceof Queue) {
+                collection = new LinkedList<>();
+            } else {
+                collection = new ArrayList<>(source.size());
+            }
+        }
+        copies.put(source, collection);
+        for (Object elem : source) {
+            collection.add(copyValue(elem));
+        }
+        return collection;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Map<Object, Object> copyMap(Map<?, ?> source, CopyPlan plan) {
+        if (source instanceof EnumMap) {
+            //key是枚举，先复制EnumMap再逐个拷贝value
+            Map<Object, Object> enumMap = new EnumMap((EnumMap) source);
+            copies.put(source, enumMap);
+            for (Map.Entry<Object, Object> entry : enumMap.entrySet()) {
+                entry.setValue(copyValue(entry.getValue()));
+            }
+            return enumMap;
+        }
+        Comparator<?> comparator = source instanceof SortedMap ? ((SortedMap<?, ?>) source).comparator() : null;
+        Map<Object, Object> map = (Map<Object, Object>) plan.newContainer(comparator);
+        if (map == null) {
+            if (source instanceof SortedMap) {
+                map = new TreeMap<>((Comparator<Object>) comparator);
+            } else {
+                map = new LinkedHashMap<>(ParameterUtils.calcMapCapacity(source.size()));
+            }
+        }
+        copies.put(source, map);
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            map.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyMutableJdk(Object source) {
+        Object copied;
+        if (source instanceof AtomicReference) {
+            //先记录再拷贝引用的对象，支持循环引用
+            AtomicReference<Object> reference = new AtomicReference<>();
+            copies.put(source, reference);
+            reference.set(copyValue(((AtomicReference<?>) source).get()));
+            return reference;
+        } else if (source instanceof AtomicReferenceArray) {
+            AtomicReferenceArray<?> sourceArray = (AtomicReferenceArray<?>) source;
+            AtomicReferenceArray<Object> array = new AtomicReferenceArray<>(sourceArray.length());
+            copies.put(source, array);
+            for (int i = 0; i < sourceArray.length(); i++) {
+                array.set(i, copyValue(sourceArray.get(i)));
+            }
+            return array;
+        } else if (source instanceof AbstractMap.SimpleEntry) {
+            Map.Entry<?, ?> sourceEntry = (Map.Entry<?, ?>) source;
+            Map.Entry<Object, Object> entry = new AbstractMap.SimpleEntry<>(copyValue(sourceEntry.getKey()), null);
+            copies.put(source, entry);
+            entry.setValue(copyValue(sourceEntry.getValue()));
+            return entry;
+        } else if (source instanceof Map.Entry) {
+            Map.Entry<?, ?> sourceEntry = (Map.Entry<?, ?>) source;
+            copied = new AbstractMap.SimpleImmutableEntry<>(copyValue(sourceEntry.getKey()),
+                    copyValue(sourceEntry.getValue()));
+        } else if (source instanceof Optional) {
+            copied = Optional.ofNullable(copyValue(((Optional<Object>) source).orElse(null)));
+        } else if (source instanceof AtomicInteger) {
+            copied = new AtomicInteger(((AtomicInteger) source).get());
+        } else if (source instanceof AtomicLong) {
+            copied = new AtomicLong(((AtomicLong) source).get());
+        } else if (source instanceof AtomicBoolean) {
+            copied = new AtomicBoolean(((AtomicBoolean) source).get());
+        } else if (source instanceof AtomicIntegerArray) {
+            AtomicIntegerArray sourceArray = (AtomicIntegerArray) source;
+            int[] values = new int[sourceArray.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = sourceArray.get(i);
+            }
+            copied = new AtomicIntegerArray(values);
+        } else if (source instanceof AtomicLongArray) {
+            AtomicLongArray sourceArray = (AtomicLongArray) source;
+            long[] values = new long[sourceArray.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = sourceArray.get(i);
+            }
+            copied = new AtomicLongArray(values);
+        } else if (source instanceof LongAdder) {
+            LongAdder adder = new LongAdder();
+            adder.add(((LongAdder) source).sum());
+            copied = adder;
+        } else if (source instanceof DoubleAdder) {
+            DoubleAdder adder = new DoubleAdder();
+            adder.add(((DoubleAdder) source).sum());
+            copied = adder;
+        } else if (source instanceof StringBuilder) {
+            copied = new StringBuilder((StringBuilder) source);
+        } else {
+            copied = new StringBuffer((StringBuffer) source);
+        }
+        copies.put(source, copied);
+        return copied;
+    }
+
+    private Object copyPojo(Object source, CopyPlan plan) {
+        Object pojo = plan.constructorAccessor.newInstance();
+        copies.put(source, pojo);
+        PropertyHandle[] handles = plan.handles;
+        for (int i = 0; i < handles.length; i++) {
+            PropertyHandle handle = handles[i];
+            handle.set(pojo, copyValue(handle.get(source)));
+        }
+        return pojo;
+    }
+
+    /**
+     * 一个Class的拷贝方式.
+     */
+    private static final class CopyPlan {
+
+        /*** 对象的Class. */
+        private final Class<?> type;
+        /*** 拷贝方式. */
+        private final int kind;
+        /*** Collection/Map的public无参构造方法. */
+        private final Constructor<?> noArgsConstructor;
+        /*** Collection/Map的public(Comparator)构造方法. */
+        private final Constructor<?> comparatorConstructor;
+        /*** JDK类型的public clone()方法. */
+        private final Method cloneMethod;
+        /*** POJO的构造方法访问器. */
+        private final ConstructorAccessor constructorAccessor;
+        /*** POJO可读可写的属性句柄. */
+        private final PropertyHandle[] handles;
+
+        private CopyPlan(Class<?> type, int kind, Constructor<?> noArgsConstructor,
+                         Constructor<?> comparatorConstructor, Method cloneMethod,
+                         ConstructorAccessor constructorAccessor, PropertyHandle[] handles) {
+            this.type = type;
+            this.kind = kind;
+            this.noArgsConstructor = noArgsConstructor;
+            this.comparatorConstructor = comparatorConstructor;
+            this.cloneMethod = cloneMethod;
+            this.constructorAccessor = constructorAccessor;
+            this.handles = handles;
+        }
+
+        private static CopyPlan of(Class<?> type) {
+            if (type.isArray()) {
+                int kind = type.getComponentType().isPrimitive() ? PRIMITIVE_ARRAY : OBJECT_ARRAY;
+                return new CopyPlan(type, kind, null, null, null, null, null);
+            }
+            if (Enum.class.isAssignableFrom(type) || type.isSynthetic() || type.getName().contains("$$Lambda")) {
+                return new CopyPlan(type, SHARED, null, null, null, null, null);
+            }
+            if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                int kind = Collection.class.isAssignableFrom(type) ? COLLECTION : MAP;
+                return new CopyPlan(type, kind, getPublicConstructor(type),
+                        getPublicConstructor(type, Comparator.class), null, null, null);
+            }
+            if (isJdkType(type)) {
+                if (isImmutableJdkType(type)) {
+                    return new CopyPlan(type, SHARED, null, null, null, null, null);
+                }
+                if (MUTABLE_JDK_TYPES.contains(type) || Map.Entry.class.isAssignableFrom(type)) {
+                    return new CopyPlan(type, MUTABLE_JDK, null, null, null, null, null);
+                }
+                Method cloneMethod = getPublicCloneMethod(type);
+                if (cloneMethod != null) {
+                    return new CopyPlan(type, CLONE, null, null, cloneMethod, null, null);
+                }
+                throw new IllegalArgumentException(String.format("(%s)不是已知的JDK不可变类型，无法深拷贝", type.getName()));
+            }
+            ConstructorAccessor constructorAccessor = Reflector.getConstructorAccessor(type);
+            if (constructorAccessor.getNoArgsIndex() == ConstructorAccessor.NO_INDEX) {
+                throw new IllegalArgumentException(String.format("(%s)没有可用的无参构造方法，无法深拷贝", type.getName()));
+            }
+            List<PropertyHandle> handleList = new ArrayList<>();
+            for (PropertyHandle handle : Reflector.getMethodAccessor(type).getPropertyHandles()) {
+                if (handle.isReadable() && handle.isWritable()) {
+                    handleList.add(handle);
+                }
+            }
+            return new CopyPlan(type, POJO, null, null, null, constructorAccessor,
+                    handleList.toArray(new PropertyHandle[0]));
+        }
+
+        private static boolean isJdkType(Class<?> type) {
+            String name = type.getName();
+            return type.getClassLoader() == null || name.startsWith("java.") || name.startsWith("javax.");
+        }
+
+        private static boolean isImmutableJdkType(Class<?> type) {
+            if (IMMUTABLE_JDK_TYPES.contains(type) || ClassUtils.isPrimitiveWrapper(type)
+                    || type.getName().startsWith("java.time.")) {
+                return true;
+            }
+            for (Class<?> superType : IMMUTABLE_JDK_SUPER_TYPES) {
+                if (superType.isAssignableFrom(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 获取JDK类型的public clone()方法.
+         * 实现类可能在没有开放的包中(如TimeZone的实现类sun.util.calendar.ZoneInfo)，
+         * 从最近的java/javax包下的public父类获取，调用时仍会执行实现类的clone()
+         *
+         * @param type JDK类型
+         * @return 没有public的clone()方法时返回null
+         */
+        private static Method getPublicCloneMethod(Class<?> type) {
+            if (!Cloneable.class.isAssignableFrom(type)) {
+                return null;
+            }
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                String name = current.getName();
+                if (Modifier.isPublic(current.getModifiers()) && (name.startsWith("java.") || name.startsWith("javax."))) {
+                    try {
+                        return current.getMethod("clone");
+                    } catch (NoSuchMethodException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static Constructor<?> getPublicConstructor(Class<?> type, Class<?>... parameterTypes) {
+            if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            try {
+                return type.getConstructor(parameterTypes);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        /**
+         * 实例化同类型的空Collection/Map.
+         *
+         * @param comparator 源对象的Comparator
+         * @return 没有可用的构造方法时返回null
+         */
+        private Object newContainer(Comparator<?> comparator) {
+            Constructor<?> constructor = comparator == null ? noArgsConstructor : comparatorConstructor;
+            if (constructor == null) {
+                return null;
+            }
+            try {
+                return comparator == null ? constructor.newInstance() : constructor.newInstance(comparator);
+            } catch (InvocationTargetException e) {
+                throw new IllegalArgumentException(String.format("实例化(%s)失败，无法深拷贝", type.getName()),
+                        e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException(String.format("实例化(%s)失败，无法深拷贝", type.getName()), e);
+            }
+        }
+
+        private Object invokeClone(Object source) {
+            try {
+                return cloneMethod.invoke(source);
+            } catch (InvocationTargetException e) {
+                throw new IllegalArgumentException(String.format("(%s)调用clone()失败，无法深拷贝", type.getName()),
+                        e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException(String.format("(%s)调用clone()失败，无法深拷贝", type.getName()), e);
+            }
+        }
+    }
+}
@@ -48,11 +48,16 @@ public class JsonUtils {
      */
     private static final BeanSerializerModifier IGNORE_SPECIALLY_BEAN_SERIALIZER_MODIFIER;
 
+    /**
+     * 本类静态生成并配置的ObjectMapper，被Spring注入的objectMapper替换后仍保留.
+     */
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
     /**
      * jackson序列化与反序列化json的重量级对象.
      */
     //private static ObjectMapper OBJECT_MAPPER = new MsgObjectMapper();
-    private static ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static ObjectMapper OBJECT_MAPPER = DEFAULT_OBJECT_MAPPER;
 
     static {
 
@@ -155,6 +160,16 @@ public class JsonUtils {
         return OBJECT_MAPPER;
     }
 
+    /**
+     * 当前使用的是否仍是本类静态生成的ObjectMapper(没有被Spring注入的objectMapper替换).
+     *
+     * @return boolean
+     * @see com.acyumi.cast.ConverterRegistry
+     */
+    public static boolean isDefaultObjectMapper() {
+        return OBJECT_MAPPER == DEFAULT_OBJECT_MAPPER;
+    }
+
     /**
      * 序列化对象成Json字符串.
      *
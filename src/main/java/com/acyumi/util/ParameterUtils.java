@@ -1,7 +1,9 @@
 package com.acyumi.util;
 
+import com.acyumi.cast.Castor;
 import com.acyumi.reflect.Reflector;
 import com.acyumi.reflect.reflectasm.MethodAccessor;
+import com.acyumi.reflect.reflectasm.PropertyHandle;
 
 import javax.servlet.ServletRequest;
 import java.lang.reflect.Array;
@@ -188,7 +190,7 @@ public abstract class ParameterUtils {
             return ((Map<?, ?>) obj).isEmpty();
         } else if (obj instanceof CharSequence) {
             return isEmpty((CharSequence) obj);
-        } else if (obj instanceof Object[]) {
+        } else if (obj.getClass().isArray()) {
             return Array.getLength(obj) == 0;
         } else if (obj instanceof Iterable) {
             //非Collection的Iterable放最后
@@ -430,6 +432,12 @@ public abstract class ParameterUtils {
             for (int i = 0; i < objArr.length; i++) {
                 consumer.accept((E) objArr[i], i);
             }
+        } else if (obj != null && obj.getClass().isArray()) {
+            //基本数据类型数组，逐个装箱
+            iteratePrimitiveArray(obj, (e, i) -> {
+                consumer.accept((E) e, i);
+                return false;
+            });
         } else if (obj instanceof Map) {
             int i = 0;
             for (Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
@@ -485,6 +493,9 @@ public abstract class ParameterUtils {
                     break;
                 }
             }
+        } else if (obj != null && obj.getClass().isArray()) {
+            //基本数据类型数组，逐个装箱
+            iteratePrimitiveArray(obj, (e, i) -> function.apply((E) e, i));
         } else if (obj instanceof Map) {
             int i = 0;
             for (Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
@@ -499,6 +510,163 @@ public abstract class ParameterUtils {
         }
     }
 
+    /**
+     * 遍历int元素，不装箱. <br>
+     * int[]、short[]、byte[]、char[]直接遍历， <br>
+     * 其他数组、集合或单个对象则按{@link #iterateObj(Object, BiConsumer)}遍历并用{@link Castor}把元素转成int(null转成0)
+     *
+     * @param obj      数组或集合或普通对象
+     * @param consumer 函数式接口，接收元素和当前遍历到的元素位置
+     */
+    public static void iterateInts(Object obj, IntElementConsumer consumer) {
+        if (obj == null || consumer == null) {
+            return;
+        }
+        if (obj instanceof int[]) {
+            int[] arr = (int[]) obj;
+            for (int i = 0; i < arr.length; i++) {
+                consumer.accept(arr[i], i);
+            }
+        } else if (obj instanceof short[]) {
+            short[] arr = (short[]) obj;
+            for (int i = 0; i < arr.length; i++) {
+                consumer.accept(arr[i], i);
+            }
+        } else if (obj instanceof byte[]) {
+            byte[] arr = (byte[]) obj;
+            for (int i = 0; i < arr.length; i++) {
+                consumer.accept(arr[i], i);
+            }
+        } else if (obj instanceof char[]) {
+            char[] arr = (char[]) obj;
+            for (int i = 0; i < arr.length; i++) {
+                consumer.accept(arr[i], i);
+            }
+        } else {
+            iterateObj(obj, (BiConsumer<Object, Integer>) (e, i) ->
+                    consumer.accept(e instanceof Integer ? (Integer) e : Castor.castSrc2JdkClass(e, int.class), i));
+        }
+    }
+
+    /**
+     * 遍历long元素，不装箱. <br>
+     * long[]、int[]、short[]、byte[]、char[]直接遍历， <br>
+     * 其他数组、集合或单个对象则按{@link #iterateObj(Object, BiConsumer)}遍历并用{@link Castor}把元素转成long(null转成0)
+     *
+     * @param obj      数组或集合或普通对象
+     * @param consumer 函数式接口，接收元素和当前遍历到的元素位置
+     */
+    public static void iterateLongs(Object obj, LongElementConsumer consumer) {
+        if (obj == null || consumer == null) {
+            return;
+        }
+        if (obj instanceof long[]) {
+            long[] arr = (long[]) obj;
+            for (int i = 0; i < arr.length; i++) {
+                consumer.accept(arr[i], i);
+            }
+        } else if (obj instanceof int[] || obj instanceof short[] || obj instanceof byte[] || obj instanceof char[]) {
+            iterateInts(obj, consumer::accept);
+        } else {
+            iterateObj(obj, (BiConsumer<Object, Integer>) (e, i) ->
+                    consumer.accept(e instanceof Long ? (Long) e : Castor.castSrc2JdkClass(e, long.class), i));
+        }
+    }
+
+    /**
+     * 遍历double元素，不装箱. <br>
+     * double[]、float[]及整数数组直接遍历(long转double可能丢失精度)， <br>
+     * 其他数组、集合或单个对象则按{@link #iterateObj(Object, BiConsumer)}遍历并用{@link Castor}把元素转成double(null转成0)
+     *
+     * @param obj      数组或集合或普通对象
+     * @param consumer 函数式接口，接收元素和当前遍历到的元素位置
+     */
+    public static void iterateDoubles(Object obj, DoubleElementConsumer consumer) {
+        if (obj == null || consumer == null) {
+            return;
+        }
+        if (obj instanceof double[]) {
+            double[] arr = (double[]) obj;
+            for (int i = 0; i < arr.length; i++) {
+                consumer.accept(arr[i], i);
+            }
+        } else if (obj instanceof float[]) {
+            float[] arr = (float[]) obj;
+            for (int i = 0; i < arr.length; i++) {
+                consumer.accept(arr[i], i);
+            }
+        } else if (obj instanceof long[] || obj instanceof int[] || obj instanceof short[]
+                || obj instanceof byte[] || obj instanceof char[]) {
+            iterateLongs(obj, consumer::accept);
+        } else {
+            iterateObj(obj, (BiConsumer<Object, Integer>) (e, i) ->
+                    consumer.accept(e instanceof Double ? (Double) e : Castor.castSrc2JdkClass(e, double.class), i));
+        }
+    }
+
+    /**
+     * 逐个装箱遍历基本数据类型数组，function返回true时跳出循环.
+     */
+    private static void iteratePrimitiveArray(Object array, BiFunction<Object, Integer, Boolean> function) {
+        if (array instanceof int[]) {
+            int[] arr = (int[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        } else if (array instanceof long[]) {
+            long[] arr = (long[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        } else if (array instanceof double[]) {
+            double[] arr = (double[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        } else if (array instanceof float[]) {
+            float[] arr = (float[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        } else if (array instanceof short[]) {
+            short[] arr = (short[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        } else if (array instanceof byte[]) {
+            byte[] arr = (byte[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        } else if (array instanceof char[]) {
+            char[] arr = (char[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        } else if (array instanceof boolean[]) {
+            boolean[] arr = (boolean[]) array;
+            for (int i = 0; i < arr.length; i++) {
+                if (function.apply(arr[i], i)) {
+                    return;
+                }
+            }
+        }
+    }
+
     /**
      * 将可迭代的对象转成Stream，不会返回null
      *
@@ -569,6 +737,8 @@ public abstract class ParameterUtils {
             size = ((Collection<?>) obj).size();
         } else if (obj instanceof Object[]) {
             size = ((Object[]) obj).length;
+        } else if (obj != null && obj.getClass().isArray()) {
+            size = Array.getLength(obj);
         } else if (obj instanceof Map) {
             size = ((Map<?, ?>) obj).size();
         } else if (obj instanceof Iterable) {
@@ -657,14 +827,13 @@ public abstract class ParameterUtils {
                     return true;
                 }
             } else if (!(o instanceof Iterable) && !(o instanceof Object[])) {
-                MethodAccessor methodAccessor = Reflector.getMethodAccessor(clazz);
-                String[] fieldNames = methodAccessor.getFieldNames();
-                for (int i = 0; i < fieldNames.length; i++) {
-                    String fieldName = fieldNames[i];
-                    if (ignoreSet.contains(fieldName)) {
+                PropertyHandle[] handles = Reflector.getMethodAccessor(clazz).getPropertyHandles();
+                for (int i = 0; i < handles.length; i++) {
+                    PropertyHandle handle = handles[i];
+                    if (ignoreSet.contains(handle.getName())) {
                         continue;
                     }
-                    value = methodAccessor.getFieldValue(o, fieldName);
+                    value = handle.get(o);
                     if (!isEmpty(value)) {
                         allEmpty[0] = false;
                         return true;
@@ -1240,4 +1409,31 @@ public abstract class ParameterUtils {
             throw new IllegalArgumentException("参数“" + keyOrFieldName + "”的值不能为null/空");
         }
     }
+
+    /**
+     * 接收int元素及其位置的函数式接口.
+     */
+    @FunctionalInterface
+    public interface IntElementConsumer {
+
+        void accept(int element, int index);
+    }
+
+    /**
+     * 接收long元素及其位置的函数式接口.
+     */
+    @FunctionalInterface
+    public interface LongElementConsumer {
+
+        void accept(long element, int index);
+    }
+
+    /**
+     * 接收double元素及其位置的函数式接口.
+     */
+    @FunctionalInterface
+    public interface DoubleElementConsumer {
+
+        void accept(double element, int index);
+    }
 }
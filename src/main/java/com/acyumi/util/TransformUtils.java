@@ -2,18 +2,27 @@ package com.acyumi.util;
 
 import com.acyumi.cast.Castor;
 import com.acyumi.helper.TransMap;
+import com.acyumi.reflect.PojoDiff;
+import com.acyumi.reflect.Projection;
 import com.acyumi.reflect.Reflector;
+import com.acyumi.reflect.reflectasm.BeanCopier;
 import com.acyumi.reflect.reflectasm.MethodAccessor;
+import com.acyumi.reflect.reflectasm.PropertyHandle;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * 标准POJO对象/Map&lt;String,Object&gt;之间的转化工具类. <br>
@@ -40,6 +49,9 @@ import java.util.function.Supplier;
  */
 public abstract class TransformUtils {
 
+    /*** 并行转化List集合时每一段的最少元素个数，元素个数不超过此值时不并行. */
+    private static final int PARALLEL_MIN_CHUNK_SIZE = 1024;
+
     /**
      * 将源对象的成员变量值转递给目标对象<br>
      * 目标对象必须包含源对象中的所有成员变量/键<br>
@@ -174,7 +186,7 @@ public abstract class TransformUtils {
             return transformMapToBinaryMap((Map<?, ?>) source, stringSerializer, objectSerializer, keysOrFieldNames);
         }
         //如果source不是map，则将其当成pojo处理，提示异常请自检
-        return transformPojoToBinaryMap(source, stringSerializer, objectSerializer, (String[]) keysOrFieldNames);
+        return transformPojoToBinaryMap(source, stringSerializer, objectSerializer, toFieldNames(keysOrFieldNames));
     }
 
     /**
@@ -188,26 +200,199 @@ public abstract class TransformUtils {
      */
     @SuppressWarnings("unchecked")
     public static <E> List<E> transformList(List<?> sourceList, Class<E> listElemClass, boolean onlyNotNull) {
-        List<E> targetList = new ArrayList<>();
         if (ParameterUtils.isEmpty(sourceList)) {
-            return targetList;
-        }
-        if (Map.class.isAssignableFrom(listElemClass)) {
-            ParameterUtils.iterateObj(sourceList, (source, index) -> {
-                Map<String, Object> targetMap = initTargetMap(listElemClass, String.class, Object.class);
-                targetList.add((E) transformToMapSpecify(source, targetMap,
-                        String.class, Object.class, onlyNotNull, (Object[]) null));
-            });
-        } else {
-            ParameterUtils.iterateObj(sourceList, (source, index) -> {
-                E target = Reflector.newTarget(listElemClass);
-                transformSpecify(source, target, onlyNotNull, (String[]) null);
-                targetList.add(target);
-            });
+            return new ArrayList<>();
         }
+        List<E> targetList = new ArrayList<>(sourceList.size());
+        ElemTransformer elemTransformer = new ElemTransformer(listElemClass, onlyNotNull);
+        ParameterUtils.iterateObj(sourceList, (source, index) -> {
+            targetList.add((E) elemTransformer.transform(source));
+        });
         return targetList;
     }
 
+    /**
+     * list集合之间的并行传递，在{@link ForkJoinPool#commonPool()}中执行
+     *
+     * @param sourceList    源List集合(元素类型(POJO或Map))
+     * @param listElemClass 目标List集合中的元素Class
+     * @param <E>           目标List集合中的元素类型(POJO或Map或TransMap)
+     * @param onlyNotNull   是否只传递非空的值
+     * @return List&lt;T&gt; 目标List集合，元素顺序与源List集合一致
+     * @see #transformListParallel(List, Class, boolean, ForkJoinPool)
+     */
+    public static <E> List<E> transformListParallel(List<?> sourceList, Class<E> listElemClass, boolean onlyNotNull) {
+        return transformListParallel(sourceList, listElemClass, onlyNotNull, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * list集合之间的并行传递.
+     * <p>
+     * 源List集合实现了{@link RandomAccess}(如ArrayList)且元素较多时，按下标拆分成多段在pool中并行转化，
+     * 结果按下标写回，元素顺序与源List集合一致；
+     * 每一段对同一个源元素Class只查找一次复制器，不再每个元素都查一次缓存；
+     * 源List集合不是RandomAccess(如LinkedList)、元素较少或pool只有一个线程时按{@link #transformList(List, Class, boolean)}顺序转化
+     * </p>
+     * 转化失败时抛出的是其中一个元素的异常，其它段可能已经转化完成
+     *
+     * @param sourceList    源List集合(元素类型(POJO或Map))
+     * @param listElemClass 目标List集合中的元素Class
+     * @param <E>           目标List集合中的元素类型(POJO或Map或TransMap)
+     * @param onlyNotNull   是否只传递非空的值
+     * @param pool          执行转化的ForkJoinPool
+     * @return List&lt;T&gt; 目标List集合，元素顺序与源List集合一致
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> List<E> transformListParallel(List<?> sourceList, Class<E> listElemClass,
+                                                    boolean onlyNotNull, ForkJoinPool pool) {
+        Assert.notNull(pool, "pool不能为null");
+        if (!(sourceList instanceof RandomAccess) || sourceList.size() <= PARALLEL_MIN_CHUNK_SIZE
+                || pool.getParallelism() <= 1) {
+            return transformList(sourceList, listElemClass, onlyNotNull);
+        }
+        int size = sourceList.size();
+        //每个线程大约分到4段，方便空闲线程窃取
+        int chunkSize = Math.max(PARALLEL_MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+        Object[] targets = new Object[size];
+        pool.invoke(new TransformListTask(sourceList, targets, 0, size, chunkSize, listElemClass, onlyNotNull));
+        return (List<E>) new ArrayList<>(Arrays.asList(targets));
+    }
+
+    /**
+     * 惰性转化Stream中的元素，传递所有的值(包括空值)
+     *
+     * @param sourceStream 源Stream(元素类型(POJO或Map))
+     * @param elemClass    目标元素Class
+     * @param <E>          目标元素类型(POJO或Map或TransMap)
+     * @return Stream&lt;E&gt; 目标Stream
+     */
+    public static <E> Stream<E> transformStream(Stream<?> sourceStream, Class<E> elemClass) {
+        return transformStream(sourceStream, elemClass, false);
+    }
+
+    /**
+     * 惰性转化Stream中的元素.
+     * <p>
+     * 只是在源Stream上加了一个map操作，终端操作取到哪个元素才转化哪个元素，不会先把所有元素收集到List中，
+     * 适合逐行写到文件或网络的大结果集(如JDBC游标、Redis SCAN)；
+     * 同一个源元素Class只查找一次复制器，源Stream是并行的也可以使用；
+     * 关闭返回的Stream会关闭源Stream
+     * </p>
+     *
+     * @param sourceStream 源Stream(元素类型(POJO或Map))
+     * @param elemClass    目标元素Class
+     * @param onlyNotNull  是否只传递非空的值
+     * @param <E>          目标元素类型(POJO或Map或TransMap)
+     * @return Stream&lt;E&gt; 目标Stream
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Stream<E> transformStream(Stream<?> sourceStream, Class<E> elemClass, boolean onlyNotNull) {
+        Assert.notNull(sourceStream, "sourceStream不能为null");
+        ElemTransformer elemTransformer = new ElemTransformer(elemClass, onlyNotNull);
+        return sourceStream.map(source -> (E) elemTransformer.transform(source));
+    }
+
+    /**
+     * 惰性转化Iterator中的元素，传递所有的值(包括空值)
+     *
+     * @param sourceIterator 源Iterator(元素类型(POJO或Map))
+     * @param elemClass      目标元素Class
+     * @param <E>            目标元素类型(POJO或Map或TransMap)
+     * @return Iterator&lt;E&gt; 目标Iterator
+     */
+    public static <E> Iterator<E> transformIterator(Iterator<?> sourceIterator, Class<E> elemClass) {
+        return transformIterator(sourceIterator, elemClass, false);
+    }
+
+    /**
+     * 惰性转化Iterator中的元素.
+     * <p>
+     * 每次调用next()时才从源Iterator取出一个元素并转化，remove()委托给源Iterator；
+     * 同一个源元素Class只查找一次复制器
+     * </p>
+     *
+     * @param sourceIterator 源Iterator(元素类型(POJO或Map))
+     * @param elemClass      目标元素Class
+     * @param onlyNotNull    是否只传递非空的值
+     * @param <E>            目标元素类型(POJO或Map或TransMap)
+     * @return Iterator&lt;E&gt; 目标Iterator
+     */
+    public static <E> Iterator<E> transformIterator(Iterator<?> sourceIterator, Class<E> elemClass,
+                                                    boolean onlyNotNull) {
+        Assert.notNull(sourceIterator, "sourceIterator不能为null");
+        ElemTransformer elemTransformer = new ElemTransformer(elemClass, onlyNotNull);
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return sourceIterator.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                return (E) elemTransformer.transform(sourceIterator.next());
+            }
+
+            @Override
+            public void remove() {
+                sourceIterator.remove();
+            }
+        };
+    }
+
+    /**
+     * 深拷贝对象.
+     * <p>
+     * 递归拷贝POJO、Collection、Map和数组，不经过Json序列化，拷贝结果保持原来的类型；
+     * String、包装类型、java.time等白名单中的JDK不可变类型和枚举直接共享引用，
+     * Atomic*、StringBuilder、Optional、Map.Entry等已知的JDK可变类型逐个拷贝，
+     * 其它JDK类型有public的clone()方法时调用clone()，否则抛出IllegalArgumentException；
+     * 同一个对象被多次引用(包括循环引用)时只拷贝一次。
+     * POJO只拷贝有getter和setter(或可直接访问的成员变量)的属性，并且需要有可用的无参构造方法
+     * </p>
+     *
+     * @param source 源对象
+     * @param <T>    对象类型
+     * @return T 拷贝出来的对象，source为null时返回null
+     * @see DeepCopier
+     */
+    public static <T> T deepCopy(T source) {
+        return DeepCopier.copy(source);
+    }
+
+    /**
+     * 比较同一个Class的新旧两个POJO对象，得到有变化的属性.
+     * <p>
+     * 只比较可读可写的属性，基本类型属性不装箱直接比较，数组按元素比较，BigDecimal按数值比较，其它类型按equals比较
+     * </p>
+     *
+     * @param oldPojo 旧对象，非null!!
+     * @param newPojo 新对象，非null!!
+     * @return PojoDiff 有变化的属性的下标、旧值和新值
+     * @see PojoDiff
+     */
+    public static PojoDiff diff(Object oldPojo, Object newPojo) {
+        return PojoDiff.compute(oldPojo, newPojo);
+    }
+
+    /**
+     * 将{@link #diff(Object, Object)}得到的有变化的属性的新值赋给target.
+     * <p>
+     * target与比较的对象是同一个Class时按下标直接赋值，
+     * 否则按属性名赋值(类型不匹配时尝试进行转换，target中没有的属性会被跳过)
+     * </p>
+     *
+     * @param target 目标对象
+     * @param diff   属性差异
+     * @param <T>    目标对象的类型 (POJO)
+     * @return T target
+     */
+    public static <T> T patch(T target, PojoDiff diff) {
+        Assert.notNull(diff, "diff不能为null");
+        diff.applyTo(target);
+        return target;
+    }
+
     //----------------------------------------------------------------------------------------------------
     //*******************************************公私分隔线***********************************************/
     //----------------------------------------------------------------------------------------------------
@@ -249,25 +434,14 @@ public abstract class TransformUtils {
         Assert.isTrue(!(source instanceof Map), "holy sh...请不要传入Map类型的source");
         Assert.isTrue(!(source instanceof Iterable), "source属于Iterable,类型不匹配,请传入POJO");
         Assert.isTrue(!(source instanceof Object[]), "source属于Object[],类型不匹配,请传入POJO");
-        MethodAccessor sourceAccessor = Reflector.getMethodAccessor(source.getClass());
-        if (fieldNames == null || fieldNames.length == 0) {
-            fieldNames = sourceAccessor.getFieldNames();
-        }
-        for (int i = 0; i < fieldNames.length; i++) {
-            String fieldName = fieldNames[i];
-            if (ParameterUtils.isEmpty(fieldName)) {
-                continue;
-            }
-            Object value = sourceAccessor.getFieldValue(source, fieldName);
+        //按(源Class, fieldNames)缓存预解析好的属性句柄和转换后的key
+        Projection projection = Reflector.getProjection(source.getClass(), fieldNames);
+        for (int i = 0; i < projection.size(); i++) {
+            Object value = projection.get(source, i);
             if (onlyNotNull && value == null) {
                 continue;
             }
-            K key;
-            if (Reflector.isInstance(keyClass, fieldName)) {
-                key = (K) fieldName;
-            } else {
-                key = (K) Castor.castClass2Class(fieldName, String.class, keyClass);
-            }
+            K key = (K) projection.getKey(i, keyClass);
             if (value == null || Reflector.isInstance(valueClass, value)) {
                 targetMap.put(key, (V) value);
             } else {
@@ -285,25 +459,8 @@ public abstract class TransformUtils {
         Assert.isTrue(!(pojo instanceof Map), "target属于Map,类型不匹配,请传入POJO");
         Assert.isTrue(!(pojo instanceof Iterable), "target属于Iterable,类型不匹配,请传入POJO");
         Assert.isTrue(!(pojo instanceof Object[]), "target属于Object[],类型不匹配,请传入POJO");
-        Class<?> sourceClass = source.getClass();
-        Class<?> pojoClass = pojo.getClass();
-        MethodAccessor sourceAccessor = Reflector.getMethodAccessor(sourceClass);
-        MethodAccessor targetAccessor = sourceClass == pojoClass ?
-                sourceAccessor : Reflector.getMethodAccessor(pojoClass);
-        if (fieldNames == null || fieldNames.length == 0) {
-            fieldNames = sourceAccessor.getFieldNames();
-        }
-        for (int i = 0; i < fieldNames.length; i++) {
-            String fieldName = fieldNames[i];
-            if (ParameterUtils.isEmpty(fieldName)) {
-                continue;
-            }
-            Object value = sourceAccessor.getFieldValue(source, fieldName);
-            if (onlyNotNull && value == null) {
-                continue;
-            }
-            transValToTargetPojo(value, pojo, fieldName, sourceAccessor, targetAccessor);
-        }
+        //按(源Class, 目标Class, onlyNotNull, fieldNames)缓存asm生成的复制器，类型匹配的属性直接getter/setter复制
+        Reflector.getBeanCopier(source.getClass(), pojo.getClass(), onlyNotNull, fieldNames).copy(source, pojo);
     }
 
     private static void transformMapToPojo(Map<?, ?> map, Object pojo, boolean onlyNotNull, String... keys) {
@@ -325,19 +482,18 @@ public abstract class TransformUtils {
                     continue;
                 }
                 String strKey = key.toString();
-                transValToTargetPojo(value, pojo, strKey, null, targetAccessor);
+                transValToTargetPojo(value, pojo, strKey, null, targetAccessor.getPropertyHandle(strKey));
             }
         } else {
-            for (int i = 0; i < keys.length; i++) {
-                String key = keys[i];
-                if (ParameterUtils.isEmpty(key)) {
-                    continue;
-                }
+            //指定了key时按(目标Class, keys)缓存预解析好的目标属性句柄
+            Projection projection = Reflector.getProjection(pojo.getClass(), keys);
+            for (int i = 0; i < projection.size(); i++) {
+                String key = projection.getName(i);
                 Object value = map.get(key);
                 if (onlyNotNull && value == null) {
                     continue;
                 }
-                transValToTargetPojo(value, pojo, key, null, targetAccessor);
+                transValToTargetPojo(value, pojo, key, null, projection.getHandle(i));
             }
         }
         /*//另一种写法
@@ -427,18 +583,11 @@ public abstract class TransformUtils {
         Assert.isTrue(!(source instanceof Map), "holy sh...请不要传入Map类型的source");
         Assert.isTrue(!(source instanceof Iterable), "source属于Iterable,类型不匹配,请传入POJO");
         Assert.isTrue(!(source instanceof Object[]), "source属于Object[],类型不匹配,请传入POJO");
-        MethodAccessor sourceAccessor = Reflector.getMethodAccessor(source.getClass());
-        if (fieldNames == null || fieldNames.length == 0) {
-            fieldNames = sourceAccessor.getFieldNames();
-        }
-        for (int i = 0; i < fieldNames.length; i++) {
-            String fieldName = fieldNames[i];
-            if (ParameterUtils.isEmpty(fieldName)) {
-                continue;
-            }
+        Projection projection = Reflector.getProjection(source.getClass(), fieldNames);
+        for (int i = 0; i < projection.size(); i++) {
             //成员变量名,也就是Map的key
-            Object value = sourceAccessor.getFieldValue(source, fieldName);
-            putToBinaryMap(fieldName, value, binaryMap, stringSerializer, objectSerializer);
+            putToBinaryMap(projection.getName(i), projection.get(source, i), binaryMap,
+                    stringSerializer, objectSerializer);
         }
         return binaryMap;
     }
@@ -490,6 +639,21 @@ public abstract class TransformUtils {
         }
     }
 
+    /**
+     * 将Object...形式的变量名列表转成String[]，直接传入的String[]原样返回
+     */
+    private static String[] toFieldNames(Object[] keysOrFieldNames) {
+        if (keysOrFieldNames == null || keysOrFieldNames instanceof String[]) {
+            return (String[]) keysOrFieldNames;
+        }
+        String[] fieldNames = new String[keysOrFieldNames.length];
+        for (int i = 0; i < keysOrFieldNames.length; i++) {
+            Object keyOrFieldName = keysOrFieldNames[i];
+            fieldNames[i] = keyOrFieldName == null ? null : keyOrFieldName.toString();
+        }
+        return fieldNames;
+    }
+
     @SuppressWarnings("unchecked")
     private static <K, V> Map<K, V> initTargetMap(Class<?> mapClass, Class<K> keyClass, Class<V> valueClass) {
         Map<K, V> targetMap = null;
@@ -516,42 +680,29 @@ public abstract class TransformUtils {
      * @param value          从源对象取得的对应keyOrFieldName的值
      * @param targetPojo     pojo目标对象实例
      * @param keyOrFieldName 键或成员变量
-     * @param targetAccessor pojo目标对象的MethodAccessor
+     * @param sourceHandle   pojo源对象的属性句柄，源对象非pojo时为null
+     * @param targetHandle   pojo目标对象的属性句柄
      * @param <T>            pojo目标对象类型
      */
     private static <T> void transValToTargetPojo(Object value, T targetPojo, String keyOrFieldName,
-                                                 MethodAccessor sourceAccessor,
-                                                 MethodAccessor targetAccessor) {
-        Integer setterIndex = targetAccessor.setterIndex(keyOrFieldName);
-        if (setterIndex == null) {
+                                                 PropertyHandle sourceHandle,
+                                                 PropertyHandle targetHandle) {
+        if (targetHandle == null || !targetHandle.isWritable()) {
             return;//找不到setter方法则跳过
         }
         if (value == null) {
-            targetAccessor.invoke(targetPojo, setterIndex, new Object[]{null});
+            targetHandle.set(targetPojo, null);
             return;
         }
 
         Type getterGenericReturnType = null;
-        if (sourceAccessor != null) {
-            Integer getterIndex = sourceAccessor.getterIndex(keyOrFieldName);
-            if (getterIndex != null) {
-                getterGenericReturnType = sourceAccessor.getGenericReturnType(getterIndex);
-            }
+        if (sourceHandle != null) {
+            getterGenericReturnType = sourceHandle.getGetterGenericReturnType();
         }
         value = trans2SetterParameter(keyOrFieldName, value, getterGenericReturnType,
-                targetAccessor.getGenericParameterType(setterIndex, 0));
+                targetHandle.getSetterGenericParameterType());
 
-        try {
-            targetAccessor.invoke(targetPojo, setterIndex, value);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(
-                    String.format("方法(%s.%s(%s))的入参(%s)不匹配",
-                            value.getClass().getName(),
-                            targetAccessor.getMethodName(setterIndex),
-                            StringUtils.arrayToDelimitedString(targetAccessor.getParameterTypes(setterIndex), ","),
-                            value.getClass().getName()),
-                    e);
-        }
+        targetHandle.set(targetPojo, value);
     }
 
     /**
@@ -571,9 +722,9 @@ public abstract class TransformUtils {
      * @see org.springframework.core.ParameterizedTypeReference
      * <div style='display: none'>@see org.apache.ibatis.type.TypeReference</div>
      */
-    private static Object trans2SetterParameter(String keyOrFieldName, Object value,
-                                                Type getterGenericReturnType,
-                                                Type setterGenericParameterType) {
+    public static Object trans2SetterParameter(String keyOrFieldName, Object value,
+                                               Type getterGenericReturnType,
+                                               Type setterGenericParameterType) {
         if (getterGenericReturnType == null) {
             getterGenericReturnType = value.getClass();
         }
@@ -582,9 +733,120 @@ public abstract class TransformUtils {
         } catch (Exception e) {
             throw new IllegalArgumentException(String.format("(key或变量名:%s | 类型:%s | toString值:%s)无法转化成(%s)",
                     keyOrFieldName, getterGenericReturnType.getTypeName(),
-                    value, setterGenericParameterType.getTypeName()));
+                    value, setterGenericParameterType.getTypeName()), e);
         }
     }
 
-}
 
+    /**
+     * 将源集合的元素转化成目标元素，
+     * 按源元素Class缓存上一次用到的复制器，同一个集合中的元素Class通常都一样.
+     * <p>
+     * 缓存的(源Class, 复制器)放在不可变对象中整体替换，多个线程同时使用时最多是重复查找复制器
+     * </p>
+     */
+    private static final class ElemTransformer {
+
+        /*** 目标元素Class. */
+        private final Class<?> elemClass;
+        /*** 是否只传递非空的值. */
+        private final boolean onlyNotNull;
+        /*** 目标元素是否为Map. */
+        private final boolean toMap;
+        /*** 上一个POJO源元素Class的复制器. */
+        private volatile SourceCopier lastCopier;
+
+        private ElemTransformer(Class<?> elemClass, boolean onlyNotNull) {
+            Assert.notNull(elemClass, "目标元素Class不能为null");
+            this.elemClass = elemClass;
+            this.onlyNotNull = onlyNotNull;
+            this.toMap = Map.class.isAssignableFrom(elemClass);
+        }
+
+        private Object transform(Object source) {
+            if (toMap) {
+                Map<String, Object> targetMap = initTargetMap(elemClass, String.class, Object.class);
+                return transformToMapSpecify(source, targetMap, String.class, Object.class,
+                        onlyNotNull, (Object[]) null);
+            }
+            Object target = Reflector.newTarget(elemClass);
+            if (source == null) {
+                return target;
+            }
+            if (source instanceof Map) {
+                transformMapToPojo((Map<?, ?>) source, target, onlyNotNull, (String[]) null);
+                return target;
+            }
+            Class<?> sourceClass = source.getClass();
+            SourceCopier sourceCopier = lastCopier;
+            if (sourceCopier == null || sourceCopier.sourceClass != sourceClass) {
+                //与transformPojoToPojo的检查一致，同一个Class只检查一次
+                Assert.isTrue(!(source instanceof Iterable), "source属于Iterable,类型不匹配,请传入POJO");
+                Assert.isTrue(!(source instanceof Object[]), "source属于Object[],类型不匹配,请传入POJO");
+                Assert.isTrue(!(target instanceof Map), "target属于Map,类型不匹配,请传入POJO");
+                Assert.isTrue(!(target instanceof Iterable), "target属于Iterable,类型不匹配,请传入POJO");
+                Assert.isTrue(!(target instanceof Object[]), "target属于Object[],类型不匹配,请传入POJO");
+                sourceCopier = new SourceCopier(sourceClass,
+                        Reflector.getBeanCopier(sourceClass, target.getClass(), onlyNotNull, (String[]) null));
+                lastCopier = sourceCopier;
+            }
+            sourceCopier.copier.copy(source, target);
+            return target;
+        }
+    }
+
+    /**
+     * 源Class及其复制器.
+     */
+    private static final class SourceCopier {
+
+        private final Class<?> sourceClass;
+        private final BeanCopier copier;
+
+        private SourceCopier(Class<?> sourceClass, BeanCopier copier) {
+            this.sourceClass = sourceClass;
+            this.copier = copier;
+        }
+    }
+
+    /**
+     * 按下标区间[from, to)并行转化List集合的任务，区间元素个数不超过chunkSize时直接转化.
+     */
+    private static final class TransformListTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -3208150718447260131L;
+
+        private final List<?> sourceList;
+        private final Object[] targets;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final Class<?> elemClass;
+        private final boolean onlyNotNull;
+
+        private TransformListTask(List<?> sourceList, Object[] targets, int from, int to, int chunkSize,
+                                  Class<?> elemClass, boolean onlyNotNull) {
+            this.sourceList = sourceList;
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.elemClass = elemClass;
+            this.onlyNotNull = onlyNotNull;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                ElemTransformer elemTransformer = new ElemTransformer(elemClass, onlyNotNull);
+                for (int i = from; i < to; i++) {
+                    targets[i] = elemTransformer.transform(sourceList.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TransformListTask(sourceList, targets, from, mid, chunkSize, elemClass, onlyNotNull),
+                    new TransformListTask(sourceList, targets, mid, to, chunkSize, elemClass, onlyNotNull));
+        }
+    }
+}
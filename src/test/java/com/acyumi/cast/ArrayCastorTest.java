@@ -0,0 +1,83 @@
+package com.acyumi.cast;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ArrayCastor}及{@link Castor}转换基本数据类型数组的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class ArrayCastorTest {
+
+    @Test
+    public void primitiveArraysAreConvertedWithoutBoxing() {
+        int[] ints = {1, -2, 3};
+        assertSame(ints, ArrayCastor.castArray(ints, int.class));
+        assertArrayEquals(new long[]{1, -2, 3}, (long[]) ArrayCastor.castArray(ints, long.class));
+        assertArrayEquals(new double[]{1, -2, 3}, (double[]) ArrayCastor.castArray(ints, double.class), 0d);
+        assertArrayEquals(new byte[]{1, -2, 3}, (byte[]) ArrayCastor.castArray(new long[]{1, -2, 3}, byte.class));
+        assertArrayEquals(new int[]{2, 3}, (int[]) ArrayCastor.castArray(new double[]{2d, 3d}, int.class));
+        assertArrayEquals(new float[]{0.5f}, (float[]) ArrayCastor.castArray(new double[]{0.5d}, float.class), 0f);
+        assertNull(ArrayCastor.castArray(null, int.class));
+    }
+
+    @Test
+    public void narrowingOverflowOrFractionIsRejected() {
+        assertRejected(new int[]{128}, byte.class);
+        assertRejected(new long[]{Integer.MAX_VALUE + 1L}, int.class);
+        assertRejected(new double[]{1.5d}, long.class);
+        assertRejected("abc", int.class);
+    }
+
+    @Test
+    public void primitiveArraysAreBoxedAndUnboxed() {
+        assertArrayEquals(new Integer[]{1, 2}, ArrayCastor.box(new int[]{1, 2}));
+        assertArrayEquals(new Character[]{'a'}, ArrayCastor.box(new char[]{'a'}));
+        assertArrayEquals(new Boolean[]{true}, ArrayCastor.box(new boolean[]{true}));
+        String[] strings = {"a"};
+        assertSame(strings, ArrayCastor.box(strings));
+
+        assertArrayEquals(new String[]{"1", "2"}, (Object[]) ArrayCastor.castArray(new int[]{1, 2}, String.class));
+        //null元素转成默认值
+        assertArrayEquals(new int[]{1, 0, 3}, (int[]) ArrayCastor.castArray(new Integer[]{1, null, 3}, int.class));
+        assertArrayEquals(new long[]{7, 8}, (long[]) ArrayCastor.castArray(new String[]{"7", " 8 "}, long.class));
+        assertArrayEquals(new double[]{1.5d, 2d},
+                (double[]) ArrayCastor.castItr2Arr(Arrays.asList("1.5", 2), double.class), 0d);
+        Set<Integer> set = new LinkedHashSet<>(Arrays.asList(4, 5));
+        assertArrayEquals(new int[]{4, 5}, (int[]) ArrayCastor.castItr2Arr(set, int.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void castorHandlesPrimitiveArraysOnBothSides() {
+        assertArrayEquals(new long[]{1, 2}, (long[]) Castor.castClass2Class(new int[]{1, 2}, int[].class, long[].class));
+        assertArrayEquals(new Integer[]{1, 2},
+                (Integer[]) Castor.castClass2Class(new int[]{1, 2}, int[].class, Integer[].class));
+        List<Integer> list = (List<Integer>) Castor.castClass2Class(new int[]{1, 2}, int[].class, List.class);
+        assertEquals(Arrays.asList(1, 2), list);
+        assertArrayEquals(new int[]{3, 4},
+                (int[]) Castor.castClass2Class(Arrays.asList(3, 4), List.class, int[].class));
+        assertArrayEquals(new byte[]{1}, (byte[]) Castor.castClass2Class(new Byte[]{1}, Byte[].class, byte[].class));
+    }
+
+    private static void assertRejected(Object srcArr, Class<?> tgtComponentType) {
+        try {
+            ArrayCastor.castArray(srcArr, tgtComponentType);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            //期望的结果
+        }
+    }
+}
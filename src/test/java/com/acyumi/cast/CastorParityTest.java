@@ -0,0 +1,278 @@
+package com.acyumi.cast;
+
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 对比{@link Castor#castType2Type(Object, Type, Type)}编译缓存的转换函数与{@link LegacyCastor}逐个值判断的结果.
+ * <p>
+ * 每个(值, 源类型, 目标类型)组合都分别转换一次，结果或抛出的异常(类型与信息)都应该一致。
+ * 之后有意改变了类型判断分支的场景不在对比范围内：
+ * 基本数据类型数组(之前直接强转Object[]失败)和应用中的枚举(之前当成pojo转换)。
+ * LegacyCastor的叶子转换调用的也是当前的Castor，
+ * 所以有意改变了结果的叶子转换(直接转换函数、数字转换、枚举、基本数据类型数组)另外用固定的期望值校验
+ * </p>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class CastorParityTest {
+
+    @Test
+    public void castType2TypeMatchesLegacyDispatch() throws Exception {
+        List<Type> tgtTypes = new ArrayList<>(Arrays.asList(
+                String.class, Integer.class, int.class, Long.class, long.class, Double.class, BigDecimal.class,
+                Boolean.class, Object.class, Date.class, TimeUnit.class, Item.class,
+                Iterable.class, Collection.class, List.class, Set.class, Queue.class, ArrayList.class,
+                String[].class, Integer[].class, Object[].class, Map.class, HashMap.class));
+        for (Field field : GenericTypes.class.getDeclaredFields()) {
+            if (!field.isSynthetic()) {
+                tgtTypes.add(field.getGenericType());
+            }
+        }
+
+        List<Object[]> sources = new ArrayList<>();
+        for (Object value : sampleValues()) {
+            sources.add(new Object[]{value, value.getClass()});
+        }
+        sources.add(new Object[]{new ArrayList<>(Arrays.asList("1", "2")), type("listOfString")});
+        sources.add(new Object[]{new ArrayList<>(Arrays.asList(1, 2)), type("listOfInteger")});
+        sources.add(new Object[]{new LinkedHashSet<>(Arrays.asList(3L, 4L)), type("setOfLong")});
+        sources.add(new Object[]{stringMap(), type("mapOfStringString")});
+        sources.add(new Object[]{new HashMap<>(Collections.singletonMap("a", 1)), type("mapOfStringInteger")});
+        sources.add(new Object[]{new List[]{Arrays.asList("5", "6")}, type("arrayOfListString")});
+
+        int combinations = 0;
+        for (Object[] source : sources) {
+            for (Type tgtType : tgtTypes) {
+                assertSameOutcome(source[0], (Type) source[1], tgtType);
+                combinations++;
+            }
+        }
+        assertTrue(combinations > 1000);
+    }
+
+    /**
+     * 直接转换函数(ConverterRegistry)：与默认ObjectMapper的Json转换结果一致.
+     */
+    @Test
+    public void directConvertersMatchGoldenValues() {
+        //json数字先按double的字面值处理，与Json转换一致
+        assertCast(new BigDecimal("10.1"), "10.10", BigDecimal.class);
+        assertCast(null, "", BigDecimal.class);
+        assertCast(LocalDate.of(2020, 1, 2), "2020-01-02", LocalDate.class);
+        assertCast(null, "", LocalDate.class);
+        assertCast(LocalDateTime.of(2020, 1, 2, 3, 4, 5), "2020-01-02 03:04:05", LocalDateTime.class);
+        assertCast(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"),
+                "123e4567-e89b-12d3-a456-426614174000", UUID.class);
+        assertCast(new Date(0L), 0, Date.class);
+        Date date = (Date) Castor.castType2Type("2020-01-02 03:04:05", String.class, Date.class);
+        assertCast("2020-01-02 03:04:05", date, String.class);
+        assertCast("12", 12, String.class);
+        assertCast("1E+3", new BigDecimal("1E+3"), String.class);
+    }
+
+    /**
+     * 字符串解析(PrimitiveParser)和数字之间的直接转换(NumberCastor).
+     */
+    @Test
+    public void numberConversionsMatchGoldenValues() {
+        assertCast(7, " 7 ", Integer.class);
+        assertCast(7, " 7 ", int.class);
+        assertCast(5, "+5", Integer.class);
+        assertCast(1000.0d, "1e3", Double.class);
+        assertCast(3, 3L, Integer.class);
+        assertCast(new BigDecimal("4.25"), 4.25d, BigDecimal.class);
+        assertCastFails("1e3", Integer.class);
+        assertCastFails("99999999999", Integer.class);
+        assertCastFails(4.75d, Integer.class);
+        assertCastFails(new BigDecimal("1.9"), Long.class);
+        assertCastFails(300, Byte.class);
+        assertCastFails(Long.MAX_VALUE, Integer.class);
+    }
+
+    /**
+     * 枚举(EnumTable)：按name、忽略大小写的name、ordinal转换.
+     */
+    @Test
+    public void enumConversionsMatchGoldenValues() {
+        assertCast(TimeUnit.SECONDS, "SECONDS", TimeUnit.class);
+        assertCast(TimeUnit.SECONDS, "seconds", TimeUnit.class);
+        assertCast(TimeUnit.MICROSECONDS, 1, TimeUnit.class);
+        assertCast("SECONDS", TimeUnit.SECONDS, String.class);
+        assertCastFails(99, TimeUnit.class);
+        assertCastFails("NOPE", TimeUnit.class);
+    }
+
+    /**
+     * 基本数据类型数组(ArrayCastor).
+     */
+    @Test
+    public void primitiveArrayConversionsMatchGoldenValues() {
+        assertCast(Arrays.asList(1, 2), new int[]{1, 2}, List.class);
+        assertCast(new long[]{1L, 2L}, new int[]{1, 2}, long[].class);
+        assertCast(new int[]{1, 2}, Arrays.asList("1", "2"), int[].class);
+        assertCast(new int[]{1, 0}, new Integer[]{1, null}, int[].class);
+        assertCast(new String[]{"1", "2"}, new int[]{1, 2}, String[].class);
+        assertCastFails(new double[]{1.5}, int[].class);
+    }
+
+    private static void assertCast(Object expected, Object src, Type tgtType) {
+        Object actual = Castor.castType2Type(src, src.getClass(), tgtType);
+        assertEquals(describe(src) + " -> " + tgtType.getTypeName(), normalize(expected), normalize(actual));
+    }
+
+    private static void assertCastFails(Object src, Type tgtType) {
+        try {
+            Object actual = Castor.castType2Type(src, src.getClass(), tgtType);
+            fail(describe(src) + " -> " + tgtType.getTypeName() + "应该失败，实际结果：" + normalize(actual));
+        } catch (IllegalArgumentException ignored) {
+            //期望的结果
+        }
+    }
+
+    private static List<Object> sampleValues() {
+        Item item = new Item();
+        item.setName("n");
+        item.setCount(2);
+        return Arrays.asList("12", " 7 ", "abc", "", "1.5", "SECONDS", "true", "[1,2]",
+                3, 2L, 4.25d, new BigDecimal("10.10"), true, new Date(0L), TimeUnit.SECONDS, item,
+                Arrays.asList("1", "2"), Arrays.asList(1, null, 2), new LinkedHashSet<>(Arrays.asList(1, 2)),
+                new ArrayDeque<>(Arrays.asList("q1", "q2")), new String[]{"3", "4"}, new Integer[]{5, 6},
+                new Object[]{"x", 1}, stringMap(), Collections.emptyList());
+    }
+
+    private static Map<String, String> stringMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("name", "m");
+        map.put("count", "5");
+        return map;
+    }
+
+    private static Type type(String fieldName) throws NoSuchFieldException {
+        return GenericTypes.class.getDeclaredField(fieldName).getGenericType();
+    }
+
+    private static void assertSameOutcome(Object src, Type srcType, Type tgtType) {
+        String description = String.format("(%s) %s -> %s", srcType.getTypeName(), describe(src), tgtType.getTypeName());
+        Object expected = outcome(() -> LegacyCastor.castType2Type(src, srcType, tgtType));
+        Object actual = outcome(() -> Castor.castType2Type(src, srcType, tgtType));
+        assertEquals(description, expected, actual);
+    }
+
+    /**
+     * 把转换结果或异常转成可以直接equals比较的形式.
+     */
+    private static Object outcome(Callable<Object> cast) {
+        try {
+            return normalize(cast.call());
+        } catch (Exception e) {
+            //CastException对外就是IllegalArgumentException
+            Class<?> exceptionClass = e instanceof IllegalArgumentException ? IllegalArgumentException.class : e.getClass();
+            //异常信息中可能有中间对象的identityHashCode(如[B@6fd83fc1)，每次转换都不同
+            String message = e.getMessage() == null ? null : e.getMessage().replaceAll("@[0-9a-f]+", "@");
+            return Arrays.asList("exception", exceptionClass, message);
+        }
+    }
+
+    private static Object normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getClass().isArray()) {
+            List<Object> elements = new ArrayList<>();
+            for (int i = 0; i < Array.getLength(value); i++) {
+                elements.add(normalize(Array.get(value, i)));
+            }
+            return Arrays.asList(value.getClass(), elements);
+        }
+        if (value instanceof Iterable) {
+            List<Object> elements = new ArrayList<>();
+            for (Object element : (Iterable<?>) value) {
+                elements.add(normalize(element));
+            }
+            return Arrays.asList(value.getClass(), elements);
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                entries.put(normalize(entry.getKey()), normalize(entry.getValue()));
+            }
+            return Arrays.asList(value.getClass(), entries);
+        }
+        return Arrays.asList(value.getClass(), value);
+    }
+
+    private static String describe(Object value) {
+        return value.getClass().isArray() ? String.valueOf(normalize(value)) : String.valueOf(value);
+    }
+
+    @SuppressWarnings("unused")
+    private static class GenericTypes {
+        private List<String> listOfString;
+        private List<Integer> listOfInteger;
+        private Set<Long> setOfLong;
+        private Queue<String> queueOfString;
+        private List<List<Integer>> listOfListInteger;
+        private Collection<? extends Number> collectionOfNumber;
+        private List<? super Integer> listOfSuperInteger;
+        private List<?> listOfAny;
+        private Map<String, String> mapOfStringString;
+        private Map<String, Integer> mapOfStringInteger;
+        private HashMap<String, Long> hashMapOfStringLong;
+        private List<String>[] arrayOfListString;
+        private List<Integer>[] arrayOfListInteger;
+    }
+
+    public static class Item {
+
+        private String name;
+        private Integer count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Item item = (Item) o;
+            return Objects.equals(name, item.name) && Objects.equals(count, item.count);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, count);
+        }
+    }
+}
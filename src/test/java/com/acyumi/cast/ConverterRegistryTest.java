@@ -0,0 +1,105 @@
+package com.acyumi.cast;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ConverterRegistry}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class ConverterRegistryTest {
+
+    @Test
+    public void builtInConvertersSkipTheJsonRoundTrip() {
+        assertNotNull(ConverterRegistry.getConverter(String.class, BigDecimal.class));
+        assertNotNull(ConverterRegistry.getConverter(String.class, LocalDate.class));
+        assertNotNull(ConverterRegistry.getConverter(UUID.class, String.class));
+
+        long fallbackCount = Castor.getJsonFallbackCount();
+        //与Json转换一致，json小数按double的字面值转换
+        assertEquals(new BigDecimal("1.5"), Castor.castSrc2JdkClass(" 1.50 ", BigDecimal.class));
+        assertEquals(LocalDate.of(2026, 10, 16), Castor.castSrc2JdkClass("2026-10-16", LocalDate.class));
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid.toString(), Castor.castSrc2JdkClass(uuid, String.class));
+        assertEquals(fallbackCount, Castor.getJsonFallbackCount());
+    }
+
+    @Test
+    public void missingConverterFallsBackToJson() {
+        assertNull(ConverterRegistry.getConverter(Collections.singletonMap("a", 1).getClass(), Properties.class));
+        long fallbackCount = Castor.getJsonFallbackCount();
+        Properties properties = Castor.castSrc2JdkClass(Collections.singletonMap("a", 1), Properties.class);
+        assertEquals("1", properties.get("a"));
+        assertEquals(fallbackCount + 1, Castor.getJsonFallbackCount());
+    }
+
+    @Test
+    public void registeredConverterReplacesCachedMiss() {
+        //先查找一次，让"没有转换函数"的结果进入缓存
+        assertNull(ConverterRegistry.getConverter(Token.class, Currency.class));
+
+        Converter converter = src -> Currency.getInstance(((Token) src).code);
+        ConverterRegistry.register(Token.class, Currency.class, converter);
+        assertSame(converter, ConverterRegistry.getConverter(Token.class, Currency.class));
+        assertEquals(Currency.getInstance("CNY"), Castor.castSrc2JdkClass(new Token("CNY"), Currency.class));
+
+        //再次注册时覆盖
+        Converter replaced = src -> Currency.getInstance("USD");
+        ConverterRegistry.register(Token.class, Currency.class, replaced);
+        assertSame(replaced, ConverterRegistry.getConverter(Token.class, Currency.class));
+        assertEquals(Currency.getInstance("USD"), Castor.castSrc2JdkClass(new Token("CNY"), Currency.class));
+        ConverterRegistry.register(Token.class, Currency.class, converter);
+    }
+
+    @Test
+    public void converterExceptionsAreWrapped() {
+        ConverterRegistry.register(Token.class, Charset.class, src -> Charset.forName(((Token) src).code));
+        try {
+            Castor.castSrc2JdkClass(new Token("not-a-charset"), Charset.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e instanceof CastException);
+            assertTrue(e.getMessage(), e.getMessage().contains("无法转化成(java.nio.charset.Charset)"));
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullArgumentsAreRejected() {
+        ConverterRegistry.register(Token.class, null, Converter.IDENTITY);
+    }
+
+    public static class Token {
+
+        private final String code;
+
+        public Token(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        @Override
+        public String toString() {
+            return code;
+        }
+    }
+}
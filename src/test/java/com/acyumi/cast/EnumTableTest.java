@@ -0,0 +1,152 @@
+package com.acyumi.cast;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link EnumTable}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class EnumTableTest {
+
+    @Test
+    public void constantsAreFoundByNameAndOrdinal() {
+        EnumTable<Color> table = EnumTable.of(Color.class);
+        assertSame(table, EnumTable.of(Color.class));
+        assertEquals(Color.class, table.getEnumClass());
+        assertSame(Color.GREEN, table.byName("GREEN"));
+        assertNull(table.byName("green"));
+        assertNull(table.byName(null));
+        assertSame(Color.GREEN, table.byNameIgnoreCase("green"));
+        assertSame(Color.RED, table.byNameIgnoreCase("Red"));
+        assertNull(table.byNameIgnoreCase("purple"));
+        assertSame(Color.RED, table.byOrdinal(0));
+        assertNull(table.byOrdinal(-1));
+        assertNull(table.byOrdinal(3));
+        assertFalse(table.hasJsonValue());
+        assertNull(table.getJsonValue(Color.RED));
+        assertNull(table.byJsonValue("RED"));
+        assertTrue(table.isJacksonCompatible());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void constantBodySubclassUsesTheDeclaringEnum() {
+        //带方法体的常量getClass()是匿名子类
+        assertFalse(Color.BLUE.getClass().isEnum());
+        assertSame(EnumTable.of(Color.class), EnumTable.of((Class) Color.BLUE.getClass()));
+        assertEquals("BLUE", Castor.castSrc2JdkClass(Color.BLUE, String.class));
+    }
+
+    @Test
+    public void jsonValueAndPropertyLookups() {
+        EnumTable<Level> table = EnumTable.of(Level.class);
+        assertTrue(table.hasJsonValue());
+        assertTrue(table.isJacksonCompatible());
+        assertEquals(20, table.getJsonValue(Level.HIGH));
+        //值相等或者toString()相等都算匹配
+        assertSame(Level.HIGH, table.byJsonValue(20));
+        assertSame(Level.HIGH, table.byJsonValue("20"));
+        assertSame(Level.HIGH, table.byJsonValue(20L));
+        assertNull(table.byJsonValue(30));
+
+        assertSame(Level.LOW, table.byProperty("label", "low"));
+        assertSame(Level.LOW, table.byProperty("code", 10));
+        assertNull(table.byProperty("label", "none"));
+        assertNull(table.byProperty(null, "low"));
+
+        assertEquals("20", Castor.castSrc2JdkClass(Level.HIGH, String.class));
+        //与jackson一致，字符串按@JsonValue(可以标注在字段上)的值转换
+        assertSame(Size.LARGE, EnumTable.of(Size.class).byJsonValue("l"));
+        assertSame(Size.LARGE, Castor.castSrc2JdkClass("l", Size.class));
+        assertEquals("s", Castor.castSrc2JdkClass(Size.SMALL, String.class));
+    }
+
+    @Test
+    public void castorConvertsPlainEnumsLikeJackson() {
+        assertSame(Color.GREEN, Castor.castSrc2JdkClass("GREEN", Color.class));
+        //没有jackson注解的枚举匹配不到时忽略大小写再匹配一次
+        assertSame(Color.GREEN, Castor.castSrc2JdkClass("green", Color.class));
+        //整数按ordinal转换
+        assertSame(Color.GREEN, Castor.castSrc2JdkClass(1, Color.class));
+        assertSame(Color.BLUE, Castor.castSrc2JdkClass(2L, Color.class));
+    }
+
+    @Test
+    public void otherJacksonAnnotationsAreNotCompatible() {
+        EnumTable<Coded> table = EnumTable.of(Coded.class);
+        assertFalse(table.isJacksonCompatible());
+        assertSame(Coded.B, table.byName("B"));
+        //交给Json转换，由@JsonCreator决定结果
+        assertSame(Coded.B, Castor.castSrc2JdkClass("b", Coded.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void nonEnumClassIsRejected() {
+        EnumTable.of((Class) String.class);
+    }
+
+    public enum Color {
+
+        RED, GREEN, BLUE {
+            @Override
+            public String toString() {
+                return "blue";
+            }
+        }
+    }
+
+    public enum Level {
+
+        LOW(10, "low"), HIGH(20, "high");
+
+        private final int code;
+        private final String label;
+
+        Level(int code, String label) {
+            this.code = code;
+            this.label = label;
+        }
+
+        @JsonValue
+        public int getCode() {
+            return code;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum Size {
+
+        SMALL("s"), LARGE("l");
+
+        @JsonValue
+        private final String abbr;
+
+        Size(String abbr) {
+            this.abbr = abbr;
+        }
+    }
+
+    public enum Coded {
+
+        A, B;
+
+        @JsonCreator
+        public static Coded of(String value) {
+            return value == null ? null : valueOf(value.toUpperCase());
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.acyumi.cast;
+
+import com.acyumi.reflect.Reflector;
+import com.acyumi.util.ParameterUtils;
+import com.acyumi.util.TransformUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 编译转换函数之前{@link Castor#castType2Type(Object, Type, Type)}逐个值判断类型的实现，只用于对比测试.
+ * <p>
+ * 按原样保留类型判断的分支，叶子转换(castIterable、castElement、castSrc2JdkClass、TransformUtils等)
+ * 调用当前的{@link Castor}，所以之后对叶子转换结果的有意改动不影响对比
+ * </p>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ * @see CastorParityTest
+ */
+abstract class LegacyCastor {
+
+    static Object castType2Type(Object src, Type srcType, Type tgtType) {
+
+        if (src == null) {
+            return null;
+        }
+
+        // all types are assignable to themselves and to class Object
+        if (tgtType.equals(srcType) || Object.class == tgtType) {
+            return src;
+        }
+
+        //如果tgtType是Class
+        if (tgtType instanceof Class) {
+            Class<?> tgtClass = (Class<?>) tgtType;
+
+            // 跳转到比较两个Class
+            if (srcType instanceof Class) {
+                return castClass2Class(src, (Class<?>) srcType, tgtClass);
+            }
+
+            //如果srcType是参数化类型，如Set<String>
+            else if (srcType instanceof ParameterizedType) {
+                Type srcRaw = ((ParameterizedType) srcType).getRawType();
+
+                // a parameterized type is always assignable to its raw class type
+                if (srcRaw instanceof Class) {
+                    return castClass2Class(src, (Class<?>) srcRaw, tgtClass);
+                }
+            }
+
+            //如果srcType是参数化类型数组，如List<String>[]
+            else if (srcType instanceof GenericArrayType) {
+                Type srcComponent = ((GenericArrayType) srcType).getGenericComponentType();
+
+                if (srcComponent instanceof ParameterizedType
+                        && ((ParameterizedType) srcComponent).getRawType() instanceof Class) {
+                    return castClass2Class(src, src.getClass(), tgtClass);
+                }
+            }
+        }
+
+        // parameterized types are only assignable to other parameterized types and class types
+        else if (tgtType instanceof ParameterizedType) {
+
+            if (srcType instanceof Class) {
+                return castClass2ParamType(src, (Class<?>) srcType, (ParameterizedType) tgtType);
+            } else if (srcType instanceof ParameterizedType) {
+                return castParamType2ParamType(src, (ParameterizedType) srcType, (ParameterizedType) tgtType);
+            }
+        }
+
+        //如果tgtType是泛型数组类型
+        else if (tgtType instanceof GenericArrayType) {
+            Type tgtComponent = ((GenericArrayType) tgtType).getGenericComponentType();
+
+            if (srcType instanceof GenericArrayType) {
+                Type srcComponent = ((GenericArrayType) srcType).getGenericComponentType();
+
+                if (Reflector.isAssignable(tgtComponent, srcComponent)) {
+                    return src;
+                }
+
+                if (tgtComponent instanceof ParameterizedType && srcComponent instanceof ParameterizedType) {
+                    Type tgtComponentRaw = ((ParameterizedType) tgtComponent).getRawType();
+                    Type srcComponentRaw = ((ParameterizedType) srcComponent).getRawType();
+
+                    if (tgtComponentRaw instanceof Class) {
+                        Class<?> tgtCompRawClass = (Class<?>) tgtComponentRaw;
+                        Object[] srcArr = (Object[]) src;
+                        Object[] temp = (Object[]) Array.newInstance(tgtCompRawClass, srcArr.length);
+                        for (int i = 0; i < srcArr.length; i++) {
+                            temp[i] = castType2Type(srcArr[i], srcComponentRaw, tgtCompRawClass);
+                        }
+                        return temp;
+                    }
+                }
+            }
+        }
+
+        //如果tgtType是限定性的泛型表达式，即 ? extends java.util.AbstractList 等
+        else if (tgtType instanceof WildcardType) {
+
+            Type[] tgtUnAssignableBounds = getTgtUnAssignableBounds(((WildcardType) tgtType), srcType);
+            if (tgtUnAssignableBounds == null) {
+                return src;
+            }
+            return castType2Type(src, srcType, tgtUnAssignableBounds[0]);
+        }
+
+        throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
+                srcType.getTypeName(), src, tgtType.getTypeName()));
+    }
+
+    static Object castClass2Class(Object src, Class<?> srcClass, Class<?> tgtClass) {
+
+        if (Reflector.isAssignable(tgtClass, srcClass)) {
+            return src;
+        }
+
+        //如果tgtClass是Iterable类型
+        if (Reflector.isAssignable(Iterable.class, tgtClass)) {
+            if (Reflector.isAssignable(Iterable.class, srcClass)) {
+                return Castor.castIterable((Iterable<?>) src, tgtClass);
+            } else if (srcClass.isArray()) {
+                return Castor.castArr2Itr((Object[]) src, tgtClass);
+            } else if (Reflector.isAssignable(Map.class, srcClass)) {
+                return Castor.castIterable(((Map<?, ?>) src).values(), tgtClass);
+            }
+        }
+
+        //如果tgtClass是数组
+        else if (tgtClass.isArray()) {
+            Class<?> componentType = tgtClass.getComponentType();
+            if (Reflector.isAssignable(Iterable.class, srcClass)) {
+                return Castor.castItr2Arr((Iterable<?>) src, componentType);
+            } else if (srcClass.isArray()) {
+                return Castor.castElement((Object[]) src, componentType);
+            } else if (Reflector.isAssignable(Map.class, srcClass)) {
+                return Castor.castItr2Arr(((Map<?, ?>) src).values(), componentType);
+            }
+        }
+
+        //如果tgtClass是Map
+        else if (Reflector.isAssignable(Map.class, tgtClass)) {
+            return TransformUtils.transformToMap(src, tgtClass, String.class, Object.class);
+        }
+
+        return castSrc2Class(src, tgtClass);
+    }
+
+    private static Object castSrc2Class(Object src, Class<?> tgtClass) {
+        String className = tgtClass.getName();
+        if (!className.contains(".") || className.startsWith("java.")) {
+            return Castor.castSrc2JdkClass(src, tgtClass);
+        }
+        return TransformUtils.transform(src, tgtClass);
+    }
+
+    private static Object castClass2ParamType(Object src, Class<?> srcClass, ParameterizedType tgtType) {
+
+        Type tgtRaw = tgtType.getRawType();
+        if (!(tgtRaw instanceof Class)) {
+            return castType2Type(src, srcClass, tgtRaw);
+        }
+        Class<?> tgtRawClass = (Class<?>) tgtRaw;
+
+        //如果tgtRawClass是Iterable类型
+        if (Reflector.isAssignable(Iterable.class, tgtRawClass)) {
+
+            Iterable<?> iterable = null;
+            if (Reflector.isAssignable(Iterable.class, srcClass)) {
+                iterable = Castor.castIterable((Iterable<?>) src, tgtRawClass);
+            } else if (srcClass.isArray()) {
+                iterable = Castor.castArr2Itr((Object[]) src, tgtRawClass);
+            } else if (Reflector.isAssignable(Map.class, srcClass)) {
+                iterable = Castor.castIterable(((Map<?, ?>) src).values(), tgtRawClass);
+            }
+
+            if (iterable != null) {
+                Type tgtArgType = tgtType.getActualTypeArguments()[0];
+                if (tgtArgType instanceof Class) {
+                    return Castor.castElement(iterable, tgtArgType);
+                } else if (tgtArgType instanceof ParameterizedType) {
+                    Type tgtArgRaw = ((ParameterizedType) tgtArgType).getRawType();
+                    if (tgtArgRaw instanceof Class) {
+                        return Castor.castElement(iterable, tgtArgRaw);
+                    }
+                }
+            }
+        }
+
+        //如果tgtRawClass是Map
+        else if (Reflector.isAssignable(Map.class, tgtRawClass)) {
+            Class<?> tgtKeyClass = Reflector.getClassFromType(tgtType.getActualTypeArguments()[0]);
+            Class<?> tgtValueClass = Reflector.getClassFromType(tgtType.getActualTypeArguments()[1]);
+            if (tgtKeyClass != null && tgtValueClass != null) {
+                return TransformUtils.transformToMap(src, tgtRawClass, tgtKeyClass, tgtValueClass);
+            }
+        }
+
+        return castSrc2Class(src, tgtRawClass);
+    }
+
+    private static Object castParamType2ParamType(Object src, ParameterizedType srcType, ParameterizedType tgtType) {
+
+        Type tgtRaw = tgtType.getRawType();
+        Type srcRaw = srcType.getRawType();
+        Type[] tgtTypeArgs = tgtType.getActualTypeArguments();
+        Type[] srcTypeArgs = srcType.getActualTypeArguments();
+
+        if (tgtRaw instanceof Class && srcRaw instanceof Class) {
+            Class<?> tgtRawClass = (Class<?>) tgtRaw;
+            Class<?> srcRawClass = (Class<?>) srcRaw;
+
+            //如果tgtType是Iterable
+            if (Reflector.isAssignable(Iterable.class, tgtRawClass)) {
+
+                Iterable<?> temp = (Iterable<?>) src;
+                Type tgtArg = tgtTypeArgs[0];
+                Type srcArg = null;
+
+                if (Reflector.isAssignable(Iterable.class, srcRawClass)) {
+                    srcArg = srcTypeArgs[0];
+                    if (!Reflector.isAssignable(tgtRawClass, srcRawClass)) {
+                        temp = Castor.castIterable((Iterable<?>) src, tgtRawClass);
+                    }
+                } else if (Reflector.isAssignable(Map.class, srcRawClass)) {
+                    srcArg = srcTypeArgs[1];
+                    if (!Reflector.isAssignable(tgtRawClass, Collection.class)) {
+                        temp = Castor.castIterable(((Map<?, ?>) src).values(), tgtRawClass);
+                    }
+                }
+
+                if (srcArg == null || Reflector.isAssignable(tgtArg, srcArg)) {
+                    return temp;
+                } else if (tgtArg instanceof Class) {
+                    return Castor.castElement(temp, tgtArg);
+                } else if (tgtArg instanceof ParameterizedType) {
+                    Type tgtArgRaw = ((ParameterizedType) tgtArg).getRawType();
+                    if (tgtArgRaw instanceof Class) {
+                        return Castor.castElement(temp, tgtArgRaw);
+                    }
+                } else if (tgtArg instanceof WildcardType) {
+                    Type[] tgtUnAssignableBounds = getTgtUnAssignableBounds(((WildcardType) tgtArg), srcType);
+                    if (tgtUnAssignableBounds == null) {
+                        return temp;
+                    }
+                    return Castor.castElement(temp, tgtUnAssignableBounds[0]);
+                }
+            }
+
+            //如果tgtType是Map
+            else if (Reflector.isAssignable(Map.class, tgtRawClass)
+                    && Reflector.isAssignable(Map.class, srcRawClass)
+                    && Reflector.isAssignable(tgtTypeArgs[0], srcTypeArgs[0])) {
+                Type tgtMapValType = tgtTypeArgs[1];
+                Type srcMapValType = srcTypeArgs[1];
+                if (Reflector.isAssignable(tgtMapValType, srcMapValType)) {
+                    return src;
+                }
+                Map<Object, Object> temp = Reflector.newTarget(tgtRawClass);
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) src).entrySet()) {
+                    temp.put(entry.getKey(), castType2Type(entry.getValue(), srcMapValType, tgtMapValType));
+                }
+                return temp;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("(类型:%s | toString值:%s)无法转化成(%s)",
+                srcType.getTypeName(), src, tgtType.getTypeName()));
+    }
+
+    private static Type[] getTgtUnAssignableBounds(WildcardType tgtType, Type srcType) {
+
+        Type[] tgtArgBounds = tgtType.getLowerBounds();
+
+        if (ParameterUtils.isEmpty(tgtArgBounds)) {
+            tgtArgBounds = tgtType.getUpperBounds();
+            if (tgtArgBounds[0] == Object.class) {
+                return null;
+            } else if (srcType instanceof WildcardType) {
+                Type[] srcArgBounds = ((WildcardType) srcType).getLowerBounds();
+                if (ParameterUtils.isEmpty(srcArgBounds)) {
+                    srcArgBounds = ((WildcardType) srcType).getUpperBounds();
+                    if (Reflector.isAssignable(tgtArgBounds[0], srcArgBounds[0])) {
+                        return null;
+                    }
+                }
+            }
+        } else if (srcType instanceof WildcardType) {
+            Type[] srcArgBounds = ((WildcardType) srcType).getLowerBounds();
+            if (!ParameterUtils.isEmpty(srcArgBounds) && Reflector.isAssignable(srcArgBounds[0], tgtArgBounds[0])) {
+                return null;
+            }
+        }
+        return tgtArgBounds;
+    }
+}
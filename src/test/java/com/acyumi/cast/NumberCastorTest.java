@@ -0,0 +1,130 @@
+package com.acyumi.cast;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link NumberCastor}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class NumberCastorTest {
+
+    private static final NumberCastor.Policy FAIL = NumberCastor.Policy.FAIL;
+    private static final NumberCastor.Policy SATURATE = NumberCastor.Policy.SATURATE;
+    private static final NumberCastor.Policy TRUNCATE = NumberCastor.Policy.TRUNCATE;
+
+    @Test
+    public void valuesThatFitAreConvertedUnderEveryPolicy() {
+        for (NumberCastor.Policy policy : NumberCastor.Policy.values()) {
+            assertEquals(Integer.valueOf(42), NumberCastor.cast(42L, Integer.class, policy));
+            assertEquals(Long.valueOf(42), NumberCastor.cast(new BigDecimal("42.0"), long.class, policy));
+            assertEquals(Short.valueOf((short) -7), NumberCastor.cast(new BigInteger("-7"), Short.class, policy));
+            assertEquals(Byte.valueOf((byte) 3), NumberCastor.cast(3d, byte.class, policy));
+            assertEquals(BigDecimal.valueOf(5), NumberCastor.cast(new AtomicLong(5), BigDecimal.class, policy));
+            assertEquals(BigInteger.TEN, NumberCastor.cast(10, BigInteger.class, policy));
+            //Float按Float.toString()的十进制值转换
+            assertEquals(Double.valueOf(0.1d), NumberCastor.cast(0.1f, Double.class, policy));
+            assertEquals(new BigDecimal("0.1"), NumberCastor.cast(0.1f, BigDecimal.class, policy));
+        }
+        LongAdder adder = new LongAdder();
+        adder.add(9);
+        assertEquals(Integer.valueOf(9), NumberCastor.cast(adder, int.class, FAIL));
+        assertNull(NumberCastor.cast(null, Integer.class, FAIL));
+    }
+
+    @Test
+    public void failPolicyRejectsOverflowAndFractions() {
+        assertRejected(Integer.MAX_VALUE + 1L, Integer.class);
+        assertRejected(128, Byte.class);
+        assertRejected(-32769, short.class);
+        assertRejected(1.5d, Integer.class);
+        assertRejected(Double.NaN, Long.class);
+        assertRejected(0x1p63, Long.class);
+        assertRejected(new BigInteger("9223372036854775808"), Long.class);
+        assertRejected(new BigDecimal("1.25"), BigInteger.class);
+        assertRejected(new BigDecimal("1e400"), Double.class);
+        assertRejected(1e39d, Float.class);
+        //NaN和无穷大没有对应的BigDecimal，不论哪种策略都失败
+        for (NumberCastor.Policy policy : NumberCastor.Policy.values()) {
+            try {
+                NumberCastor.cast(Double.POSITIVE_INFINITY, BigDecimal.class, policy);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+                //期望的结果
+            }
+        }
+        //FAIL转成double/float时不检查精度，无穷大本身也不算溢出
+        assertEquals(Double.valueOf(9.007199254740992E15), NumberCastor.cast(9007199254740993L, Double.class, FAIL));
+        assertEquals(Float.valueOf(Float.POSITIVE_INFINITY),
+                NumberCastor.cast(Double.POSITIVE_INFINITY, Float.class, FAIL));
+    }
+
+    @Test
+    public void saturatePolicyClampsToTheTargetRange() {
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE), NumberCastor.cast(Long.MAX_VALUE, Integer.class, SATURATE));
+        assertEquals(Byte.valueOf(Byte.MIN_VALUE), NumberCastor.cast(-1000, byte.class, SATURATE));
+        assertEquals(Short.valueOf(Short.MAX_VALUE), NumberCastor.cast(1e10d, Short.class, SATURATE));
+        assertEquals(Integer.valueOf(1), NumberCastor.cast(1.9d, Integer.class, SATURATE));
+        assertEquals(Integer.valueOf(-1), NumberCastor.cast(new BigDecimal("-1.9"), Integer.class, SATURATE));
+        assertEquals(Long.valueOf(0), NumberCastor.cast(Double.NaN, Long.class, SATURATE));
+        assertEquals(Long.valueOf(Long.MIN_VALUE),
+                NumberCastor.cast(new BigInteger("-99999999999999999999"), Long.class, SATURATE));
+        assertEquals(Long.valueOf(Long.MAX_VALUE),
+                NumberCastor.cast(new BigDecimal("99999999999999999999.5"), long.class, SATURATE));
+        assertEquals(Double.valueOf(Double.MAX_VALUE), NumberCastor.cast(new BigDecimal("1e400"), Double.class, SATURATE));
+        assertEquals(Float.valueOf(-Float.MAX_VALUE), NumberCastor.cast(-1e39d, Float.class, SATURATE));
+        assertEquals(BigInteger.ONE, NumberCastor.cast(new BigDecimal("1.25"), BigInteger.class, SATURATE));
+    }
+
+    @Test
+    public void truncatePolicyMatchesNarrowingPrimitiveConversion() {
+        long big = Integer.MAX_VALUE + 1L;
+        assertEquals(Integer.valueOf((int) big), NumberCastor.cast(big, Integer.class, TRUNCATE));
+        assertEquals(Byte.valueOf((byte) 200), NumberCastor.cast(200, byte.class, TRUNCATE));
+        assertEquals(Short.valueOf((short) 70000L), NumberCastor.cast(70000L, Short.class, TRUNCATE));
+        assertEquals(Integer.valueOf((int) 1e10d), NumberCastor.cast(1e10d, Integer.class, TRUNCATE));
+        BigInteger huge = new BigInteger("18446744073709551617");
+        assertEquals(Long.valueOf(huge.longValue()), NumberCastor.cast(huge, Long.class, TRUNCATE));
+        assertEquals(Float.valueOf(Float.POSITIVE_INFINITY), NumberCastor.cast(1e39d, Float.class, TRUNCATE));
+    }
+
+    @Test
+    public void unsupportedTypesAndNullPolicyAreRejected() {
+        assertTrue(NumberCastor.isCastable(LongAdder.class, int.class));
+        assertFalse(NumberCastor.isCastable(Number.class, Integer.class));
+        assertFalse(NumberCastor.isCastable(Integer.class, String.class));
+        try {
+            NumberCastor.cast(1, String.class, FAIL);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("不支持"));
+        }
+        try {
+            NumberCastor.cast(1, Long.class, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("policy"));
+        }
+    }
+
+    private static void assertRejected(Number src, Class<?> tgtClass) {
+        try {
+            NumberCastor.cast(src, tgtClass, FAIL);
+            fail(src + "转换成" + tgtClass.getName() + "应该失败");
+        } catch (IllegalArgumentException ignored) {
+            //期望的结果
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.acyumi.cast;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link PrimitiveParser}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class PrimitiveParserTest {
+
+    @Test
+    public void integersSkipSignsQuotesAndWhitespace() {
+        assertEquals(7, PrimitiveParser.parseInt(" 7 "));
+        assertEquals(5, PrimitiveParser.parseInt("+5"));
+        assertEquals(-12, PrimitiveParser.parseInt("-12"));
+        assertEquals(0, PrimitiveParser.parseInt("-0"));
+        assertEquals(1024, PrimitiveParser.parseInt("\"1 024\""));
+        assertEquals(42, PrimitiveParser.parseInt(new StringBuilder("'42'")));
+        assertEquals(Integer.MIN_VALUE, PrimitiveParser.parseInt("-2147483648"));
+        assertEquals(Long.MIN_VALUE, PrimitiveParser.parseLong("-9223372036854775808"));
+        assertEquals(Long.MAX_VALUE, PrimitiveParser.parseLong("9223372036854775807"));
+        assertEquals((short) -32768, PrimitiveParser.parseShort("-32768"));
+        assertEquals((byte) 127, PrimitiveParser.parseByte("127"));
+    }
+
+    @Test
+    public void invalidOrOverflowingIntegersAreRejected() {
+        //与Integer.parseInt一样只接受十进制整数
+        assertIntRejected("1e3");
+        assertIntRejected("1.0");
+        assertIntRejected("0x10");
+        assertIntRejected("2147483648");
+        assertIntRejected("-2147483649");
+        assertIntRejected("");
+        assertIntRejected(" ");
+        assertIntRejected("+");
+        assertIntRejected("-");
+        assertIntRejected("1-2");
+        assertIntRejected(null);
+        assertEquals(-1, PrimitiveParser.parseInt("abc", -1));
+        assertEquals(-1L, PrimitiveParser.parseLong("9223372036854775808", -1L));
+        assertEquals((short) -1, PrimitiveParser.parseShort("32768", (short) -1));
+        assertEquals((byte) -1, PrimitiveParser.parseByte("128", (byte) -1));
+        try {
+            PrimitiveParser.parseLong("-9223372036854775809");
+            fail();
+        } catch (NumberFormatException ignored) {
+            //期望的结果
+        }
+    }
+
+    @Test
+    public void decimalsMatchJdkParsing() {
+        assertEquals(1000d, PrimitiveParser.parseDouble("1e3"), 0d);
+        assertEquals(-0.015d, PrimitiveParser.parseDouble(" -1.5E-2 "), 0d);
+        assertEquals(1.5d, PrimitiveParser.parseDouble("1.5f"), 0d);
+        assertEquals(2d, PrimitiveParser.parseDouble("2D"), 0d);
+        assertEquals(0.5d, PrimitiveParser.parseDouble(".5"), 0d);
+        assertEquals(1024.5d, PrimitiveParser.parseDouble("\"1 024.5\""), 0d);
+        //退回到Double.parseDouble的情况
+        assertTrue(Double.isNaN(PrimitiveParser.parseDouble("NaN")));
+        assertEquals(Double.NEGATIVE_INFINITY, PrimitiveParser.parseDouble("-Infinity"), 0d);
+        assertEquals(8d, PrimitiveParser.parseDouble("0x1p3"), 0d);
+        assertEquals(Double.POSITIVE_INFINITY, PrimitiveParser.parseDouble("1e400"), 0d);
+        assertEquals(0d, PrimitiveParser.parseDouble("1e-400"), 0d);
+        assertEquals(Float.POSITIVE_INFINITY, PrimitiveParser.parseFloat("1e39"), 0f);
+        assertEquals(0.1f, PrimitiveParser.parseFloat("0.1"), 0f);
+
+        Random random = new Random(20261016L);
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextBoolean() ? random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)
+                    : random.nextInt(1000000) / 1000d;
+            String str = Double.toString(value);
+            assertEquals(str, Double.doubleToLongBits(Double.parseDouble(str)),
+                    Double.doubleToLongBits(PrimitiveParser.parseDouble(str)));
+            String floatStr = Float.toString((float) value);
+            assertEquals(floatStr, Float.floatToIntBits(Float.parseFloat(floatStr)),
+                    Float.floatToIntBits(PrimitiveParser.parseFloat(floatStr)));
+        }
+    }
+
+    @Test
+    public void invalidDecimalsAreRejected() {
+        assertEquals(-1d, PrimitiveParser.parseDouble("1.2.3", -1d), 0d);
+        assertEquals(-1d, PrimitiveParser.parseDouble("e3", -1d), 0d);
+        assertEquals(-1d, PrimitiveParser.parseDouble("", -1d), 0d);
+        assertEquals(-1d, PrimitiveParser.parseDouble(null, -1d), 0d);
+        assertEquals(-1f, PrimitiveParser.parseFloat("abc", -1f), 0f);
+        try {
+            PrimitiveParser.parseDouble("1e");
+            fail();
+        } catch (NumberFormatException ignored) {
+            //期望的结果
+        }
+    }
+
+    @Test
+    public void booleansAcceptOnlyTrueAndFalse() {
+        assertTrue(PrimitiveParser.parseBoolean("TRUE"));
+        assertTrue(PrimitiveParser.parseBoolean("\"true\""));
+        assertFalse(PrimitiveParser.parseBoolean(" False "));
+        assertTrue(PrimitiveParser.parseBoolean("yes", true));
+        assertFalse(PrimitiveParser.parseBoolean("truer", false));
+        assertFalse(PrimitiveParser.parseBoolean("1", false));
+        try {
+            PrimitiveParser.parseBoolean("tru");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("无法解析成boolean"));
+        }
+    }
+
+    private static void assertIntRejected(String str) {
+        try {
+            PrimitiveParser.parseInt(str);
+            fail("应该拒绝" + str);
+        } catch (NumberFormatException ignored) {
+            //期望的结果
+        }
+        assertEquals(-1, PrimitiveParser.parseInt(str, -1));
+    }
+}
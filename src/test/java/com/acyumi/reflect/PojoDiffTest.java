@@ -0,0 +1,250 @@
+package com.acyumi.reflect;
+
+import com.acyumi.util.TransformUtils;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link PojoDiff}及{@link TransformUtils#diff(Object, Object)}、{@link TransformUtils#patch(Object, PojoDiff)}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class PojoDiffTest {
+
+    @Test
+    public void equalValuesProduceAnEmptyDiff() {
+        Account oldAccount = newAccount();
+        Account newAccount = newAccount();
+        //数组按元素比较，BigDecimal按数值比较，NaN等于NaN
+        newAccount.setCodes(new int[]{1, 2});
+        newAccount.setBalance(new BigDecimal("10.00"));
+        oldAccount.setRate(Double.NaN);
+        newAccount.setRate(Double.NaN);
+        PojoDiff diff = TransformUtils.diff(oldAccount, newAccount);
+        assertTrue(diff.isEmpty());
+        assertEquals(0, diff.size());
+        assertEquals(Account.class, diff.getPojoClass());
+        assertTrue(diff.toMap().isEmpty());
+    }
+
+    @Test
+    public void changedPropertiesAreRecordedWithOldAndNewValues() {
+        Account oldAccount = newAccount();
+        Account newAccount = newAccount();
+        newAccount.setCount(4);
+        newAccount.setVersion(2L);
+        newAccount.setRatio(0.75f);
+        newAccount.setActive(false);
+        newAccount.setName("new");
+        newAccount.setCodes(new int[]{1, 3});
+        //Double.equals不认为0.0等于-0.0
+        oldAccount.setRate(0d);
+        newAccount.setRate(-0d);
+
+        PojoDiff diff = TransformUtils.diff(oldAccount, newAccount);
+        Map<String, Object> changes = diff.toMap();
+        assertEquals(7, diff.size());
+        assertEquals(new HashSet<>(Arrays.asList("count", "version", "ratio", "active", "name",
+                "codes", "rate")), changes.keySet());
+        for (int i = 0; i < diff.size(); i++) {
+            String name = diff.getName(i);
+            assertEquals(name, Reflector.getFieldNames(Account.class)[diff.getIndex(i)]);
+            assertEquals(changes.get(name), diff.getNewValue(i));
+            if ("count".equals(name)) {
+                assertEquals(3, diff.getOldValue(i));
+                assertEquals(4, diff.getNewValue(i));
+            } else if ("ratio".equals(name)) {
+                //float属性保留Float类型
+                assertEquals(0.5f, diff.getOldValue(i));
+            } else if ("name".equals(name)) {
+                assertEquals("old", diff.getOldValue(i));
+            }
+        }
+        assertTrue(diff.toString(), diff.toString().startsWith("Account{"));
+    }
+
+    @Test
+    public void patchAppliesOnlyTheChangedProperties() {
+        Account oldAccount = newAccount();
+        Account newAccount = newAccount();
+        newAccount.setCount(9);
+        newAccount.setRatio(0.25f);
+        newAccount.setName(null);
+        PojoDiff diff = TransformUtils.diff(oldAccount, newAccount);
+
+        Account cached = newAccount();
+        cached.setVersion(5L);
+        assertSame(cached, TransformUtils.patch(cached, diff));
+        assertEquals(9, cached.getCount());
+        assertEquals(0.25f, cached.getRatio(), 0f);
+        assertNull(cached.getName());
+        //没有变化的属性不会被覆盖
+        assertEquals(5L, cached.getVersion());
+    }
+
+    @Test
+    public void patchOtherClassByNameWithConversion() {
+        Account oldAccount = newAccount();
+        Account newAccount = newAccount();
+        newAccount.setCount(7);
+        newAccount.setBalance(new BigDecimal("12.5"));
+        newAccount.setVersion(3L);
+        PojoDiff diff = TransformUtils.diff(oldAccount, newAccount);
+
+        AccountView view = new AccountView();
+        TransformUtils.patch(view, diff);
+        assertEquals("7", view.getCount());
+        assertEquals(12.5d, view.getBalance(), 0d);
+    }
+
+    @Test
+    public void invalidArgumentsAreRejected() {
+        assertRejected(() -> TransformUtils.diff(null, newAccount()));
+        assertRejected(() -> TransformUtils.diff(newAccount(), new AccountView()));
+        assertRejected(() -> TransformUtils.patch(newAccount(), null));
+        PojoDiff diff = TransformUtils.diff(newAccount(), newAccount());
+        assertRejected(() -> diff.applyTo(null));
+    }
+
+    private static void assertRejected(Runnable call) {
+        try {
+            call.run();
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            //期望的结果
+        }
+    }
+
+    private static Account newAccount() {
+        Account account = new Account();
+        account.setCount(3);
+        account.setVersion(1L);
+        account.setRate(1.5d);
+        account.setRatio(0.5f);
+        account.setActive(true);
+        account.setBalance(new BigDecimal("10.0"));
+        account.setName("old");
+        account.setCodes(new int[]{1, 2});
+        account.setAttrs(new LinkedHashMap<>());
+        return account;
+    }
+
+    public static class Account {
+
+        private int count;
+        private long version;
+        private double rate;
+        private float ratio;
+        private boolean active;
+        private BigDecimal balance;
+        private String name;
+        private int[] codes;
+        private Map<String, Object> attrs;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public void setVersion(long version) {
+            this.version = version;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public float getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(float ratio) {
+            this.ratio = ratio;
+        }
+
+        public boolean getActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+
+        public Map<String, Object> getAttrs() {
+            return attrs;
+        }
+
+        public void setAttrs(Map<String, Object> attrs) {
+            this.attrs = attrs;
+        }
+    }
+
+    public static class AccountView {
+
+        private String count;
+        private double balance;
+
+        public String getCount() {
+            return count;
+        }
+
+        public void setCount(String count) {
+            this.count = count;
+        }
+
+        public double getBalance() {
+            return balance;
+        }
+
+        public void setBalance(double balance) {
+            this.balance = balance;
+        }
+    }
+}
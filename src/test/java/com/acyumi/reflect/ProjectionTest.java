@@ -0,0 +1,133 @@
+package com.acyumi.reflect;
+
+import com.acyumi.util.TransformUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link Projection}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class ProjectionTest {
+
+    @Test
+    public void compileSkipsBlankNamesAndResolvesHandles() {
+        Projection projection = Projection.compile(Member.class, "name", null, " ", "missing", "age");
+        assertEquals(Member.class, projection.getSourceClass());
+        assertEquals(3, projection.size());
+        assertEquals("name", projection.getName(0));
+        assertEquals("missing", projection.getName(1));
+        assertNull(projection.getHandle(1));
+
+        Member member = new Member(1, "Tom", 18);
+        assertEquals("Tom", projection.get(member, 0));
+        assertNull(projection.get(member, 1));
+        assertEquals(18, projection.get(member, 2));
+        assertSame(projection.getName(0), projection.getKey(0, String.class));
+        assertSame(projection.getName(2), projection.getKey(2, Object.class));
+
+        //不指定属性名时取所有属性
+        Projection all = Projection.compile(Member.class);
+        String[] fieldNames = Reflector.getFieldNames(Member.class);
+        assertEquals(fieldNames.length, all.size());
+        for (int i = 0; i < fieldNames.length; i++) {
+            assertEquals(fieldNames[i], all.getName(i));
+        }
+    }
+
+    @Test
+    public void reflectorCachesProjectionsByNameList() {
+        String[] names = {"id", "name"};
+        Projection projection = Reflector.getProjection(Member.class, names);
+        assertSame(projection, Reflector.getProjection(Member.class, "id", "name"));
+        assertNotSame(projection, Reflector.getProjection(Member.class, "name", "id"));
+        //缓存key拷贝了属性名数组，之后修改数组不影响缓存
+        names[1] = "age";
+        assertSame(projection, Reflector.getProjection(Member.class, "id", "name"));
+        assertEquals("name", projection.getName(1));
+        assertSame(Reflector.getProjection(Member.class), Reflector.getProjection(Member.class, (String[]) null));
+    }
+
+    @Test
+    public void transformPartCopiesOnlyTheProjectedFields() {
+        Member member = new Member(1, "Tom", 18);
+        Member target = TransformUtils.transformPart(member, Member.class, false, "name", "age");
+        assertEquals(0, target.getId());
+        assertEquals("Tom", target.getName());
+        assertEquals(18, target.getAge());
+
+        //onlyNotNull时null值不覆盖目标对象
+        Member existing = new Member(2, "Jerry", 20);
+        TransformUtils.transformPart(new Member(3, null, 30), existing, true, "name", "age");
+        assertEquals("Jerry", existing.getName());
+        assertEquals(30, existing.getAge());
+    }
+
+    @Test
+    public void transformPartToMapUsesTheProjection() {
+        Member member = new Member(1, null, 18);
+        Map<String, Object> map = TransformUtils.transformPartToMap(member, LinkedHashMap.class,
+                String.class, Object.class, false, "age", "name", "missing");
+        assertEquals(Arrays.asList("age", "name", "missing"), Arrays.asList(map.keySet().toArray()));
+        assertEquals(18, map.get("age"));
+        assertNull(map.get("name"));
+
+        Map<String, Object> notNull = TransformUtils.transformPartToMap(member, HashMap.class,
+                String.class, Object.class, true, "age", "name");
+        assertFalse(notNull.containsKey("name"));
+        assertEquals(1, notNull.size());
+        assertEquals(18, TransformUtils.transformPartToTransMap(member, true).get("age"));
+    }
+
+    public static class Member {
+
+        private int id;
+        private String name;
+        private int age;
+
+        public Member() {
+        }
+
+        public Member(int id, String name, int age) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
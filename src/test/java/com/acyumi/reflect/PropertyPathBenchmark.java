@@ -0,0 +1,48 @@
+package com.acyumi.reflect;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 嵌套属性取值的基准.
+ *
+ * <pre>
+ * 不是单元测试(不以Test结尾，surefire不会执行)，在test classpath下手动运行：
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) com.acyumi.reflect.PropertyPathBenchmark [次数] [轮数]
+ *
+ * compiled：预编译的{@link PropertyPath#get(Object)}取"customer.address.city"
+ * chained：逐级调用{@link Reflector#getFieldValue(Object, String)}
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class PropertyPathBenchmark {
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        PropertyPathTest.Order order = PropertyPathTest.newOrder();
+        PropertyPath path = Reflector.getPropertyPath(PropertyPathTest.Order.class, "customer.address.city");
+        System.out.printf("iterations=%d, jdk=%s%n", iterations, System.getProperty("java.version"));
+
+        for (int round = 1; round <= rounds; round++) {
+            long begin = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink = path.get(order);
+            }
+            long compiled = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Object customer = Reflector.getFieldValue(order, "customer");
+                Object address = Reflector.getFieldValue(customer, "address");
+                sink = Reflector.getFieldValue(address, "city");
+            }
+            long chained = System.nanoTime() - begin;
+            System.out.printf("round %d: compiled %d ms, chained %d ms%n", round,
+                    TimeUnit.NANOSECONDS.toMillis(compiled), TimeUnit.NANOSECONDS.toMillis(chained));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.acyumi.reflect;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link PropertyPath}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class PropertyPathTest {
+
+    @Test
+    public void getFollowsPropertiesIndexesAndKeys() {
+        Order order = newOrder();
+        assertEquals("Shenzhen", PropertyPath.compile(Order.class, "customer.address.city").get(order));
+        assertEquals("b", PropertyPath.compile(Order.class, "items[1].name").get(order));
+        assertEquals("c", PropertyPath.compile(Order.class, "array[0].name").get(order));
+        assertEquals("v", PropertyPath.compile(Order.class, "attrs['key']").get(order));
+        assertEquals("v", PropertyPath.compile(Order.class, "attrs[key]").get(order));
+        assertEquals("v", PropertyPath.compile(Order.class, "attrs.key").get(order));
+        assertEquals(3, PropertyPath.compile(Order.class, "customer.address.city").getSegmentsLength());
+    }
+
+    @Test
+    public void getIsNullSafe() {
+        Order order = new Order();
+        assertNull(PropertyPath.compile(Order.class, "customer.address.city").get(order));
+        assertNull(PropertyPath.compile(Order.class, "customer.address.city").get(null));
+        order = newOrder();
+        assertNull(PropertyPath.compile(Order.class, "items[5].name").get(order));
+        assertNull(PropertyPath.compile(Order.class, "attrs['missing']").get(order));
+        assertNull(PropertyPath.compile(Order.class, "customer.nothing").get(order));
+    }
+
+    @Test
+    public void runtimeSubclassesAndOtherTypesAreResolved() {
+        Order order = newOrder();
+        SpecialAddress address = new SpecialAddress();
+        address.setCity("Guangzhou");
+        address.setZone("Tianhe");
+        order.getCustomer().setAddress(address);
+        assertEquals("Guangzhou", PropertyPath.compile(Order.class, "customer.address.city").get(order));
+        //声明类型中没有的属性按运行时类型解析
+        assertEquals("Tianhe", PropertyPath.compile(Order.class, "customer.address.zone").get(order));
+        //未声明泛型的值按运行时类型解析
+        order.getAttrs().put("customer", order.getCustomer());
+        assertEquals("Guangzhou", PropertyPath.compile(Order.class, "attrs.customer.address.city").get(order));
+    }
+
+    @Test
+    public void setWithAutoCreateInstantiatesIntermediates() {
+        Order order = new Order();
+        PropertyPath path = PropertyPath.compile(Order.class, "customer.address.city");
+        try {
+            path.set(order, "Shenzhen");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("customer"));
+        }
+
+        path.set(order, "Shenzhen", true);
+        assertEquals("Shenzhen", order.getCustomer().getAddress().getCity());
+
+        PropertyPath.compile(Order.class, "items[1].name").set(order, "second", true);
+        assertEquals(2, order.getItems().size());
+        assertNull(order.getItems().get(0));
+        assertEquals("second", order.getItems().get(1).getName());
+
+        PropertyPath.compile(Order.class, "attrs['key']").set(order, "v", true);
+        assertEquals("v", order.getAttrs().get("key"));
+    }
+
+    @Test
+    public void reflectorCachesPathsPerRootClass() {
+        assertSame(Reflector.getPropertyPath(Order.class, "customer.address.city"),
+                Reflector.getPropertyPath(Order.class, "customer.address.city"));
+        Order order = new Order();
+        Reflector.setPathValue(order, "customer.address.city", "Foshan", true);
+        assertEquals("Foshan", Reflector.getPathValue(order, "customer.address.city"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyPathIsRejected() {
+        PropertyPath.compile(Order.class, " ");
+    }
+
+    static Order newOrder() {
+        Address address = new Address();
+        address.setCity("Shenzhen");
+        Customer customer = new Customer();
+        customer.setAddress(address);
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setItems(new ArrayList<>(Arrays.asList(new Item("a"), new Item("b"))));
+        order.setArray(new Item[]{new Item("c")});
+        order.getAttrs().put("key", "v");
+        return order;
+    }
+
+    public static class Order {
+
+        private Customer customer;
+        private List<Item> items;
+        private Item[] array;
+        private Map<String, Object> attrs = new LinkedHashMap<>();
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(Customer customer) {
+            this.customer = customer;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public void setItems(List<Item> items) {
+            this.items = items;
+        }
+
+        public Item[] getArray() {
+            return array;
+        }
+
+        public void setArray(Item[] array) {
+            this.array = array;
+        }
+
+        public Map<String, Object> getAttrs() {
+            return attrs;
+        }
+
+        public void setAttrs(Map<String, Object> attrs) {
+            this.attrs = attrs;
+        }
+    }
+
+    public static class Customer {
+
+        private Address address;
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+
+        private String city;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+    public static class SpecialAddress extends Address {
+
+        private String zone;
+
+        public String getZone() {
+            return zone;
+        }
+
+        public void setZone(String zone) {
+            this.zone = zone;
+        }
+    }
+
+    public static class Item {
+
+        private String name;
+
+        public Item() {
+        }
+
+        public Item(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
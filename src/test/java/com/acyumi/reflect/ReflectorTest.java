@@ -0,0 +1,92 @@
+package com.acyumi.reflect;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link Reflector}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class ReflectorTest {
+
+    @Test
+    public void findPojoClassesOnlyReturnsInstantiablePojos() {
+        List<Class<?>> classes = Reflector.findPojoClasses(ReflectorTest.class.getPackage().getName());
+        assertTrue(classes.contains(WarmPojo.class));
+        assertTrue(classes.contains(PropertyPathTest.Order.class));
+        //没有getter/setter、没有public无参构造方法或者是抽象类的都不是pojo
+        assertFalse(classes.contains(ReflectorTest.class));
+        assertFalse(classes.contains(NoDefaultConstructor.class));
+        assertFalse(classes.contains(AbstractPojo.class));
+        assertFalse(classes.contains(PropertyPath.class));
+
+        assertTrue(Reflector.findPojoClasses((String[]) null).isEmpty());
+        assertTrue(Reflector.findPojoClasses("com.acyumi.nothing").isEmpty());
+    }
+
+    @Test
+    public void prewarmSkipsClassesThatCannotBeWarmed() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            //Object不能生成MethodAccessor，接口不能生成ConstructorAccessor
+            int warmed = Reflector.prewarm(Arrays.asList(WarmPojo.class, PropertyPathTest.Customer.class,
+                    Object.class, Runnable.class), pool);
+            assertEquals(2, warmed);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(0, Reflector.prewarm(Collections.emptyList()));
+        assertEquals(0, Reflector.prewarm((List<Class<?>>) null));
+    }
+
+    @Test
+    public void prewarmByPackageWarmsFoundPojos() {
+        String packageName = ReflectorTest.class.getPackage().getName();
+        int warmed = Reflector.prewarm(packageName);
+        assertEquals(Reflector.findPojoClasses(packageName).size(), warmed);
+        WarmPojo pojo = Reflector.newTarget(WarmPojo.class);
+        Reflector.setFieldValue(pojo, "name", "warm");
+        assertEquals("warm", pojo.getName());
+    }
+
+    public static class WarmPojo {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class NoDefaultConstructor {
+
+        private final String name;
+
+        public NoDefaultConstructor(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public abstract static class AbstractPojo {
+
+        public abstract String getName();
+    }
+}
@@ -0,0 +1,137 @@
+package com.acyumi.reflect.reflectasm;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link AccessorBytecodeCache}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class AccessorBytecodeCacheTest {
+
+    private static final String SIGNATURE = "0123456789abcdef0123456789abcdef";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheDir;
+    private String accessorClassName;
+    private byte[] bytecode;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = temporaryFolder.newFolder("cache").toPath();
+        AccessorBytecodeCache.setDirectory(cacheDir);
+        accessorClassName = MethodAccessor.getAccessorClassName(CachedBean.class);
+        bytecode = MethodAccessor.generateBytecode(CachedBean.class);
+    }
+
+    @After
+    public void tearDown() {
+        AccessorBytecodeCache.setDirectory(null);
+    }
+
+    @Test
+    public void storedBytecodeIsLoadedBack() {
+        assertNull(AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+        AccessorBytecodeCache.store(accessorClassName, SIGNATURE, bytecode);
+        assertArrayEquals(bytecode, AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+    }
+
+    @Test
+    public void staleSignatureMissesAndIsReplacedOnStore() throws IOException {
+        String staleSignature = "fedcba9876543210fedcba9876543210";
+        AccessorBytecodeCache.store(accessorClassName, staleSignature, bytecode);
+        assertNull(AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+
+        AccessorBytecodeCache.store(accessorClassName, SIGNATURE, bytecode);
+        assertEquals(1, listCacheFiles().size());
+        assertNull(AccessorBytecodeCache.load(accessorClassName, staleSignature));
+        assertArrayEquals(bytecode, AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+    }
+
+    @Test
+    public void tamperedFileIsDeleted() throws IOException {
+        AccessorBytecodeCache.store(accessorClassName, SIGNATURE, bytecode);
+        Path file = listCacheFiles().get(0);
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 1] ^= 1;
+        Files.write(file, content);
+
+        assertNull(AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void groupWritableDirectoryIsNotTrusted() throws IOException {
+        Assume.assumeTrue(Files.getFileAttributeView(cacheDir, PosixFileAttributeView.class) != null);
+        AccessorBytecodeCache.store(accessorClassName, SIGNATURE, bytecode);
+        Files.setPosixFilePermissions(cacheDir, PosixFilePermissions.fromString("rwxrwx---"));
+        assertNull(AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+
+        Files.setPosixFilePermissions(cacheDir, PosixFilePermissions.fromString("rwx------"));
+        assertArrayEquals(bytecode, AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+    }
+
+    @Test
+    public void createdDirectoryIsOwnerOnly() throws IOException {
+        Path dir = cacheDir.resolve("nested");
+        AccessorBytecodeCache.setDirectory(dir);
+        AccessorBytecodeCache.store(accessorClassName, SIGNATURE, bytecode);
+        assertTrue(Files.isDirectory(dir));
+        if (Files.getFileAttributeView(dir, PosixFileAttributeView.class) != null) {
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(dir)));
+        }
+        assertArrayEquals(bytecode, AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+    }
+
+    @Test
+    public void disabledCacheDoesNothing() throws IOException {
+        AccessorBytecodeCache.setDirectory(null);
+        AccessorBytecodeCache.store(accessorClassName, SIGNATURE, bytecode);
+        assertNull(AccessorBytecodeCache.load(accessorClassName, SIGNATURE));
+        assertTrue(listCacheFiles().isEmpty());
+    }
+
+    private List<Path> listCacheFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir, "*.class")) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    public static class CachedBean {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.reflect.Reflector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * {@link AccessorClassLoader}及访问器缓存在多线程下的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class AccessorClassLoaderTest {
+
+    private static final int THREADS = 64;
+
+    @Test
+    public void concurrentFirstAccessDefinesOneAccessorPerType() throws Exception {
+        List<Object> accessors = runConcurrently(() -> Reflector.getMethodAccessor(RacedBean.class));
+        for (Object accessor : accessors) {
+            assertSame(accessors.get(0), accessor);
+        }
+    }
+
+    @Test
+    public void concurrentLookupReturnsOneLoaderPerParent() throws Exception {
+        //同一个父类加载器的不同Class同时第一次查找
+        ChildFirstClassLoader parent = new ChildFirstClassLoader(RacedBean.class, OtherBean.class);
+        Class<?> first = parent.reload(RacedBean.class);
+        Class<?> second = parent.reload(OtherBean.class);
+        AtomicInteger counter = new AtomicInteger();
+        List<Object> loaders = runConcurrently(
+                () -> AccessorClassLoader.get(counter.getAndIncrement() % 2 == 0 ? first : second));
+        for (Object loader : loaders) {
+            assertSame(loaders.get(0), loader);
+        }
+        assertSame(parent, ((AccessorClassLoader) loaders.get(0)).getParent());
+    }
+
+    @Test
+    public void differentParentsGetDifferentLoaders() throws Exception {
+        Class<?> first = new ChildFirstClassLoader(RacedBean.class).reload(RacedBean.class);
+        Class<?> second = new ChildFirstClassLoader(RacedBean.class).reload(RacedBean.class);
+        AccessorClassLoader firstLoader = AccessorClassLoader.get(first);
+        AccessorClassLoader secondLoader = AccessorClassLoader.get(second);
+        assertNotSame(firstLoader, secondLoader);
+        assertSame(first.getClassLoader(), firstLoader.getParent());
+        assertSame(second.getClassLoader(), secondLoader.getParent());
+
+        MethodAccessor accessor = MethodAccessor.get(first);
+        Object bean = first.newInstance();
+        accessor.setFieldValue(bean, "name", "child");
+        assertEquals("child", accessor.getFieldValue(bean, "name"));
+    }
+
+    @Test
+    public void accessorIsDefinedInTheRuntimePackageOfTheType() throws Exception {
+        //jdk9+通过Lookup.defineClass定义，不依赖setAccessible，jdk16+的强封装下也能访问非public成员
+        assumeFalse(System.getProperty("java.specification.version").startsWith("1."));
+        MethodAccessor accessor = MethodAccessor.get(PackagePrivateBean.class);
+        assertSame(PackagePrivateBean.class.getClassLoader(), accessor.getClass().getClassLoader());
+        assertEquals(PackagePrivateBean.class.getPackage().getName(), accessor.getClass().getPackage().getName());
+
+        PackagePrivateBean bean = new PackagePrivateBean();
+        accessor.setFieldValue(bean, "secret", "hidden");
+        assertEquals("hidden", bean.secret);
+        assertEquals("hidden", accessor.getFieldValue(bean, "secret"));
+
+        //子优先的类加载器中重新加载的类，不能复用父类加载器中的同名访问器类，换个类名定义在该类加载器中
+        Class<?> reloaded = new ChildFirstClassLoader(PackagePrivateBean.class).reload(PackagePrivateBean.class);
+        MethodAccessor reloadedAccessor = MethodAccessor.get(reloaded);
+        assertSame(reloaded.getClassLoader(), reloadedAccessor.getClass().getClassLoader());
+        assertNotEquals(accessor.getClass().getName(), reloadedAccessor.getClass().getName());
+        Object reloadedBean = ConstructorAccessor.get(reloaded).newInstance();
+        reloadedAccessor.setFieldValue(reloadedBean, "secret", "child");
+        assertEquals("child", reloadedAccessor.getFieldValue(reloadedBean, "secret"));
+    }
+
+    private static List<Object> runConcurrently(Callable<Object> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>(THREADS);
+            for (Future<Object> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public static class RacedBean {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class OtherBean {
+
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    static class PackagePrivateBean {
+
+        String secret;
+
+        public PackagePrivateBean() {
+        }
+    }
+}
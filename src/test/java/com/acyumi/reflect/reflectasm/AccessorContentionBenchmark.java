@@ -0,0 +1,71 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.reflect.Reflector;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程同时获取MethodAccessor的争用基准.
+ *
+ * <pre>
+ * 不是单元测试(不以Test结尾，surefire不会执行)，在test classpath下手动运行：
+ * mvn -o dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) com.acyumi.reflect.reflectasm.AccessorContentionBenchmark [线程数] [热身后的轮数]
+ *
+ * 以spring-core中的public类作为源类，每个线程按各自打乱的顺序对所有类调用Reflector.getMethodAccessor，
+ * 第一轮(cold)包含字节码生成和类定义，之后的轮次(hot)只有缓存读取
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class AccessorContentionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int hotRounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<Class<?>> types = BenchmarkClasses.loadPublicClasses(StringUtils.class);
+        System.out.printf("threads=%d, classes=%d, jdk=%s%n", threads, types.size(), System.getProperty("java.version"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            System.out.printf("cold: %d ms%n", runRound(pool, threads, types));
+            for (int i = 1; i <= hotRounds; i++) {
+                System.out.printf("hot %d: %d ms%n", i, runRound(pool, threads, types));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long runRound(ExecutorService pool, int threads, List<Class<?>> types) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            List<Class<?>> shuffled = new ArrayList<>(types);
+            Collections.shuffle(shuffled, new Random(i));
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (Class<?> type : shuffled) {
+                    Reflector.getMethodAccessor(type);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+    }
+}
@@ -0,0 +1,71 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 大量MethodAccessor占用堆内存的基准.
+ *
+ * <pre>
+ * 不是单元测试(不以Test结尾，surefire不会执行)，在test classpath下手动运行：
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) com.acyumi.reflect.reflectasm.AccessorFootprintBenchmark
+ *
+ * 以spring-core、jackson-databind、spring-context中的public类作为源类，
+ * 创建前后各做几次gc再读取已用堆内存，差值包括访问器实例及其元数据(不包括已加载的访问器类本身的元空间)，
+ * 同时输出{@link MethodAccessor#estimateRetainedSize()}之和作对照
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class AccessorFootprintBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        List<Class<?>> types = BenchmarkClasses.loadPublicClasses(
+                StringUtils.class, ObjectMapper.class, ApplicationContext.class);
+        //先定义访问器类，避免把类加载时的临时对象算进去
+        List<Class<?>> accepted = new ArrayList<>(types.size());
+        for (Class<?> type : types) {
+            try {
+                MethodAccessor.generateBytecode(type);
+                accepted.add(type);
+            } catch (RuntimeException | LinkageError ignored) {
+                //如Object等不能生成访问器的类
+            }
+        }
+
+        long before = usedHeap();
+        List<MethodAccessor> accessors = new ArrayList<>(accepted.size());
+        int methods = 0;
+        for (Class<?> type : accepted) {
+            MethodAccessor accessor = MethodAccessor.get(type);
+            accessors.add(accessor);
+            methods += accessor.getMethodNames().length;
+        }
+        long after = usedHeap();
+
+        long estimated = 0;
+        for (MethodAccessor accessor : accessors) {
+            estimated += accessor.estimateRetainedSize();
+        }
+        System.out.printf("classes=%d, methods=%d, jdk=%s%n", accessors.size(), methods,
+                System.getProperty("java.version"));
+        System.out.printf("retained heap: %.1f MB, estimated: %.1f MB%n",
+                (after - before) / 1024d / 1024d, estimated / 1024d / 1024d);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+}
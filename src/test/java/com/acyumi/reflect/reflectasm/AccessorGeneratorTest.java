@@ -0,0 +1,177 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.annotation.GenerateAccessor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link AccessorGenerator}预生成的访问器类在运行时被直接加载的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class AccessorGeneratorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void generateAllWritesAccessorsOfAnnotatedClasses() throws Exception {
+        Path classesDir = temporaryFolder.newFolder("classes").toPath();
+        copyClassFile(PrebuiltBean.class, classesDir);
+        copyClassFile(PlainBean.class, classesDir);
+
+        List<String> generated = AccessorGenerator.generateAll(classesDir);
+        assertEquals(2, generated.size());
+        assertTrue(generated.contains(MethodAccessor.getAccessorClassName(PrebuiltBean.class)));
+        assertTrue(generated.contains(ConstructorAccessor.getAccessorClassName(PrebuiltBean.class)));
+        assertTrue(Files.exists(classFile(classesDir, MethodAccessor.getAccessorClassName(PrebuiltBean.class))));
+
+        //指定包名时没有声明@GenerateAccessor的类也会预生成
+        generated = AccessorGenerator.generateAll(classesDir, PlainBean.class.getPackage().getName());
+        assertTrue(generated.contains(MethodAccessor.getAccessorClassName(PlainBean.class)));
+    }
+
+    @Test
+    public void prebuiltAccessorsAreLoadedFromTheClassPath() throws Exception {
+        Path classesDir = temporaryFolder.newFolder("classes").toPath();
+        copyClassFile(PrebuiltBean.class, classesDir);
+        AccessorGenerator.generate(PrebuiltBean.class, classesDir, true);
+
+        try (IsolatedClassLoader loader = new IsolatedClassLoader(classesDir)) {
+            Class<?> type = loader.loadClass(PrebuiltBean.class.getName());
+            MethodAccessor methodAccessor = MethodAccessor.get(type);
+            assertSame(loader, methodAccessor.getClass().getClassLoader());
+            assertEquals(MethodAccessor.getAccessorClassName(type), methodAccessor.getClass().getName());
+
+            ConstructorAccessor constructorAccessor = ConstructorAccessor.get(type);
+            assertSame(loader, constructorAccessor.getClass().getClassLoader());
+
+            Object bean = constructorAccessor.newInstance();
+            methodAccessor.setFieldValue(bean, "name", "prebuilt");
+            assertEquals("prebuilt", methodAccessor.getFieldValue(bean, "name"));
+        }
+    }
+
+    @Test
+    public void stalePrebuiltAccessorFallsBackToRuntimeGeneration() throws Exception {
+        Path classesDir = temporaryFolder.newFolder("classes").toPath();
+        copyClassFile(PrebuiltBean.class, classesDir);
+        AccessorGenerator.generate(PrebuiltBean.class, classesDir, false);
+
+        //把预生成类记录的结构签名改掉，模拟源类结构变更后没有重新预生成
+        String accessorClassName = MethodAccessor.getAccessorClassName(PrebuiltBean.class);
+        String signature = (String) MethodAccessor.get(PrebuiltBean.class).getClass()
+                .getField(AccessorClassLoader.STRUCTURE_SIGNATURE_FIELD).get(null);
+        Path accessorFile = classFile(classesDir, accessorClassName);
+        String staleSignature = signature.replace(signature.charAt(0), signature.charAt(0) == '0' ? '1' : '0');
+        byte[] bytecode = replace(Files.readAllBytes(accessorFile), signature, staleSignature);
+        Files.write(accessorFile, bytecode);
+
+        try (IsolatedClassLoader loader = new IsolatedClassLoader(classesDir)) {
+            Class<?> type = loader.loadClass(PrebuiltBean.class.getName());
+            Class<?> staleClass = AccessorClassLoader.findPrebuiltAccessorClass(type, accessorClassName);
+            assertSame(loader, staleClass.getClassLoader());
+            assertTrue(!AccessorClassLoader.isReusable(staleClass, type, signature));
+
+            MethodAccessor methodAccessor = MethodAccessor.get(type);
+            assertNotEquals(accessorClassName, methodAccessor.getClass().getName());
+            assertTrue(methodAccessor.getClass().getName().startsWith(accessorClassName + "$"));
+
+            Object bean = type.newInstance();
+            methodAccessor.setFieldValue(bean, "name", "runtime");
+            assertEquals("runtime", methodAccessor.getFieldValue(bean, "name"));
+        }
+    }
+
+    private static void copyClassFile(Class<?> type, Path classesDir) throws IOException {
+        Path target = classFile(classesDir, type.getName());
+        Files.createDirectories(target.getParent());
+        try (InputStream in = type.getResourceAsStream(type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class")) {
+            Files.copy(in, target);
+        }
+    }
+
+    private static Path classFile(Path classesDir, String className) {
+        return classesDir.resolve(className.replace('.', '/') + ".class");
+    }
+
+    private static byte[] replace(byte[] bytes, String from, String to) {
+        byte[] fromBytes = from.getBytes(StandardCharsets.UTF_8);
+        byte[] toBytes = to.getBytes(StandardCharsets.UTF_8);
+        outer:
+        for (int i = 0; i <= bytes.length - fromBytes.length; i++) {
+            for (int j = 0; j < fromBytes.length; j++) {
+                if (bytes[i + j] != fromBytes[j]) {
+                    continue outer;
+                }
+            }
+            System.arraycopy(toBytes, 0, bytes, i, toBytes.length);
+            return bytes;
+        }
+        throw new IllegalStateException("找不到" + from);
+    }
+
+    /**
+     * 源类和访问器类优先从指定目录加载，模拟打包在应用jar中的pojo和预生成的访问器类.
+     */
+    private static class IsolatedClassLoader extends URLClassLoader {
+
+        IsolatedClassLoader(Path classesDir) throws IOException {
+            super(new URL[]{classesDir.toUri().toURL()}, AccessorGeneratorTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PrebuiltBean.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                return type != null ? type : findClass(name);
+            }
+        }
+    }
+
+    @GenerateAccessor
+    public static class PrebuiltBean {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class PlainBean {
+
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.reflect.Reflector;
+import com.acyumi.util.TransformUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link BeanCopier}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class BeanCopierTest {
+
+    @Test
+    public void matchingPropertiesAreCopiedDirectlyAndOthersConverted() {
+        BeanCopier copier = BeanCopier.get(Source.class, Target.class, false);
+        //name、age、tags类型相同，直接复制；score需要转换
+        assertEquals(3, copier.getDirectCount());
+
+        Target target = new Target();
+        copier.copy(newSource(), target);
+        assertEquals("n", target.getName());
+        assertEquals(18, target.getAge());
+        assertEquals(Arrays.asList("a", "b"), target.getTags());
+        assertEquals("95", target.getScore());
+    }
+
+    @Test
+    public void handleCopierMatchesGeneratedCopier() {
+        BeanCopier copier = BeanCopier.get(Source.class, Target.class, false, false);
+        assertEquals(0, copier.getDirectCount());
+
+        Target target = new Target();
+        copier.copy(newSource(), target);
+        assertEquals("n", target.getName());
+        assertEquals(18, target.getAge());
+        assertEquals("95", target.getScore());
+    }
+
+    @Test
+    public void onlyNotNullKeepsTargetValues() {
+        Source source = newSource();
+        source.setName(null);
+        source.setScore(null);
+        Target target = new Target();
+        target.setName("kept");
+        target.setScore("kept");
+
+        BeanCopier.get(Source.class, Target.class, true).copy(source, target);
+        assertEquals("kept", target.getName());
+        assertEquals("kept", target.getScore());
+        assertEquals(18, target.getAge());
+
+        BeanCopier.get(Source.class, Target.class, false).copy(source, target);
+        assertNull(target.getName());
+        assertNull(target.getScore());
+    }
+
+    @Test
+    public void fieldNamesLimitCopiedProperties() {
+        BeanCopier copier = BeanCopier.get(Source.class, Target.class, false, "age");
+        assertEquals(Arrays.asList("age"), Arrays.asList(copier.getNames()));
+        Target target = new Target();
+        copier.copy(newSource(), target);
+        assertEquals(18, target.getAge());
+        assertNull(target.getName());
+    }
+
+    @Test
+    public void conversionFailureKeepsCause() {
+        Source source = newSource();
+        source.setCount("abc");
+        try {
+            BeanCopier.get(Source.class, Target.class, false).copy(source, new Target());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("count"));
+            assertNotNull(e.getCause());
+        }
+
+        //与TransformUtils的转换失败信息一致
+        try {
+            TransformUtils.trans2SetterParameter("count", "abc", String.class, Integer.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getCause());
+        }
+    }
+
+    @Test
+    public void reflectorCachesCopiersByKey() {
+        BeanCopier copier = Reflector.getBeanCopier(Source.class, Target.class, false);
+        assertSame(copier, Reflector.getBeanCopier(Source.class, Target.class, false));
+        assertSame(copier, Reflector.getBeanCopier(Source.class, Target.class, false, (String[]) null));
+        assertNotSame(copier, Reflector.getBeanCopier(Source.class, Target.class, true));
+
+        String[] fieldNames = {"name"};
+        BeanCopier partCopier = Reflector.getBeanCopier(Source.class, Target.class, false, fieldNames);
+        fieldNames[0] = "age";
+        assertSame(partCopier, Reflector.getBeanCopier(Source.class, Target.class, false, "name"));
+    }
+
+    @Test
+    public void copiersAreCachedOnlyOnAClassThatSeesBothSides() {
+        //源Class在子类加载器中，目标Class在父类加载器中：挂在源Class上缓存
+        Class<?> childSource = new ChildFirstClassLoader(Source.class).reload(Source.class);
+        assertSame(Reflector.getBeanCopier(childSource, Target.class, false),
+                Reflector.getBeanCopier(childSource, Target.class, false));
+        //反过来挂在目标Class上
+        Class<?> childTarget = new ChildFirstClassLoader(Target.class).reload(Target.class);
+        assertSame(Reflector.getBeanCopier(Source.class, childTarget, false),
+                Reflector.getBeanCopier(Source.class, childTarget, false));
+
+        //两个不相关的类加载器：不缓存也不生成子类
+        BeanCopier copier = Reflector.getBeanCopier(childSource, childTarget, false);
+        assertNotSame(copier, Reflector.getBeanCopier(childSource, childTarget, false));
+        assertEquals(0, copier.getDirectCount());
+    }
+
+    private static Source newSource() {
+        Source source = new Source();
+        source.setName("n");
+        source.setAge(18);
+        source.setTags(Arrays.asList("a", "b"));
+        source.setScore(95);
+        source.setCount("7");
+        return source;
+    }
+
+    public static class Source {
+
+        private String name;
+        private int age;
+        private List<String> tags;
+        private Integer score;
+        private String count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Integer getScore() {
+            return score;
+        }
+
+        public void setScore(Integer score) {
+            this.score = score;
+        }
+
+        public String getCount() {
+            return count;
+        }
+
+        public void setCount(String count) {
+            this.count = count;
+        }
+    }
+
+    public static class Target {
+
+        private String name;
+        private int age;
+        private List<String> tags;
+        private String score;
+        private Integer count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public String getScore() {
+            return score;
+        }
+
+        public Target setScore(String score) {
+            this.score = score;
+            return this;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.acyumi.reflect.reflectasm;
+
+import java.io.File;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 基准程序用到的源类：从第三方jar包中加载public的顶层类.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+abstract class BenchmarkClasses {
+
+    /**
+     * 加载anchors所在jar包中所有可以生成访问器的public顶层类.
+     *
+     * @param anchors 每个jar包中任意一个类
+     * @return 类列表，跳过注解、枚举和依赖不全(如optional的依赖)的类
+     */
+    static List<Class<?>> loadPublicClasses(Class<?>... anchors) throws Exception {
+        List<Class<?>> types = new ArrayList<>();
+        for (Class<?> anchor : anchors) {
+            File jar = new File(anchor.getProtectionDomain().getCodeSource().getLocation().toURI());
+            try (JarFile jarFile = new JarFile(jar)) {
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    String name = entries.nextElement().getName();
+                    if (!name.endsWith(".class") || name.contains("$") || name.contains("-info")) {
+                        continue;
+                    }
+                    Class<?> type = load(name.substring(0, name.length() - 6).replace('/', '.'));
+                    if (type != null && Modifier.isPublic(type.getModifiers())
+                            && !type.isAnnotation() && !type.isEnum()) {
+                        types.add(type);
+                    }
+                }
+            }
+        }
+        return types;
+    }
+
+    private static Class<?> load(String className) {
+        try {
+            Class<?> type = Class.forName(className, false, BenchmarkClasses.class.getClassLoader());
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                current.getDeclaredMethods();
+                current.getDeclaredFields();
+            }
+            return type;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.acyumi.reflect.reflectasm;
+
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 自己重新定义指定类的类加载器，模拟web容器中不同应用的类加载器.
+ * 其余的类委托给测试类的类加载器
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+class ChildFirstClassLoader extends ClassLoader {
+
+    private final Set<String> classNames = new HashSet<>();
+
+    ChildFirstClassLoader(Class<?>... types) {
+        super(ChildFirstClassLoader.class.getClassLoader());
+        Arrays.stream(types).map(Class::getName).forEach(classNames::add);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Class<T> reload(Class<T> type) {
+        try {
+            return (Class<T>) loadClass(type.getName());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!classNames.contains(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> type = findLoadedClass(name);
+            if (type == null) {
+                String resource = name.replace('.', '/') + ".class";
+                try (InputStream in = getParent().getResourceAsStream(resource)) {
+                    byte[] bytes = StreamUtils.copyToByteArray(in);
+                    type = defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.reflect.Reflector;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link CompiledInvocation}及{@link MethodAccessor#compile(String)}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class CompiledInvocationTest {
+
+    private static final String CLASS_NAME = Greeter.class.getName();
+
+    @Test
+    public void exactMethodStrIsCompiledAndCached() {
+        MethodAccessor accessor = MethodAccessor.get(Greeter.class);
+        String methodStr = CLASS_NAME + ".greet(java.lang.String)";
+        CompiledInvocation invocation = accessor.compile(methodStr);
+        assertNotNull(invocation);
+        assertSame(invocation, accessor.compile(methodStr));
+        assertSame(accessor, invocation.getAccessor());
+        assertEquals(accessor.getMethodIndex(methodStr).intValue(), invocation.getMethodIndex());
+        assertEquals("greet", invocation.getMethodName());
+        assertArrayEquals(new Class[]{String.class}, invocation.getParameterTypes());
+        assertEquals(String.class, invocation.getReturnType());
+        assertEquals(methodStr, invocation.getMethodStr());
+        assertEquals("hello, a", invocation.invoke(new Greeter(), "a"));
+    }
+
+    @Test
+    public void simpleNamesAndThrowsFreeSignaturesAreResolved() {
+        MethodAccessor accessor = MethodAccessor.get(Greeter.class);
+        Greeter greeter = new Greeter();
+        //参数类型和类名都可以写成简单类名，类名也可以省略
+        assertEquals("hello, b", accessor.compile("Greeter.greet(String)").invoke(greeter, "b"));
+        assertEquals("hello, c", accessor.compile(Greeter.class.getCanonicalName() + ".greet(String)")
+                .invoke(greeter, "c"));
+        assertEquals("hello, d", accessor.compile("greet(String)").invoke(greeter, "d"));
+        assertEquals(3, accessor.compile("public int " + CLASS_NAME + ".add(int, int)").invoke(greeter, 1, 2));
+        //声明了throws的方法去掉throws部分也能匹配
+        assertEquals("e", accessor.compile("Greeter.load(String)").invoke(greeter, "e"));
+    }
+
+    @Test
+    public void unresolvedMethodStrCompilesToNull() {
+        MethodAccessor accessor = MethodAccessor.get(Greeter.class);
+        assertNull(accessor.compile(null));
+        assertNull(accessor.compile("Greeter.greet(Integer)"));
+        assertNull(accessor.compile("Greeter.missing()"));
+        assertNull(accessor.compile("Greeter.greet"));
+        //类名既不是当前类也不是声明类
+        assertNull(accessor.compile("Other.greet(String)"));
+        //简单类名同时匹配了java.util.Date和java.sql.Date两个重载方法
+        assertNull(accessor.compile("Greeter.format(Date)"));
+        assertNotNull(accessor.compile("Greeter.format(java.sql.Date)"));
+        //无匹配的结果同样缓存，再次编译仍然返回null
+        assertNull(accessor.compile("Greeter.missing()"));
+    }
+
+    @Test
+    public void reflectorInvokesThroughCompiledInvocation() {
+        Greeter greeter = new Greeter();
+        assertEquals("hello, f", Reflector.invokeByMethodStr(greeter, "Greeter.greet(String)", "f"));
+        assertNull(Reflector.invokeByMethodStr(greeter, "Greeter.missing()"));
+        assertNull(Reflector.invokeByMethodStr(null, "Greeter.greet(String)", "f"));
+        assertSame(Reflector.getMethodAccessor(Greeter.class).compile("Greeter.greet(String)"),
+                Reflector.compileInvocation(Greeter.class, "Greeter.greet(String)"));
+    }
+
+    public static class Greeter {
+
+        public String greet(String name) {
+            return "hello, " + name;
+        }
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public String load(String name) throws IOException {
+            return name;
+        }
+
+        public String format(java.util.Date date) {
+            return "util";
+        }
+
+        public String format(java.sql.Date date) {
+            return "sql";
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.cast.Castor;
+import com.acyumi.reflect.Reflector;
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ConstructorAccessor}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class ConstructorAccessorTest {
+
+    @Test
+    public void newInstanceUsesNoArgsConstructor() {
+        ConstructorAccessor accessor = ConstructorAccessor.get(Point.class);
+        Object first = accessor.newInstance();
+        Object second = accessor.newInstance();
+        assertTrue(first instanceof Point);
+        assertNotSame(first, second);
+        assertEquals("default", ((Point) first).label);
+    }
+
+    @Test
+    public void newInstanceByArgsMatchesConstructorAndUnboxesPrimitives() {
+        ConstructorAccessor accessor = ConstructorAccessor.get(Point.class);
+        Point point = (Point) accessor.newInstanceByArgs(3, 4);
+        assertEquals(3, point.x);
+        assertEquals(4, point.y);
+
+        point = (Point) accessor.newInstanceByArgs("named");
+        assertEquals("named", point.label);
+
+        //相同类型的入参再次查找时走缓存，结果不变
+        assertEquals(accessor.getConstructorIndex(1, 2), accessor.getConstructorIndex(5, 6));
+    }
+
+    @Test
+    public void nullArgDoesNotMatchPrimitiveParameter() {
+        ConstructorAccessor accessor = ConstructorAccessor.get(Point.class);
+        assertEquals(ConstructorAccessor.NO_INDEX, accessor.getConstructorIndex(null, 1));
+        Point point = (Point) accessor.newInstanceByArgs((Object) null);
+        assertEquals(null, point.label);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstanceWithoutNoArgsConstructorThrows() {
+        ConstructorAccessor.get(NoDefault.class).newInstance();
+    }
+
+    @Test
+    public void nonInstantiableTypesAreRejectedBeforeGeneration() {
+        for (Class<?> type : new Class<?>[]{String[].class, int[][].class, int.class, List.class, AbstractList.class}) {
+            try {
+                ConstructorAccessor.get(type);
+                fail("应该拒绝" + type.getName());
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains(type.getName()));
+            }
+        }
+    }
+
+    @Test
+    public void reflectorNewTargetOfArrayThrowsIllegalArgumentException() {
+        try {
+            Reflector.newTarget(String[].class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void castStringToArrayThrowsIllegalArgumentException() {
+        Castor.castType2Type("12", String.class, String[].class);
+    }
+
+    @Test
+    public void reflectorCachesAccessorPerClass() {
+        assertSame(Reflector.getConstructorAccessor(Point.class), Reflector.getConstructorAccessor(Point.class));
+        Point point = Reflector.newTarget(Point.class);
+        assertEquals("default", point.label);
+    }
+
+    public static class Point {
+
+        public int x;
+        public int y;
+        public String label;
+
+        public Point() {
+            this.label = "default";
+        }
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public Point(String label) {
+            this.label = label;
+        }
+    }
+
+    public static class NoDefault {
+
+        public NoDefault(String value) {
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.reflect.Reflector;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link MethodAccessor}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class MethodAccessorTest {
+
+    @Test
+    public void getMethodIndexResolvesOverloadsByRuntimeArgTypes() {
+        MethodAccessor accessor = MethodAccessor.get(Overloads.class);
+        Overloads overloads = new Overloads();
+
+        assertEquals("String", invoke(accessor, overloads, "x"));
+        assertEquals("Integer", invoke(accessor, overloads, 1));
+        assertEquals("long", invoke(accessor, overloads, 5L));
+        assertEquals("int,int", invoke(accessor, overloads, 1, 2));
+        //null可以匹配任何非基本数据类型
+        Integer nullIndex = accessor.getMethodIndex("describe", (Object) null);
+        assertNotNull(nullIndex);
+        assertFalse(accessor.getParameterType(nullIndex, 0).isPrimitive());
+        //null不能匹配基本数据类型
+        assertNull(accessor.getMethodIndex("describe", null, 2));
+    }
+
+    @Test
+    public void getMethodIndexCachesHitsAndMisses() {
+        MethodAccessor accessor = MethodAccessor.get(Overloads.class);
+        Integer first = accessor.getMethodIndex("describe", "a");
+        assertEquals(first, accessor.getMethodIndex("describe", "b"));
+        assertEquals("describe", accessor.getMethodName(first));
+
+        assertNull(accessor.getMethodIndex("describe", new Object()));
+        assertNull(accessor.getMethodIndex("describe", new Object()));
+        assertNull(accessor.getMethodIndex("missing", "a"));
+        assertNull(accessor.getMethodIndex("describe", (Object[]) null));
+    }
+
+    @Test
+    public void reflectorInvokeUsesOverloadResolution() {
+        List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+        assertEquals("a", Reflector.invoke(list, "set", 0, "x"));
+        assertEquals("x", Reflector.invoke(list, "get", 0));
+        assertEquals(Arrays.asList("x", "b"), list);
+        assertNull(Reflector.invoke(list, "set", "0", "x"));
+    }
+
+    @Test
+    public void genericTypesAreResolvedFromDeclaringClass() {
+        MethodAccessor accessor = MethodAccessor.get(Metadata.class);
+        int getter = accessor.getterIndex("tags");
+        int setter = accessor.setterIndex("tags");
+        Type listOfString = accessor.getGenericReturnType(getter);
+        assertTrue(listOfString instanceof ParameterizedType);
+        assertEquals(String.class, ((ParameterizedType) listOfString).getActualTypeArguments()[0]);
+        assertEquals(listOfString, accessor.getGenericParameterType(setter, 0));
+        assertEquals(List.class, accessor.getReturnTypes(getter));
+    }
+
+    @Test
+    public void methodStrLookupMatchesSignaturesIncludingThrows() {
+        MethodAccessor accessor = MethodAccessor.get(Metadata.class);
+        String className = Metadata.class.getName();
+        Integer setTags = accessor.getMethodIndex(className + ".setTags(java.util.List)");
+        assertEquals("setTags", accessor.getMethodName(setTags));
+        //声明了throws的方法按签名匹配
+        Integer load = accessor.getMethodIndex(className + ".load(java.lang.String)");
+        assertEquals("load", accessor.getMethodName(load));
+        assertNull(accessor.getMethodIndex(className + ".load(java.lang.Integer)"));
+
+        Map<String, Integer> methodNameIndexMap = accessor.getMethodNameIndexMap();
+        assertEquals(setTags, methodNameIndexMap.get(className + ".setTags(java.util.List)"));
+        assertTrue(methodNameIndexMap.containsKey(className + ".load(java.lang.String)"));
+        assertTrue(methodNameIndexMap.values().contains(load));
+    }
+
+    @Test
+    public void jdkParameterTypeArraysAreShared() {
+        Class[] first = ClassArrayInterner.intern(new Class[]{String.class, Long.class});
+        assertSame(first, ClassArrayInterner.intern(new Class[]{String.class, Long.class}));
+        assertTrue(ClassArrayInterner.isInterned(first));
+        //应用中的类不放进静态共享池
+        Class[] appTypes = {Metadata.class};
+        assertSame(appTypes, ClassArrayInterner.intern(appTypes));
+        assertFalse(ClassArrayInterner.isInterned(appTypes));
+
+        MethodAccessor accessor = MethodAccessor.get(Metadata.class);
+        int load = accessor.getIndex("load", String.class);
+        //对外暴露的是拷贝
+        Class[] paramTypes = accessor.getParameterTypes(load);
+        paramTypes[0] = Object.class;
+        assertEquals(String.class, accessor.getParameterType(load, 0));
+        assertTrue(accessor.estimateRetainedSize() > 0);
+    }
+
+    @Test
+    public void fixedArityInvokeMatchesVarargsInvoke() {
+        MethodAccessor accessor = MethodAccessor.get(Primitives.class);
+        Primitives primitives = new Primitives();
+        int setLabel = accessor.getIndex("setLabel", String.class);
+        int getLabel = accessor.getIndex("getLabel");
+        assertNull(accessor.invoke1(primitives, setLabel, "a"));
+        assertEquals("a", accessor.invoke0(primitives, getLabel));
+        assertEquals(accessor.invoke(primitives, getLabel), accessor.invoke0(primitives, getLabel));
+        //基本数据类型的入参由invoke1拆箱
+        accessor.invoke1(primitives, accessor.getIndex("setCount", int.class), 3);
+        assertEquals(3, accessor.invoke0(primitives, accessor.getIndex("getCount")));
+        try {
+            accessor.invoke0(primitives, setLabel);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            //setLabel不是无参方法
+        }
+    }
+
+    @Test
+    public void primitiveInvokeReturnsAndPassesUnboxedValues() {
+        MethodAccessor accessor = MethodAccessor.get(Primitives.class);
+        Primitives primitives = new Primitives();
+        accessor.invokeInt(primitives, accessor.getIndex("setCount", int.class), 7);
+        accessor.invokeLong(primitives, accessor.getIndex("setTotal", long.class), 8L);
+        accessor.invokeDouble(primitives, accessor.getIndex("setRatio", double.class), 0.25d);
+        accessor.invokeBoolean(primitives, accessor.getIndex("setFlag", boolean.class), true);
+
+        assertEquals(7, accessor.invokeInt(primitives, accessor.getIndex("getCount")));
+        assertEquals(8L, accessor.invokeLong(primitives, accessor.getIndex("getTotal")));
+        assertEquals(0.25d, accessor.invokeDouble(primitives, accessor.getIndex("getRatio")), 0d);
+        assertTrue(accessor.invokeBoolean(primitives, accessor.getIndex("getFlag")));
+        //invokeInt适用byte/short/char，invokeLong适用int，invokeDouble适用float
+        assertEquals('z', accessor.invokeInt(primitives, accessor.getIndex("getLetter")));
+        assertEquals(2, accessor.invokeInt(primitives, accessor.getIndex("getSmall")));
+        assertEquals(7L, accessor.invokeLong(primitives, accessor.getIndex("getCount")));
+        assertEquals(1.5d, accessor.invokeDouble(primitives, accessor.getIndex("getSingle")), 0d);
+    }
+
+    @Test
+    public void primitiveInvokeRejectsInapplicableMethods() {
+        MethodAccessor accessor = MethodAccessor.get(Primitives.class);
+        Primitives primitives = new Primitives();
+        int getTotal = accessor.getIndex("getTotal");
+        int setCount = accessor.getIndex("setCount", int.class);
+        int getLabel = accessor.getIndex("getLabel");
+        for (Runnable call : Arrays.<Runnable>asList(
+                () -> accessor.invokeInt(primitives, getTotal),
+                () -> accessor.invokeDouble(primitives, getTotal),
+                () -> accessor.invokeBoolean(primitives, getLabel),
+                () -> accessor.invokeLong(primitives, setCount, 1L),
+                () -> accessor.invokeInt(primitives, getTotal, 1))) {
+            try {
+                call.run();
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("not applicable"));
+            }
+        }
+    }
+
+    private static Object invoke(MethodAccessor accessor, Object obj, Object... args) {
+        Integer methodIndex = accessor.getMethodIndex("describe", args);
+        return accessor.invoke(obj, methodIndex, args);
+    }
+
+    public static class Overloads {
+
+        public String describe(String value) {
+            return "String";
+        }
+
+        public String describe(Integer value) {
+            return "Integer";
+        }
+
+        public String describe(long value) {
+            return "long";
+        }
+
+        public String describe(int first, int second) {
+            return "int,int";
+        }
+    }
+
+    public static class Metadata {
+
+        private List<String> tags;
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public String load(String path) throws IOException {
+            return path;
+        }
+    }
+
+    public static class Primitives {
+
+        private int count;
+        private long total;
+        private double ratio;
+        private boolean flag;
+        private String label;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        public boolean getFlag() {
+            return flag;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        public char getLetter() {
+            return 'z';
+        }
+
+        public short getSmall() {
+            return 2;
+        }
+
+        public float getSingle() {
+            return 1.5f;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.acyumi.reflect.reflectasm;
+
+import com.acyumi.reflect.Reflector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按入参查找重载方法并执行的基准.
+ *
+ * <pre>
+ * 不是单元测试(不以Test结尾，surefire不会执行)，在test classpath下手动运行：
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) com.acyumi.reflect.reflectasm.OverloadResolutionBenchmark [次数] [轮数]
+ *
+ * cached：Reflector.invoke(arrayList, "set", 0, "x")，即带缓存的{@link MethodAccessor#getMethodIndex(String, Object...)}
+ * linear：每次都遍历所有方法名并逐个比较入参类型(getMethodIndex加缓存之前的做法)，再按索引执行
+ * </pre>
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class OverloadResolutionBenchmark {
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+        MethodAccessor accessor = Reflector.getMethodAccessor(ArrayList.class);
+        String[] methodNames = accessor.getMethodNames();
+        Class[][] parameterTypes = accessor.getParameterTypes();
+        System.out.printf("iterations=%d, methods=%d, jdk=%s%n", iterations, methodNames.length,
+                System.getProperty("java.version"));
+
+        for (int round = 1; round <= rounds; round++) {
+            long begin = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink = Reflector.invoke(list, "set", 0, "x");
+            }
+            long cached = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Object[] invokeArgs = {0, "x"};
+                int methodIndex = linearIndexOf(methodNames, parameterTypes, "set", invokeArgs);
+                sink = accessor.invoke(list, methodIndex, invokeArgs);
+            }
+            long linear = System.nanoTime() - begin;
+            System.out.printf("round %d: cached %d ms, linear %d ms%n", round,
+                    TimeUnit.NANOSECONDS.toMillis(cached), TimeUnit.NANOSECONDS.toMillis(linear));
+        }
+    }
+
+    private static int linearIndexOf(String[] methodNames, Class[][] parameterTypes, String methodName, Object[] args) {
+        c:
+        for (int i = 0; i < methodNames.length; i++) {
+            if (methodNames[i].equals(methodName)) {
+                Class[] paramTypes = parameterTypes[i];
+                if (paramTypes.length != args.length) {
+                    continue;
+                }
+                for (int j = 0; j < paramTypes.length; j++) {
+                    if (!Reflector.isInstance(paramTypes[j], args[j])) {
+                        continue c;
+                    }
+                }
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,225 @@
+package com.acyumi.reflect.reflectasm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link PropertyHandle}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class PropertyHandleTest {
+
+    @Test
+    public void handlesAreResolvedOnceFromGettersAndSetters() {
+        MethodAccessor accessor = MethodAccessor.get(SetterBean.class);
+        PropertyHandle name = accessor.getPropertyHandle("name");
+        assertSame(name, accessor.getPropertyHandle("name"));
+        assertEquals("name", name.getName());
+        assertEquals(accessor.getterIndex("name").intValue(), name.getGetterIndex());
+        assertEquals(accessor.setterIndex("name").intValue(), name.getSetterIndex());
+        assertEquals(String.class, name.getSetterParameterType());
+
+        SetterBean bean = new SetterBean();
+        name.set(bean, "abc");
+        assertEquals("abc", bean.getName());
+        assertEquals("abc", name.get(bean));
+        assertEquals("abc", accessor.getFieldValue(bean, "name"));
+
+        PropertyHandle active = accessor.getPropertyHandle("active");
+        active.setBoolean(bean, true);
+        assertTrue(active.getBoolean(bean));
+        assertEquals(Boolean.TRUE, active.get(bean));
+
+        //只读属性
+        PropertyHandle readOnly = accessor.getPropertyHandle("readOnly");
+        assertTrue(readOnly.isReadable());
+        assertFalse(readOnly.isWritable());
+        assertEquals("fixed", readOnly.get(bean));
+
+        assertNull(accessor.getPropertyHandle("missing"));
+        assertNull(accessor.getPropertyHandle(null));
+        assertNull(accessor.getFieldValue(bean, "missing"));
+        accessor.setFieldValue(bean, "missing", 1);
+    }
+
+    @Test
+    public void handlesAlignWithFieldNames() {
+        MethodAccessor accessor = MethodAccessor.get(SetterBean.class);
+        String[] fieldNames = accessor.getFieldNames();
+        PropertyHandle[] handles = accessor.getPropertyHandles();
+        assertEquals(fieldNames.length, handles.length);
+        for (int i = 0; i < fieldNames.length; i++) {
+            assertEquals(fieldNames[i], handles[i].getName());
+            assertSame(handles[i], accessor.getPropertyHandle(fieldNames[i]));
+        }
+    }
+
+    @Test
+    public void setterArgumentMismatchIsReported() {
+        SetterBean bean = new SetterBean();
+        try {
+            MethodAccessor.get(SetterBean.class).getPropertyHandle("name").set(bean, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("setName"));
+            assertTrue(e.getMessage(), e.getMessage().contains(Integer.class.getName()));
+        }
+    }
+
+    @Test
+    public void primitiveSetterAndGetterAreInvokedWithoutBoxing() {
+        MethodAccessor accessor = MethodAccessor.get(SetterBean.class);
+        SetterBean bean = new SetterBean();
+        PropertyHandle count = accessor.getPropertyHandle("count");
+        count.setInt(bean, 42);
+        assertEquals(42, bean.getCount());
+        assertEquals(42, count.getInt(bean));
+        assertEquals(42L, count.getLong(bean));
+        try {
+            count.getDouble(bean);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            //getDouble不适用int
+        }
+    }
+
+    @Test
+    public void fieldOnlyPropertiesReadAndWriteDirectly() {
+        MethodAccessor accessor = MethodAccessor.get(FieldBean.class);
+        FieldBean bean = new FieldBean();
+
+        PropertyHandle text = accessor.getPropertyHandle("text");
+        assertTrue(text.isReadable());
+        assertTrue(text.isWritable());
+        assertEquals(PropertyHandle.NO_INDEX, text.getGetterIndex());
+        text.set(bean, "abc");
+        assertEquals("abc", bean.text);
+        assertEquals("abc", text.get(bean));
+        assertEquals(String.class, text.getSetterParameterType());
+
+        //final成员变量只可读
+        PropertyHandle fixed = accessor.getPropertyHandle("fixed");
+        assertTrue(fixed.isReadable());
+        assertFalse(fixed.isWritable());
+        assertNull(fixed.getSetterParameterType());
+        fixed.set(bean, 9);
+        assertEquals(1, bean.fixed);
+    }
+
+    @Test
+    public void primitiveFieldAccessMatchesSpecializedInvokeRules() {
+        MethodAccessor accessor = MethodAccessor.get(FieldBean.class);
+        FieldBean bean = new FieldBean();
+
+        accessor.getPropertyHandle("count").setInt(bean, 3);
+        accessor.getPropertyHandle("total").setLong(bean, 4L);
+        accessor.getPropertyHandle("ratio").setDouble(bean, 0.5d);
+        accessor.getPropertyHandle("flag").setBoolean(bean, true);
+        bean.small = 6;
+        bean.letter = 'a';
+        bean.single = 1.5f;
+
+        assertEquals(3, accessor.getPropertyHandle("count").getInt(bean));
+        assertEquals(6, accessor.getPropertyHandle("small").getInt(bean));
+        assertEquals('a', accessor.getPropertyHandle("letter").getInt(bean));
+        //getLong也适用int/short/byte/char，getDouble也适用float
+        assertEquals(3L, accessor.getPropertyHandle("count").getLong(bean));
+        assertEquals('a', accessor.getPropertyHandle("letter").getLong(bean));
+        assertEquals(4L, accessor.getPropertyHandle("total").getLong(bean));
+        assertEquals(0.5d, accessor.getPropertyHandle("ratio").getDouble(bean), 0d);
+        assertEquals(1.5d, accessor.getPropertyHandle("single").getDouble(bean), 0d);
+        assertTrue(accessor.getPropertyHandle("flag").getBoolean(bean));
+    }
+
+    @Test
+    public void inapplicablePrimitiveFieldAccessIsRejectedLikeSetter() {
+        MethodAccessor accessor = MethodAccessor.get(FieldBean.class);
+        FieldBean bean = new FieldBean();
+
+        //没有setter方法时直接写成员变量，与setter方法一样只适用类型完全相同的基本数据类型
+        assertRejected(() -> accessor.getPropertyHandle("count").setLong(bean, 1L), "setLong");
+        assertRejected(() -> accessor.getPropertyHandle("total").setInt(bean, 1), "setInt");
+        assertRejected(() -> accessor.getPropertyHandle("single").setDouble(bean, 1d), "setDouble");
+        assertRejected(() -> accessor.getPropertyHandle("text").setBoolean(bean, true), "setBoolean");
+        assertRejected(() -> accessor.getPropertyHandle("total").getInt(bean), "getInt");
+        assertRejected(() -> accessor.getPropertyHandle("ratio").getLong(bean), "getLong");
+        assertRejected(() -> accessor.getPropertyHandle("count").getDouble(bean), "getDouble");
+        assertRejected(() -> accessor.getPropertyHandle("text").getBoolean(bean), "getBoolean");
+        assertEquals(0, bean.count);
+        assertEquals(0L, bean.total);
+
+        //有setter方法时由生成的invokeXxx拒绝
+        MethodAccessor setterAccessor = MethodAccessor.get(SetterBean.class);
+        try {
+            setterAccessor.getPropertyHandle("count").setLong(new SetterBean(), 1L);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            //期望的结果
+        }
+    }
+
+    private static void assertRejected(Runnable call, String methodName) {
+        try {
+            call.run();
+            fail("应该拒绝" + methodName);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("不适用于" + methodName));
+        }
+    }
+
+    public static class FieldBean {
+
+        public final int fixed = 1;
+        public String text;
+        public int count;
+        public long total;
+        public short small;
+        public char letter;
+        public double ratio;
+        public float single;
+        public boolean flag;
+    }
+
+    public static class SetterBean {
+
+        private int count;
+        private String name;
+        private boolean active;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean getActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public String getReadOnly() {
+            return "fixed";
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.acyumi.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link DeepCopier}及{@link TransformUtils#deepCopy(Object)}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class DeepCopierTest {
+
+    @Test
+    public void pojoGraphIsCopiedWithSharedReferencesPreserved() {
+        Node root = new Node("root");
+        Node child = new Node("child");
+        child.setParent(root);
+        root.setChildren(new ArrayList<>(Arrays.asList(child, child)));
+        root.getScores().put("a", new int[]{1, 2});
+        root.setUpdated(new Date(0));
+        root.setCreated(LocalDateTime.of(2026, 10, 16, 0, 0));
+        root.setAmount(new BigDecimal("1.50"));
+        root.setStatus(Status.ON);
+
+        Node copy = TransformUtils.deepCopy(root);
+        assertNotSame(root, copy);
+        assertEquals("root", copy.getName());
+        Node copiedChild = copy.getChildren().get(0);
+        assertNotSame(child, copiedChild);
+        assertEquals("child", copiedChild.getName());
+        //同一个对象只拷贝一次，循环引用指向拷贝出来的对象
+        assertSame(copiedChild, copy.getChildren().get(1));
+        assertSame(copy, copiedChild.getParent());
+
+        assertNotSame(root.getScores(), copy.getScores());
+        assertNotSame(root.getScores().get("a"), copy.getScores().get("a"));
+        assertArrayEquals(new int[]{1, 2}, copy.getScores().get("a"));
+        //Date有public的clone()，拷贝；不可变类型和枚举共享引用
+        assertNotSame(root.getUpdated(), copy.getUpdated());
+        assertEquals(root.getUpdated(), copy.getUpdated());
+        assertSame(root.getCreated(), copy.getCreated());
+        assertSame(root.getAmount(), copy.getAmount());
+        assertSame(Status.ON, copy.getStatus());
+        assertNull(TransformUtils.deepCopy(null));
+    }
+
+    @Test
+    public void collectionsKeepTheirTypeOrFallBack() {
+        TreeSet<String> sorted = new TreeSet<>(Comparator.reverseOrder());
+        sorted.addAll(Arrays.asList("a", "c", "b"));
+        TreeSet<String> sortedCopy = TransformUtils.deepCopy(sorted);
+        assertNotSame(sorted, sortedCopy);
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(sortedCopy));
+
+        EnumMap<Status, Node> enumMap = new EnumMap<>(Status.class);
+        enumMap.put(Status.OFF, new Node("off"));
+        EnumMap<Status, Node> enumMapCopy = TransformUtils.deepCopy(enumMap);
+        assertNotSame(enumMap.get(Status.OFF), enumMapCopy.get(Status.OFF));
+        assertEquals("off", enumMapCopy.get(Status.OFF).getName());
+
+        //没有可用构造方法的集合按接口退回
+        List<Node> unmodifiable = Collections.unmodifiableList(Collections.singletonList(new Node("x")));
+        List<Node> listCopy = TransformUtils.deepCopy(unmodifiable);
+        assertTrue(listCopy instanceof ArrayList);
+        assertEquals("x", listCopy.get(0).getName());
+        assertNotSame(unmodifiable.get(0), listCopy.get(0));
+
+        Object[] array = {new Node("y"), "s"};
+        Object[] arrayCopy = TransformUtils.deepCopy(array);
+        assertNotSame(array[0], arrayCopy[0]);
+        assertSame(array[1], arrayCopy[1]);
+    }
+
+    @Test
+    public void knownMutableJdkTypesAreCopied() {
+        AtomicInteger counter = new AtomicInteger(5);
+        AtomicInteger counterCopy = TransformUtils.deepCopy(counter);
+        assertNotSame(counter, counterCopy);
+        assertEquals(5, counterCopy.get());
+
+        StringBuilder sb = new StringBuilder("abc");
+        assertEquals("abc", TransformUtils.deepCopy(sb).toString());
+        assertNotSame(sb, TransformUtils.deepCopy(sb));
+
+        Node node = new Node("z");
+        Optional<Node> optional = TransformUtils.deepCopy(Optional.of(node));
+        assertNotSame(node, optional.get());
+        assertEquals("z", optional.get().getName());
+
+        Map.Entry<String, Node> entry = new AbstractMap.SimpleEntry<>("k", node);
+        Map.Entry<String, Node> entryCopy = TransformUtils.deepCopy(entry);
+        assertTrue(entryCopy instanceof AbstractMap.SimpleEntry);
+        assertNotSame(node, entryCopy.getValue());
+    }
+
+    @Test
+    public void unknownJdkTypesAreRejected() {
+        try {
+            TransformUtils.deepCopy(new Semaphore(1));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(Semaphore.class.getName()));
+        }
+    }
+
+    public enum Status {
+        ON, OFF
+    }
+
+    public static class Node {
+
+        private String name;
+        private Node parent;
+        private List<Node> children;
+        private Map<String, int[]> scores = new LinkedHashMap<>();
+        private Date updated;
+        private LocalDateTime created;
+        private BigDecimal amount;
+        private Status status;
+
+        public Node() {
+        }
+
+        public Node(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public void setParent(Node parent) {
+            this.parent = parent;
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Node> children) {
+            this.children = children;
+        }
+
+        public Map<String, int[]> getScores() {
+            return scores;
+        }
+
+        public void setScores(Map<String, int[]> scores) {
+            this.scores = scores;
+        }
+
+        public Date getUpdated() {
+            return updated;
+        }
+
+        public void setUpdated(Date updated) {
+            this.updated = updated;
+        }
+
+        public LocalDateTime getCreated() {
+            return created;
+        }
+
+        public void setCreated(LocalDateTime created) {
+            this.created = created;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+    }
+}
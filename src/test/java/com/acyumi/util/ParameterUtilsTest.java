@@ -0,0 +1,67 @@
+package com.acyumi.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link ParameterUtils}遍历基本数据类型数组的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class ParameterUtilsTest {
+
+    @Test
+    public void iterateObjBoxesPrimitiveArrays() {
+        List<Object> elements = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        ParameterUtils.iterateObj(new int[]{5, 6}, (BiConsumer<Object, Integer>) (e, i) -> {
+            elements.add(e);
+            indexes.add(i);
+        });
+        assertEquals(Arrays.asList(5, 6), elements);
+        assertEquals(Arrays.asList(0, 1), indexes);
+
+        elements.clear();
+        ParameterUtils.iterateObj(new char[]{'a', 'b'}, (BiConsumer<Object, Integer>) (e, i) -> elements.add(e));
+        ParameterUtils.iterateObj(new boolean[]{true}, (BiConsumer<Object, Integer>) (e, i) -> elements.add(e));
+        assertEquals(Arrays.asList('a', 'b', true), elements);
+
+        //返回true时中断遍历
+        elements.clear();
+        ParameterUtils.iterateObj(new long[]{1, 2, 3}, (BiFunction<Object, Integer, Boolean>) (e, i) -> {
+            elements.add(e);
+            return i == 1;
+        });
+        assertEquals(Arrays.asList(1L, 2L), elements);
+        assertEquals(3, ParameterUtils.getElementSize(new double[]{1, 2, 3}));
+    }
+
+    @Test
+    public void specializedIterationReadsWithoutBoxing() {
+        StringBuilder sb = new StringBuilder();
+        ParameterUtils.iterateInts(new short[]{1, 2}, (e, i) -> sb.append(e).append('@').append(i).append(','));
+        ParameterUtils.iterateInts(Arrays.asList("3", null), (e, i) -> sb.append(e).append(','));
+        assertEquals("1@0,2@1,3,0,", sb.toString());
+
+        long[] longSum = new long[1];
+        ParameterUtils.iterateLongs(new int[]{Integer.MAX_VALUE, 1}, (e, i) -> longSum[0] += e);
+        assertEquals(Integer.MAX_VALUE + 1L, longSum[0]);
+
+        double[] doubleSum = new double[1];
+        ParameterUtils.iterateDoubles(new float[]{0.5f, 0.25f}, (e, i) -> doubleSum[0] += e);
+        ParameterUtils.iterateDoubles(new byte[]{1}, (e, i) -> doubleSum[0] += e);
+        ParameterUtils.iterateDoubles(new Object[]{"2.25"}, (e, i) -> doubleSum[0] += e);
+        assertEquals(4d, doubleSum[0], 0d);
+
+        ParameterUtils.iterateInts(null, (e, i) -> sb.append(e));
+        assertEquals("1@0,2@1,3,0,", sb.toString());
+    }
+}
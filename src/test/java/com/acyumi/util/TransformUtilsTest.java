@@ -0,0 +1,228 @@
+package com.acyumi.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link TransformUtils}的测试.
+ *
+ * @author Mr.XiHui
+ * @date 2026/10/16
+ */
+public class TransformUtilsTest {
+
+    @Test
+    public void parallelTransformKeepsOrderAndMatchesSequential() {
+        List<Object> sources = newSources(10_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Target> parallel = TransformUtils.transformListParallel(sources, Target.class, false, pool);
+            List<Target> sequential = TransformUtils.transformList(sources, Target.class, false);
+            assertEquals(sources.size(), parallel.size());
+            for (int i = 0; i < sources.size(); i++) {
+                assertEquals(sources.get(i) == null ? 0 : i, parallel.get(i).getId());
+                assertEquals(sequential.get(i).getName(), parallel.get(i).getName());
+            }
+            //源元素为null时得到空的目标对象
+            assertNull(parallel.get(7).getName());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void smallOrNonRandomAccessListsFallBackToSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Target> linked = TransformUtils.transformListParallel(new LinkedList<>(newSources(3000)),
+                    Target.class, false, pool);
+            assertEquals(3000, linked.size());
+            assertEquals("name2999", linked.get(2999).getName());
+            assertEquals(1, TransformUtils.transformListParallel(newSources(1), Target.class, false, pool).size());
+            assertTrue(TransformUtils.transformListParallel(Collections.emptyList(), Target.class, false, pool)
+                    .isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+        List<Target> common = TransformUtils.transformListParallel(newSources(5000), Target.class, true);
+        assertEquals("name4999", common.get(4999).getName());
+    }
+
+    @Test
+    public void parallelTransformPropagatesElementFailures() {
+        List<Object> sources = newSources(5000);
+        sources.set(4321, new ArrayList<>());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TransformUtils.transformListParallel(sources, Target.class, false, pool);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Iterable"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void transformStreamIsLazyAndClosesTheSource() {
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Object> source = IntStream.range(0, 1_000_000)
+                .mapToObj(i -> (Object) new Source(i, "name" + i))
+                .peek(e -> pulled.incrementAndGet())
+                .onClose(() -> closed.set(true));
+        try (Stream<Target> targets = TransformUtils.transformStream(source, Target.class)) {
+            List<Target> firstThree = targets.limit(3).collect(Collectors.toList());
+            assertEquals(3, firstThree.size());
+            assertEquals("name2", firstThree.get(2).getName());
+        }
+        //终端操作取到哪个元素才转化哪个元素
+        assertEquals(3, pulled.get());
+        assertTrue(closed.get());
+
+        List<Object> sources = newSources(5000);
+        List<Target> parallel = TransformUtils.transformStream(sources.parallelStream(), Target.class, true)
+                .collect(Collectors.toList());
+        assertEquals(sources.size(), parallel.size());
+        assertEquals("name4999", parallel.get(4999).getName());
+
+        List<HashMap> maps = TransformUtils.transformStream(Stream.of(new Source(1, "a")), HashMap.class)
+                .collect(Collectors.toList());
+        assertEquals("a", maps.get(0).get("name"));
+    }
+
+    @Test
+    public void transformIteratorConvertsOnNextAndDelegatesRemove() {
+        List<Object> sources = new ArrayList<>(newSources(10));
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Object> counting = new Iterator<Object>() {
+            private final Iterator<Object> delegate = sources.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                pulled.incrementAndGet();
+                return delegate.next();
+            }
+
+            @Override
+            public void remove() {
+                delegate.remove();
+            }
+        };
+        Iterator<Target> targets = TransformUtils.transformIterator(counting, Target.class);
+        assertEquals(0, pulled.get());
+        assertEquals(0, targets.next().getId());
+        assertEquals("name1", targets.next().getName());
+        assertEquals(2, pulled.get());
+        targets.remove();
+        assertEquals(9, sources.size());
+        int count = 2;
+        while (targets.hasNext()) {
+            targets.next();
+            count++;
+        }
+        assertEquals(10, count);
+        try {
+            TransformUtils.transformIterator(null, Target.class);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            //期望的结果
+        }
+    }
+
+    /**
+     * POJO、Map和null混合的源List集合，第i个元素的id为i(null除外).
+     */
+    private static List<Object> newSources(int size) {
+        List<Object> sources = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (i % 100 == 7) {
+                sources.add(null);
+            } else if (i % 3 == 0) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("id", i);
+                map.put("name", "name" + i);
+                sources.add(map);
+            } else {
+                sources.add(new Source(i, "name" + i));
+            }
+        }
+        return sources;
+    }
+
+    public static class Source {
+
+        private int id;
+        private String name;
+
+        public Source() {
+        }
+
+        public Source(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Target {
+
+        private int id;
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}